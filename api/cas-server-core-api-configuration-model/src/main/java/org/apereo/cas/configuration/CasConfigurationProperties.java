@@ -13,6 +13,7 @@ import org.apereo.cas.configuration.model.core.events.EventsProperties;
 import org.apereo.cas.configuration.model.core.logout.LogoutProperties;
 import org.apereo.cas.configuration.model.core.monitor.MonitorProperties;
 import org.apereo.cas.configuration.model.core.rest.RestProperties;
+import org.apereo.cas.configuration.model.core.scripting.ScriptingProperties;
 import org.apereo.cas.configuration.model.core.services.ServiceRegistryProperties;
 import org.apereo.cas.configuration.model.core.slo.SloProperties;
 import org.apereo.cas.configuration.model.core.sso.SsoProperties;
@@ -313,4 +314,10 @@ public class CasConfigurationProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private SpringCloudConfigurationProperties spring = new SpringCloudConfigurationProperties();
+
+    /**
+     * Groovy scripting settings.
+     */
+    @NestedConfigurationProperty
+    private ScriptingProperties scripting = new ScriptingProperties();
 }
@@ -101,6 +101,13 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditCouchbaseProperties couchbase = new AuditCouchbaseProperties();
 
+    /**
+     * Settings that control how audit records are queued and written in batches
+     * by audit destinations that save records asynchronously.
+     */
+    @NestedConfigurationProperty
+    private AuditQueueProperties queue = new AuditQueueProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
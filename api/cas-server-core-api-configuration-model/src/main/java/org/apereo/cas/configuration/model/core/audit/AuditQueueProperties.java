@@ -0,0 +1,72 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditQueueProperties} that controls how audit records
+ * are queued and written in batches by audit destinations that save records asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+public class AuditQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = 2412745869165232918L;
+
+    /**
+     * Maximum number of audit records waiting to be written, per audit destination.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records written to the audit destination at once.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time an audit record waits for a batch to fill up before the batch is written.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * What to do with audit records submitted while the queue is full.
+     */
+    private OverflowPolicies overflowPolicy = OverflowPolicies.BLOCK;
+
+    /**
+     * Maximum amount of time to wait for room in the queue when the overflow policy is {@code BLOCK}.
+     * Audit records that cannot be queued in time are dropped.
+     */
+    private String blockTimeout = "PT5S";
+
+    /**
+     * File to which audit records are appended, as JSON, when the queue is full
+     * and the overflow policy is {@code SPILL}.
+     */
+    private String spillFile = new File(System.getProperty("java.io.tmpdir"), "cas-audit-overflow.log").getPath();
+
+    public enum OverflowPolicies {
+
+        /**
+         * Wait until the queue has room for the audit record, up to the block timeout.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest audit record waiting in the queue to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Append the audit record to the spill file instead of the audit destination.
+         */
+        SPILL
+    }
+}
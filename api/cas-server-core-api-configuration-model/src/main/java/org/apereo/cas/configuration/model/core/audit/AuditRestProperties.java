@@ -21,4 +21,16 @@ public class AuditRestProperties extends RestEndpointProperties {
      * Make storage requests asymchronously.
      */
     private boolean asynchronous = true;
+
+    /**
+     * Send audit records that are saved asynchronously to the endpoint in batches,
+     * as a JSON array, rather than one record per request.
+     * The endpoint must be able to accept an array of audit records.
+     */
+    private boolean sendInBatches;
+
+    /**
+     * Number of times a batch of audit records is posted to the endpoint before the batch is counted as failed.
+     */
+    private int batchAttempts = 3;
 }
@@ -61,6 +61,13 @@ public class RiskBasedAuthenticationProperties implements Serializable {
      */
     private long daysInRecentHistory = 30;
 
+    /**
+     * Maximum number of principals whose risk profiles are kept in memory,
+     * when risk profiles are not stored in the repository of authentication events.
+     * Profiles kept in memory belong to each CAS node, and are not shared with other nodes.
+     */
+    private long maxRiskProfilesInMemory = 100_000;
+
     @Getter
     @Setter
     public static class IpAddress implements Serializable {
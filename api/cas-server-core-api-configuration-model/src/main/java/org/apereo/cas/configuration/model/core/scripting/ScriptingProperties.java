@@ -0,0 +1,37 @@
+package org.apereo.cas.configuration.model.core.scripting;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for scripting.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-util", automated = true)
+@Getter
+@Setter
+public class ScriptingProperties implements Serializable {
+
+    private static final long serialVersionUID = 4179543625128349834L;
+
+    /**
+     * Maximum number of compiled groovy scripts that are kept in memory
+     * and reused across executions. A value of zero disables caching
+     * and forces every execution to compile the script again.
+     */
+    private long cacheMaximumSize = 500;
+
+    /**
+     * Watch the directories of file-based groovy scripts for changes
+     * and invalidate compiled scripts as soon as their source is modified or removed.
+     * When disabled, the last-modified timestamp of the script file
+     * is checked on every execution instead.
+     */
+    private boolean watchResources;
+}
@@ -110,6 +110,11 @@ public class ServiceRegistryProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private SmsProperties sms = new SmsProperties();
+    /**
+     * Cache settings for the results of matching service ids against registered services.
+     */
+    @NestedConfigurationProperty
+    private ServiceResolutionCacheProperties resolutionCache = new ServiceResolutionCacheProperties();
     /**
      * Flag that indicates whether to initialise active service registry implementation with a default set of service definition included
      * with CAS in JSON format.
@@ -125,7 +130,7 @@ public class ServiceRegistryProperties implements Serializable {
      * Accepted values are the following:
      *
      * <ul>
-     * <li>DEFAULT: Keep all services inside a concurrent map.</li>
+     * <li>DEFAULT: Keep all services inside a concurrent map, indexed by the literal prefix of their service ids.</li>
      * <li>DOMAIN: Group registered services by their domain having been explicitly defined.</li>
      * </ul>
      */
@@ -0,0 +1,35 @@
+package org.apereo.cas.configuration.model.core.services;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link ServiceResolutionCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+@Getter
+@Setter
+public class ServiceResolutionCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = 2718360914227534107L;
+
+    /**
+     * Whether the registered service matched for a service id should be remembered,
+     * so that subsequent requests for the same service id skip matching service definitions.
+     * Service ids that match no registered service are remembered as well.
+     * Cached results are dropped once service definitions are saved, deleted or reloaded.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of service ids to remember.
+     */
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,62 @@
+package org.apereo.cas.configuration.model.core.slo;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogoutDispatcherProperties} that controls how back-channel
+ * logout messages are queued and sent when SLO is asynchronous.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-logout", automated = true)
+@Getter
+@Setter
+public class SingleLogoutDispatcherProperties implements Serializable {
+
+    private static final long serialVersionUID = -4310235811469725389L;
+
+    /**
+     * Number of threads that send logout messages.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Maximum number of logout messages waiting to be sent.
+     * Messages submitted while the queue is full are dropped.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of logout messages sent at the same time to the same host.
+     */
+    private int maxConcurrentRequestsPerDestination = 2;
+
+    /**
+     * Maximum number of attempts to send a logout message, including the first one.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Delay before a failed logout message is sent again. The delay doubles with every attempt.
+     */
+    private String retryDelay = "PT1S";
+
+    /**
+     * Number of consecutive failures after which logout messages to a logout url
+     * are no longer sent, until the circuit breaker delay has passed.
+     * A zero or negative value disables the circuit breaker.
+     */
+    private int circuitBreakerFailureThreshold = 5;
+
+    /**
+     * Amount of time logout messages to a failing logout url are skipped,
+     * before a single message is allowed through to check the endpoint again.
+     */
+    private String circuitBreakerDelay = "PT60S";
+}
@@ -0,0 +1,39 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link NearCacheTicketRegistryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class NearCacheTicketRegistryProperties implements Serializable {
+
+    private static final long serialVersionUID = 3360587392341617530L;
+
+    /**
+     * Keep recently used tickets of the ticket registry in a local cache,
+     * in front of whichever ticket registry is configured.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of tickets to keep in the local cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a ticket is kept in the local cache after it is fetched from or written to the ticket registry.
+     * Nodes that are not told a ticket has changed may read their own copy for up to this long.
+     */
+    private String timeToLive = "PT2S";
+}
@@ -0,0 +1,48 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    private static final long serialVersionUID = -3215477183493582735L;
+
+    /**
+     * Number of tickets that are due to expire to fetch and process at a time,
+     * for ticket registries that maintain an expiration index.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of tickets that are due to expire to process in a single cleaner run,
+     * for ticket registries that maintain an expiration index. Remaining tickets
+     * are picked up by the next run. A zero or negative value removes the limit.
+     */
+    private int maximumTicketsPerRun;
+
+    /**
+     * How often the cleaner should reconcile the ticket counters of the registry with the tickets it actually holds,
+     * for ticket registries that count tickets as they are added and removed. Reconciliation reads every ticket
+     * in the registry, and is only needed to correct counts that drift, e.g. when tickets are evicted by the
+     * underlying cache or changed by other nodes. A zero or negative duration turns reconciliation off.
+     */
+    private String reconcileCountersInterval = "PT1H";
+
+    public TicketRegistryCleanerProperties(final String startDelay, final String repeatInterval) {
+        super(startDelay, repeatInterval);
+    }
+}
@@ -40,4 +40,12 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
      * The signing/encryption algorithm to use.
      */
     private String alg = "AES";
+
+    /**
+     * The cipher algorithm used to encrypt binary values, such as tickets or webflow state.
+     * Accepted values are {@code AES}, where values are encrypted and then signed, or {@code AES/GCM/NoPadding}
+     * where values are encrypted and authenticated in a single pass, skipping the signing step.
+     * Switching between the two invalidates values that are already encrypted.
+     */
+    private String cipherAlgorithm = "AES";
 }
@@ -45,6 +45,12 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Number of segments each table is split into when it is scanned.
+     * A page of every segment is fetched in parallel, on threads dedicated to scans.
+     */
+    private int scanSegments = 4;
+
     /**
      * Crypto settings for the registry.
      */
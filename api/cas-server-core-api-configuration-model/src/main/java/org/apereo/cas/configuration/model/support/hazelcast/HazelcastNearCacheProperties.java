@@ -0,0 +1,39 @@
+package org.apereo.cas.configuration.model.support.hazelcast;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link HazelcastNearCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-support-hazelcast-ticket-registry")
+@Getter
+@Setter
+public class HazelcastNearCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = 2903129460351402957L;
+
+    /**
+     * Whether each member should keep a local copy of recently read ticket-granting tickets.
+     * Copies are invalidated when tickets change on other members, though invalidations
+     * are delivered asynchronously.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of tickets to keep in the near cache.
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * Maximum number of seconds for a ticket to stay in the near cache without being read.
+     */
+    private int maxIdleSeconds = 60;
+}
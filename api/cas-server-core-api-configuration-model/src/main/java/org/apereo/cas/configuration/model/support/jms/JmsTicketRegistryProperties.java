@@ -27,4 +27,29 @@ public class JmsTicketRegistryProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+
+    /**
+     * How long ticket operations are collected before they are published to other nodes as a single message.
+     * Operations on the same ticket within the window are coalesced, so only the latest state is published.
+     * A window of zero publishes every operation as soon as it happens.
+     */
+    private String batchWindow = "PT0.05S";
+
+    /**
+     * Maximum number of ticket operations published in a single message.
+     * This also bounds the number of tickets in each message of a snapshot.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Request a snapshot of all tickets from other nodes when this node starts.
+     * The first node to offer a snapshot publishes it, and only this node applies it.
+     */
+    private boolean bootstrapFromSnapshot = true;
+
+    /**
+     * How long to wait for an offer of a snapshot, or for the next page of a snapshot,
+     * before the snapshot that was requested is abandoned.
+     */
+    private String snapshotTimeout = "PT30S";
 }
@@ -40,6 +40,15 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
      */
     private String jpaLockingTimeout = DEFAULT_LOCK_TIMEOUT;
 
+    /**
+     * Store the services granted access to, and the tickets tied to, a ticket-granting ticket
+     * as rows of a separate table keyed by the ticket-granting ticket id, rather than as
+     * serialized collections of the ticket-granting ticket row. Issuing a service ticket then
+     * adds a row instead of rewriting state that grows with every service visited during the session.
+     * Existing ticket-granting tickets are migrated the next time they are updated.
+     */
+    private boolean normalizeTicketGrantingTickets;
+
     /**
      * Crypto settings for the registry.
      */
@@ -26,6 +26,14 @@ public class MemcachedTicketRegistryProperties extends BaseMemcachedProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Indicate how tickets are serialized before they are encrypted and signed,
+     * when crypto is enabled for the registry. Accepted values are {@code JDK, KRYO}.
+     * The kryo codec produces smaller payloads, yet requires all CAS nodes to share
+     * the same set of registered classes.
+     */
+    private String serializationCodec = "JDK";
+
     public MemcachedTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
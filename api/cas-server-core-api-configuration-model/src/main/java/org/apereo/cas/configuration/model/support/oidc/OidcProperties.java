@@ -33,6 +33,12 @@ public class OidcProperties implements Serializable {
      */
     private int jwksCacheInMinutes = 60;
 
+    /**
+     * How often the JWKS file, and the keystores of OIDC services, are checked for changes.
+     * Requests in between are answered from the cache.
+     */
+    private String jwksRefreshInterval = "PT1M";
+
     /**
      * OIDC issuer.
      */
@@ -43,6 +43,14 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * How often should cached metadata be refreshed in the background, in minutes.
+     * Metadata fetched from URLs is only downloaded again if it has changed,
+     * as indicated by the {@code ETag} and {@code Last-Modified} headers of the previous download.
+     * A value of zero disables background refreshes.
+     */
+    private long cacheRefreshMinutes = TimeUnit.HOURS.toMinutes(1);
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
@@ -43,6 +43,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Jdbc jdbc = new Jdbc();
 
+    /**
+     * Record authentication failures in a store dedicated to throttling.
+     */
+    private FailureStore failureStore = new FailureStore();
+
     /**
      * Username parameter to use in order to extract the username from the request.
      */
@@ -53,6 +58,12 @@ public class ThrottleProperties implements Serializable {
      */
     private String appcode = DEFAULT_APPLICATION_CODE;
 
+    /**
+     * Maximum number of IP addresses, or IP addresses and usernames, whose recent failures
+     * are tracked in memory. The least recently used entries are evicted once the limit is reached.
+     */
+    private long maxInMemoryEntries = 100_000;
+
     /**
      * Scheduler settings to clean up throttled attempts.
      */
@@ -84,7 +95,8 @@ public class ThrottleProperties implements Serializable {
         /**
          * Number of failed login attempts permitted in the above period.
          * All login throttling components that ship with CAS limit successive failed
-         * login attempts that exceed a threshold rate in failures per second.
+         * login attempts that exceed a threshold rate in failures per second, except for the
+         * in-memory components that throttle once this many failures fall within the period.
          */
         private int threshold = -1;
 
@@ -94,6 +106,30 @@ public class ThrottleProperties implements Serializable {
         private int rangeSeconds = -1;
     }
 
+    /**
+     * Dedicated failure store.
+     */
+    @RequiresModule(name = "cas-server-support-throttle")
+    @Getter
+    @Setter
+    public static class FailureStore implements Serializable {
+
+        private static final long serialVersionUID = 4180256307428125387L;
+
+        /**
+         * Whether JDBC, MongoDb and Hazelcast throttling should record failed attempts
+         * in a store of their own and look them up there, instead of querying the audit log.
+         * Only the most recent failures per IP address and username are kept,
+         * and only for as long as they fall within the failure range.
+         */
+        private boolean enabled;
+
+        /**
+         * Name of the table, collection or map that holds failed attempts.
+         */
+        private String name = "CAS_THROTTLE_FAILURES";
+    }
+
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
     @Getter
     @Setter
@@ -71,6 +71,12 @@ public class X509Properties implements Serializable {
      * decide if fetch failures should throw errors.
      */
     private boolean throwOnFetchFailure;
+    /**
+     * When CRL revocation checking is done via distribution points,
+     * the number of seconds ahead of the next update of a cached CRL at which the CRL
+     * (and its delta CRL, if any) is fetched again in the background.
+     */
+    private long crlRefreshAheadSeconds = TimeUnit.MINUTES.toSeconds(5);
     /**
      * Indicates the type of principal resolution for X509.
      * <ul>
@@ -89,7 +95,8 @@ public class X509Properties implements Serializable {
      * <ul>
      * <li>{@code NONE}: No revocation is performed.</li>
      * <li>{@code CRL}: The CRL URI(s) mentioned in the certificate cRLDistributionPoints extension field.
-     * Caches are available to prevent excessive IO against CRL endpoints; CRL data is fetched if does not exist in the cache or if it is expired.</li>
+     * Caches are available to prevent excessive IO against CRL endpoints; CRL data is fetched if does not exist in the cache or if it is expired,
+     * and cached CRLs are indexed by serial number and fetched again in the background ahead of their next update.</li>
      * <li>{@code RESOURCE}: A CRL hosted at a fixed location. The CRL is fetched at periodic intervals and cached.</li>
      * </ul>
      */
@@ -112,7 +119,10 @@ public class X509Properties implements Serializable {
     private int cacheMaxElementsInMemory = 1_000;
     /**
      * When CRLs are cached, indicate whether cache should overflow to disk.
+     *
+     * @deprecated Cached CRLs are kept indexed in memory and cannot be written to disk; this setting is ignored.
      */
+    @Deprecated
     private boolean cacheDiskOverflow;
     /**
      * When CRLs are cached, indicate if cache items should be eternal.
@@ -0,0 +1,29 @@
+package org.apereo.cas.support.events;
+
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.CasEventRiskProfile;
+
+/**
+ * Defines operations over the risk profiles of principals, which summarize the events
+ * of each principal so that risk can be assessed without loading the events themselves.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface CasEventRiskProfileRepository {
+
+    /**
+     * Gets the risk profile of the principal.
+     *
+     * @param principalId the principal id
+     * @return the profile, which is empty if the principal has no recorded events
+     */
+    CasEventRiskProfile getProfile(String principalId);
+
+    /**
+     * Record the event in the risk profile of its principal.
+     *
+     * @param event the event
+     */
+    void update(CasEvent event);
+}
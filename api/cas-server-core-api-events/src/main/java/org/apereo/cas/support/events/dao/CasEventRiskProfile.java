@@ -0,0 +1,85 @@
+package org.apereo.cas.support.events.dao;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link CasEventRiskProfile} that summarizes the events of a principal,
+ * as {@link CasEventRiskProfileCounts} for each day (in UTC) on which events took place.
+ * The version is incremented each time the profile is stored, so that concurrent updates can be detected.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CasEventRiskProfile implements Serializable {
+    private static final long serialVersionUID = 2880128737437914411L;
+
+    private String principalId;
+
+    private long version;
+
+    private Map<String, CasEventRiskProfileCounts> days = new HashMap<>();
+
+    public CasEventRiskProfile(final String principalId) {
+        this.principalId = principalId;
+    }
+
+    public CasEventRiskProfile(final CasEventRiskProfile profile) {
+        this.principalId = profile.getPrincipalId();
+        this.version = profile.getVersion();
+        profile.getDays().forEach((day, counts) -> this.days.put(day, new CasEventRiskProfileCounts(counts)));
+    }
+
+    /**
+     * Count the event, on the day it took place.
+     *
+     * @param event the event
+     */
+    public void record(final CasEvent event) {
+        this.days.computeIfAbsent(toDay(event.getCreationZonedDateTime()), day -> new CasEventRiskProfileCounts()).record(event);
+    }
+
+    /**
+     * Discard the counts of days before the given date.
+     *
+     * @param dateTime the date time
+     */
+    public void discardBefore(final ZonedDateTime dateTime) {
+        val first = toDay(dateTime);
+        this.days.keySet().removeIf(day -> day.compareTo(first) < 0);
+    }
+
+    /**
+     * Gets the counts of events on or after the day of the given date.
+     *
+     * @param dateTime the date time
+     * @return the counts
+     */
+    public CasEventRiskProfileCounts getCountsSince(final ZonedDateTime dateTime) {
+        val first = toDay(dateTime);
+        val counts = new CasEventRiskProfileCounts();
+        this.days.forEach((day, dayCounts) -> {
+            if (day.compareTo(first) >= 0) {
+                counts.add(dayCounts);
+            }
+        });
+        return counts;
+    }
+
+    private static String toDay(final ZonedDateTime dateTime) {
+        return dateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDate().toString();
+    }
+}
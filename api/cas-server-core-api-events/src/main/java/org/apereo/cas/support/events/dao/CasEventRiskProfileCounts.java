@@ -0,0 +1,143 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link CasEventRiskProfileCounts} that counts events by client ip address, user agent,
+ * geolocation and hour of the day (in UTC). Addresses and agents are counted regardless of case.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CasEventRiskProfileCounts implements Serializable {
+    private static final long serialVersionUID = -5290431398714620961L;
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private long count;
+
+    private Map<String, Long> clientIpAddresses = new HashMap<>();
+
+    private Map<String, Long> agents = new HashMap<>();
+
+    private Map<String, Long> geoLocations = new HashMap<>();
+
+    private long[] hours = new long[HOURS_PER_DAY];
+
+    public CasEventRiskProfileCounts(final CasEventRiskProfileCounts counts) {
+        this.count = counts.getCount();
+        this.clientIpAddresses = new HashMap<>(counts.getClientIpAddresses());
+        this.agents = new HashMap<>(counts.getAgents());
+        this.geoLocations = new HashMap<>(counts.getGeoLocations());
+        this.hours = counts.getHours().clone();
+    }
+
+    /**
+     * Gets the key by which the geolocation is counted.
+     *
+     * @param location the location
+     * @return the key, or null if the location has no coordinates
+     */
+    public static String getGeoLocationKey(final GeoLocationRequest location) {
+        if (location == null || StringUtils.isBlank(location.getLatitude()) || StringUtils.isBlank(location.getLongitude())) {
+            return null;
+        }
+        return location.getLatitude() + ',' + location.getLongitude();
+    }
+
+    /**
+     * Count the event.
+     *
+     * @param event the event
+     */
+    public void record(final CasEvent event) {
+        this.count++;
+        increment(this.clientIpAddresses, StringUtils.lowerCase(event.getClientIpAddress()), 1);
+        increment(this.agents, StringUtils.lowerCase(event.getAgent()), 1);
+        increment(this.geoLocations, getGeoLocationKey(event.getGeoLocation()), 1);
+        this.hours[event.getCreationZonedDateTime().withZoneSameInstant(ZoneOffset.UTC).getHour()]++;
+    }
+
+    /**
+     * Add the given counts to these counts.
+     *
+     * @param counts the counts
+     */
+    public void add(final CasEventRiskProfileCounts counts) {
+        this.count += counts.getCount();
+        counts.getClientIpAddresses().forEach((key, value) -> increment(this.clientIpAddresses, key, value));
+        counts.getAgents().forEach((key, value) -> increment(this.agents, key, value));
+        counts.getGeoLocations().forEach((key, value) -> increment(this.geoLocations, key, value));
+        for (var i = 0; i < HOURS_PER_DAY; i++) {
+            this.hours[i] += counts.getHours()[i];
+        }
+    }
+
+    /**
+     * Gets the number of events from the client ip address.
+     *
+     * @param clientIpAddress the client ip address
+     * @return the count
+     */
+    public long getClientIpAddressCount(final String clientIpAddress) {
+        return this.clientIpAddresses.getOrDefault(StringUtils.lowerCase(clientIpAddress), 0L);
+    }
+
+    /**
+     * Gets the number of events from the user agent.
+     *
+     * @param agent the agent
+     * @return the count
+     */
+    public long getAgentCount(final String agent) {
+        return this.agents.getOrDefault(StringUtils.lowerCase(agent), 0L);
+    }
+
+    /**
+     * Gets the number of events from the geolocation.
+     *
+     * @param location the location
+     * @return the count
+     */
+    public long getGeoLocationCount(final GeoLocationRequest location) {
+        val key = getGeoLocationKey(location);
+        return key == null ? 0 : this.geoLocations.getOrDefault(key, 0L);
+    }
+
+    /**
+     * Gets the number of events that took place between the given hours of the day, inclusive.
+     *
+     * @param fromHour the first hour
+     * @param toHour   the last hour
+     * @return the count
+     */
+    public long getCountBetweenHours(final int fromHour, final int toHour) {
+        var total = 0L;
+        for (var i = Math.max(fromHour, 0); i <= Math.min(toHour, HOURS_PER_DAY - 1); i++) {
+            total += this.hours[i];
+        }
+        return total;
+    }
+
+    private static void increment(final Map<String, Long> counts, final String key, final long value) {
+        if (key != null) {
+            counts.merge(key, value, Long::sum);
+        }
+    }
+}
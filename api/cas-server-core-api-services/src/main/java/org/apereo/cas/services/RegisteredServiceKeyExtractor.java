@@ -0,0 +1,63 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceKeyExtractor}. Extracts the keys under which a registered service
+ * is indexed by the {@link ServicesManager}, so services can be looked up by an attribute
+ * other than their service id, such as a client id or an entity id, without scanning all definitions.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface RegisteredServiceKeyExtractor {
+
+    /**
+     * Build a key extractor that indexes services of the given type by a single attribute.
+     * Services of other types, and services whose attribute is null, are not indexed.
+     *
+     * @param <T>      the type parameter
+     * @param name     the name of the index
+     * @param clazz    the type of services to index
+     * @param function the function that extracts the key from the service
+     * @return the key extractor
+     */
+    static <T extends RegisteredService> RegisteredServiceKeyExtractor of(final String name, final Class<T> clazz,
+                                                                          final Function<T, String> function) {
+        return new RegisteredServiceKeyExtractor() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Collection<String> extract(final RegisteredService service) {
+                if (!clazz.isInstance(service)) {
+                    return new ArrayList<>(0);
+                }
+                val key = function.apply(clazz.cast(service));
+                return key == null ? new ArrayList<>(0) : Collections.singletonList(key);
+            }
+        };
+    }
+
+    /**
+     * Gets the name of the index this extractor builds.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Extract the keys for the registered service.
+     *
+     * @param service the service
+     * @return the keys, or an empty collection if the service should not be indexed
+     */
+    Collection<String> extract(RegisteredService service);
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.services;
 
 import org.apereo.cas.authentication.principal.Service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -140,6 +141,52 @@ public interface ServicesManager {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Register a key extractor, and index the services currently loaded by the keys it extracts.
+     * Managers that do not keep indexes ignore the extractor.
+     *
+     * @param extractor the extractor
+     */
+    default void registerKeyExtractor(final RegisteredServiceKeyExtractor extractor) {
+    }
+
+    /**
+     * Whether services are indexed by the keys of the named extractor.
+     *
+     * @param name the name of the index
+     * @return true if {@link #findServicesByKey(String, String, Class)} can be used for this index
+     */
+    default boolean isIndexedBy(final String name) {
+        return false;
+    }
+
+    /**
+     * Find the services of the given type that are indexed under the given key,
+     * sorted by their evaluation order. Services that are returned are valid, non-expired, etc.
+     *
+     * @param <T>   the type parameter
+     * @param name  the name of the index
+     * @param key   the key
+     * @param clazz the clazz
+     * @return the services indexed under the key
+     */
+    default <T extends RegisteredService> Collection<T> findServicesByKey(final String name, final String key, final Class<T> clazz) {
+        return new ArrayList<>(0);
+    }
+
+    /**
+     * Find the first service of the given type that is indexed under the given key.
+     *
+     * @param <T>   the type parameter
+     * @param name  the name of the index
+     * @param key   the key
+     * @param clazz the clazz
+     * @return the service, or null if none is indexed under the key
+     */
+    default <T extends RegisteredService> T findServiceByKey(final String name, final String key, final Class<T> clazz) {
+        return findServicesByKey(name, key, clazz).stream().findFirst().orElse(null);
+    }
+
     /**
      * Return a count of loaded services by this manager.
      *
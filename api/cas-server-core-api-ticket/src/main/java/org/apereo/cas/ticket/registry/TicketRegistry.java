@@ -62,6 +62,17 @@ public interface TicketRegistry {
      */
     int deleteTicket(String ticketId);
 
+    /**
+     * Remove the given tickets from the registry, along with their related tickets.
+     * Registries may remove the entire collection in a single batch.
+     *
+     * @param ticketIds the ids of the tickets to delete.
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
     /**
      * Delete all tickets from the registry.
      *
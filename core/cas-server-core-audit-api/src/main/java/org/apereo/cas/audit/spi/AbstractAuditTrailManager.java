@@ -1,6 +1,10 @@
 package org.apereo.cas.audit.spi;
 
-import lombok.AllArgsConstructor;
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -8,11 +12,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.Closeable;
+import java.util.List;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * Records that are saved asynchronously are placed on a bounded {@link AuditActionContextBatchQueue}
+ * and handed to {@link #saveAuditRecords(List)} in batches.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,28 +27,80 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-public abstract class AbstractAuditTrailManager implements AuditTrailManager {
+public abstract class AbstractAuditTrailManager implements AuditTrailManager, MeterBinder, Closeable {
 
     /**
      * Save records asynchronously.
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /**
+     * Settings for the queue that holds records saved asynchronously.
+     */
+    private AuditQueueProperties queueProperties = new AuditQueueProperties();
+
+    @Setter(AccessLevel.NONE)
+    private volatile AuditActionContextBatchQueue queue;
+
+    protected AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
+            getQueue().add(audit);
         } else {
             saveAuditRecord(audit);
         }
     }
 
+    /**
+     * Gets the queue that holds records saved asynchronously, creating it on first use.
+     *
+     * @return the queue
+     */
+    public AuditActionContextBatchQueue getQueue() {
+        var current = this.queue;
+        if (current == null) {
+            synchronized (this) {
+                current = this.queue;
+                if (current == null) {
+                    current = new AuditActionContextBatchQueue(getClass().getSimpleName(), this.queueProperties, this::saveAuditRecords);
+                    this.queue = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        if (this.asynchronous) {
+            getQueue().bindTo(registry);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.queue != null) {
+            this.queue.close();
+        }
+    }
+
     /**
      * Actual audit record save method.
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records.
+     * Saves records one at a time by default; audit destinations that can save many records at once should override.
+     *
+     * @param audits the audit records
+     */
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
 }
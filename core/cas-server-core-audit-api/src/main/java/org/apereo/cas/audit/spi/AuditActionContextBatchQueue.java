@@ -0,0 +1,296 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.inspektr.audit.AuditActionContext;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link AuditActionContextBatchQueue} that holds audit records in a bounded queue,
+ * and hands them to the audit destination in batches from a single background thread.
+ * A batch is written once it reaches the batch size, or once the oldest record in it
+ * has waited for the flush interval. Records submitted while the queue is full are
+ * handled according to the overflow policy, so a slow audit destination can no longer
+ * cause records to pile up in memory. Once the queue is closed, records are written
+ * synchronously by the caller.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class AuditActionContextBatchQueue implements MeterBinder, Closeable {
+    private static final String METER_PREFIX = "cas.audit.queue.";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final String name;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final long blockTimeoutNanos;
+
+    private final AuditQueueProperties.OverflowPolicies overflowPolicy;
+
+    private final File spillFile;
+
+    private final Consumer<List<AuditActionContext>> writer;
+
+    private final AuditActionContextJsonSerializer serializer = new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+
+    private final Thread flusher;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder spilled = new LongAdder();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private final LongAdder flushTime = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public AuditActionContextBatchQueue(final String name, final AuditQueueProperties properties,
+                                        final Consumer<List<AuditActionContext>> writer) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(properties.getCapacity(), 1));
+        this.batchSize = Math.max(properties.getBatchSize(), 1);
+        this.flushIntervalNanos = Beans.newDuration(properties.getFlushInterval()).toNanos();
+        this.blockTimeoutNanos = Beans.newDuration(properties.getBlockTimeout()).toNanos();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.spillFile = new File(properties.getSpillFile());
+        this.writer = writer;
+        this.flusher = new BasicThreadFactory.Builder()
+            .namingPattern("cas-audit-queue-" + name + "-%d")
+            .daemon(true)
+            .build()
+            .newThread(this::flushContinuously);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue the audit record to be written.
+     *
+     * @param audit the audit record
+     */
+    public void add(final AuditActionContext audit) {
+        if (!this.running) {
+            flush(Collections.singletonList(audit));
+            return;
+        }
+        if (this.queue.offer(audit)) {
+            if (!this.running) {
+                flushRemaining();
+            }
+            return;
+        }
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                while (!this.queue.offer(audit)) {
+                    if (this.queue.poll() != null) {
+                        this.dropped.increment();
+                    }
+                }
+                LOGGER.trace("Audit queue [{}] is full; dropped the oldest audit record", this.name);
+                break;
+            case SPILL:
+                spill(audit);
+                break;
+            case BLOCK:
+            default:
+                try {
+                    if (this.queue.offer(audit, this.blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                        if (!this.running) {
+                            flushRemaining();
+                        }
+                    } else if (!this.running) {
+                        flush(Collections.singletonList(audit));
+                    } else {
+                        LOGGER.warn("Timed out waiting for room in audit queue [{}]; audit record is dropped", this.name);
+                        this.dropped.increment();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.warn("Interrupted while waiting for room in audit queue [{}]; audit record is dropped", this.name);
+                    this.dropped.increment();
+                }
+                break;
+        }
+    }
+
+    /**
+     * Number of audit records waiting to be written.
+     *
+     * @return the count
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionTimer.builder(METER_PREFIX + "flush", this, q -> q.flushes.sum(), q -> q.flushTime.sum(), TimeUnit.NANOSECONDS)
+            .tag("name", this.name)
+            .description("Time spent writing batches of audit records")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "size", this, AuditActionContextBatchQueue::getQueueSize)
+            .tag("name", this.name)
+            .description("Number of audit records waiting to be written")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "written", written, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Number of audit records written")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "failed", failed, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Number of audit records in batches that could not be written")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "dropped", dropped, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Number of audit records discarded because the queue was full")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "spilled", spilled, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Number of audit records appended to the spill file because the queue was full")
+            .register(registry);
+    }
+
+    /**
+     * Stop the background thread and write the audit records still waiting in the queue.
+     * Records added afterwards are written synchronously.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        try {
+            this.flusher.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS) + TimeUnit.NANOSECONDS.toMillis(this.flushIntervalNanos));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushRemaining();
+    }
+
+    /**
+     * Whether the queue still accepts records for the background thread.
+     *
+     * @return true if the queue is not closed
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Number of audit records in batches that could not be written.
+     *
+     * @return the count
+     */
+    public long getFailedCount() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Number of audit records discarded because the queue was full.
+     *
+     * @return the count
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    private void flushRemaining() {
+        val remaining = new ArrayList<AuditActionContext>(this.queue.size());
+        this.queue.drainTo(remaining);
+        for (var i = 0; i < remaining.size(); i += this.batchSize) {
+            flush(remaining.subList(i, Math.min(i + this.batchSize, remaining.size())));
+        }
+    }
+
+    private void flushContinuously() {
+        val batch = new ArrayList<AuditActionContext>(this.batchSize);
+        while (this.running) {
+            try {
+                val first = this.queue.poll(this.flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                val deadline = System.nanoTime() + this.flushIntervalNanos;
+                while (batch.size() < this.batchSize) {
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.batchSize || remaining <= 0) {
+                        break;
+                    }
+                    val next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.trace("Audit queue [{}] is interrupted", this.name);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        val start = System.nanoTime();
+        try {
+            LOGGER.trace("Writing [{}] audit record(s) from audit queue [{}]", batch.size(), this.name);
+            this.writer.accept(batch);
+            this.written.add(batch.size());
+        } catch (final Exception e) {
+            LOGGER.error("Unable to write [{}] audit record(s) from audit queue [{}]: [{}]", batch.size(), this.name, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            this.failed.add(batch.size());
+        } finally {
+            this.flushes.increment();
+            this.flushTime.add(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void spill(final AuditActionContext audit) {
+        try (val out = new OutputStreamWriter(new FileOutputStream(this.spillFile, true), StandardCharsets.UTF_8)) {
+            out.write(this.serializer.toString(audit));
+            out.write(System.lineSeparator());
+            this.spilled.increment();
+        } catch (final Exception e) {
+            LOGGER.error("Unable to append audit record to [{}]: [{}]", this.spillFile, e.getMessage());
+            this.dropped.increment();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.apereo.cas.audit.spi;
 
 import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
 
+import com.fasterxml.jackson.core.PrettyPrinter;
+import lombok.NoArgsConstructor;
 import org.apereo.inspektr.audit.AuditActionContext;
 
 /**
@@ -10,9 +12,14 @@ import org.apereo.inspektr.audit.AuditActionContext;
  * @author Misagh Moayyed
  * @since 5.3.0
  */
+@NoArgsConstructor
 public class AuditActionContextJsonSerializer extends AbstractJacksonBackedStringSerializer<AuditActionContext> {
     private static final long serialVersionUID = -8983370764375218898L;
 
+    public AuditActionContextJsonSerializer(final PrettyPrinter prettyPrinter) {
+        super(prettyPrinter);
+    }
+
     @Override
     protected Class<AuditActionContext> getTypeToSerialize() {
         return AuditActionContext.class;
@@ -0,0 +1,174 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AuditActionContextBatchQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class AuditActionContextBatchQueueTests {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static AuditActionContext getAuditActionContext(final String principal) {
+        return new AuditActionContext(principal, "TEST", "TEST", "CAS", new Date(), "1.2.3.4", "1.2.3.4");
+    }
+
+    @Test
+    public void verifyRecordsAreWrittenInBatches() throws Exception {
+        val properties = new AuditQueueProperties();
+        properties.setBatchSize(5);
+        properties.setFlushInterval("PT10S");
+        val batches = Collections.synchronizedList(new ArrayList<List<AuditActionContext>>());
+        val latch = new CountDownLatch(2);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> {
+            batches.add(new ArrayList<>(batch));
+            latch.countDown();
+        });
+        for (var i = 0; i < 10; i++) {
+            queue.add(getAuditActionContext("casuser" + i));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        queue.close();
+        assertEquals(2, batches.size());
+        assertEquals(5, batches.get(0).size());
+        assertEquals("casuser0", batches.get(0).get(0).getPrincipal());
+    }
+
+    @Test
+    public void verifyPartialBatchIsWrittenAfterInterval() throws Exception {
+        val properties = new AuditQueueProperties();
+        properties.setBatchSize(100);
+        properties.setFlushInterval("PT0.1S");
+        val latch = new CountDownLatch(1);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> latch.countDown());
+        queue.add(getAuditActionContext("casuser"));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        queue.close();
+    }
+
+    @Test
+    public void verifyOldestRecordIsDropped() throws Exception {
+        val properties = new AuditQueueProperties();
+        properties.setCapacity(1);
+        properties.setBatchSize(1);
+        properties.setOverflowPolicy(AuditQueueProperties.OverflowPolicies.DROP_OLDEST);
+        val written = Collections.synchronizedList(new ArrayList<AuditActionContext>());
+        val blocked = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAll(batch);
+        });
+        queue.add(getAuditActionContext("first"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        queue.add(getAuditActionContext("second"));
+        queue.add(getAuditActionContext("third"));
+        assertEquals(1, queue.getQueueSize());
+        release.countDown();
+        queue.close();
+        assertEquals(2, written.size());
+        assertEquals("third", written.get(1).getPrincipal());
+    }
+
+    @Test
+    public void verifyRecordIsSpilledToFile() throws Exception {
+        val file = temporaryFolder.newFile("audit.log");
+        val properties = new AuditQueueProperties();
+        properties.setCapacity(1);
+        properties.setBatchSize(1);
+        properties.setOverflowPolicy(AuditQueueProperties.OverflowPolicies.SPILL);
+        properties.setSpillFile(file.getAbsolutePath());
+        val blocked = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.add(getAuditActionContext("first"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        queue.add(getAuditActionContext("second"));
+        queue.add(getAuditActionContext("third"));
+        release.countDown();
+        queue.close();
+        val lines = FileUtils.readLines(file, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("third"));
+    }
+
+    @Test
+    public void verifyRecordsAddedAfterCloseAreWritten() {
+        val written = Collections.synchronizedList(new ArrayList<AuditActionContext>());
+        val queue = new AuditActionContextBatchQueue("test", new AuditQueueProperties(), written::addAll);
+        queue.close();
+        assertFalse(queue.isRunning());
+        queue.add(getAuditActionContext("casuser"));
+        assertEquals(1, written.size());
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void verifyBlockedRecordIsDroppedAfterTimeout() throws Exception {
+        val properties = new AuditQueueProperties();
+        properties.setCapacity(1);
+        properties.setBatchSize(1);
+        properties.setBlockTimeout("PT0.1S");
+        val blocked = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.add(getAuditActionContext("first"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        queue.add(getAuditActionContext("second"));
+        queue.add(getAuditActionContext("third"));
+        assertEquals(1, queue.getDroppedCount());
+        release.countDown();
+        queue.close();
+    }
+
+    @Test
+    public void verifyFailedBatchIsCounted() {
+        val properties = new AuditQueueProperties();
+        properties.setBatchSize(2);
+        val queue = new AuditActionContextBatchQueue("test", properties, batch -> {
+            throw new IllegalStateException("Audit destination is unavailable");
+        });
+        queue.close();
+        queue.add(getAuditActionContext("casuser"));
+        assertEquals(1, queue.getFailedCount());
+    }
+}
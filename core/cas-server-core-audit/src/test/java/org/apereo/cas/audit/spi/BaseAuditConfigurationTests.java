@@ -11,6 +11,8 @@ import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -39,4 +41,20 @@ public abstract class BaseAuditConfigurationTests {
         val results = getAuditTrailManager().getAuditRecordsSince(time);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyAuditRecordsSavedInBatch() {
+        val manager = (AbstractAuditTrailManager) getAuditTrailManager();
+        val time = LocalDate.now().minusDays(2);
+        val audits = List.of(
+            new AuditActionContext("casuser-batch1", "TEST", "TEST", "CAS", new Date(), "1.2.3.4", "1.2.3.4"),
+            new AuditActionContext("casuser-batch2", "TEST", "TEST", "CAS", new Date(), "1.2.3.4", "1.2.3.4"));
+        manager.saveAuditRecords(audits);
+        val principals = manager.getAuditRecordsSince(time)
+            .stream()
+            .map(AuditActionContext::getPrincipal)
+            .collect(Collectors.toSet());
+        assertTrue(principals.contains("casuser-batch1"));
+        assertTrue(principals.contains("casuser-batch2"));
+    }
 }
@@ -4,14 +4,13 @@ import org.apereo.cas.authentication.support.password.DefaultPasswordPolicyHandl
 import org.apereo.cas.authentication.support.password.GroovyPasswordPolicyHandlingStrategy;
 import org.apereo.cas.authentication.support.password.RejectResultCodePasswordPolicyHandlingStrategy;
 import org.apereo.cas.configuration.model.core.authentication.PasswordPolicyProperties;
-import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.ScriptingUtils;
 import org.apereo.cas.validation.Assertion;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
-import groovy.lang.GroovyClassLoader;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -20,7 +19,6 @@ import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
-import org.codehaus.groovy.control.CompilerConfiguration;
 import org.springframework.core.io.DefaultResourceLoader;
 
 import java.nio.charset.StandardCharsets;
@@ -164,11 +162,8 @@ public class CoreAuthenticationUtils {
                 val resource = loader.getResource(selectionCriteria);
                 val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
 
-                val clz = AccessController.doPrivileged((PrivilegedAction<Class<Predicate>>) () -> {
-                    val classLoader = new GroovyClassLoader(Beans.class.getClassLoader(),
-                        new CompilerConfiguration(), true);
-                    return classLoader.parseClass(script);
-                });
+                val clz = AccessController.doPrivileged((PrivilegedAction<Class<Predicate>>) () ->
+                    ScriptingUtils.getCompiledScriptCache().getScriptClass(script));
                 return clz.getDeclaredConstructor().newInstance();
 
             }
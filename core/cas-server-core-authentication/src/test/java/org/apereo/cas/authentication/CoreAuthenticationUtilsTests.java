@@ -2,6 +2,7 @@ package org.apereo.cas.authentication;
 
 import org.apereo.cas.configuration.model.core.authentication.PasswordPolicyProperties;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.ScriptingUtils;
 
 import lombok.val;
 import org.junit.Test;
@@ -40,6 +41,16 @@ public class CoreAuthenticationUtilsTests {
         assertTrue(pred.test(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword()));
     }
 
+    @Test
+    public void verifyCredentialSelectionPredicateGroovyIsCompiledOnce() {
+        val cache = ScriptingUtils.getCompiledScriptCache();
+        CoreAuthenticationUtils.newCredentialSelectionPredicate("classpath:CredentialPredicate.groovy");
+        val size = cache.size();
+        val pred = CoreAuthenticationUtils.newCredentialSelectionPredicate("classpath:CredentialPredicate.groovy");
+        assertEquals(size, cache.size());
+        assertTrue(pred.test(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword()));
+    }
+
     @Test
     public void verifyCredentialSelectionPredicateClazz() {
         val pred = CoreAuthenticationUtils.newCredentialSelectionPredicate(PredicateExample.class.getName());
@@ -0,0 +1,140 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.config.CasCoreBenchmarksConfiguration;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CasBenchmarkApplicationContext} that boots the CAS core application context
+ * defined by {@link CasCoreBenchmarksConfiguration} and exposes the components that are exercised
+ * by the protocol benchmarks.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class CasBenchmarkApplicationContext implements Closeable {
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final CentralAuthenticationService centralAuthenticationService;
+
+    private final AuthenticationSystemSupport authenticationSystemSupport;
+
+    private final ServicesManager servicesManager;
+
+    private final TicketRegistry ticketRegistry;
+
+    private final WebApplicationService[] services;
+
+    public CasBenchmarkApplicationContext(final int serviceCount, final TicketEncryption ticketEncryption) {
+        this(serviceCount, ticketEncryption, new HashMap<>());
+    }
+
+    /**
+     * Boot the application context with additional properties and configuration classes,
+     * e.g. to replace the in-memory ticket registry.
+     *
+     * @param serviceCount     the service count
+     * @param ticketEncryption the ticket encryption
+     * @param settings         additional properties
+     * @param sources          additional configuration classes
+     */
+    public CasBenchmarkApplicationContext(final int serviceCount, final TicketEncryption ticketEncryption,
+                                          final Map<String, Object> settings, final Class<?>... sources) {
+        val properties = new HashMap<String, Object>(settings);
+        properties.put(CasCoreBenchmarksConfiguration.PROPERTY_SERVICE_COUNT, serviceCount);
+        properties.put("cas.slo.disabled", "true");
+        properties.put("cas.serviceRegistry.watcherEnabled", "false");
+        properties.put("cas.ticket.registry.inMemory.crypto.enabled", ticketEncryption != TicketEncryption.NONE);
+        properties.put("cas.ticket.registry.inMemory.crypto.cipherAlgorithm", ticketEncryption.getCipherAlgorithm());
+
+        this.applicationContext = new SpringApplicationBuilder(ArrayUtils.add(sources, CasCoreBenchmarksConfiguration.class))
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties(properties)
+            .run();
+        this.centralAuthenticationService = applicationContext.getBean("centralAuthenticationService", CentralAuthenticationService.class);
+        this.authenticationSystemSupport = applicationContext.getBean("defaultAuthenticationSystemSupport", AuthenticationSystemSupport.class);
+        this.servicesManager = applicationContext.getBean("servicesManager", ServicesManager.class);
+        this.ticketRegistry = applicationContext.getBean("ticketRegistry", TicketRegistry.class);
+
+        val serviceFactory = (ServiceFactory<WebApplicationService>) applicationContext.getBean("webApplicationServiceFactory", ServiceFactory.class);
+        this.services = IntStream.range(0, serviceCount)
+            .mapToObj(i -> serviceFactory.createService(CasCoreBenchmarksConfiguration.getServiceUrl(i)))
+            .toArray(WebApplicationService[]::new);
+    }
+
+    /**
+     * Pick one of the services that are registered, at random.
+     *
+     * @return the service
+     */
+    public WebApplicationService getRandomService() {
+        return this.services[ThreadLocalRandom.current().nextInt(this.services.length)];
+    }
+
+    /**
+     * Authenticate the benchmark user for the given service.
+     *
+     * @param service the service
+     * @return the authentication result
+     */
+    @SneakyThrows
+    public AuthenticationResult authenticate(final WebApplicationService service) {
+        val credential = new UsernamePasswordCredential(CasCoreBenchmarksConfiguration.USERNAME, CasCoreBenchmarksConfiguration.PASSWORD);
+        return this.authenticationSystemSupport.handleAndFinalizeSingleAuthenticationTransaction(service, credential);
+    }
+
+    @Override
+    public void close() {
+        this.applicationContext.close();
+    }
+
+    /**
+     * Ways to encrypt tickets in the ticket registry.
+     */
+    @Getter
+    public enum TicketEncryption {
+        /**
+         * Tickets are kept as they are.
+         */
+        NONE(BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES),
+        /**
+         * Tickets are encrypted and then signed.
+         */
+        AES(BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES),
+        /**
+         * Tickets are encrypted and authenticated in one pass.
+         */
+        AES_GCM(BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES_GCM);
+
+        private final String cipherAlgorithm;
+
+        TicketEncryption(final String cipherAlgorithm) {
+            this.cipherAlgorithm = cipherAlgorithm;
+        }
+    }
+}
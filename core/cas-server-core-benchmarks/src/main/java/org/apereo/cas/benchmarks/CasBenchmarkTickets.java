@@ -0,0 +1,78 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetaData;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.config.CasCoreBenchmarksConfiguration;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CasBenchmarkTickets} that builds tickets resembling those of a typical single sign-on session,
+ * for benchmarks that work with tickets directly rather than through the CAS protocol.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@UtilityClass
+public class CasBenchmarkTickets {
+    private static final long TICKET_GRANTING_TICKET_TIME_TO_LIVE = 28_800;
+
+    private static final long SERVICE_TICKET_TIME_TO_LIVE = 10;
+
+    private static final DefaultUniqueTicketIdGenerator TICKET_ID_GENERATOR = new DefaultUniqueTicketIdGenerator();
+
+    private static final WebApplicationServiceFactory SERVICE_FACTORY = new WebApplicationServiceFactory();
+
+    /**
+     * Build a ticket-granting ticket that has issued service tickets for the given number of services.
+     *
+     * @param serviceCount the number of services
+     * @return the ticket-granting ticket
+     */
+    public static TicketGrantingTicket newTicketGrantingTicket(final int serviceCount) {
+        return newTicketGrantingTicket(serviceCount, new HardTimeoutExpirationPolicy(TICKET_GRANTING_TICKET_TIME_TO_LIVE));
+    }
+
+    /**
+     * Build a ticket-granting ticket that has issued service tickets for the given number of services.
+     *
+     * @param serviceCount     the number of services
+     * @param expirationPolicy the expiration policy of the ticket-granting ticket
+     * @return the ticket-granting ticket
+     */
+    public static TicketGrantingTicket newTicketGrantingTicket(final int serviceCount, final ExpirationPolicy expirationPolicy) {
+        val credential = new UsernamePasswordCredential(CasCoreBenchmarksConfiguration.USERNAME, CasCoreBenchmarksConfiguration.PASSWORD);
+        val principal = PrincipalFactoryUtils.newPrincipalFactory().createPrincipal(CasCoreBenchmarksConfiguration.USERNAME,
+            CollectionUtils.wrap("uid", CollectionUtils.wrap(CasCoreBenchmarksConfiguration.USERNAME),
+                "mail", CollectionUtils.wrap("casuser@example.org"),
+                "eduPersonAffiliation", CollectionUtils.wrapList("member", "staff")));
+        val authentication = DefaultAuthenticationBuilder.newInstance()
+            .setPrincipal(principal)
+            .addCredential(new BasicCredentialMetaData(credential))
+            .addAttribute("authenticationMethod", "AcceptUsersAuthenticationHandler")
+            .build();
+
+        val ticketGrantingTicket = new TicketGrantingTicketImpl(TICKET_ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX),
+            authentication, expirationPolicy);
+        IntStream.range(0, serviceCount).forEach(i -> ticketGrantingTicket.grantServiceTicket(
+            TICKET_ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+            SERVICE_FACTORY.createService(CasCoreBenchmarksConfiguration.getServiceUrl(i)),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, SERVICE_TICKET_TIME_TO_LIVE),
+            false, false));
+        return ticketGrantingTicket;
+    }
+}
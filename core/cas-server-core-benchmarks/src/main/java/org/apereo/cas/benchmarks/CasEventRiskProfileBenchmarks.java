@@ -0,0 +1,159 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRiskProfileRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CasEventRiskProfileBenchmarks} that measures how long it takes to score an authentication request
+ * by the address it comes from, when the score is calculated from the recorded events of the principal
+ * as opposed to the risk profile of the principal, and how long it takes to record an event in the profile.
+ * A million events need about a gigabyte of heap; run with {@code -jvmArgs -Xmx4g} or similar.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class CasEventRiskProfileBenchmarks {
+    private static final String TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    /**
+     * Count the events of a random principal from a random address, by scanning the events of the principal.
+     *
+     * @param state the state
+     * @return the count
+     */
+    @Benchmark
+    public long scoreFromEvents(final RiskProfileState state) {
+        val address = state.getRandomClientIpAddress();
+        return state.casEventRepository
+            .getEventsOfTypeForPrincipal(TYPE, state.getRandomPrincipal(), state.getRecentHistoryStart())
+            .stream()
+            .filter(e -> address.equalsIgnoreCase(e.getClientIpAddress()))
+            .count();
+    }
+
+    /**
+     * Count the events of a random principal from a random address, by reading the risk profile of the principal.
+     *
+     * @param state the state
+     * @return the count
+     */
+    @Benchmark
+    public long scoreFromProfile(final RiskProfileState state) {
+        return state.casEventRiskProfileRepository
+            .getProfile(state.getRandomPrincipal())
+            .getCountsSince(state.getRecentHistoryStart())
+            .getClientIpAddressCount(state.getRandomClientIpAddress());
+    }
+
+    /**
+     * Record a new event of a random principal in its risk profile.
+     *
+     * @param state the state
+     * @return the state
+     */
+    @Benchmark
+    public RiskProfileState recordInProfile(final RiskProfileState state) {
+        state.casEventRiskProfileRepository.update(state.newEvent(ZonedDateTime.now(ZoneOffset.UTC)));
+        return state;
+    }
+
+    /**
+     * The events of many principals, recorded over recent history, along with their risk profiles.
+     */
+    @State(Scope.Benchmark)
+    public static class RiskProfileState {
+        private static final int DAYS_IN_RECENT_HISTORY = 30;
+
+        private static final int HOURS_PER_DAY = 24;
+
+        private static final int PRINCIPAL_COUNT = 10_000;
+
+        private static final int ADDRESS_COUNT = 64;
+
+        @Param({"10000", "1000000"})
+        private int eventCount;
+
+        private CasEventRepository casEventRepository;
+
+        private CasEventRiskProfileRepository casEventRiskProfileRepository;
+
+        /**
+         * Record the events, and build the risk profiles of all principals.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            this.casEventRepository = new InMemoryCasEventRepository(Caffeine.newBuilder().maximumSize(eventCount));
+            val now = ZonedDateTime.now(ZoneOffset.UTC);
+            IntStream.range(0, eventCount).forEach(i -> {
+                val random = ThreadLocalRandom.current();
+                val creation = now.minusDays(random.nextInt(DAYS_IN_RECENT_HISTORY)).minusHours(random.nextInt(HOURS_PER_DAY));
+                this.casEventRepository.save(newEvent(creation));
+            });
+            this.casEventRiskProfileRepository = new InMemoryCasEventRiskProfileRepository(casEventRepository,
+                DAYS_IN_RECENT_HISTORY, PRINCIPAL_COUNT);
+            IntStream.range(0, PRINCIPAL_COUNT).forEach(i -> casEventRiskProfileRepository.getProfile(getPrincipal(i)));
+        }
+
+        private CasEvent newEvent(final ZonedDateTime creation) {
+            val dto = new CasEvent();
+            dto.setType(TYPE);
+            dto.putTimestamp(creation.toInstant().toEpochMilli());
+            dto.setCreationTime(creation.toString());
+            dto.putEventId(UUID.randomUUID().toString());
+            dto.setPrincipalId(getRandomPrincipal());
+            dto.putClientIpAddress(getRandomClientIpAddress());
+            dto.putServerIpAddress("127.0.0.1");
+            dto.putAgent("Mozilla/5.0");
+            return dto;
+        }
+
+        private ZonedDateTime getRecentHistoryStart() {
+            return ZonedDateTime.now(ZoneOffset.UTC).minusDays(DAYS_IN_RECENT_HISTORY);
+        }
+
+        private String getRandomPrincipal() {
+            return getPrincipal(ThreadLocalRandom.current().nextInt(PRINCIPAL_COUNT));
+        }
+
+        private String getRandomClientIpAddress() {
+            return "10.0.0." + ThreadLocalRandom.current().nextInt(ADDRESS_COUNT);
+        }
+
+        private static String getPrincipal(final int index) {
+            return "casuser-" + index;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmarks} that measures the operations of the CAS protocol
+ * against the in-memory ticket and service registries, at different service registry sizes and ticket encryption settings.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmarks {
+
+    /**
+     * Login, grant a service ticket, validate it and then logout.
+     *
+     * @param state the state
+     * @return the assertion
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Assertion loginGrantAndValidateServiceTicket(final CasState state) throws Exception {
+        val context = state.getContext();
+        val cas = context.getCentralAuthenticationService();
+        val service = context.getRandomService();
+        val authenticationResult = context.authenticate(service);
+        val ticketGrantingTicket = cas.createTicketGrantingTicket(authenticationResult);
+        val serviceTicket = cas.grantServiceTicket(ticketGrantingTicket.getId(), service, authenticationResult);
+        val assertion = cas.validateServiceTicket(serviceTicket.getId(), service);
+        cas.destroyTicketGrantingTicket(ticketGrantingTicket.getId());
+        return assertion;
+    }
+
+    /**
+     * Authenticate the user, without creating any tickets.
+     *
+     * @param state the state
+     * @return the authentication result
+     */
+    @Benchmark
+    public AuthenticationResult authenticate(final CasState state) {
+        val context = state.getContext();
+        return context.authenticate(context.getRandomService());
+    }
+
+    /**
+     * Create a ticket-granting ticket and then remove it.
+     *
+     * @param state   the state
+     * @param session the session
+     * @return the ticket id
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public String createAndDestroyTicketGrantingTicket(final CasState state, final SessionState session) throws Exception {
+        val cas = state.getContext().getCentralAuthenticationService();
+        val ticketGrantingTicket = cas.createTicketGrantingTicket(session.getAuthenticationResult());
+        cas.destroyTicketGrantingTicket(ticketGrantingTicket.getId());
+        return ticketGrantingTicket.getId();
+    }
+
+    /**
+     * Grant a service ticket from an existing single sign-on session and validate it.
+     *
+     * @param state   the state
+     * @param session the session
+     * @return the assertion
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket(final CasState state, final SessionState session) throws Exception {
+        val cas = state.getContext().getCentralAuthenticationService();
+        val service = state.getContext().getRandomService();
+        val serviceTicket = cas.grantServiceTicket(session.nextTicketGrantingTicketId(state), service, session.getAuthenticationResult());
+        return cas.validateServiceTicket(serviceTicket.getId(), service);
+    }
+
+    /**
+     * The CAS application context, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class CasState {
+        @Param({"100", "1000", "10000"})
+        private int serviceCount;
+
+        @Param({"NONE", "AES", "AES_GCM"})
+        private CasBenchmarkApplicationContext.TicketEncryption ticketEncryption;
+
+        private CasBenchmarkApplicationContext context;
+
+        public CasBenchmarkApplicationContext getContext() {
+            return context;
+        }
+
+        /**
+         * Boot the application context.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            this.context = new CasBenchmarkApplicationContext(serviceCount, ticketEncryption);
+        }
+
+        /**
+         * Remove tickets left behind by an iteration.
+         */
+        @TearDown(Level.Iteration)
+        public void cleanTicketRegistry() {
+            this.context.getTicketRegistry().deleteAll();
+        }
+
+        /**
+         * Shut down the application context.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.context.close();
+        }
+    }
+
+    /**
+     * A single sign-on session per benchmark thread. The ticket-granting ticket is replaced
+     * after a number of service tickets, so that its list of services does not keep growing
+     * and make every update of the ticket more expensive than the last.
+     */
+    @State(Scope.Thread)
+    public static class SessionState {
+        private static final int MAX_SERVICE_TICKETS_PER_SESSION = 20;
+
+        private AuthenticationResult authenticationResult;
+
+        private String ticketGrantingTicketId;
+
+        private int serviceTicketCount;
+
+        public AuthenticationResult getAuthenticationResult() {
+            return authenticationResult;
+        }
+
+        /**
+         * Authenticate the user for this thread.
+         *
+         * @param state the state
+         */
+        @Setup(Level.Iteration)
+        public void setup(final CasState state) {
+            val service = state.getContext().getRandomService();
+            this.authenticationResult = state.getContext().authenticate(service);
+            this.ticketGrantingTicketId = null;
+            this.serviceTicketCount = 0;
+        }
+
+        /**
+         * Get the ticket-granting ticket of this session, creating a new one when needed.
+         *
+         * @param state the state
+         * @return the ticket id
+         * @throws Exception the exception
+         */
+        public String nextTicketGrantingTicketId(final CasState state) throws Exception {
+            val cas = state.getContext().getCentralAuthenticationService();
+            if (this.ticketGrantingTicketId == null || this.serviceTicketCount >= MAX_SERVICE_TICKETS_PER_SESSION) {
+                if (this.ticketGrantingTicketId != null) {
+                    cas.destroyTicketGrantingTicket(this.ticketGrantingTicketId);
+                }
+                this.ticketGrantingTicketId = cas.createTicketGrantingTicket(this.authenticationResult).getId();
+                this.serviceTicketCount = 0;
+            }
+            this.serviceTicketCount++;
+            return this.ticketGrantingTicketId;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureWindow;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link InMemoryThrottleBenchmarks} that measures the in-memory authentication throttle
+ * under a credential-stuffing attack, where many threads fail to log in from a large number of addresses
+ * while the cleaner periodically removes stale entries, with and without a bounded, self-expiring map.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InMemoryThrottleBenchmarks {
+
+    /**
+     * Check whether a submission from a random address is throttled, and record its failure.
+     *
+     * @param state the state
+     * @return whether the submission was throttled
+     */
+    @Benchmark
+    @Group("attack")
+    @GroupThreads(7)
+    public boolean failedLogin(final ThrottleState state) {
+        val random = ThreadLocalRandom.current();
+        val index = random.nextInt(state.clients.length);
+        ClientInfoHolder.setClientInfo(state.clients[index]);
+        val request = state.requests[index];
+        val throttled = state.throttle.exceedsThreshold(request);
+        if (!throttled) {
+            state.throttle.recordSubmissionFailure(request);
+        }
+        return throttled;
+    }
+
+    /**
+     * Remove stale entries, as the scheduled cleaner does.
+     *
+     * @param state the state
+     * @return the state
+     */
+    @Benchmark
+    @Group("attack")
+    @GroupThreads(1)
+    public ThrottleState clean(final ThrottleState state) {
+        state.throttle.decrement();
+        return state;
+    }
+
+    /**
+     * The throttle along with the addresses that take part in the attack.
+     */
+    @State(Scope.Group)
+    public static class ThrottleState {
+        private static final int FAILURE_THRESHOLD = 10;
+
+        private static final int FAILURE_RANGE_IN_SECONDS = 60;
+
+        private static final int MAX_ENTRIES = 100_000;
+
+        private static final int OCTET = 256;
+
+        @Param({"1000", "1000000"})
+        private int addressCount;
+
+        @Param({"true", "false"})
+        private boolean boundedMap;
+
+        private MockHttpServletRequest[] requests;
+
+        private ClientInfo[] clients;
+
+        private InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter throttle;
+
+        /**
+         * Build the throttle and the requests.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            this.requests = new MockHttpServletRequest[addressCount];
+            this.clients = new ClientInfo[addressCount];
+            IntStream.range(0, addressCount).forEach(i -> {
+                val request = new MockHttpServletRequest("POST", "/cas/login");
+                request.setRemoteAddr("10." + (i / OCTET / OCTET) % OCTET + '.' + (i / OCTET) % OCTET + '.' + i % OCTET);
+                this.requests[i] = request;
+                this.clients[i] = new ClientInfo(request);
+            });
+            final ConcurrentMap<String, ThrottledSubmissionFailureWindow> map = boundedMap
+                ? Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterAccess(FAILURE_RANGE_IN_SECONDS, TimeUnit.SECONDS)
+                .<String, ThrottledSubmissionFailureWindow>build()
+                .asMap()
+                : new ConcurrentHashMap<>();
+            this.throttle = new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(FAILURE_THRESHOLD,
+                FAILURE_RANGE_IN_SECONDS, null, "AUTHENTICATION_FAILED", null, "CAS",
+                new DefaultThrottledRequestResponseHandler(null), map);
+            this.throttle.afterPropertiesSet();
+        }
+    }
+}
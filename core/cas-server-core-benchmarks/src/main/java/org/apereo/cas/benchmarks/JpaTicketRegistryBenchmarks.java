@@ -0,0 +1,117 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.config.JpaTicketRegistryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link JpaTicketRegistryBenchmarks} that measures the latency of issuing a service ticket
+ * against the JPA ticket registry, as a function of the number of services already tracked by the
+ * ticket-granting ticket, with and without storing those services in a table of their own.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JpaTicketRegistryBenchmarks {
+
+    /**
+     * Load the ticket-granting ticket, grant a service ticket and store both.
+     * The service ticket replaces the one issued by the previous invocation for the same service,
+     * so the number of services tracked by the ticket-granting ticket remains the same.
+     *
+     * @param state the state
+     * @return the service ticket
+     */
+    @Benchmark
+    public ServiceTicket grantServiceTicket(final RegistryState state) {
+        val ticketRegistry = state.ticketRegistry;
+        val ticketGrantingTicket = ticketRegistry.getTicket(state.ticketGrantingTicketId, TicketGrantingTicket.class);
+        val serviceTicket = ticketGrantingTicket.grantServiceTicket(state.ticketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+            state.service, state.expirationPolicy, false, true);
+        ticketRegistry.addTicket(serviceTicket);
+        ticketRegistry.updateTicket(ticketGrantingTicket);
+        return serviceTicket;
+    }
+
+    /**
+     * The JPA ticket registry, holding a ticket-granting ticket with the given number of services.
+     */
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+        private static final long SERVICE_TICKET_TIME_TO_LIVE = 10;
+
+        @Param({"1", "10", "100", "1000"})
+        private int sessionLength;
+
+        @Param({"true", "false"})
+        private boolean normalizeTicketGrantingTickets;
+
+        private final DefaultUniqueTicketIdGenerator ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+        private final MultiTimeUseOrTimeoutExpirationPolicy expirationPolicy =
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, SERVICE_TICKET_TIME_TO_LIVE);
+
+        private final Service service = new WebApplicationServiceFactory().createService("https://benchmarks.example.org/cas");
+
+        private CasBenchmarkApplicationContext context;
+
+        private TicketRegistry ticketRegistry;
+
+        private String ticketGrantingTicketId;
+
+        /**
+         * Boot the application context with the JPA ticket registry, and store the ticket-granting ticket.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            val properties = new HashMap<String, Object>();
+            properties.put("cas.ticket.registry.jpa.normalizeTicketGrantingTickets", normalizeTicketGrantingTickets);
+            properties.put("cas.ticket.registry.cleaner.schedule.enabled", "false");
+            this.context = new CasBenchmarkApplicationContext(1, CasBenchmarkApplicationContext.TicketEncryption.NONE, properties,
+                JpaTicketRegistryTicketCatalogConfiguration.class, JpaTicketRegistryConfiguration.class);
+            this.ticketRegistry = context.getTicketRegistry();
+
+            val ticketGrantingTicket = CasBenchmarkTickets.newTicketGrantingTicket(sessionLength);
+            this.ticketGrantingTicketId = ticketGrantingTicket.getId();
+            ticketRegistry.addTicket(ticketGrantingTicket);
+            ticketRegistry.updateTicket(ticketGrantingTicket);
+        }
+
+        /**
+         * Close the application context.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.context.close();
+        }
+    }
+}
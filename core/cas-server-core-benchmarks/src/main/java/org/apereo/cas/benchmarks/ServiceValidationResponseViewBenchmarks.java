@@ -0,0 +1,174 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.ProtocolAttributeEncoder;
+import org.apereo.cas.validation.AuthenticationAttributeReleasePolicy;
+import org.apereo.cas.web.view.Cas20ResponseView;
+import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+import org.apereo.cas.web.view.attributes.NoOpProtocolAttributesRenderer;
+import org.apereo.cas.web.view.json.Cas30JsonResponseView;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServiceValidationResponseViewBenchmarks} that measures how long it takes to build
+ * the CAS2 and CAS3 service validation responses for a validated assertion, as done by the views
+ * of {@code AbstractServiceValidateController}. The CAS2 and CAS3 views delegate the final markup
+ * to a template engine, which is replaced here by a view that only writes out the model, so the
+ * numbers cover attribute release, encoding and rendering of attributes. The JSON view is rendered in full.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceValidationResponseViewBenchmarks {
+
+    /**
+     * Render the CAS2 response.
+     *
+     * @param state the state
+     * @return the response
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public MockHttpServletResponse renderCas20Response(final ViewState state) throws Exception {
+        return state.render(state.cas20View);
+    }
+
+    /**
+     * Render the CAS3 response.
+     *
+     * @param state the state
+     * @return the response
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public MockHttpServletResponse renderCas30Response(final ViewState state) throws Exception {
+        return state.render(state.cas30View);
+    }
+
+    /**
+     * Render the CAS3 response as JSON.
+     *
+     * @param state the state
+     * @return the response
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public MockHttpServletResponse renderCas30JsonResponse(final ViewState state) throws Exception {
+        return state.render(state.cas30JsonView);
+    }
+
+    /**
+     * The views and the model of a validated service ticket.
+     */
+    @State(Scope.Benchmark)
+    public static class ViewState {
+        private static final int SERVICE_COUNT = 100;
+
+        private CasBenchmarkApplicationContext context;
+
+        private Map<String, Object> model;
+
+        private View cas20View;
+
+        private View cas30View;
+
+        private View cas30JsonView;
+
+        /**
+         * Boot the application context and validate a service ticket.
+         *
+         * @throws Exception the exception
+         */
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            this.context = new CasBenchmarkApplicationContext(SERVICE_COUNT, CasBenchmarkApplicationContext.TicketEncryption.NONE);
+
+            val cas = context.getCentralAuthenticationService();
+            val service = context.getRandomService();
+            val authenticationResult = context.authenticate(service);
+            val ticketGrantingTicket = cas.createTicketGrantingTicket(authenticationResult);
+            val serviceTicket = cas.grantServiceTicket(ticketGrantingTicket.getId(), service, authenticationResult);
+            val assertion = cas.validateServiceTicket(serviceTicket.getId(), service);
+
+            this.model = new HashMap<>();
+            this.model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ASSERTION, assertion);
+            this.model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_SERVICE, service);
+
+            val applicationContext = context.getApplicationContext();
+            val encoder = applicationContext.getBean("casAttributeEncoder", ProtocolAttributeEncoder.class);
+            val releasePolicy = applicationContext.getBean("authenticationAttributeReleasePolicy", AuthenticationAttributeReleasePolicy.class);
+            val selectionPlan = applicationContext.getBean("authenticationServiceSelectionPlan", AuthenticationServiceSelectionPlan.class);
+            val servicesManager = context.getServicesManager();
+            val delegatedView = new ModelWritingView();
+
+            this.cas20View = new Cas20ResponseView(true, encoder, servicesManager, delegatedView,
+                releasePolicy, selectionPlan, new NoOpProtocolAttributesRenderer());
+            this.cas30View = new Cas30ResponseView(true, encoder, servicesManager, delegatedView,
+                releasePolicy, selectionPlan, new DefaultCas30ProtocolAttributesRenderer());
+            this.cas30JsonView = new Cas30JsonResponseView(true, encoder, servicesManager,
+                releasePolicy, selectionPlan, new DefaultCas30ProtocolAttributesRenderer());
+        }
+
+        /**
+         * Shut down the application context.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.context.close();
+        }
+
+        private MockHttpServletResponse render(final View view) throws Exception {
+            val response = new MockHttpServletResponse();
+            view.render(this.model, new MockHttpServletRequest(), response);
+            return response;
+        }
+    }
+
+    /**
+     * Stands in for the template engine and writes out the model it is given.
+     */
+    private static class ModelWritingView implements View {
+        @Override
+        public String getContentType() {
+            return MediaType.TEXT_XML_VALUE;
+        }
+
+        @Override
+        public void render(final Map<String, ?> model, final HttpServletRequest request,
+                           final HttpServletResponse response) throws Exception {
+            val writer = response.getWriter();
+            model.forEach((key, value) -> writer.append(key).append('=').append(String.valueOf(value)).append('\n'));
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.config.CasCoreBenchmarksConfiguration;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.index.OrderedRegisteredServiceMatchingIndex;
+import org.apereo.cas.services.index.PrefixTrieRegisteredServiceMatchingIndex;
+import org.apereo.cas.services.index.RegisteredServiceMatchingIndex;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link ServicesManagerBenchmarks} that measures how long it takes to locate the service definition
+ * for a service url, as the number of service definitions grows, with and without the literal prefix index.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServicesManagerBenchmarks {
+
+    /**
+     * Find the definition of a registered service.
+     *
+     * @param state the state
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findRegisteredService(final ServicesState state) {
+        val index = ThreadLocalRandom.current().nextInt(state.serviceCount);
+        return state.servicesManager.findServiceBy(CasCoreBenchmarksConfiguration.getServiceUrl(index));
+    }
+
+    /**
+     * Look for the definition of a service that is not registered.
+     *
+     * @param state the state
+     * @return the registered service, which is always null
+     */
+    @Benchmark
+    public RegisteredService findUnknownService(final ServicesState state) {
+        return state.servicesManager.findServiceBy("https://unknown.example.net/login");
+    }
+
+    /**
+     * Ways to narrow down service definitions.
+     */
+    public enum MatchingIndex {
+        /**
+         * Every service definition is a candidate, in evaluation order.
+         */
+        ORDERED(OrderedRegisteredServiceMatchingIndex::new),
+        /**
+         * Service definitions are indexed by the literal prefix of their service id.
+         */
+        PREFIX_TRIE(PrefixTrieRegisteredServiceMatchingIndex::new);
+
+        private final Supplier<RegisteredServiceMatchingIndex> factory;
+
+        MatchingIndex(final Supplier<RegisteredServiceMatchingIndex> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * The services manager, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class ServicesState {
+        @Param({"100", "1000", "10000"})
+        private int serviceCount;
+
+        @Param({"ORDERED", "PREFIX_TRIE"})
+        private MatchingIndex matchingIndex;
+
+        private ServicesManager servicesManager;
+
+        /**
+         * Register the service definitions.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            val services = CasCoreBenchmarksConfiguration.buildRegisteredServices(serviceCount);
+            this.servicesManager = new DefaultServicesManager(new InMemoryServiceRegistry(services), null,
+                new HashSet<>(), matchingIndex.factory.get());
+            this.servicesManager.load();
+        }
+    }
+}
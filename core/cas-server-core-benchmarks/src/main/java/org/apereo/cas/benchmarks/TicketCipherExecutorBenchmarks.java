@@ -0,0 +1,95 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.registry.JdkTicketSerializationCodec;
+import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketCipherExecutorBenchmarks} that measures encryption and decryption of serialized tickets
+ * by a single ticket cipher executor that is shared by several threads, as done by the ticket registries.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class TicketCipherExecutorBenchmarks {
+
+    /**
+     * Encrypt the serialized ticket.
+     *
+     * @param state the state
+     * @return the encrypted bytes
+     */
+    @Benchmark
+    public byte[] encode(final CipherState state) {
+        return state.cipherExecutor.encode(state.value, ArrayUtils.EMPTY_OBJECT_ARRAY);
+    }
+
+    /**
+     * Decrypt the serialized ticket.
+     *
+     * @param state the state
+     * @return the decrypted bytes
+     */
+    @Benchmark
+    public byte[] decode(final CipherState state) {
+        return state.cipherExecutor.decode(state.encodedValue, ArrayUtils.EMPTY_OBJECT_ARRAY);
+    }
+
+    /**
+     * The cipher executor, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class CipherState {
+        private static final int SIGNING_KEY_SIZE = 512;
+
+        private static final int ENCRYPTION_KEY_SIZE = 16;
+
+        @Param({BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES, BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES_GCM})
+        private String cipherAlgorithm;
+
+        @Param({"1", "10"})
+        private int serviceCount;
+
+        private BaseBinaryCipherExecutor cipherExecutor;
+
+        private byte[] value;
+
+        private byte[] encodedValue;
+
+        /**
+         * Build the cipher executor and the value to encrypt.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            this.cipherExecutor = new DefaultTicketCipherExecutor(StringUtils.EMPTY, StringUtils.EMPTY, "AES",
+                SIGNING_KEY_SIZE, ENCRYPTION_KEY_SIZE, "benchmarks");
+            this.cipherExecutor.setCipherAlgorithm(cipherAlgorithm);
+            this.value = new JdkTicketSerializationCodec().encode(CasBenchmarkTickets.newTicketGrantingTicket(serviceCount));
+            this.encodedValue = cipherExecutor.encode(value, ArrayUtils.EMPTY_OBJECT_ARRAY);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NoOpLockingStrategy;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link TicketRegistryCleanerBenchmarks} that measures a single run of the ticket registry cleaner,
+ * when only a small portion of the tickets in the registry has expired, with and without the expiration index.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+public class TicketRegistryCleanerBenchmarks {
+
+    /**
+     * Remove expired tickets from the registry.
+     *
+     * @param state the state
+     * @return the registry
+     */
+    @Benchmark
+    public DefaultTicketRegistry clean(final CleanerState state) {
+        state.cleaner.clean();
+        return state.ticketRegistry;
+    }
+
+    /**
+     * The ticket registry, populated before every run of the cleaner.
+     */
+    @State(Scope.Benchmark)
+    public static class CleanerState {
+        private static final int PERCENT = 100;
+
+        @Param({"10000", "100000"})
+        private int ticketCount;
+
+        @Param({"1", "10"})
+        private int expiredPercentage;
+
+        @Param({"true", "false"})
+        private boolean expirationIndex;
+
+        private List<TicketGrantingTicket> tickets;
+
+        private DefaultTicketRegistry ticketRegistry;
+
+        private DefaultTicketRegistryCleaner cleaner;
+
+        /**
+         * Build the tickets.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            val expiredCount = ticketCount * expiredPercentage / PERCENT;
+            this.tickets = IntStream.range(0, ticketCount)
+                .mapToObj(i -> {
+                    val ticket = CasBenchmarkTickets.newTicketGrantingTicket(0);
+                    if (i < expiredCount) {
+                        ticket.markTicketExpired();
+                    }
+                    return ticket;
+                })
+                .collect(Collectors.toList());
+        }
+
+        /**
+         * Populate the registry for the next run of the cleaner.
+         */
+        @Setup(Level.Invocation)
+        public void populateTicketRegistry() {
+            this.ticketRegistry = new DefaultTicketRegistry();
+            if (!expirationIndex) {
+                this.ticketRegistry.setTicketExpirationIndex(null);
+            }
+            this.tickets.forEach(ticketRegistry::addTicket);
+            this.cleaner = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), ticket -> new ArrayList<>(), ticketRegistry);
+        }
+    }
+}
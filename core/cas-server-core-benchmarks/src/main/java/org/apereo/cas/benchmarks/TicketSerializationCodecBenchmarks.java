@@ -0,0 +1,108 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.memcached.kryo.CasKryoPool;
+import org.apereo.cas.memcached.kryo.KryoTicketSerializationCodec;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.JdkTicketSerializationCodec;
+import org.apereo.cas.ticket.registry.TicketSerializationCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link TicketSerializationCodecBenchmarks} that compares the ticket serialization codecs
+ * used by the ticket registries to store encoded tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TicketSerializationCodecBenchmarks {
+
+    /**
+     * Serialize the ticket-granting ticket.
+     *
+     * @param state the state
+     * @return the bytes
+     */
+    @Benchmark
+    public byte[] encode(final CodecState state) {
+        return state.codec.encode(state.ticket);
+    }
+
+    /**
+     * Deserialize the ticket-granting ticket.
+     *
+     * @param state the state
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket decode(final CodecState state) {
+        return state.codec.decode(state.encodedTicket);
+    }
+
+    /**
+     * Available codecs.
+     */
+    public enum Codec {
+        /**
+         * Standard java serialization.
+         */
+        JDK(JdkTicketSerializationCodec::new),
+        /**
+         * Kryo with the class registrations of the CAS kryo pool.
+         */
+        KRYO(() -> new KryoTicketSerializationCodec(new CasKryoPool()));
+
+        private final Supplier<TicketSerializationCodec> factory;
+
+        Codec(final Supplier<TicketSerializationCodec> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * The codec and the ticket to serialize.
+     */
+    @State(Scope.Benchmark)
+    public static class CodecState {
+        @Param({"JDK", "KRYO"})
+        private Codec codecType;
+
+        @Param({"1", "10"})
+        private int serviceCount;
+
+        private TicketSerializationCodec codec;
+
+        private Ticket ticket;
+
+        private byte[] encodedTicket;
+
+        /**
+         * Build the ticket and its serialized form.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            this.codec = codecType.factory.get();
+            this.ticket = CasBenchmarkTickets.newTicketGrantingTicket(serviceCount);
+            this.encodedTicket = codec.encode(ticket);
+        }
+    }
+}
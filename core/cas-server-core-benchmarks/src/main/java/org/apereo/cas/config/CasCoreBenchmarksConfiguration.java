@@ -0,0 +1,154 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
+import org.apereo.cas.authentication.AuthenticationEventExecutionPlan;
+import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.validation.config.CasCoreValidationConfiguration;
+import org.apereo.cas.web.config.CasCookieConfiguration;
+import org.apereo.cas.web.flow.config.CasCoreWebflowConfiguration;
+
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CasCoreBenchmarksConfiguration} that wires the CAS core with the default in-memory ticket registry,
+ * an in-memory service registry with a configurable number of regex service definitions and an authentication handler
+ * that accepts a fixed set of users, so that the protocol operations can be benchmarked without any external dependencies.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("casCoreBenchmarksConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@EnableAspectJAutoProxy
+@Import({
+    CasWebApplicationServiceFactoryConfiguration.class,
+    CasDefaultServiceTicketIdGeneratorsConfiguration.class,
+    CasCoreTicketIdGeneratorsConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCookieConfiguration.class,
+    CasCoreWebflowConfiguration.class,
+    CasCoreValidationConfiguration.class,
+    RefreshAutoConfiguration.class,
+    AopAutoConfiguration.class
+})
+public class CasCoreBenchmarksConfiguration implements AuthenticationEventExecutionPlanConfigurer {
+    /**
+     * Number of service definitions to register.
+     */
+    public static final String PROPERTY_SERVICE_COUNT = "benchmark.services.count";
+
+    private static final int DEFAULT_SERVICE_COUNT = 100;
+
+    /**
+     * Username accepted by the benchmark authentication handler.
+     */
+    public static final String USERNAME = "casuser";
+
+    /**
+     * Password accepted by the benchmark authentication handler.
+     */
+    public static final String PASSWORD = "Mellon";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    @Qualifier("defaultPrincipalResolver")
+    private PrincipalResolver defaultPrincipalResolver;
+
+    /**
+     * Build the service url that is matched by the service definition at the given index.
+     *
+     * @param index the index
+     * @return the service url
+     */
+    public static String getServiceUrl(final int index) {
+        return "https://app" + index + ".example.org/login";
+    }
+
+    /**
+     * Build regex service definitions, where the definition at each index
+     * matches the url produced by {@link #getServiceUrl(int)} for the same index.
+     *
+     * @param count the number of definitions
+     * @return the registered services
+     */
+    public static List<RegisteredService> buildRegisteredServices(final int count) {
+        val services = new ArrayList<RegisteredService>(count);
+        IntStream.range(0, count).forEach(i -> {
+            val service = new RegexRegisteredService();
+            service.setId(i);
+            service.setName("Application" + i);
+            service.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+            service.setEvaluationOrder(i);
+            service.setAttributeReleasePolicy(new ReturnAllAttributeReleasePolicy());
+            services.add(service);
+        });
+        return services;
+    }
+
+    @Bean
+    public List<RegisteredService> inMemoryRegisteredServices() {
+        return buildRegisteredServices(environment.getProperty(PROPERTY_SERVICE_COUNT, Integer.class, DEFAULT_SERVICE_COUNT));
+    }
+
+    @Bean
+    public List<IPersonAttributeDao> attributeRepositories() {
+        return CollectionUtils.wrap(attributeRepository());
+    }
+
+    @Bean
+    public IPersonAttributeDao attributeRepository() {
+        val attrs = CollectionUtils.wrap("uid", CollectionUtils.wrap(USERNAME),
+            "cn", CollectionUtils.wrap("CAS User"),
+            "mail", CollectionUtils.wrap("casuser@example.org"),
+            "eduPersonAffiliation", CollectionUtils.wrapList("member", "staff"));
+        return new StubPersonAttributeDao((Map) attrs);
+    }
+
+    @Override
+    public void configureAuthenticationExecutionPlan(final AuthenticationEventExecutionPlan plan) {
+        val handler = new AcceptUsersAuthenticationHandler(CollectionUtils.wrap(USERNAME, PASSWORD));
+        plan.registerAuthenticationHandlerWithPrincipalResolver(handler, defaultPrincipalResolver);
+    }
+}
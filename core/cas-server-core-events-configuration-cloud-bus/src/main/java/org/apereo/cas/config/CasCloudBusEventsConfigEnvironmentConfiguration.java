@@ -2,12 +2,20 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.CasConfigurationPropertiesEnvironmentManager;
+import org.apereo.cas.support.events.bus.CasCloudBusTicketRegistryInvalidationPublisher;
+import org.apereo.cas.support.events.bus.CasTicketRegistryInvalidationRemoteApplicationEvent;
 import org.apereo.cas.support.events.listener.CasCloudBusConfigurationEventListener;
+import org.apereo.cas.support.events.listener.CasCloudBusTicketRegistryInvalidationEventListener;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationPublisher;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,11 +28,19 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration("casCloudBusEventsConfigEnvironmentConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@RemoteApplicationEventScan(basePackageClasses = CasTicketRegistryInvalidationRemoteApplicationEvent.class)
 public class CasCloudBusEventsConfigEnvironmentConfiguration {
 
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
+    @Autowired
+    private ObjectProvider<ServiceMatcher> serviceMatcher;
+
     @ConditionalOnMissingBean(name = "casCloudBusConfigurationEventListener")
     @Bean
     @Autowired
@@ -33,4 +49,15 @@ public class CasCloudBusEventsConfigEnvironmentConfiguration {
         return new CasCloudBusConfigurationEventListener(manager, this.applicationContext);
     }
 
+    @ConditionalOnMissingBean(name = "ticketRegistryInvalidationPublisher")
+    @Bean
+    public TicketRegistryInvalidationPublisher ticketRegistryInvalidationPublisher() {
+        return new CasCloudBusTicketRegistryInvalidationPublisher(this.applicationContext, serviceMatcher.getObject());
+    }
+
+    @ConditionalOnMissingBean(name = "casCloudBusTicketRegistryInvalidationEventListener")
+    @Bean
+    public CasCloudBusTicketRegistryInvalidationEventListener casCloudBusTicketRegistryInvalidationEventListener() {
+        return new CasCloudBusTicketRegistryInvalidationEventListener(this.ticketRegistry, serviceMatcher.getObject());
+    }
 }
@@ -0,0 +1,45 @@
+package org.apereo.cas.support.events.bus;
+
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationPublisher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This is {@link CasCloudBusTicketRegistryInvalidationPublisher} that asks other nodes
+ * to discard tickets from their near cache over the cloud bus.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CasCloudBusTicketRegistryInvalidationPublisher implements TicketRegistryInvalidationPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ServiceMatcher serviceMatcher;
+
+    @Override
+    public void invalidate(final Collection<String> ticketIds) {
+        if (!ticketIds.isEmpty()) {
+            publish(ticketIds, false);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        publish(List.of(), true);
+    }
+
+    private void publish(final Collection<String> ticketIds, final boolean all) {
+        val event = new CasTicketRegistryInvalidationRemoteApplicationEvent(this, serviceMatcher.getServiceId(), ticketIds, all);
+        LOGGER.trace("Publishing [{}]", event);
+        eventPublisher.publishEvent(event);
+    }
+}
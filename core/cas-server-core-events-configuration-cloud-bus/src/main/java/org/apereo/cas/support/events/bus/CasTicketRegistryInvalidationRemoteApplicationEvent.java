@@ -0,0 +1,35 @@
+package org.apereo.cas.support.events.bus;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This is {@link CasTicketRegistryInvalidationRemoteApplicationEvent} that asks other nodes
+ * to discard tickets from their near cache, once the tickets are updated or deleted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class CasTicketRegistryInvalidationRemoteApplicationEvent extends RemoteApplicationEvent {
+    private static final long serialVersionUID = -2366716587291316212L;
+
+    private List<String> ticketIds = new ArrayList<>();
+
+    private boolean all;
+
+    public CasTicketRegistryInvalidationRemoteApplicationEvent(final Object source, final String originService,
+                                                               final Collection<String> ticketIds, final boolean all) {
+        super(source, originService);
+        this.ticketIds = new ArrayList<>(ticketIds);
+        this.all = all;
+    }
+}
@@ -0,0 +1,51 @@
+package org.apereo.cas.support.events.listener;
+
+import org.apereo.cas.support.events.bus.CasTicketRegistryInvalidationRemoteApplicationEvent;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.event.EventListener;
+
+/**
+ * This is {@link CasCloudBusTicketRegistryInvalidationEventListener} that discards tickets
+ * from the near cache of this node when other nodes update or delete them.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CasCloudBusTicketRegistryInvalidationEventListener {
+    private final ObjectProvider<TicketRegistry> ticketRegistry;
+
+    private final ServiceMatcher serviceMatcher;
+
+    /**
+     * Handle invalidation event when issued by the cloud bus.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleInvalidationEvent(final CasTicketRegistryInvalidationRemoteApplicationEvent event) {
+        if (serviceMatcher.isFromSelf(event)) {
+            return;
+        }
+        val registry = ticketRegistry.getIfAvailable();
+        if (!(registry instanceof NearCacheTicketRegistry)) {
+            LOGGER.trace("Ignoring event [{}] since the ticket registry has no near cache", event);
+            return;
+        }
+        LOGGER.trace("Received event [{}]", event);
+        val nearCache = (NearCacheTicketRegistry) registry;
+        if (event.isAll()) {
+            nearCache.invalidateAll();
+        } else {
+            nearCache.invalidate(event.getTicketIds());
+        }
+    }
+}
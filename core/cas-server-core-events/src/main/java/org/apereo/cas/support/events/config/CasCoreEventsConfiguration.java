@@ -2,10 +2,15 @@ package org.apereo.cas.support.events.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRiskProfileRepository;
 import org.apereo.cas.support.events.dao.NoOpCasEventRepository;
 import org.apereo.cas.support.events.listener.DefaultCasEventListener;
 import org.apereo.cas.support.events.web.CasEventsReportEndpoint;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -20,11 +25,15 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration("casCoreEventsConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
 public class CasCoreEventsConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Bean
     public DefaultCasEventListener defaultCasEventListener() {
-        return new DefaultCasEventListener(casEventRepository());
+        return new DefaultCasEventListener(casEventRepository(), casEventRiskProfileRepository());
     }
 
     @ConditionalOnMissingBean(name = "casEventRepository")
@@ -33,6 +42,15 @@ public class CasCoreEventsConfiguration {
         return new NoOpCasEventRepository();
     }
 
+    @ConditionalOnMissingBean(name = "casEventRiskProfileRepository")
+    @Bean
+    public CasEventRiskProfileRepository casEventRiskProfileRepository() {
+        val risk = casProperties.getAuthn().getAdaptive().getRisk();
+        LOGGER.warn("Risk profiles of principals are kept in memory, up to [{}] principals. Profiles are not shared "
+            + "with other CAS nodes, and only count the authentication events seen by this node.", risk.getMaxRiskProfilesInMemory());
+        return new InMemoryCasEventRiskProfileRepository(casEventRepository(), risk.getDaysInRecentHistory(), risk.getMaxRiskProfilesInMemory());
+    }
+
     @Bean
     @ConditionalOnEnabledEndpoint
     public CasEventsReportEndpoint casEventsReportEndpoint() {
@@ -0,0 +1,106 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link AbstractCasEventRiskProfileRepository} that keeps a risk profile of the ticket-granting ticket
+ * creation events of each principal, covering the days in recent history.
+ * Profiles that are not stored yet are built once from the {@link CasEventRepository};
+ * from then on, events are added to the profile as they are recorded, and days that fall out of
+ * recent history are discarded. Updates are retried when the profile was stored by someone else in the meantime.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public abstract class AbstractCasEventRiskProfileRepository implements CasEventRiskProfileRepository {
+    /**
+     * The type of events that are recorded in risk profiles.
+     */
+    protected static final String EVENT_TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * The event repository, from which profiles are built.
+     */
+    protected final CasEventRepository casEventRepository;
+
+    /**
+     * Number of days of history to keep in each profile.
+     */
+    protected final long daysInRecentHistory;
+
+    @Override
+    public CasEventRiskProfile getProfile(final String principalId) {
+        val profile = loadProfile(principalId);
+        if (profile != null) {
+            return profile;
+        }
+        val built = new CasEventRiskProfile(principalId);
+        this.casEventRepository.getEventsOfTypeForPrincipal(EVENT_TYPE, principalId, getRecentHistoryStart()).forEach(built::record);
+        LOGGER.debug("Built the risk profile of [{}] from [{}] day(s) of recorded events", principalId, built.getDays().size());
+        built.setVersion(1);
+        if (storeProfile(built, 0)) {
+            return built;
+        }
+        val stored = loadProfile(principalId);
+        return stored != null ? stored : built;
+    }
+
+    @Override
+    public void update(final CasEvent event) {
+        if (!EVENT_TYPE.equals(event.getType()) || StringUtils.isBlank(event.getPrincipalId())) {
+            return;
+        }
+        for (var attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            val current = getProfile(event.getPrincipalId());
+            val profile = new CasEventRiskProfile(current);
+            profile.record(event);
+            profile.discardBefore(getRecentHistoryStart());
+            profile.setVersion(current.getVersion() + 1);
+            if (storeProfile(profile, current.getVersion())) {
+                return;
+            }
+            LOGGER.trace("Risk profile of [{}] was updated concurrently; attempt [{}] failed", event.getPrincipalId(), attempt);
+        }
+        LOGGER.warn("Unable to update the risk profile of [{}] after [{}] attempts", event.getPrincipalId(), MAX_UPDATE_ATTEMPTS);
+    }
+
+    /**
+     * Gets the start of recent history.
+     *
+     * @return the date time
+     */
+    protected ZonedDateTime getRecentHistoryStart() {
+        return ZonedDateTime.now(ZoneOffset.UTC).minusDays(this.daysInRecentHistory);
+    }
+
+    /**
+     * Load the stored profile of the principal. The profile must not be modified.
+     *
+     * @param principalId the principal id
+     * @return the profile, or null if none is stored
+     */
+    protected abstract CasEventRiskProfile loadProfile(String principalId);
+
+    /**
+     * Store the profile, if the stored version of the profile matches the expected version.
+     *
+     * @param profile         the profile
+     * @param expectedVersion the version of the stored profile, or {@code 0} if no profile should be stored yet
+     * @return true if the profile is stored
+     */
+    protected abstract boolean storeProfile(CasEventRiskProfile profile, long expectedVersion);
+}
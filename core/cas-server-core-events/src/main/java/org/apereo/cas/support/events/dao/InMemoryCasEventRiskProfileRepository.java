@@ -0,0 +1,50 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.CasEventRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This is {@link InMemoryCasEventRiskProfileRepository} that keeps risk profiles in memory,
+ * up to a maximum number of principals. Profiles of principals that have not logged in
+ * during recent history are discarded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryCasEventRiskProfileRepository extends AbstractCasEventRiskProfileRepository {
+    private final Cache<String, CasEventRiskProfile> profiles;
+
+    public InMemoryCasEventRiskProfileRepository(final CasEventRepository casEventRepository, final long daysInRecentHistory,
+                                                 final long maximumSize) {
+        super(casEventRepository, daysInRecentHistory);
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(Math.max(daysInRecentHistory, 1), TimeUnit.DAYS)
+            .build();
+    }
+
+    @Override
+    protected CasEventRiskProfile loadProfile(final String principalId) {
+        return this.profiles.getIfPresent(principalId);
+    }
+
+    @Override
+    protected boolean storeProfile(final CasEventRiskProfile profile, final long expectedVersion) {
+        val stored = new AtomicBoolean();
+        this.profiles.asMap().compute(profile.getPrincipalId(), (id, current) -> {
+            val currentVersion = current == null ? 0 : current.getVersion();
+            if (currentVersion != expectedVersion) {
+                return current;
+            }
+            stored.set(true);
+            return profile;
+        });
+        return stored.get();
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.support.events.listener;
 
 import org.apereo.cas.support.events.AbstractCasEvent;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.support.events.authentication.CasAuthenticationPolicyFailureEvent;
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionFailureEvent;
 import org.apereo.cas.support.events.authentication.adaptive.CasRiskyAuthenticationDetectedEvent;
@@ -24,7 +25,8 @@ import org.springframework.context.event.EventListener;
 /**
  * This is {@link DefaultCasEventListener} that attempts to consume CAS events
  * upon various authentication events. Event data is persisted into a repository
- * via {@link CasEventRepository}.
+ * via {@link CasEventRepository}, and ticket-granting ticket creation events are also recorded
+ * in the risk profile of the principal via {@link CasEventRiskProfileRepository}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -36,6 +38,8 @@ public class DefaultCasEventListener {
 
     private final CasEventRepository casEventRepository;
 
+    private final CasEventRiskProfileRepository casEventRiskProfileRepository;
+
     private static CasEvent prepareCasEvent(final AbstractCasEvent event) {
         val dto = new CasEvent();
         dto.setType(event.getClass().getCanonicalName());
@@ -77,10 +81,27 @@ public class DefaultCasEventListener {
             dto.setCreationTime(event.getTicketGrantingTicket().getCreationTime().toString());
             dto.putEventId(TicketIdSanitizationUtils.sanitize(event.getTicketGrantingTicket().getId()));
             dto.setPrincipalId(event.getTicketGrantingTicket().getAuthentication().getPrincipal().getId());
+            updateRiskProfile(dto);
             this.casEventRepository.save(dto);
         }
     }
 
+    /**
+     * Record the event in the risk profile of the principal. This happens before the event is saved,
+     * since profiles that are not stored yet are built from the events that are saved already.
+     */
+    private void updateRiskProfile(final CasEvent event) {
+        if (this.casEventRiskProfileRepository == null) {
+            return;
+        }
+        try {
+            this.casEventRiskProfileRepository.update(event);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to update the risk profile of [{}]: [{}]", event.getPrincipalId(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
     /**
      * Handle cas authentication policy failure event.
      *
@@ -7,12 +7,16 @@ import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
 
 import lombok.val;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 import static org.junit.Assert.*;
 
 /**
@@ -70,6 +74,40 @@ public abstract class AbstractCasEventRepositoryTests {
         });
     }
 
+    /**
+     * Verify that the risk profile repository counts the events of a principal it is updated with.
+     * Events are not saved, so as to keep the event repository intact for other tests.
+     *
+     * @param riskProfileRepository the risk profile repository
+     */
+    protected void verifyRiskProfile(final CasEventRiskProfileRepository riskProfileRepository) {
+        val principal = "casuser-" + RandomStringUtils.randomAlphanumeric(8);
+        assertEquals(0, riskProfileRepository.getProfile(principal).getCountsSince(ZonedDateTime.now(ZoneOffset.UTC).minusDays(1)).getCount());
+
+        val dto1 = getCasEvent();
+        dto1.setPrincipalId(principal);
+        riskProfileRepository.update(dto1);
+
+        val dto2 = getCasEvent();
+        dto2.setPrincipalId(principal);
+        dto2.putClientIpAddress("5.6.7.8");
+        riskProfileRepository.update(dto2);
+
+        val dto3 = getCasEvent();
+        dto3.setPrincipalId(principal);
+        dto3.setType(CasEvent.class.getName());
+        riskProfileRepository.update(dto3);
+
+        val profile = riskProfileRepository.getProfile(principal);
+        assertEquals(principal, profile.getPrincipalId());
+        val counts = profile.getCountsSince(ZonedDateTime.now(ZoneOffset.UTC).minusDays(1));
+        assertEquals(2, counts.getCount());
+        assertEquals(1, counts.getClientIpAddressCount("1.2.3.4"));
+        assertEquals(1, counts.getClientIpAddressCount("5.6.7.8"));
+        assertEquals(2, counts.getGeoLocationCount(new GeoLocationRequest(1234, 1234)));
+        assertEquals(0, counts.getClientIpAddressCount("9.9.9.9"));
+    }
+
     private CasEvent getCasEvent() {
         val ticket = new MockTicketGrantingTicket("casuser");
         val event = new CasTicketGrantingTicketCreatedEvent(this, ticket);
@@ -32,6 +32,8 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import javax.security.auth.login.FailedLoginException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 
@@ -62,6 +64,10 @@ public class DefaultCasEventListenerTests {
     @Qualifier("casEventRepository")
     private CasEventRepository casEventRepository;
 
+    @Autowired
+    @Qualifier("casEventRiskProfileRepository")
+    private CasEventRiskProfileRepository casEventRiskProfileRepository;
+
     @Before
     public void initialize() {
         val request = new MockHttpServletRequest();
@@ -88,6 +94,18 @@ public class DefaultCasEventListenerTests {
         assertFalse(casEventRepository.load().isEmpty());
     }
 
+    @Test
+    public void verifyTicketGrantingTicketCreatedUpdatesRiskProfile() {
+        val since = ZonedDateTime.now(ZoneOffset.UTC).minusDays(1);
+        eventPublisher.publishEvent(new CasTicketGrantingTicketCreatedEvent(this, new MockTicketGrantingTicket("riskyuser")));
+        val counts = casEventRiskProfileRepository.getProfile("riskyuser").getCountsSince(since);
+        assertEquals(1, counts.getCount());
+        assertEquals(1, counts.getClientIpAddressCount("123.456.789.000"));
+
+        eventPublisher.publishEvent(new CasTicketGrantingTicketCreatedEvent(this, new MockTicketGrantingTicket("riskyuser")));
+        assertEquals(2, casEventRiskProfileRepository.getProfile("riskyuser").getCountsSince(since).getCount());
+    }
+
     @Test
     public void verifyCasAuthenticationPolicyFailureEvent() {
         val event = new CasAuthenticationPolicyFailureEvent(this,
@@ -0,0 +1,329 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogoutDispatcherProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.io.Closeable;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This is {@link AsynchronousSingleLogoutMessageDispatcher} that sends back-channel logout messages
+ * in the background, so that logout requests and the ticket registry cleaner never wait on them.
+ * Messages are placed on a bounded queue and sent by a fixed pool of threads, with a limit on the number
+ * of messages sent at the same time to the same host. Identical messages to the same logout url that are
+ * still pending are coalesced. Failed messages are retried with exponential backoff, and a circuit breaker
+ * per logout url stops sending messages to endpoints that keep failing.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class AsynchronousSingleLogoutMessageDispatcher implements MeterBinder, Closeable {
+    private static final String METER_PREFIX = "cas.slo.dispatcher.";
+
+    private static final long DESTINATION_BUSY_DELAY_MILLIS = 50;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final int maxConcurrentRequestsPerDestination;
+
+    private final int maxAttempts;
+
+    private final long retryDelayMillis;
+
+    private final int circuitBreakerFailureThreshold;
+
+    private final long circuitBreakerDelayMillis;
+
+    private final Set<String> pendingMessages = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Semaphore> destinations = new ConcurrentHashMap<>();
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder attemptTime = new LongAdder();
+
+    public AsynchronousSingleLogoutMessageDispatcher(final SingleLogoutDispatcherProperties properties) {
+        val poolSize = Math.max(properties.getPoolSize(), 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)),
+            new BasicThreadFactory.Builder().namingPattern("cas-slo-dispatcher-%d").daemon(true).build());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+            new BasicThreadFactory.Builder().namingPattern("cas-slo-dispatcher-scheduler-%d").daemon(true).build());
+        this.maxConcurrentRequestsPerDestination = Math.max(properties.getMaxConcurrentRequestsPerDestination(), 1);
+        this.maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        this.retryDelayMillis = Beans.newDuration(properties.getRetryDelay()).toMillis();
+        this.circuitBreakerFailureThreshold = properties.getCircuitBreakerFailureThreshold();
+        this.circuitBreakerDelayMillis = Beans.newDuration(properties.getCircuitBreakerDelay()).toMillis();
+    }
+
+    /**
+     * Queue the logout message for delivery.
+     *
+     * @param logoutUrl the logout url
+     * @param payload   the payload of the logout message, used to coalesce duplicates
+     * @param sender    the sender that delivers the message and reports whether it was successful
+     * @return true if the message is queued or an identical message is already pending,
+     * false if the message is rejected because the queue is full or the logout url is failing.
+     */
+    public boolean dispatch(final URL logoutUrl, final String payload, final BooleanSupplier sender) {
+        val url = logoutUrl.toExternalForm();
+        val key = url + '|' + payload;
+        if (!this.pendingMessages.add(key)) {
+            LOGGER.debug("Logout message to [{}] is already pending; skipping duplicate", url);
+            this.coalesced.increment();
+            return true;
+        }
+        val breaker = getCircuitBreaker(url);
+        val permission = breaker.allowRequest();
+        if (permission == Permission.DENIED) {
+            LOGGER.warn("Logout url [{}] has failed repeatedly. Logout message is not sent until [{}] ms have passed",
+                url, this.circuitBreakerDelayMillis);
+            this.pendingMessages.remove(key);
+            this.rejected.increment();
+            return false;
+        }
+        val dispatch = new Dispatch(key, url, logoutUrl.getAuthority(), sender);
+        dispatch.setTrial(permission == Permission.TRIAL);
+        if (!submit(dispatch, 1)) {
+            LOGGER.warn("Logout message to [{}] is rejected since the dispatcher queue is full", url);
+            releaseTrial(dispatch);
+            this.pendingMessages.remove(key);
+            this.rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of logout messages waiting to be sent.
+     *
+     * @return the count
+     */
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionTimer.builder(METER_PREFIX + "requests", this,
+            d -> d.attempts.sum(), d -> d.attemptTime.sum(), TimeUnit.NANOSECONDS)
+            .description("Time spent sending back-channel logout messages")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "succeeded", succeeded, LongAdder::doubleValue)
+            .description("Number of logout messages that were delivered")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "failed", failed, LongAdder::doubleValue)
+            .description("Number of logout messages that could not be delivered after all attempts")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "retried", retried, LongAdder::doubleValue)
+            .description("Number of logout messages that were sent again after a failure")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "rejected", rejected, LongAdder::doubleValue)
+            .description("Number of logout messages dropped because the queue was full or the circuit breaker was open")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "coalesced", coalesced, LongAdder::doubleValue)
+            .description("Number of logout messages skipped because an identical message was pending")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "queue.size", this, AsynchronousSingleLogoutMessageDispatcher::getQueueSize)
+            .description("Number of logout messages waiting to be sent")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "circuits.open", circuitBreakers, c -> c.values().stream().filter(CircuitBreaker::isOpen).count())
+            .description("Number of logout urls for which logout messages are not sent")
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        this.executor.shutdown();
+    }
+
+    private CircuitBreaker getCircuitBreaker(final String url) {
+        return this.circuitBreakers.computeIfAbsent(url,
+            k -> new CircuitBreaker(this.circuitBreakerFailureThreshold, this.circuitBreakerDelayMillis));
+    }
+
+    private boolean submit(final Dispatch dispatch, final int attempt) {
+        try {
+            this.executor.execute(() -> send(dispatch, attempt));
+            return true;
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void schedule(final Dispatch dispatch, final int attempt, final long delayInMillis) {
+        try {
+            this.scheduler.schedule(() -> {
+                if (!submit(dispatch, attempt)) {
+                    complete(dispatch, false);
+                }
+            }, delayInMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace(e.getMessage(), e);
+            complete(dispatch, false);
+        }
+    }
+
+    private void send(final Dispatch dispatch, final int attempt) {
+        val permits = this.destinations.computeIfAbsent(dispatch.getDestination(), k -> new Semaphore(this.maxConcurrentRequestsPerDestination));
+        if (!permits.tryAcquire()) {
+            LOGGER.trace("Too many logout messages are in flight to [{}]; delaying message", dispatch.getDestination());
+            schedule(dispatch, attempt, DESTINATION_BUSY_DELAY_MILLIS);
+            return;
+        }
+        var success = false;
+        val start = System.nanoTime();
+        try {
+            LOGGER.trace("Sending logout message to [{}], attempt [{}]", dispatch.getUrl(), attempt);
+            success = dispatch.getSender().getAsBoolean();
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to send logout message to [{}]: [{}]", dispatch.getUrl(), e.getMessage());
+        } finally {
+            permits.release();
+            this.attempts.increment();
+            this.attemptTime.add(System.nanoTime() - start);
+        }
+
+        val breaker = getCircuitBreaker(dispatch.getUrl());
+        dispatch.setTrial(false);
+        if (success) {
+            breaker.onSuccess();
+            complete(dispatch, true);
+            return;
+        }
+        breaker.onFailure();
+        val permission = attempt < this.maxAttempts ? breaker.allowRequest() : Permission.DENIED;
+        if (permission != Permission.DENIED) {
+            dispatch.setTrial(permission == Permission.TRIAL);
+            val delay = (long) (this.retryDelayMillis * Math.pow(2, attempt - 1));
+            LOGGER.debug("Logout message to [{}] failed; retrying in [{}] ms", dispatch.getUrl(), delay);
+            this.retried.increment();
+            schedule(dispatch, attempt + 1, delay);
+            return;
+        }
+        complete(dispatch, false);
+    }
+
+    private void complete(final Dispatch dispatch, final boolean success) {
+        releaseTrial(dispatch);
+        this.pendingMessages.remove(dispatch.getKey());
+        if (success) {
+            LOGGER.debug("Logout message is sent to [{}]", dispatch.getUrl());
+            this.succeeded.increment();
+        } else {
+            LOGGER.warn("Logout message could not be sent to [{}]", dispatch.getUrl());
+            this.failed.increment();
+        }
+    }
+
+    /**
+     * Give up the half-open trial of the circuit breaker held by a message that is dropped before it is sent,
+     * so that a later message may be sent as the trial.
+     */
+    private void releaseTrial(final Dispatch dispatch) {
+        if (dispatch.isTrial()) {
+            dispatch.setTrial(false);
+            getCircuitBreaker(dispatch.getUrl()).releaseTrial();
+        }
+    }
+
+    private enum Permission {
+        DENIED, ALLOWED, TRIAL
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class Dispatch {
+        private final String key;
+        private final String url;
+        private final String destination;
+        private final BooleanSupplier sender;
+
+        @Setter
+        private volatile boolean trial;
+    }
+
+    @RequiredArgsConstructor
+    private static class CircuitBreaker {
+        private final int failureThreshold;
+        private final long delayInMillis;
+
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInProgress;
+
+        synchronized Permission allowRequest() {
+            if (!isOpen()) {
+                return Permission.ALLOWED;
+            }
+            if (!trialInProgress && System.currentTimeMillis() - openedAt >= delayInMillis) {
+                trialInProgress = true;
+                return Permission.TRIAL;
+            }
+            return Permission.DENIED;
+        }
+
+        synchronized void releaseTrial() {
+            trialInProgress = false;
+        }
+
+        synchronized boolean isOpen() {
+            return failureThreshold > 0 && consecutiveFailures >= failureThreshold;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            trialInProgress = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            trialInProgress = false;
+            if (isOpen()) {
+                openedAt = System.currentTimeMillis();
+            }
+        }
+    }
+}
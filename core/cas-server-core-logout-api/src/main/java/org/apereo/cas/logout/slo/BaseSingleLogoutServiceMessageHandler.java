@@ -13,6 +13,7 @@ import org.apereo.cas.util.http.HttpClient;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -40,6 +41,12 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
     private final boolean asynchronous;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Dispatcher that sends back-channel logout messages in the background, when logout is asynchronous.
+     */
+    @Setter
+    private AsynchronousSingleLogoutMessageDispatcher singleLogoutMessageDispatcher;
+
     @Override
     public Collection<SingleLogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
                                                   final TicketGrantingTicket ticketGrantingTicket) {
@@ -177,6 +184,12 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
         LOGGER.trace("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
         val msg = getLogoutHttpMessageToSend(request, logoutMessage);
         LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
+        if (isDispatchedAsynchronously()) {
+            val queued = this.singleLogoutMessageDispatcher.dispatch(msg.getUrl(), msg.getMessage(),
+                () -> sendMessageToEndpoint(msg, request, logoutMessage));
+            logoutService.setLoggedOutAlready(queued);
+            return queued;
+        }
         val result = sendMessageToEndpoint(msg, request, logoutMessage);
         logoutService.setLoggedOutAlready(result);
         return result;
@@ -202,7 +215,18 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
      * @return the logout http message to send
      */
     protected LogoutHttpMessage getLogoutHttpMessageToSend(final SingleLogoutRequest request, final SingleLogoutMessage logoutMessage) {
-        return new LogoutHttpMessage(request.getLogoutUrl(), logoutMessage.getPayload(), this.asynchronous);
+        return new LogoutHttpMessage(request.getLogoutUrl(), logoutMessage.getPayload(), this.asynchronous && !isDispatchedAsynchronously());
+    }
+
+    /**
+     * Whether logout messages are handed over to the dispatcher and sent in the background.
+     * Messages sent by the dispatcher are sent synchronously by its own threads,
+     * so that failures can be retried.
+     *
+     * @return true/false
+     */
+    protected boolean isDispatchedAsynchronously() {
+        return this.asynchronous && this.singleLogoutMessageDispatcher != null;
     }
 
     @Override
@@ -8,6 +8,7 @@ import org.apereo.cas.logout.DefaultSingleLogoutMessageCreator;
 import org.apereo.cas.logout.LogoutExecutionPlan;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.logout.slo.AsynchronousSingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
@@ -75,12 +76,20 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val handler = new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             defaultSingleLogoutMessageCreator(),
             servicesManager.getIfAvailable(),
             singleLogoutServiceLogoutUrlBuilder(),
             casProperties.getSlo().isAsynchronous(),
             authenticationServiceSelectionPlan.getIfAvailable());
+        handler.setSingleLogoutMessageDispatcher(singleLogoutMessageDispatcher());
+        return handler;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @Bean
+    public AsynchronousSingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        return new AsynchronousSingleLogoutMessageDispatcher(casProperties.getSlo().getDispatcher());
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
@@ -0,0 +1,147 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogoutDispatcherProperties;
+import org.apereo.cas.logout.slo.AsynchronousSingleLogoutMessageDispatcher;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class AsynchronousSingleLogoutMessageDispatcherTests {
+
+    private static SingleLogoutDispatcherProperties getProperties() {
+        val properties = new SingleLogoutDispatcherProperties();
+        properties.setRetryDelay("PT0.01S");
+        properties.setCircuitBreakerDelay("PT1H");
+        return properties;
+    }
+
+    @Test
+    public void verifyDuplicateMessagesAreCoalesced() throws Exception {
+        try (val dispatcher = new AsynchronousSingleLogoutMessageDispatcher(getProperties())) {
+            val release = new CountDownLatch(1);
+            val sent = new CountDownLatch(1);
+            val count = new AtomicInteger();
+            val url = new URL("https://www.example.org/logout");
+            final BooleanSupplier sender = () -> {
+                count.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.countDown();
+                return true;
+            };
+            assertTrue(dispatcher.dispatch(url, "payload", sender));
+            assertTrue(dispatcher.dispatch(url, "payload", sender));
+            release.countDown();
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+            assertEquals(1, count.get());
+        }
+    }
+
+    @Test
+    public void verifyFailedMessagesAreRetried() throws Exception {
+        try (val dispatcher = new AsynchronousSingleLogoutMessageDispatcher(getProperties())) {
+            val sent = new CountDownLatch(1);
+            val attempts = new AtomicInteger();
+            assertTrue(dispatcher.dispatch(new URL("https://www.example.org/retry"), "payload", () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    return false;
+                }
+                sent.countDown();
+                return true;
+            }));
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+            assertEquals(3, attempts.get());
+        }
+    }
+
+    @Test
+    public void verifyCircuitBreakerRejectsFailingUrl() throws Exception {
+        val properties = getProperties();
+        properties.setPoolSize(1);
+        properties.setMaxAttempts(1);
+        properties.setCircuitBreakerFailureThreshold(2);
+        try (val dispatcher = new AsynchronousSingleLogoutMessageDispatcher(properties)) {
+            val url = new URL("https://www.example.org/failing");
+            for (var i = 0; i < 2; i++) {
+                assertTrue(dispatcher.dispatch(url, "payload-" + i, () -> false));
+            }
+            awaitDispatched(dispatcher);
+            assertFalse(dispatcher.dispatch(url, "payload-2", () -> true));
+            assertTrue(dispatcher.dispatch(new URL("https://www.example.org/other"), "payload", () -> true));
+        }
+    }
+
+    @Test
+    public void verifyTrialIsReleasedWhenQueueIsFull() throws Exception {
+        val properties = getProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setMaxAttempts(1);
+        properties.setCircuitBreakerFailureThreshold(1);
+        properties.setCircuitBreakerDelay("PT0S");
+        try (val dispatcher = new AsynchronousSingleLogoutMessageDispatcher(properties)) {
+            val url = new URL("https://www.example.org/failing");
+            assertTrue(dispatcher.dispatch(url, "payload-0", () -> false));
+            awaitDispatched(dispatcher);
+
+            val started = new CountDownLatch(1);
+            val release = new CountDownLatch(1);
+            assertTrue(dispatcher.dispatch(new URL("https://www.example.org/busy"), "payload", () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            val queued = new CountDownLatch(1);
+            assertTrue(dispatcher.dispatch(new URL("https://www.example.org/queued"), "payload", () -> {
+                queued.countDown();
+                return true;
+            }));
+            assertFalse(dispatcher.dispatch(url, "payload-1", () -> true));
+            release.countDown();
+            assertTrue(queued.await(5, TimeUnit.SECONDS));
+
+            val recovered = new CountDownLatch(1);
+            assertTrue(dispatcher.dispatch(url, "payload-2", () -> {
+                recovered.countDown();
+                return true;
+            }));
+            assertTrue(recovered.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Wait for the messages dispatched so far to be handled, by queueing a message behind them.
+     * Only meaningful with a single dispatcher thread, which finishes handling a message before taking the next one.
+     */
+    private static void awaitDispatched(final AsynchronousSingleLogoutMessageDispatcher dispatcher) throws Exception {
+        val barrier = new CountDownLatch(1);
+        assertTrue(dispatcher.dispatch(new URL("https://www.example.org/barrier"), UUID.randomUUID().toString(), () -> {
+            barrier.countDown();
+            return true;
+        }));
+        assertTrue(barrier.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,39 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * This is {@link TicketRegistryMeterBinder} that exposes the number of
+ * sessions and service tickets held by the {@link TicketRegistry} as gauges.
+ * Counts that cannot be determined by the registry are reported as {@link Double#NaN}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiredArgsConstructor
+public class TicketRegistryMeterBinder implements MeterBinder {
+    private static final String METER_PREFIX = "cas.ticket.registry.";
+
+    @NonNull
+    private final TicketRegistry ticketRegistry;
+
+    private static double toGaugeValue(final long count) {
+        return count == Long.MIN_VALUE || count == Integer.MIN_VALUE ? Double.NaN : count;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METER_PREFIX + "sessions", ticketRegistry, r -> toGaugeValue(r.sessionCount()))
+            .description("Number of ticket-granting tickets in the ticket registry")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "service.tickets", ticketRegistry, r -> toGaugeValue(r.serviceTicketCount()))
+            .description("Number of service tickets in the ticket registry")
+            .register(registry);
+    }
+}
@@ -3,8 +3,10 @@ package org.apereo.cas.monitor.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.monitor.MemoryMonitor;
 import org.apereo.cas.monitor.SessionMonitor;
+import org.apereo.cas.monitor.TicketRegistryMeterBinder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
@@ -57,4 +59,16 @@ public class CasCoreMonitorConfiguration {
         }
         return () -> Health.up().build();
     }
+
+    @ConditionalOnMissingBean(name = "ticketRegistryMeterBinder")
+    @Bean
+    public MeterBinder ticketRegistryMeterBinder() {
+        val registry = ticketRegistry.getIfAvailable();
+        if (registry == null) {
+            LOGGER.debug("No ticket registry is available; ticket registry meters will not be registered");
+            return meterRegistry -> {
+            };
+        }
+        return new TicketRegistryMeterBinder(registry);
+    }
 }
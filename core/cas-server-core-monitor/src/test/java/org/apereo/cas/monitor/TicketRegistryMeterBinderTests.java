@@ -0,0 +1,37 @@
+package org.apereo.cas.monitor;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketRegistryMeterBinderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketRegistryMeterBinderTests {
+
+    @Test
+    public void verifyGauges() {
+        val ticketRegistry = new DefaultTicketRegistry();
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+
+        val meterRegistry = new SimpleMeterRegistry();
+        new TicketRegistryMeterBinder(ticketRegistry).bindTo(meterRegistry);
+        assertEquals(1, meterRegistry.get("cas.ticket.registry.sessions").gauge().value(), 0);
+        assertEquals(0, meterRegistry.get("cas.ticket.registry.service.tickets").gauge().value(), 0);
+
+        ticketRegistry.getMapInstance().clear();
+        ticketRegistry.reconcileTicketCounters();
+        assertEquals(0, meterRegistry.get("cas.ticket.registry.sessions").gauge().value(), 0);
+    }
+}
@@ -1,6 +1,8 @@
 package org.apereo.cas.services;
 
 import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.index.RegisteredServiceKeyIndex;
+import org.apereo.cas.services.index.RegisteredServiceResolutionCache;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceExpiredEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
@@ -10,6 +12,7 @@ import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -45,6 +48,14 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    /**
+     * Remembers the registered services matched for service ids, if defined.
+     */
+    @Setter
+    private RegisteredServiceResolutionCache resolutionCache;
+
+    private final RegisteredServiceKeyIndex keyIndex = new RegisteredServiceKeyIndex();
+
     @Override
     public Collection<RegisteredService> getAllServices() {
         return this.services.values()
@@ -78,15 +89,25 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return null;
         }
 
-        val service = getCandidateServicesToMatch(serviceId)
-            .stream()
-            .filter(r -> r.matches(serviceId))
-            .findFirst()
-            .orElse(null);
+        if (this.resolutionCache == null) {
+            return validateRegisteredService(matchRegisteredService(serviceId));
+        }
 
-        if (service != null) {
-            service.initialize();
+        val cachedId = this.resolutionCache.get(serviceId);
+        if (cachedId.isPresent()) {
+            if (RegisteredServiceResolutionCache.isUnknownService(cachedId.getAsLong())) {
+                LOGGER.trace("Service [{}] is known to match no registered service", serviceId);
+                return null;
+            }
+            val cachedService = this.services.get(cachedId.getAsLong());
+            if (cachedService != null) {
+                cachedService.initialize();
+                return validateRegisteredService(cachedService);
+            }
         }
+        val cache = this.resolutionCache.getCurrentCache();
+        val service = matchRegisteredService(serviceId);
+        this.resolutionCache.put(cache, serviceId, service != null ? service.getId() : null);
         return validateRegisteredService(service);
     }
 
@@ -112,6 +133,30 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         return findServiceBy(serviceId.getId(), clazz);
     }
 
+    @Override
+    public synchronized void registerKeyExtractor(final RegisteredServiceKeyExtractor extractor) {
+        this.keyIndex.register(extractor, this.services.values());
+    }
+
+    @Override
+    public boolean isIndexedBy(final String name) {
+        return this.keyIndex.isIndexedBy(name);
+    }
+
+    @Override
+    public <T extends RegisteredService> Collection<T> findServicesByKey(final String name, final String key, final Class<T> clazz) {
+        return this.keyIndex.getServiceIds(name, key)
+            .stream()
+            .map(this.services::get)
+            .filter(clazz::isInstance)
+            .map(this::validateRegisteredService)
+            .filter(Objects::nonNull)
+            .sorted()
+            .peek(RegisteredService::initialize)
+            .map(clazz::cast)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public RegisteredService findServiceBy(final long id) {
         var result = this.services.get(id);
@@ -151,7 +196,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
+            this.keyIndex.remove(service);
             deleteInternal(service);
+            invalidateResolutionCache();
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
         return service;
@@ -173,7 +220,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
-        saveInternal(registeredService);
+        this.keyIndex.add(r);
+        saveInternal(r);
+        invalidateResolutionCache();
 
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -198,7 +247,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
                 LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s == null ? r : s));
+        this.keyIndex.rebuild(this.services.values());
         loadInternal();
+        invalidateResolutionCache();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
@@ -209,6 +260,8 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        this.keyIndex.rebuild(this.services.values());
+        invalidateResolutionCache();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
@@ -220,6 +273,25 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             .forEach(this::processExpiredRegisteredService);
     }
 
+    private RegisteredService matchRegisteredService(final String serviceId) {
+        val service = getCandidateServicesToMatch(serviceId)
+            .stream()
+            .filter(r -> r.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+
+        if (service != null) {
+            service.initialize();
+        }
+        return service;
+    }
+
+    private void invalidateResolutionCache() {
+        if (this.resolutionCache != null) {
+            this.resolutionCache.invalidateAll();
+        }
+    }
+
     private static Predicate<RegisteredService> getRegisteredServicesFilteringPredicate(final Predicate<RegisteredService>... p) {
         val predicates = Stream.of(p).collect(Collectors.toCollection(ArrayList::new));
         return predicates.stream().reduce(x -> true, Predicate::and);
@@ -292,7 +364,13 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         }
     }
 
-    private boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
+    /**
+     * Validate and filter service by the active environments.
+     *
+     * @param service the service
+     * @return true if the service is allowed in the active environments
+     */
+    protected boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
         if (this.environments.isEmpty()) {
             LOGGER.trace("No environments are defined by which services could be filtered");
             return true;
@@ -1,42 +1,57 @@
 package org.apereo.cas.services;
 
+import org.apereo.cas.services.index.PrefixTrieRegisteredServiceMatchingIndex;
+import org.apereo.cas.services.index.RegisteredServiceMatchingIndex;
+
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are narrowed down via a {@link RegisteredServiceMatchingIndex}
+ * which is kept up to date as services are saved, deleted and loaded.
  *
  * @author Scott Battaglia
  * @since 3.1
  */
 public class DefaultServicesManager extends AbstractServicesManager {
 
-    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
+    private final RegisteredServiceMatchingIndex matchingIndex;
 
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher, final Set<String> environments) {
+        this(serviceRegistry, eventPublisher, environments, new PrefixTrieRegisteredServiceMatchingIndex());
+    }
+
+    public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                  final Set<String> environments, final RegisteredServiceMatchingIndex matchingIndex) {
         super(serviceRegistry, eventPublisher, environments);
+        this.matchingIndex = matchingIndex;
     }
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
+        return this.matchingIndex.getCandidates(serviceId);
     }
 
     @Override
     protected void deleteInternal(final RegisteredService service) {
-        this.orderedServices.remove(service);
+        this.matchingIndex.remove(service);
     }
 
     @Override
     protected void saveInternal(final RegisteredService service) {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        if (validateAndFilterServiceByEnvironment(service)) {
+            service.initialize();
+            this.matchingIndex.add(service);
+        } else {
+            this.matchingIndex.remove(service);
+        }
     }
 
     @Override
     protected void loadInternal() {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.matchingIndex.rebuild(getAllServices());
     }
 }
@@ -0,0 +1,45 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegisteredService;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This is {@link OrderedRegisteredServiceMatchingIndex} that hands out every
+ * registered service, sorted by evaluation order, as a candidate for matching.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OrderedRegisteredServiceMatchingIndex implements RegisteredServiceMatchingIndex {
+
+    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
+
+    @Override
+    public synchronized void add(final RegisteredService service) {
+        this.orderedServices.removeIf(r -> r.getId() == service.getId());
+        this.orderedServices.add(service);
+    }
+
+    @Override
+    public synchronized void remove(final RegisteredService service) {
+        this.orderedServices.removeIf(r -> r.getId() == service.getId());
+    }
+
+    @Override
+    public synchronized void rebuild(final Collection<RegisteredService> services) {
+        this.orderedServices = new ConcurrentSkipListSet<>(services);
+    }
+
+    @Override
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        return this.orderedServices;
+    }
+
+    @Override
+    public int size() {
+        return this.orderedServices.size();
+    }
+}
@@ -0,0 +1,250 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is {@link PrefixTrieRegisteredServiceMatchingIndex}. Extracts the literal prefix
+ * (i.e. scheme, host and path segments that carry no regex constructs) from every
+ * regex-based service definition and files the definition under that prefix in a trie.
+ * Looking up candidates for a service id walks the trie along the (case-folded) characters
+ * of the id and only collects definitions whose prefix matches, along with definitions
+ * whose patterns do not yield a usable prefix. Final matching is still done by the
+ * registered service itself, in evaluation order.
+ * <p>
+ * The trie is never changed once it is published: changes are made to a copy of the nodes along the
+ * affected path, or to a trie that is built from scratch, which then replaces the trie in use,
+ * so that lookups need no locking and never observe a partially updated trie.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class PrefixTrieRegisteredServiceMatchingIndex implements RegisteredServiceMatchingIndex {
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private volatile Node root = new Node();
+
+    private Map<Long, String> indexedPrefixes = new HashMap<>();
+
+    /**
+     * Extract the literal prefix of the given regular expression. Every string matched
+     * in its entirety by the pattern (case-insensitively) is guaranteed to start
+     * with the returned prefix. The prefix is lower-cased and restricted to ASCII characters.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty string if none can be safely determined
+     */
+    public static String extractLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || pattern.contains("\\Q") || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+        val prefix = new StringBuilder(pattern.length());
+        val length = pattern.length();
+        var i = pattern.charAt(0) == '^' ? 1 : 0;
+        while (i < length) {
+            val c = pattern.charAt(i);
+            final char literal;
+            final int next;
+            if (c == '\\') {
+                if (i + 1 >= length || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                literal = pattern.charAt(i + 1);
+                next = i + 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+            if (literal > Byte.MAX_VALUE) {
+                break;
+            }
+            if (next < length) {
+                val quantifier = pattern.charAt(next);
+                if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                    break;
+                }
+                if (quantifier == '+') {
+                    prefix.append(toLowerCase(literal));
+                    break;
+                }
+            }
+            prefix.append(toLowerCase(literal));
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var groupDepth = 0;
+        var classDepth = 0;
+        var i = 0;
+        while (i < pattern.length()) {
+            val c = pattern.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                classDepth++;
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (classDepth > 0) {
+                if (c == ']') {
+                    classDepth--;
+                }
+            } else if (c == '(') {
+                groupDepth++;
+            } else if (c == ')') {
+                groupDepth--;
+            } else if (c == '|' && groupDepth <= 0) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static String getIndexablePrefix(final RegisteredService service) {
+        if (service instanceof RegexRegisteredService) {
+            return extractLiteralPrefix(service.getServiceId());
+        }
+        return StringUtils.EMPTY;
+    }
+
+    @Override
+    public synchronized void add(final RegisteredService service) {
+        val prefix = getIndexablePrefix(service);
+        LOGGER.trace("Indexing registered service [{}] under literal prefix [{}]", service.getServiceId(), prefix);
+        val previous = this.indexedPrefixes.get(service.getId());
+        var updated = this.root;
+        if (previous != null) {
+            updated = withService(updated, previous, 0, service.getId(), null);
+        }
+        this.root = withService(updated, prefix, 0, service.getId(), service);
+        this.indexedPrefixes.put(service.getId(), prefix);
+    }
+
+    @Override
+    public synchronized void remove(final RegisteredService service) {
+        val previous = this.indexedPrefixes.remove(service.getId());
+        if (previous != null) {
+            this.root = withService(this.root, previous, 0, service.getId(), null);
+        }
+    }
+
+    @Override
+    public synchronized void rebuild(final Collection<RegisteredService> services) {
+        val rebuilt = new Node();
+        val prefixes = new HashMap<Long, String>(services.size());
+        services.forEach(service -> {
+            val prefix = getIndexablePrefix(service);
+            val previous = prefixes.put(service.getId(), prefix);
+            if (previous != null) {
+                getNode(rebuilt, previous).services.remove(service.getId());
+            }
+            getNode(rebuilt, prefix).services.put(service.getId(), service);
+        });
+        this.indexedPrefixes = prefixes;
+        this.root = rebuilt;
+        LOGGER.debug("Indexed [{}] registered service(s) by literal service id prefix", prefixes.size());
+    }
+
+    @Override
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        var node = this.root;
+        val candidates = new ArrayList<RegisteredService>(node.services.values());
+        if (StringUtils.isNotBlank(serviceId)) {
+            for (var i = 0; i < serviceId.length(); i++) {
+                node = node.children.get(toLowerCase(serviceId.charAt(i)));
+                if (node == null) {
+                    break;
+                }
+                candidates.addAll(node.services.values());
+            }
+        }
+        Collections.sort(candidates);
+        return candidates;
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.indexedPrefixes.size();
+    }
+
+    /**
+     * Gets the node of the prefix in a trie that is not published yet, creating nodes as needed.
+     */
+    private static Node getNode(final Node root, final String prefix) {
+        var node = root;
+        for (var i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), k -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * Copy the nodes along the path of the prefix, starting at the given depth, and add the service to,
+     * or remove it from (if the service is null), the copied node of the prefix. Nodes that are left empty are pruned.
+     * Nodes off the path are shared with the original trie, which is left unchanged.
+     */
+    private static Node withService(final Node node, final String prefix, final int depth, final long id, final RegisteredService service) {
+        val copy = node == null ? new Node() : new Node(node);
+        if (depth == prefix.length()) {
+            if (service == null) {
+                copy.services.remove(id);
+            } else {
+                copy.services.put(id, service);
+            }
+        } else {
+            val key = prefix.charAt(depth);
+            val child = withService(copy.children.get(key), prefix, depth + 1, id, service);
+            if (child.isEmpty()) {
+                copy.children.remove(key);
+            } else {
+                copy.children.put(key, child);
+            }
+        }
+        return copy;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children;
+        private final Map<Long, RegisteredService> services;
+
+        Node() {
+            this.children = new HashMap<>();
+            this.services = new HashMap<>();
+        }
+
+        Node(final Node node) {
+            this.children = new HashMap<>(node.children);
+            this.services = new HashMap<>(node.services);
+        }
+
+        boolean isEmpty() {
+            return this.children.isEmpty() && this.services.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceKeyExtractor;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link RegisteredServiceKeyIndex}. Keeps a secondary index per registered {@link RegisteredServiceKeyExtractor}
+ * that maps each extracted key to the ids of the services carrying it. Updates are serialized;
+ * lookups run without locking and may briefly observe a service under both its old and its new key
+ * while it is being replaced, which callers resolve by re-validating the services they find.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class RegisteredServiceKeyIndex {
+
+    private final Map<String, RegisteredServiceKeyExtractor> extractors = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Map<String, Set<Long>>> indexes = new ConcurrentHashMap<>();
+
+    private Map<Long, Map<String, Collection<String>>> indexedKeys = new HashMap<>();
+
+    /**
+     * Register the key extractor and index the given services by the keys it extracts.
+     *
+     * @param extractor the extractor
+     * @param services  the services
+     */
+    public synchronized void register(final RegisteredServiceKeyExtractor extractor, final Collection<RegisteredService> services) {
+        LOGGER.trace("Indexing registered services by [{}]", extractor.getName());
+        this.extractors.put(extractor.getName(), extractor);
+        this.indexes.put(extractor.getName(), new ConcurrentHashMap<>());
+        services.forEach(service -> addInternal(this.indexes, this.indexedKeys, extractor, service));
+    }
+
+    /**
+     * Whether the named index exists.
+     *
+     * @param name the name
+     * @return true if an extractor by that name is registered
+     */
+    public boolean isIndexedBy(final String name) {
+        return this.extractors.containsKey(name);
+    }
+
+    /**
+     * Add (or replace, by id) the registered service in every index.
+     *
+     * @param service the service
+     */
+    public synchronized void add(final RegisteredService service) {
+        removeInternal(service.getId());
+        this.extractors.values().forEach(extractor -> addInternal(this.indexes, this.indexedKeys, extractor, service));
+    }
+
+    /**
+     * Remove the registered service from every index.
+     *
+     * @param service the service
+     */
+    public synchronized void remove(final RegisteredService service) {
+        removeInternal(service.getId());
+    }
+
+    /**
+     * Discard the current state of every index and rebuild them from the given services.
+     *
+     * @param services the services
+     */
+    public synchronized void rebuild(final Collection<RegisteredService> services) {
+        val newIndexes = new ConcurrentHashMap<String, Map<String, Set<Long>>>();
+        val newIndexedKeys = new HashMap<Long, Map<String, Collection<String>>>();
+        this.extractors.values().forEach(extractor -> {
+            newIndexes.put(extractor.getName(), new ConcurrentHashMap<>());
+            services.forEach(service -> addInternal(newIndexes, newIndexedKeys, extractor, service));
+        });
+        this.indexes = newIndexes;
+        this.indexedKeys = newIndexedKeys;
+        LOGGER.debug("Indexed [{}] registered service(s) by [{}]", newIndexedKeys.size(), this.extractors.keySet());
+    }
+
+    /**
+     * Gets the ids of the services indexed under the key.
+     *
+     * @param name the name of the index
+     * @param key  the key
+     * @return the service ids
+     */
+    public Collection<Long> getServiceIds(final String name, final String key) {
+        val index = this.indexes.get(name);
+        if (index == null || key == null) {
+            return new ArrayList<>(0);
+        }
+        val ids = index.get(key);
+        return ids == null ? new ArrayList<>(0) : new ArrayList<>(ids);
+    }
+
+    private static void addInternal(final Map<String, Map<String, Set<Long>>> indexes,
+                                    final Map<Long, Map<String, Collection<String>>> indexedKeys,
+                                    final RegisteredServiceKeyExtractor extractor,
+                                    final RegisteredService service) {
+        val keys = extractor.extract(service);
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        val index = indexes.get(extractor.getName());
+        keys.forEach(key -> index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(service.getId()));
+        indexedKeys.computeIfAbsent(service.getId(), id -> new HashMap<>()).put(extractor.getName(), new ArrayList<>(keys));
+        LOGGER.trace("Indexed registered service [{}] by [{}] under [{}]", service.getServiceId(), extractor.getName(), keys);
+    }
+
+    private void removeInternal(final long id) {
+        val keys = this.indexedKeys.remove(id);
+        if (keys == null) {
+            return;
+        }
+        keys.forEach((name, values) -> {
+            val index = this.indexes.get(name);
+            if (index != null) {
+                values.forEach(key -> index.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                }));
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegisteredService;
+
+import java.util.Collection;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}. Keeps track of registered service
+ * definitions and narrows down the set of candidates that should be
+ * matched against a given service identifier.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface RegisteredServiceMatchingIndex {
+
+    /**
+     * Add (or replace, by id) the registered service in the index.
+     *
+     * @param service the service
+     */
+    void add(RegisteredService service);
+
+    /**
+     * Remove the registered service from the index.
+     *
+     * @param service the service
+     */
+    void remove(RegisteredService service);
+
+    /**
+     * Discard the current state of the index and rebuild it from the given services.
+     *
+     * @param services the services
+     */
+    void rebuild(Collection<RegisteredService> services);
+
+    /**
+     * Gets candidate services that may match the service id,
+     * sorted by their natural evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    Collection<RegisteredService> getCandidates(String serviceId);
+
+    /**
+     * Number of services tracked by the index.
+     *
+     * @return the count
+     */
+    int size();
+}
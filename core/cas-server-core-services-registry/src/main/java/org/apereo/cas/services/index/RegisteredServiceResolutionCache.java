@@ -0,0 +1,197 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.context.event.EventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link RegisteredServiceResolutionCache} that remembers which registered service
+ * was matched for a given service id, so that repeated lookups for the same service do not need
+ * to run through the matching process again. Service ids that matched nothing are remembered as well.
+ * Entries are all dropped at once when service definitions are saved, deleted or loaded;
+ * the cache is replaced with an empty one, so that a lookup that raced with the change can
+ * never put a stale result back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class RegisteredServiceResolutionCache implements MeterBinder {
+    /**
+     * Default maximum number of service ids to remember.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final String METER_PREFIX = "cas.services.resolution.cache.";
+
+    private static final long UNKNOWN_SERVICE = Long.MIN_VALUE;
+
+    private final long maximumSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private volatile Cache<String, Long> resolvedServices;
+
+    public RegisteredServiceResolutionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public RegisteredServiceResolutionCache(final long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.resolvedServices = newCache();
+    }
+
+    /**
+     * Look up the registered service id that was previously matched for the service id.
+     *
+     * @param serviceId the service id
+     * @return the registered service id, {@link #isUnknownService(long)} if the service id matched nothing previously,
+     * or empty if the service id is not cached.
+     */
+    public OptionalLong get(final String serviceId) {
+        val result = this.resolvedServices.getIfPresent(serviceId);
+        if (result == null) {
+            misses.increment();
+            return OptionalLong.empty();
+        }
+        hits.increment();
+        return OptionalLong.of(result);
+    }
+
+    /**
+     * Remember the registered service id matched for the service id.
+     *
+     * @param cache               the cache as obtained via {@link #getCurrentCache()} before the service was matched
+     * @param serviceId           the service id
+     * @param registeredServiceId the registered service id, or null if nothing matched
+     */
+    public void put(final Object cache, final String serviceId, final Long registeredServiceId) {
+        val current = this.resolvedServices;
+        if (cache != current) {
+            LOGGER.trace("Service definitions have changed while [{}] was matched; result is not cached", serviceId);
+            return;
+        }
+        current.put(serviceId, registeredServiceId == null ? UNKNOWN_SERVICE : registeredServiceId);
+    }
+
+    /**
+     * Gets a handle on the current state of the cache, which is to be passed back
+     * when results are put into the cache.
+     *
+     * @return the current cache
+     */
+    public Object getCurrentCache() {
+        return this.resolvedServices;
+    }
+
+    /**
+     * Whether the registered service id indicates that no service was matched.
+     *
+     * @param registeredServiceId the registered service id
+     * @return true/false
+     */
+    public static boolean isUnknownService(final long registeredServiceId) {
+        return registeredServiceId == UNKNOWN_SERVICE;
+    }
+
+    /**
+     * Drop all cached results.
+     */
+    public void invalidateAll() {
+        LOGGER.trace("Invalidating cached registered service lookups");
+        this.resolvedServices = newCache();
+        this.invalidations.increment();
+    }
+
+    /**
+     * Number of cached service ids.
+     *
+     * @return the size
+     */
+    public long size() {
+        val current = this.resolvedServices;
+        current.cleanUp();
+        return current.estimatedSize();
+    }
+
+    /**
+     * Ratio of lookups that were answered by the cache.
+     *
+     * @return the hit ratio
+     */
+    public double getHitRatio() {
+        val hitCount = hits.doubleValue();
+        val total = hitCount + misses.doubleValue();
+        return total == 0 ? 0 : hitCount / total;
+    }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METER_PREFIX + "hits", hits, LongAdder::doubleValue)
+            .description("Number of service lookups answered by the cache")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "misses", misses, LongAdder::doubleValue)
+            .description("Number of service lookups that had to match service definitions")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "invalidations", invalidations, LongAdder::doubleValue)
+            .description("Number of times the cache was cleared because service definitions changed")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "hit.ratio", this, RegisteredServiceResolutionCache::getHitRatio)
+            .description("Ratio of service lookups answered by the cache")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "size", this, RegisteredServiceResolutionCache::size)
+            .description("Number of service ids held in the cache")
+            .register(registry);
+    }
+
+    private Cache<String, Long> newCache() {
+        return Caffeine.newBuilder().maximumSize(this.maximumSize).build();
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import org.apereo.cas.services.index.PrefixTrieRegisteredServiceMatchingIndexTests;
+import org.apereo.cas.services.index.RegisteredServiceKeyIndexTests;
 import org.apereo.cas.services.resource.CreateResourceBasedRegisteredServiceWatcherTests;
 import org.apereo.cas.services.resource.DeleteResourceBasedRegisteredServiceWatcherTests;
 import org.apereo.cas.services.resource.ModifyResourceBasedRegisteredServiceWatcherTests;
@@ -18,7 +20,9 @@ import org.junit.runners.Suite;
     ServiceRegistryInitializerTests.class,
     DeleteResourceBasedRegisteredServiceWatcherTests.class,
     CreateResourceBasedRegisteredServiceWatcherTests.class,
-    ModifyResourceBasedRegisteredServiceWatcherTests.class
+    ModifyResourceBasedRegisteredServiceWatcherTests.class,
+    PrefixTrieRegisteredServiceMatchingIndexTests.class,
+    RegisteredServiceKeyIndexTests.class
 })
 public class AllServiceRegistryTestsSuite {
 }
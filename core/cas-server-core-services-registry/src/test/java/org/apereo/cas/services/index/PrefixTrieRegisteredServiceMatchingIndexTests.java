@@ -0,0 +1,127 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link PrefixTrieRegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class PrefixTrieRegisteredServiceMatchingIndexTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int order) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyLiteralPrefixExtraction() {
+        assertEquals("https://www.example.org/app", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("^https://www\\.example\\.org/app.*"));
+        assertEquals("http", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("^https?://.*"));
+        assertEquals("https://app", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("https://App(1|2)\\.example\\.org"));
+        assertEquals("https://exa", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("https://exam*ple.org"));
+        assertEquals("https://ex", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("https://ex+ample.org"));
+        assertEquals("https://", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("https://\\w+\\.org"));
+        assertEquals("", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("https://app1.org|https://app2.org"));
+        assertEquals("", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("(?i)https://app.org"));
+        assertEquals("", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("\\Qhttps://app.org\\E"));
+        assertEquals("", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix("[]a]|https://app"));
+        assertEquals("", PrefixTrieRegisteredServiceMatchingIndex.extractLiteralPrefix(".*"));
+    }
+
+    @Test
+    public void verifyCandidatesByPrefix() {
+        val index = new PrefixTrieRegisteredServiceMatchingIndex();
+        val app1 = newService(1, "^https://app1\\.example\\.org/.*", 10);
+        val app2 = newService(2, "^https://app2\\.example\\.org/.*", 5);
+        val any = newService(3, "^(https|imaps)://.*", 100);
+        index.rebuild(List.of(app1, app2, any));
+        assertEquals(3, index.size());
+
+        val candidates = index.getCandidates("HTTPS://app2.example.org/login");
+        assertEquals(List.of(app2, any), candidates);
+        assertEquals(List.of(any), index.getCandidates("imaps://mail.example.org"));
+        assertEquals(List.of(any), index.getCandidates(null));
+    }
+
+    @Test
+    public void verifyIncrementalUpdates() {
+        val index = new PrefixTrieRegisteredServiceMatchingIndex();
+        val app = newService(1, "^https://app1\\.example\\.org/.*", 10);
+        index.add(app);
+        assertEquals(List.of(app), index.getCandidates("https://app1.example.org/"));
+
+        val updated = newService(1, "^https://app2\\.example\\.org/.*", 10);
+        index.add(updated);
+        assertEquals(1, index.size());
+        assertTrue(index.getCandidates("https://app1.example.org/").isEmpty());
+        assertEquals(List.of(updated), index.getCandidates("https://app2.example.org/"));
+
+        index.remove(updated);
+        assertEquals(0, index.size());
+        assertTrue(index.getCandidates("https://app2.example.org/").isEmpty());
+    }
+
+    @Test
+    public void verifyNonRegexServicesAreAlwaysCandidates() {
+        val index = new PrefixTrieRegisteredServiceMatchingIndex();
+        val service = mock(RegisteredService.class);
+        when(service.getId()).thenReturn(100L);
+        when(service.getServiceId()).thenReturn("https://example.org");
+        index.add(service);
+        assertEquals(List.of(service), index.getCandidates("urn:app"));
+    }
+
+    @Test
+    public void verifyLookupsDuringUpdatesSeeCompleteIndex() throws Exception {
+        val index = new PrefixTrieRegisteredServiceMatchingIndex();
+        val app = newService(1, "^https://app\\.example\\.org/.*", 10);
+        index.rebuild(List.of(app));
+
+        val readers = 4;
+        val executor = Executors.newFixedThreadPool(readers);
+        val done = new CountDownLatch(1);
+        val missing = new AtomicInteger();
+        try {
+            IntStream.range(0, readers).forEach(i -> executor.submit(() -> {
+                while (done.getCount() > 0) {
+                    if (!index.getCandidates("https://app.example.org/login").contains(app)) {
+                        missing.incrementAndGet();
+                    }
+                }
+            }));
+            IntStream.range(0, 1_000).forEach(i -> {
+                val other = newService(2 + i, "^https://app\\.example\\.org/" + i + ".*", i);
+                index.rebuild(List.of(app, other));
+                index.add(newService(2 + i, "^https://other\\.example\\.org/.*", i));
+                index.remove(other);
+            });
+        } finally {
+            done.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        assertEquals(0, missing.get());
+        assertEquals(List.of(app), index.getCandidates("https://app.example.org/login"));
+        assertEquals(1, index.size());
+    }
+}
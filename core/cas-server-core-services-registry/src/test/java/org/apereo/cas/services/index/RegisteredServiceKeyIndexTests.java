@@ -0,0 +1,89 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceKeyExtractor;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RegisteredServiceKeyIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RegisteredServiceKeyIndexTests {
+    private static final String INDEX_NAME = "description";
+
+    private static final RegisteredServiceKeyExtractor EXTRACTOR =
+        RegisteredServiceKeyExtractor.of(INDEX_NAME, RegexRegisteredService.class, RegexRegisteredService::getDescription);
+
+    private static RegexRegisteredService newService(final long id, final String description, final int order) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId("^https://app" + id + "\\.example\\.org/.*");
+        service.setDescription(description);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyIndexUpdates() {
+        val index = new RegisteredServiceKeyIndex();
+        assertFalse(index.isIndexedBy(INDEX_NAME));
+        index.register(EXTRACTOR, List.of(newService(1, "client1", 1), newService(2, null, 2)));
+        assertTrue(index.isIndexedBy(INDEX_NAME));
+        assertEquals(List.of(1L), index.getServiceIds(INDEX_NAME, "client1"));
+        assertTrue(index.getServiceIds(INDEX_NAME, null).isEmpty());
+        assertTrue(index.getServiceIds("unknown", "client1").isEmpty());
+
+        index.add(newService(1, "client2", 1));
+        assertTrue(index.getServiceIds(INDEX_NAME, "client1").isEmpty());
+        assertEquals(List.of(1L), index.getServiceIds(INDEX_NAME, "client2"));
+
+        index.add(newService(3, "client2", 3));
+        assertEquals(new HashSet<>(List.of(1L, 3L)), new HashSet<>(index.getServiceIds(INDEX_NAME, "client2")));
+
+        index.remove(newService(1, "client2", 1));
+        assertEquals(List.of(3L), index.getServiceIds(INDEX_NAME, "client2"));
+
+        index.rebuild(List.of(newService(4, "client4", 4)));
+        assertTrue(index.getServiceIds(INDEX_NAME, "client2").isEmpty());
+        assertEquals(List.of(4L), index.getServiceIds(INDEX_NAME, "client4"));
+    }
+
+    @Test
+    public void verifyServicesManagerLookups() {
+        val registry = new InMemoryServiceRegistry();
+        registry.save(newService(1, "client1", 10));
+        val manager = new DefaultServicesManager(registry, null, new HashSet<>());
+        manager.load();
+        assertFalse(manager.isIndexedBy(INDEX_NAME));
+
+        manager.registerKeyExtractor(EXTRACTOR);
+        assertEquals(1, manager.findServiceByKey(INDEX_NAME, "client1", RegexRegisteredService.class).getId());
+
+        manager.save(newService(2, "client1", 5));
+        val services = manager.findServicesByKey(INDEX_NAME, "client1", RegexRegisteredService.class);
+        assertEquals(2, services.size());
+        assertEquals(2, services.iterator().next().getId());
+
+        manager.delete(2);
+        manager.save(newService(1, "client3", 10));
+        assertNull(manager.findServiceByKey(INDEX_NAME, "client1", RegexRegisteredService.class));
+        assertNotNull(manager.findServiceByKey(INDEX_NAME, "client3", RegexRegisteredService.class));
+
+        manager.load();
+        assertNotNull(manager.findServiceByKey(INDEX_NAME, "client3", RegexRegisteredService.class));
+        manager.deleteAll();
+        assertNull(manager.findServiceByKey(INDEX_NAME, "client3", RegexRegisteredService.class));
+    }
+}
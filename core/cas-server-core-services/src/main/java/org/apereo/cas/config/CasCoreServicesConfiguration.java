@@ -11,6 +11,7 @@ import org.apereo.cas.authentication.principal.WebApplicationServiceResponseBuil
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.services.ServiceRegistryProperties;
 import org.apereo.cas.services.ChainingServiceRegistry;
+import org.apereo.cas.services.AbstractServicesManager;
 import org.apereo.cas.services.DefaultServiceRegistryExecutionPlan;
 import org.apereo.cas.services.DefaultServicesManager;
 import org.apereo.cas.services.DomainServicesManager;
@@ -19,12 +20,14 @@ import org.apereo.cas.services.InMemoryServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyAuditableEnforcer;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RegisteredServiceKeyExtractor;
 import org.apereo.cas.services.RegisteredServicesEventListener;
 import org.apereo.cas.services.ServiceRegistry;
 import org.apereo.cas.services.ServiceRegistryExecutionPlan;
 import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.ServicesManagerScheduledLoader;
+import org.apereo.cas.services.index.RegisteredServiceResolutionCache;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
@@ -89,6 +92,13 @@ public class CasCoreServicesConfiguration {
     @Autowired
     private ObjectProvider<List<ServiceRegistryExecutionPlanConfigurer>> serviceRegistryDaoConfigurers;
 
+    @Autowired
+    @Qualifier("registeredServiceResolutionCache")
+    private ObjectProvider<RegisteredServiceResolutionCache> registeredServiceResolutionCache;
+
+    @Autowired
+    private ObjectProvider<List<RegisteredServiceKeyExtractor>> registeredServiceKeyExtractors;
+
     @RefreshScope
     @Bean
     @ConditionalOnMissingBean(name = "shibbolethCompatiblePersistentIdGenerator")
@@ -131,11 +141,24 @@ public class CasCoreServicesConfiguration {
     public ServicesManager servicesManager() {
         val managementType = casProperties.getServiceRegistry().getManagementType();
         val activeProfiles = Arrays.stream(environment.getActiveProfiles()).collect(Collectors.toSet());
+        final AbstractServicesManager manager;
         if (managementType == ServiceRegistryProperties.ServiceManagementTypes.DOMAIN) {
             LOGGER.trace("Managing CAS service definitions via domains");
-            return new DomainServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
+            manager = new DomainServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
+        } else {
+            manager = new DefaultServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
         }
-        return new DefaultServicesManager(serviceRegistry(), eventPublisher, activeProfiles);
+        registeredServiceResolutionCache.ifAvailable(manager::setResolutionCache);
+        registeredServiceKeyExtractors.ifAvailable(extractors -> extractors.forEach(manager::registerKeyExtractor));
+        return manager;
+    }
+
+    @ConditionalOnProperty(prefix = "cas.serviceRegistry.resolutionCache", name = "enabled", havingValue = "true")
+    @Bean
+    public RegisteredServiceResolutionCache registeredServiceResolutionCache() {
+        val cache = casProperties.getServiceRegistry().getResolutionCache();
+        LOGGER.trace("Caching up to [{}] service resolution results", cache.getMaximumSize());
+        return new RegisteredServiceResolutionCache(cache.getMaximumSize());
     }
 
     @Bean
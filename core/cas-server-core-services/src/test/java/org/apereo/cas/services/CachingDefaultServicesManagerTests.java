@@ -0,0 +1,59 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.RegisteredServiceResolutionCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CachingDefaultServicesManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CachingDefaultServicesManagerTests extends AbstractServicesManagerTests {
+    private static final String SERVICE_ID = "https://app.example.org/cas";
+
+    private RegisteredServiceResolutionCache resolutionCache;
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        this.resolutionCache = new RegisteredServiceResolutionCache();
+        val manager = new DefaultServicesManager(serviceRegistry, mock(ApplicationEventPublisher.class), new HashSet<>());
+        manager.setResolutionCache(resolutionCache);
+        return manager;
+    }
+
+    @Test
+    public void verifyResolutionIsCachedAndInvalidated() {
+        val meterRegistry = new SimpleMeterRegistry();
+        resolutionCache.bindTo(meterRegistry);
+
+        assertNull(this.servicesManager.findServiceBy(SERVICE_ID));
+        assertNull(this.servicesManager.findServiceBy(SERVICE_ID));
+        assertEquals(1, resolutionCache.size());
+
+        val service = new RegexRegisteredService();
+        service.setId(3000);
+        service.setName("app");
+        service.setServiceId("^https://app\\.example\\.org/.*");
+        this.servicesManager.save(service);
+        assertEquals(0, resolutionCache.size());
+
+        assertEquals(service, this.servicesManager.findServiceBy(SERVICE_ID));
+        assertEquals(service, this.servicesManager.findServiceBy(SERVICE_ID));
+        assertEquals(2, meterRegistry.get("cas.services.resolution.cache.hits").functionCounter().count(), 0);
+        assertEquals(2, meterRegistry.get("cas.services.resolution.cache.misses").functionCounter().count(), 0);
+        assertEquals(0.5, meterRegistry.get("cas.services.resolution.cache.hit.ratio").gauge().value(), 0);
+
+        this.servicesManager.delete(service);
+        assertNull(this.servicesManager.findServiceBy(SERVICE_ID));
+    }
+}
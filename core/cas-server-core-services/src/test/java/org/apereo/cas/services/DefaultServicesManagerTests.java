@@ -1,9 +1,40 @@
 package org.apereo.cas.services;
 
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
 
 /**
  * @author battags
  * @since 3.0.0
  */
 public class DefaultServicesManagerTests extends AbstractServicesManagerTests {
+
+    @Test
+    public void verifyEvaluationOrderAcrossIndexedPrefixes() {
+        val generic = new RegexRegisteredService();
+        generic.setId(3000);
+        generic.setName("generic");
+        generic.setServiceId("^https://.*");
+        generic.setEvaluationOrder(1);
+        this.servicesManager.save(generic);
+
+        val specific = new RegexRegisteredService();
+        specific.setId(3001);
+        specific.setName("specific");
+        specific.setServiceId("^https://app\\.example\\.org/.*");
+        specific.setEvaluationOrder(10);
+        this.servicesManager.save(specific);
+
+        assertEquals(generic, this.servicesManager.findServiceBy("https://app.example.org/cas"));
+
+        specific.setEvaluationOrder(0);
+        this.servicesManager.save(specific);
+        assertEquals(specific, this.servicesManager.findServiceBy("https://APP.example.org/cas"));
+        assertEquals(generic, this.servicesManager.findServiceBy("https://other.example.org"));
+
+        this.servicesManager.delete(specific);
+        assertEquals(generic, this.servicesManager.findServiceBy("https://app.example.org/cas"));
+    }
 }
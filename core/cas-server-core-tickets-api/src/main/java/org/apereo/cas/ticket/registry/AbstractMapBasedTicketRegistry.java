@@ -1,9 +1,11 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -15,20 +17,34 @@ import java.util.function.Predicate;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
+ * Keeps track of the number of tickets per ticket type as tickets are added and removed,
+ * so that session and service ticket counts do not require a scan of the registry.
+ * Tickets are also tracked in an expiration index so that the registry cleaner
+ * only needs to visit tickets that are due to expire.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-@NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Ticket counters, per ticket type.
+     */
+    @Getter
+    private final TicketRegistryCounters ticketCounters = new TicketRegistryCounters();
+
+    public AbstractMapBasedTicketRegistry() {
+        setTicketExpirationIndex(new DefaultTicketExpirationIndex());
+    }
+
     /**
      * Creates a new, empty registry with the cipher.
      *
      * @param cipherExecutor the cipher executor
      */
     public AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor) {
+        this();
         setCipherExecutor(cipherExecutor);
     }
 
@@ -36,7 +52,10 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(final @NonNull Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        if (getMapInstance().put(encTicket.getId(), encTicket) == null) {
+            this.ticketCounters.increment(ticket.getId());
+        }
+        indexTicketExpiration(ticket);
     }
 
     @Override
@@ -66,13 +85,22 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        val removed = getMapInstance().remove(encTicketId) != null;
+        if (removed) {
+            this.ticketCounters.decrement(ticketId);
+        }
+        removeTicketExpiration(ticketId);
+        return removed;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        this.ticketCounters.reset();
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.clear();
+        }
         return size;
     }
 
@@ -81,6 +109,30 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    @Override
+    public long sessionCount() {
+        return this.ticketCounters.getCount(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.ticketCounters.getCount(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * Reconcile ticket counters with the tickets that are present in the registry.
+     * Unless tickets are encoded, counters are reconciled with the keys of the map, without reading tickets.
+     */
+    @Override
+    public void reconcileTicketCounters() {
+        LOGGER.trace("Reconciling ticket counters with the contents of the registry");
+        if (isCipherExecutorEnabled()) {
+            this.ticketCounters.reconcile(getTickets().stream());
+        } else {
+            this.ticketCounters.reconcileTicketIds(getMapInstance().keySet().stream());
+        }
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -6,9 +6,8 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 
-import com.google.common.io.ByteSource;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
@@ -18,11 +17,12 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Scott Battaglia
@@ -43,6 +43,18 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The codec that serializes tickets prior to encryption.
+     */
+    protected TicketSerializationCodec ticketSerializationCodec = new JdkTicketSerializationCodec();
+
+    /**
+     * Index of tickets by expiration, for registries that are able to maintain one.
+     * When available, the registry cleaner only visits tickets that are due to expire.
+     */
+    @Getter
+    protected TicketExpirationIndex ticketExpirationIndex;
+
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
@@ -91,89 +103,99 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public int deleteTicket(final String ticketId) {
-        val count = new AtomicInteger(0);
         if (StringUtils.isBlank(ticketId)) {
-            return count.intValue();
-        }
-        val ticket = getTicket(ticketId);
-        if (ticket == null) {
-            LOGGER.debug("Ticket [{}] could not be fetched from the registry; it may have been expired and deleted.", ticketId);
-            return count.intValue();
-        }
-        if (ticket instanceof TicketGrantingTicket) {
-            LOGGER.trace("Removing children of ticket [{}] from the registry.", ticket.getId());
-            val tgt = (TicketGrantingTicket) ticket;
-            count.addAndGet(deleteChildren(tgt));
-            if (ticket instanceof ProxyGrantingTicket) {
-                deleteProxyGrantingTicketFromParent((ProxyGrantingTicket) ticket);
-            } else {
-                deleteLinkedProxyGrantingTickets(count, tgt);
-            }
-        }
-        LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
-        if (deleteSingleTicket(ticketId)) {
-            count.incrementAndGet();
+            return 0;
         }
-        return count.intValue();
+        return deleteTickets(Collections.singleton(ticketId));
     }
 
     /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
+     * {@inheritDoc}
+     * <p>
+     * The complete tree of tickets is collected first, which includes service tickets
+     * and proxy-granting tickets linked to ticket-granting tickets along with their own children.
+     * Parent ticket-granting tickets that survive the operation are updated once to unlink
+     * deleted proxy-granting tickets, and all collected tickets are removed
+     * in a single batch via {@link #deleteSingleTickets(Collection)}.
      */
-    protected int deleteTickets(final Set<String> tickets) {
-        return deleteTickets(tickets.stream());
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        val ticketsToDelete = new LinkedHashSet<String>();
+        val parentsToUpdate = new LinkedHashMap<String, TicketGrantingTicket>();
+        ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .forEach(ticketId -> collectTicketsToDelete(ticketId, ticketsToDelete, parentsToUpdate));
+        if (ticketsToDelete.isEmpty()) {
+            return 0;
+        }
+        parentsToUpdate.values()
+            .stream()
+            .filter(parent -> !ticketsToDelete.contains(parent.getId()))
+            .forEach(parent -> {
+                LOGGER.debug("Removing proxy-granting tickets from parent ticket-granting ticket [{}]", parent.getId());
+                updateTicket(parent);
+            });
+        LOGGER.debug("Removing tickets [{}] from the registry.", ticketsToDelete);
+        return deleteSingleTickets(ticketsToDelete);
     }
 
     /**
-     * Delete tickets.
+     * Delete the given ticket instances from the store, without cascading to
+     * linked tickets. Ticket ids are ordered such that child tickets come before
+     * their parent. Registries that are able to remove multiple entries
+     * in one operation should override this method.
      *
-     * @param tickets the tickets
+     * @param ticketIds the ticket ids
      * @return the total number of deleted tickets
      */
-    protected int deleteTickets(final Stream<String> tickets) {
-        return tickets.mapToInt(this::deleteTicket).sum();
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        return (int) ticketIds.stream()
+            .filter(ticketId -> {
+                if (deleteSingleTicket(ticketId)) {
+                    LOGGER.debug("Removed ticket [{}]", ticketId);
+                    return true;
+                }
+                LOGGER.debug("Unable to remove ticket [{}]", ticketId);
+                return false;
+            })
+            .count();
     }
 
-    private void deleteLinkedProxyGrantingTickets(final AtomicInteger count, final TicketGrantingTicket tgt) {
-        val pgts = new LinkedHashSet<String>(tgt.getProxyGrantingTickets().keySet());
-        val hasPgts = !pgts.isEmpty();
-        count.getAndAdd(deleteTickets(pgts));
-        if (hasPgts) {
-            LOGGER.debug("Removing proxy-granting tickets from parent ticket-granting ticket");
-            tgt.getProxyGrantingTickets().clear();
-            updateTicket(tgt);
+    private void collectTicketsToDelete(final String ticketId, final Set<String> ticketsToDelete,
+                                        final Map<String, TicketGrantingTicket> parentsToUpdate) {
+        if (ticketsToDelete.contains(ticketId)) {
+            return;
         }
-    }
-
-    private void deleteProxyGrantingTicketFromParent(final ProxyGrantingTicket ticket) {
-        val thePgt = ticket;
-        thePgt.getTicketGrantingTicket().getProxyGrantingTickets().remove(thePgt.getId());
-        updateTicket(thePgt.getTicketGrantingTicket());
+        val ticket = getTicket(ticketId, t -> true);
+        if (ticket == null) {
+            LOGGER.debug("Ticket [{}] could not be fetched from the registry; it may have been expired and deleted.", ticketId);
+            return;
+        }
+        if (ticket instanceof TicketGrantingTicket) {
+            LOGGER.trace("Collecting children of ticket [{}] for removal from the registry.", ticketId);
+            val tgt = (TicketGrantingTicket) ticket;
+            val services = tgt.getServices();
+            if (services != null) {
+                ticketsToDelete.addAll(services.keySet());
+            }
+            if (ticket instanceof ProxyGrantingTicket) {
+                val parent = tgt.getTicketGrantingTicket();
+                if (parent != null) {
+                    parentsToUpdate.computeIfAbsent(parent.getId(), id -> parent).getProxyGrantingTickets().remove(ticketId);
+                }
+            } else {
+                new LinkedHashSet<>(tgt.getProxyGrantingTickets().keySet())
+                    .forEach(pgtId -> collectTicketsToDelete(pgtId, ticketsToDelete, parentsToUpdate));
+            }
+        }
+        ticketsToDelete.add(ticketId);
     }
 
     /**
-     * Delete TGT's service tickets.
-     *
-     * @param ticket the ticket
-     * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
+     * Reconcile the ticket counters kept by the registry, if any, with the tickets that are present in the registry.
+     * Registries that count tickets natively, or not at all, have nothing to reconcile.
      */
-    protected int deleteChildren(final TicketGrantingTicket ticket) {
-        val count = new AtomicInteger(0);
-        val services = ticket.getServices();
-        if (services != null && !services.isEmpty()) {
-            services.keySet().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    LOGGER.debug("Removed ticket [{}]", ticketId);
-                    count.incrementAndGet();
-                } else {
-                    LOGGER.debug("Unable to remove ticket [{}]", ticketId);
-                }
-            });
-        }
-        return count.intValue();
+    public void reconcileTicketCounters() {
     }
 
     /**
@@ -220,9 +242,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        val encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketSerializationCodec.encode(ticket));
         val encodedTicketId = encodeTicketId(ticket.getId());
-        val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
+        val encodedTicket = new EncodedTicket(encodedTicketId, encodedTicketObject);
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
         return encodedTicket;
     }
@@ -249,7 +271,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         val encodedTicket = (EncodedTicket) result;
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val decoded = (byte[]) this.cipherExecutor.decode(encodedTicket.getEncodedTicket());
+        val ticket = this.ticketSerializationCodec.decode(decoded);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -268,6 +291,28 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return items.stream().map(this::decodeTicket).collect(Collectors.toSet());
     }
 
+    /**
+     * Index the ticket by its expiration, if the registry maintains an expiration index.
+     *
+     * @param ticket the ticket
+     */
+    protected void indexTicketExpiration(final Ticket ticket) {
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.index(ticket);
+        }
+    }
+
+    /**
+     * Remove the ticket from the expiration index, if the registry maintains one.
+     *
+     * @param ticketId the ticket id
+     */
+    protected void removeTicketExpiration(final String ticketId) {
+        if (this.ticketExpirationIndex != null) {
+            this.ticketExpirationIndex.remove(ticketId);
+        }
+    }
+
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
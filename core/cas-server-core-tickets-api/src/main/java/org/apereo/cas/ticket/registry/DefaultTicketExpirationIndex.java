@@ -0,0 +1,159 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link DefaultTicketExpirationIndex} that files tickets into one-second buckets,
+ * keyed by the earliest (future) instant at which the ticket may expire. Tickets that are already
+ * expired are due immediately. Otherwise, that instant is derived
+ * from the creation and last-used times of the ticket along with the time-to-live and
+ * time-to-idle values of its expiration policy. Since policies may expire tickets for
+ * other reasons (i.e. number of uses), the instant is only a hint as to when the ticket
+ * should be checked; tickets found to be still valid are simply re-indexed.
+ * Instants beyond {@link Instant#MAX}, such as those of policies that never expire tickets, are capped at {@link Instant#MAX}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class DefaultTicketExpirationIndex implements TicketExpirationIndex {
+    /**
+     * Delay after which tickets are checked again, when their expiration policy
+     * does not yield a usable future instant.
+     */
+    public static final long DEFAULT_RECHECK_DELAY_SECONDS = 60;
+
+    private final NavigableMap<Long, Set<String>> buckets = new TreeMap<>();
+
+    private final Map<String, Long> ticketBuckets = new HashMap<>();
+
+    private static Instant getDueInstant(final Ticket ticket, final Instant now) {
+        if (ticket.isExpired()) {
+            return Instant.ofEpochSecond(now.getEpochSecond());
+        }
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null) {
+            return plusSeconds(now, DEFAULT_RECHECK_DELAY_SECONDS);
+        }
+        val ttl = ticket instanceof TicketState
+            ? policy.getTimeToLive((TicketState) ticket)
+            : policy.getTimeToLive();
+        val tti = policy.getTimeToIdle();
+
+        val candidates = new ArrayList<Instant>();
+        if (ticket instanceof TicketState) {
+            val state = (TicketState) ticket;
+            if (ttl != null && ttl > 0) {
+                Optional.ofNullable(state.getCreationTime()).ifPresent(time -> candidates.add(plusSeconds(time.toInstant(), ttl)));
+                Optional.ofNullable(state.getLastTimeUsed()).ifPresent(time -> candidates.add(plusSeconds(time.toInstant(), ttl)));
+            }
+            if (tti != null && tti > 0) {
+                Optional.ofNullable(state.getLastTimeUsed()).ifPresent(time -> candidates.add(plusSeconds(time.toInstant(), tti)));
+            }
+        } else if (ttl != null && ttl > 0) {
+            candidates.add(plusSeconds(now, ttl));
+        }
+        if (candidates.isEmpty()) {
+            return plusSeconds(now, DEFAULT_RECHECK_DELAY_SECONDS);
+        }
+        return candidates.stream()
+            .filter(instant -> instant.isAfter(now))
+            .min(Instant::compareTo)
+            .orElseGet(() -> plusSeconds(now, Stream.of(ttl, tti)
+                .filter(value -> value != null && value > 0)
+                .findFirst()
+                .orElse(DEFAULT_RECHECK_DELAY_SECONDS)));
+    }
+
+    private static Instant plusSeconds(final Instant instant, final long seconds) {
+        if (seconds >= Instant.MAX.getEpochSecond() - instant.getEpochSecond()) {
+            return Instant.MAX;
+        }
+        return instant.plusSeconds(seconds);
+    }
+
+    @Override
+    public void index(final Ticket ticket) {
+        val due = getDueInstant(ticket, Instant.now());
+        val bucket = due.getNano() > 0 ? due.getEpochSecond() + 1 : due.getEpochSecond();
+        LOGGER.trace("Indexing ticket [{}] for expiration at [{}]", ticket.getId(), bucket);
+        synchronized (this) {
+            removeInternal(ticket.getId());
+            this.buckets.computeIfAbsent(bucket, k -> new LinkedHashSet<>()).add(ticket.getId());
+            this.ticketBuckets.put(ticket.getId(), bucket);
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String ticketId) {
+        removeInternal(ticketId);
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.buckets.clear();
+        this.ticketBuckets.clear();
+    }
+
+    @Override
+    public synchronized Collection<String> pollDue(final Instant instant, final int limit) {
+        val result = new ArrayList<String>();
+        val due = this.buckets.headMap(instant.getEpochSecond(), true).entrySet().iterator();
+        while (due.hasNext() && result.size() < limit) {
+            val bucket = due.next().getValue();
+            val ids = bucket.iterator();
+            while (ids.hasNext() && result.size() < limit) {
+                val ticketId = ids.next();
+                ids.remove();
+                this.ticketBuckets.remove(ticketId);
+                result.add(ticketId);
+            }
+            if (bucket.isEmpty()) {
+                due.remove();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Optional<Instant> getNextDueInstant() {
+        if (this.buckets.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochSecond(this.buckets.firstKey()));
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.ticketBuckets.size();
+    }
+
+    private void removeInternal(final String ticketId) {
+        val bucket = this.ticketBuckets.remove(ticketId);
+        if (bucket != null) {
+            val ids = this.buckets.get(bucket);
+            if (ids != null) {
+                ids.remove(ticketId);
+                if (ids.isEmpty()) {
+                    this.buckets.remove(bucket);
+                }
+            }
+        }
+    }
+}
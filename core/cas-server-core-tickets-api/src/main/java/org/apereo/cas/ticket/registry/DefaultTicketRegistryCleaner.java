@@ -5,15 +5,28 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
+ * When the ticket registry maintains a {@link TicketExpirationIndex}, the cleaner
+ * only visits tickets that are due to expire, fetched in batches and bounded
+ * by a per-run budget; otherwise, all tickets in the registry are scanned.
+ * Ticket counters of the registry, if any, are reconciled on a much longer interval than the cleaner runs.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -21,13 +34,37 @@ import java.io.Serializable;
 @Transactional(transactionManager = "ticketTransactionManager")
 @Slf4j
 @RequiredArgsConstructor
-public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
+@Setter
+public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, MeterBinder, Serializable {
+    /**
+     * Default number of due tickets to process at a time.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Default interval between reconciliations of ticket counters.
+     */
+    public static final Duration DEFAULT_RECONCILE_COUNTERS_INTERVAL = Duration.ofHours(1);
+
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final String METER_PREFIX = "cas.ticket.registry.cleaner.";
+
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
 
+    private final transient LongAdder scannedTickets = new LongAdder();
+    private final transient LongAdder expiredTickets = new LongAdder();
+    private final transient AtomicLong lagInMillis = new AtomicLong();
+    private final transient AtomicLong lastCounterReconciliation = new AtomicLong();
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private int maximumTicketsPerRun;
+
+    private Duration reconcileCountersInterval = DEFAULT_RECONCILE_COUNTERS_INTERVAL;
+
     @Override
     public void clean() {
         try {
@@ -56,11 +93,99 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
      * Clean tickets.
      */
     protected void cleanInternal() {
-        val ticketsDeleted = ticketRegistry.getTicketsStream()
-            .filter(Ticket::isExpired)
-            .mapToInt(this::cleanTicket)
-            .sum();
-        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        val expirationIndex = getTicketExpirationIndex();
+        if (expirationIndex != null) {
+            cleanDueTickets(expirationIndex);
+        } else {
+            try (val tickets = ticketRegistry.getTicketsStream()) {
+                val ticketsDeleted = tickets
+                    .peek(ticket -> scannedTickets.increment())
+                    .filter(Ticket::isExpired)
+                    .mapToInt(this::cleanTicket)
+                    .sum();
+                expiredTickets.add(ticketsDeleted);
+                LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+            }
+        }
+        reconcileTicketCountersIfDue();
+    }
+
+    /**
+     * Reconcile the ticket counters of the registry, if the registry keeps any,
+     * when the reconciliation interval has passed since the last reconciliation.
+     * Counters are reconciled on the first run.
+     */
+    protected void reconcileTicketCountersIfDue() {
+        val registry = NearCacheTicketRegistry.unwrap(ticketRegistry);
+        if (!(registry instanceof AbstractTicketRegistry)
+            || reconcileCountersInterval == null || reconcileCountersInterval.isZero() || reconcileCountersInterval.isNegative()) {
+            return;
+        }
+        val now = System.currentTimeMillis();
+        val last = lastCounterReconciliation.get();
+        if (last > 0 && now - last < reconcileCountersInterval.toMillis()) {
+            return;
+        }
+        if (lastCounterReconciliation.compareAndSet(last, now)) {
+            AbstractTicketRegistry.class.cast(registry).reconcileTicketCounters();
+        }
+    }
+
+    /**
+     * Clean tickets that are due to expire, as tracked by the expiration index.
+     * Tickets that turn out to be still valid (i.e. they were used since they were indexed)
+     * are re-indexed with their new due date.
+     *
+     * @param expirationIndex the expiration index
+     */
+    protected void cleanDueTickets(final TicketExpirationIndex expirationIndex) {
+        val now = Instant.now();
+        val limit = Math.max(batchSize, 1);
+        var budget = maximumTicketsPerRun > 0 ? maximumTicketsPerRun : Integer.MAX_VALUE;
+        var scanned = 0;
+        var deleted = 0;
+        while (budget > 0) {
+            val requested = Math.min(limit, budget);
+            val dueTickets = expirationIndex.pollDue(now, requested);
+            for (val ticketId : dueTickets) {
+                val ticket = ticketRegistry.getTicket(ticketId, t -> true);
+                if (ticket != null) {
+                    if (ticket.isExpired()) {
+                        deleted += cleanTicket(ticket);
+                    } else {
+                        expirationIndex.index(ticket);
+                    }
+                }
+            }
+            scanned += dueTickets.size();
+            budget -= dueTickets.size();
+            if (dueTickets.size() < requested) {
+                break;
+            }
+        }
+        scannedTickets.add(scanned);
+        expiredTickets.add(deleted);
+        val lag = expirationIndex.getNextDueInstant()
+            .filter(due -> !due.isAfter(now))
+            .map(due -> Duration.between(due, now).toMillis())
+            .orElse(0L);
+        lagInMillis.set(lag);
+        LOGGER.info("[{}] expired tickets removed after examining [{}] tickets that were due; cleaner is lagging by [{}] ms",
+            deleted, scanned, lag);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METER_PREFIX + "scanned", scannedTickets, LongAdder::doubleValue)
+            .description("Number of tickets examined by the ticket registry cleaner")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "expired", expiredTickets, LongAdder::doubleValue)
+            .description("Number of expired tickets removed by the ticket registry cleaner")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + "lag", lagInMillis, AtomicLong::doubleValue)
+            .description("Time in milliseconds since the oldest ticket that is due for removal has expired")
+            .baseUnit("milliseconds")
+            .register(registry);
     }
 
     @Override
@@ -83,4 +208,12 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     protected boolean isCleanerSupported() {
         return true;
     }
+
+    private TicketExpirationIndex getTicketExpirationIndex() {
+        val registry = NearCacheTicketRegistry.unwrap(ticketRegistry);
+        if (registry instanceof AbstractTicketRegistry) {
+            return AbstractTicketRegistry.class.cast(registry).getTicketExpirationIndex();
+        }
+        return null;
+    }
 }
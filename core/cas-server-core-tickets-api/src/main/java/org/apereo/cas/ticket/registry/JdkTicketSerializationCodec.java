@@ -0,0 +1,23 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link JdkTicketSerializationCodec} that relies on standard java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class JdkTicketSerializationCodec implements TicketSerializationCodec {
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket decode(final byte[] bytes) {
+        return SerializationUtils.deserializeAndCheckObject(bytes, Ticket.class);
+    }
+}
@@ -0,0 +1,247 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCacheTicketRegistry} that keeps recently used tickets of another {@link TicketRegistry}
+ * in a bounded local cache, so that repeated reads of the same ticket do not go back to the ticket registry.
+ * Only ticket-granting and proxy-granting tickets are cached; service, proxy and other single-use tickets
+ * are always read from the ticket registry, so that a ticket consumed on one node cannot be used again on another.
+ * Writes go through to the ticket registry first. Tickets that are updated or deleted are discarded by other nodes
+ * once told so by the {@link TicketRegistryInvalidationPublisher}; without one, other nodes may keep reading
+ * their own copy of a ticket for as long as the time-to-live of the cache.
+ * Queries over all tickets and counts are always answered by the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class NearCacheTicketRegistry implements TicketRegistry {
+    private final TicketRegistry delegate;
+
+    private final TicketRegistryInvalidationPublisher invalidationPublisher;
+
+    private final Cache<String, Ticket> cache;
+
+    public NearCacheTicketRegistry(final TicketRegistry delegate, final long maximumSize, final Duration timeToLive,
+                                   final TicketRegistryInvalidationPublisher invalidationPublisher) {
+        this(delegate, maximumSize, timeToLive, invalidationPublisher, Ticker.systemTicker());
+    }
+
+    public NearCacheTicketRegistry(final TicketRegistry delegate, final long maximumSize, final Duration timeToLive,
+                                   final TicketRegistryInvalidationPublisher invalidationPublisher, final Ticker ticker) {
+        this.delegate = delegate;
+        this.invalidationPublisher = invalidationPublisher;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        cache(ticket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final @NonNull Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        val cached = this.cache.getIfPresent(ticketId);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            LOGGER.trace("Ticket [{}] has expired; handing it to the ticket registry for removal", ticketId);
+            this.cache.invalidate(ticketId);
+        }
+        return cache(this.delegate.getTicket(ticketId));
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        val cached = this.cache.getIfPresent(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        return cache(this.delegate.getTicket(ticketId, predicate));
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        val result = this.delegate.updateTicket(ticket);
+        if (isCacheable(ticket)) {
+            this.cache.put(ticket.getId(), ticket);
+            this.invalidationPublisher.invalidate(Collections.singleton(ticket.getId()));
+        }
+        return result;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        return deleteTickets(Collections.singleton(ticketId));
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        val affected = new LinkedHashSet<String>();
+        ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .forEach(ticketId -> collectAffectedTickets(ticketId, affected));
+        val count = this.delegate.deleteTickets(ticketIds);
+        if (!affected.isEmpty()) {
+            this.cache.invalidateAll(affected);
+            this.invalidationPublisher.invalidate(affected);
+        }
+        return count;
+    }
+
+    @Override
+    public long deleteAll() {
+        val count = this.delegate.deleteAll();
+        this.cache.invalidateAll();
+        this.invalidationPublisher.invalidateAll();
+        return count;
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    /**
+     * Gets the ticket registry behind the near cache, for callers that need to reach the ticket registry
+     * of a particular type, or its own facilities.
+     *
+     * @param ticketRegistry the ticket registry, which may or may not be a near cache
+     * @return the ticket registry behind the near cache, or the ticket registry itself
+     */
+    public static TicketRegistry unwrap(final TicketRegistry ticketRegistry) {
+        return ticketRegistry instanceof NearCacheTicketRegistry
+            ? ((NearCacheTicketRegistry) ticketRegistry).getDelegate()
+            : ticketRegistry;
+    }
+
+    /**
+     * Discard the tickets from the cache, as asked by another node.
+     *
+     * @param ticketIds the ticket ids
+     */
+    public void invalidate(final Collection<String> ticketIds) {
+        LOGGER.trace("Discarding tickets [{}] from the near cache", ticketIds);
+        this.cache.invalidateAll(ticketIds);
+    }
+
+    /**
+     * Discard all tickets from the cache, as asked by another node.
+     */
+    public void invalidateAll() {
+        LOGGER.trace("Discarding all tickets from the near cache");
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache.
+     *
+     * @return the stats
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    private Ticket cache(final Ticket ticket) {
+        if (isCacheable(ticket)) {
+            this.cache.put(ticket.getId(), ticket);
+        }
+        return ticket;
+    }
+
+    private static boolean isCacheable(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicket;
+    }
+
+    /**
+     * Collect the ticket along with every ticket that is removed or changed when it is deleted:
+     * the children of ticket-granting tickets and the parent of proxy-granting tickets.
+     */
+    private void collectAffectedTickets(final String ticketId, final Set<String> affected) {
+        if (!affected.add(ticketId)) {
+            return;
+        }
+        val ticket = getTicket(ticketId, t -> true);
+        if (ticket instanceof TicketGrantingTicket) {
+            val tgt = (TicketGrantingTicket) ticket;
+            if (tgt.getServices() != null) {
+                affected.addAll(tgt.getServices().keySet());
+            }
+            if (ticket instanceof ProxyGrantingTicket && tgt.getTicketGrantingTicket() != null) {
+                affected.add(tgt.getTicketGrantingTicket().getId());
+            }
+            new LinkedHashSet<>(tgt.getProxyGrantingTickets().keySet()).forEach(pgtId -> collectAffectedTickets(pgtId, affected));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link NearCacheTicketRegistryBeanPostProcessor} that places a {@link NearCacheTicketRegistry}
+ * in front of the {@code ticketRegistry} bean, whichever module defines it, when the near cache is enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NearCacheTicketRegistryBeanPostProcessor implements BeanPostProcessor {
+    /**
+     * Name of the ticket registry bean.
+     */
+    public static final String BEAN_NAME_TICKET_REGISTRY = "ticketRegistry";
+
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<TicketRegistryInvalidationPublisher> invalidationPublisher;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!BEAN_NAME_TICKET_REGISTRY.equals(beanName) || !(bean instanceof TicketRegistry) || bean instanceof NearCacheTicketRegistry) {
+            return bean;
+        }
+        val nearCache = casProperties.getObject().getTicket().getRegistry().getNearCache();
+        if (!nearCache.isEnabled()) {
+            return bean;
+        }
+        val publisher = invalidationPublisher.getIfAvailable(TicketRegistryInvalidationPublisher::noOp);
+        LOGGER.debug("Keeping up to [{}] recently used ticket(s) of [{}] in a near cache for [{}], using [{}] to invalidate tickets on other nodes",
+            nearCache.getMaximumSize(), bean.getClass().getSimpleName(), nearCache.getTimeToLive(), publisher.getClass().getSimpleName());
+        return new NearCacheTicketRegistry((TicketRegistry) bean, nearCache.getMaximumSize(),
+            Beans.newDuration(nearCache.getTimeToLive()), publisher);
+    }
+}
@@ -0,0 +1,61 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * This is {@link TicketExpirationIndex} that keeps track of tickets by the instant
+ * at which they are next due to be checked for expiration, so that expired tickets
+ * can be located without scanning the entire registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketExpirationIndex {
+
+    /**
+     * Index (or re-index) the ticket based on its current state.
+     *
+     * @param ticket the ticket
+     */
+    void index(Ticket ticket);
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    void remove(String ticketId);
+
+    /**
+     * Remove all tickets from the index.
+     */
+    void clear();
+
+    /**
+     * Remove and return the ids of tickets that are due for an expiration check at the given instant,
+     * earliest first. Callers are expected to re-index tickets that turn out to be still valid.
+     *
+     * @param instant the instant
+     * @param limit   the maximum number of ticket ids to return
+     * @return the ticket ids
+     */
+    Collection<String> pollDue(Instant instant, int limit);
+
+    /**
+     * Gets the earliest instant at which a ticket is due for an expiration check.
+     *
+     * @return the instant, if any tickets are indexed
+     */
+    Optional<Instant> getNextDueInstant();
+
+    /**
+     * Number of indexed tickets.
+     *
+     * @return the size
+     */
+    int size();
+}
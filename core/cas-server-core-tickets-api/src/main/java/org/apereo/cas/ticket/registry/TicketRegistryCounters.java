@@ -0,0 +1,116 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TicketRegistryCounters} that keeps track of the number of tickets
+ * held by a registry, per ticket type. Ticket types are recognized by the prefix
+ * of the (plain, unencoded) ticket id, so counters can be maintained without
+ * having to decode or materialize tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketRegistryCounters {
+    private static final String TICKET_ID_SEPARATOR = "-";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the ticket type prefix for the given ticket id.
+     *
+     * @param ticketId the ticket id
+     * @return the prefix
+     */
+    public static String getTicketPrefix(final String ticketId) {
+        return StringUtils.substringBefore(ticketId, TICKET_ID_SEPARATOR);
+    }
+
+    /**
+     * Count a ticket that is added to the registry.
+     *
+     * @param ticketId the ticket id
+     */
+    public void increment(final String ticketId) {
+        getCounter(getTicketPrefix(ticketId)).increment();
+    }
+
+    /**
+     * Count a ticket that is removed from the registry.
+     *
+     * @param ticketId the ticket id
+     */
+    public void decrement(final String ticketId) {
+        getCounter(getTicketPrefix(ticketId)).decrement();
+    }
+
+    /**
+     * Gets the number of tickets whose ids start with the given prefix.
+     *
+     * @param prefix the prefix
+     * @return the count
+     */
+    public long getCount(final String prefix) {
+        val counter = this.counters.get(prefix);
+        return counter == null ? 0 : Math.max(0, counter.sum());
+    }
+
+    /**
+     * Gets all counts, keyed by ticket prefix.
+     *
+     * @return the counts
+     */
+    public Map<String, Long> getCounts() {
+        return this.counters.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> getCount(entry.getKey())));
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public void reset() {
+        this.counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Reconcile counters with the tickets that are actually present in the registry.
+     * Changes that happen concurrently with the reconciliation may be off until the next one.
+     *
+     * @param tickets the tickets
+     */
+    public void reconcile(final Stream<? extends Ticket> tickets) {
+        reconcileTicketIds(tickets.map(Ticket::getId));
+    }
+
+    /**
+     * Reconcile counters with the (plain, unencoded) ids of the tickets that are actually present in the registry,
+     * which avoids decoding or materializing tickets.
+     * Changes that happen concurrently with the reconciliation may be off until the next one.
+     *
+     * @param ticketIds the ticket ids
+     */
+    public void reconcileTicketIds(final Stream<String> ticketIds) {
+        val actual = ticketIds.collect(Collectors.groupingBy(TicketRegistryCounters::getTicketPrefix, Collectors.counting()));
+        this.counters.keySet().stream()
+            .filter(prefix -> !actual.containsKey(prefix))
+            .forEach(prefix -> this.counters.get(prefix).reset());
+        actual.forEach((prefix, count) -> {
+            val counter = getCounter(prefix);
+            counter.add(count - counter.sum());
+        });
+    }
+
+    private LongAdder getCounter(final String prefix) {
+        return this.counters.computeIfAbsent(prefix, k -> new LongAdder());
+    }
+}
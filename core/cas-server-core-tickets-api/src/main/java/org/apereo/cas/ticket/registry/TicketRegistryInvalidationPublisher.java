@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.Collection;
+
+/**
+ * This is {@link TicketRegistryInvalidationPublisher} that tells other nodes
+ * to discard tickets held in their {@link NearCacheTicketRegistry} once the tickets are updated or deleted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketRegistryInvalidationPublisher {
+
+    /**
+     * Publisher that does not tell other nodes anything,
+     * leaving their copies to expire with the near cache.
+     *
+     * @return the publisher
+     */
+    static TicketRegistryInvalidationPublisher noOp() {
+        return new TicketRegistryInvalidationPublisher() {
+            @Override
+            public void invalidate(final Collection<String> ticketIds) {
+            }
+
+            @Override
+            public void invalidateAll() {
+            }
+        };
+    }
+
+    /**
+     * Ask other nodes to discard the tickets.
+     *
+     * @param ticketIds the ticket ids
+     */
+    void invalidate(Collection<String> ticketIds);
+
+    /**
+     * Ask other nodes to discard all tickets.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,30 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketSerializationCodec} that turns tickets into raw bytes and back,
+ * before they are handed over to the cipher executor of the ticket registry
+ * and wrapped into an {@link EncodedTicket}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketSerializationCodec {
+
+    /**
+     * Serialize the ticket.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Deserialize the ticket.
+     *
+     * @param bytes the bytes
+     * @return the ticket
+     */
+    Ticket decode(byte[] bytes);
+}
@@ -11,6 +11,7 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryTests;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicyTests;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
@@ -45,6 +46,7 @@ import org.junit.runners.Suite;
     DefaultTicketRegistryTests.class,
     CachingTicketRegistryTests.class,
     DistributedTicketRegistryTests.class,
+    NearCacheTicketRegistryTests.class,
     Cas10ProxyHandlerTests.class,
     TicketEncryptionDecryptionTests.class,
     DefaultUniqueTicketIdGeneratorTests.class,
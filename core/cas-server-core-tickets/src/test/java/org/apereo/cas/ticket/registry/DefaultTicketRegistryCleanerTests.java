@@ -1,11 +1,18 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.stream.IntStream;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -29,4 +36,71 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyDueTicketsAreCleanedWithinBudget() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 5).forEach(i -> {
+            val tgt = new MockTicketGrantingTicket("casuser" + i);
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        });
+        ticketRegistry.addTicket(new MockTicketGrantingTicket("valid"));
+        assertEquals(6, ticketRegistry.getTicketExpirationIndex().size());
+
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.setBatchSize(2);
+        c.setMaximumTicketsPerRun(3);
+        c.clean();
+        assertEquals(3, ticketRegistry.sessionCount());
+        c.clean();
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(1, ticketRegistry.getTicketExpirationIndex().size());
+
+        val meterRegistry = new SimpleMeterRegistry();
+        c.bindTo(meterRegistry);
+        assertEquals(5, meterRegistry.get("cas.ticket.registry.cleaner.scanned").functionCounter().count(), 0);
+        assertEquals(5, meterRegistry.get("cas.ticket.registry.cleaner.expired").functionCounter().count(), 0);
+        assertEquals(0, meterRegistry.get("cas.ticket.registry.cleaner.lag").gauge().value(), 0);
+    }
+
+    @Test
+    public void verifyTicketCountersAreReconciledOnInterval() throws Exception {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        ticketRegistry.addTicket(new MockTicketGrantingTicket("casuser"));
+        ticketRegistry.getMapInstance().clear();
+        assertEquals(1, ticketRegistry.sessionCount());
+
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.clean();
+        assertEquals(0, ticketRegistry.sessionCount());
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.getMapInstance().put(tgt.getId(), tgt);
+        c.clean();
+        assertEquals(0, ticketRegistry.sessionCount());
+
+        c.setReconcileCountersInterval(Duration.ofMillis(1));
+        Thread.sleep(10);
+        c.clean();
+        assertEquals(1, ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyTicketWithUnboundedTimeToLiveIsIndexed() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl("TGT-unbounded", CoreAuthenticationTestUtils.getAuthentication(),
+            new TimeoutExpirationPolicy(60));
+        ticketRegistry.addTicket(tgt);
+        assertEquals(1, ticketRegistry.getTicketExpirationIndex().size());
+        assertTrue(ticketRegistry.getTicketExpirationIndex().getNextDueInstant().isPresent());
+
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.clean();
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertNotNull(ticketRegistry.getTicket(tgt.getId()));
+    }
 }
@@ -1,9 +1,17 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
 
+import lombok.val;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -46,4 +54,58 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountersAreMaintained() {
+        val registry = new DefaultTicketRegistry(CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]"));
+        val tgt = new TicketGrantingTicketImpl("TGT-1-counters", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1-counters", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+
+        registry.getMapInstance().clear();
+        registry.reconcileTicketCounters();
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+
+        registry.addTicket(tgt);
+        registry.addTicket(st);
+        assertEquals(2, registry.deleteTicket(tgt.getId()));
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+    }
+
+    @Test
+    public void verifyDeleteTicketsInBatch() {
+        val registry = new DefaultTicketRegistry();
+        val authentication = CoreAuthenticationTestUtils.getAuthentication();
+        val service = RegisteredServiceTestUtils.getService();
+
+        val tgt1 = new TicketGrantingTicketImpl("TGT-1-batch", authentication, new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt1);
+        val st1 = tgt1.grantServiceTicket("ST-1-batch", service, new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st1);
+        val pgt = st1.grantProxyGrantingTicket("PGT-1-batch", authentication, new NeverExpiresExpirationPolicy());
+        registry.addTicket(pgt);
+        registry.updateTicket(tgt1);
+
+        val tgt2 = new TicketGrantingTicketImpl("TGT-2-batch", authentication, new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt2);
+        val st2 = tgt2.grantServiceTicket("ST-2-batch", service, new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st2);
+        registry.updateTicket(tgt2);
+
+        assertEquals(1, registry.deleteTickets(Arrays.asList(pgt.getId())));
+        assertTrue(registry.getTicket(tgt1.getId(), TicketGrantingTicket.class).getProxyGrantingTickets().isEmpty());
+
+        assertEquals(4, registry.deleteTickets(Arrays.asList(tgt1.getId(), tgt2.getId(), "TGT-unknown")));
+        assertTrue(registry.getTickets().isEmpty());
+        assertEquals(0, registry.deleteTickets(Arrays.asList(tgt1.getId())));
+    }
 }
@@ -0,0 +1,197 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link NearCacheTicketRegistryTests} that runs two nodes, each with its own near cache,
+ * in front of one ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class NearCacheTicketRegistryTests {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(2);
+
+    private static final long MAXIMUM_SIZE = 100;
+
+    private static final int LOGINS = 10;
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    private DefaultTicketRegistry backend;
+
+    @Before
+    public void initialize() {
+        /*
+         * Encrypted tickets are decoded into new instances on every read, so that
+         * each node holds its own copy of a ticket, as it would with a remote ticket registry.
+         */
+        this.backend = new DefaultTicketRegistry(CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]"));
+    }
+
+    @Test
+    public void verifyRepeatedReadsAreServedFromCache() {
+        val node = newNode(TicketRegistryInvalidationPublisher.noOp());
+        val tgt = newTicketGrantingTicket("TGT-1-near");
+        node.addTicket(tgt);
+        for (var i = 0; i < LOGINS; i++) {
+            val current = node.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            node.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            val st = current.grantServiceTicket("ST-" + i + "-near", RegisteredServiceTestUtils.getService(),
+                new NeverExpiresExpirationPolicy(), false, true);
+            node.addTicket(st);
+            node.updateTicket(current);
+            assertNotNull(node.getTicket(st.getId(), ServiceTicket.class));
+        }
+        val stats = node.getStats();
+        LOGGER.info("Near cache hit rate is [{}] with [{}] hit(s) and [{}] miss(es)", stats.hitRate(), stats.hitCount(), stats.missCount());
+        assertEquals(2 * LOGINS, stats.hitCount());
+        assertEquals(LOGINS, stats.missCount());
+        assertEquals(1, node.sessionCount());
+        assertEquals(LOGINS, node.serviceTicketCount());
+    }
+
+    @Test
+    public void verifyStalenessIsBoundedByTimeToLive() {
+        val nodeA = newNode(TicketRegistryInvalidationPublisher.noOp());
+        val nodeB = newNode(TicketRegistryInvalidationPublisher.noOp());
+        val tgt = newTicketGrantingTicket("TGT-2-near");
+        nodeA.addTicket(tgt);
+        assertTrue(nodeB.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().isEmpty());
+
+        val st = grantServiceTicket(nodeA, tgt.getId(), "ST-2-near");
+        assertTrue(nodeB.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().isEmpty());
+
+        ticker.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        assertTrue(nodeB.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().isEmpty());
+
+        ticker.incrementAndGet();
+        assertTrue(nodeB.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().containsKey(st.getId()));
+        LOGGER.info("Without invalidation, node B read a stale ticket for [{}] ms", TimeUnit.NANOSECONDS.toMillis(ticker.get()));
+    }
+
+    @Test
+    public void verifyInvalidationKeepsNodesConsistent() {
+        val publisherA = new InMemoryTicketRegistryInvalidationPublisher();
+        val publisherB = new InMemoryTicketRegistryInvalidationPublisher();
+        val nodeA = newNode(publisherA);
+        val nodeB = newNode(publisherB);
+        publisherA.getPeers().add(nodeB);
+        publisherB.getPeers().add(nodeA);
+
+        val tgt = newTicketGrantingTicket("TGT-3-near");
+        nodeA.addTicket(tgt);
+        assertNotNull(nodeB.getTicket(tgt.getId()));
+
+        val st = grantServiceTicket(nodeA, tgt.getId(), "ST-3-near");
+        assertTrue(nodeB.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().containsKey(st.getId()));
+        assertNotNull(nodeB.getTicket(st.getId()));
+
+        nodeA.deleteTicket(tgt.getId());
+        assertNull(nodeB.getTicket(tgt.getId()));
+        assertNull(nodeB.getTicket(st.getId()));
+
+        val stats = nodeB.getStats();
+        LOGGER.info("With invalidation, node B had a hit rate of [{}] after [{}] invalidation message(s)",
+            stats.hitRate(), publisherA.getMessages().get());
+        assertEquals(2, publisherA.getMessages().get());
+        assertEquals(0, publisherB.getMessages().get());
+    }
+
+    @Test
+    public void verifyDeleteAllIsPublished() {
+        val publisherA = new InMemoryTicketRegistryInvalidationPublisher();
+        val nodeA = newNode(publisherA);
+        val nodeB = newNode(TicketRegistryInvalidationPublisher.noOp());
+        publisherA.getPeers().add(nodeB);
+
+        val tgt = newTicketGrantingTicket("TGT-4-near");
+        nodeA.addTicket(tgt);
+        assertNotNull(nodeB.getTicket(tgt.getId()));
+        nodeA.deleteAll();
+        assertNull(nodeB.getTicket(tgt.getId()));
+        assertEquals(0, nodeB.getCache().estimatedSize());
+    }
+
+    @Test
+    public void verifySingleUseTicketsAreNotCached() {
+        val nodeA = newNode(TicketRegistryInvalidationPublisher.noOp());
+        val nodeB = newNode(TicketRegistryInvalidationPublisher.noOp());
+        val tgt = newTicketGrantingTicket("TGT-5-near");
+        nodeA.addTicket(tgt);
+        val st = grantServiceTicket(nodeA, tgt.getId(), "ST-5-near");
+        assertNotNull(nodeB.getTicket(st.getId()));
+        assertNull(nodeA.getCache().getIfPresent(st.getId()));
+        assertNull(nodeB.getCache().getIfPresent(st.getId()));
+
+        nodeA.deleteTicket(st.getId());
+        assertNull(nodeB.getTicket(st.getId()));
+        assertNull(nodeB.getTicket(st.getId(), t -> true));
+    }
+
+    @Test
+    public void verifyTicketRegistryIsUnwrapped() {
+        val node = newNode(TicketRegistryInvalidationPublisher.noOp());
+        assertSame(this.backend, NearCacheTicketRegistry.unwrap(node));
+        assertSame(this.backend, NearCacheTicketRegistry.unwrap(this.backend));
+    }
+
+    private NearCacheTicketRegistry newNode(final TicketRegistryInvalidationPublisher publisher) {
+        return new NearCacheTicketRegistry(this.backend, MAXIMUM_SIZE, TIME_TO_LIVE, publisher, this.ticker::get);
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+    }
+
+    private static ServiceTicket grantServiceTicket(final TicketRegistry registry, final String ticketGrantingTicketId, final String id) {
+        val tgt = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val st = tgt.grantServiceTicket(id, RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        return st;
+    }
+
+    @Getter
+    private static class InMemoryTicketRegistryInvalidationPublisher implements TicketRegistryInvalidationPublisher {
+        private final List<NearCacheTicketRegistry> peers = new ArrayList<>();
+
+        private final AtomicLong messages = new AtomicLong();
+
+        @Override
+        public void invalidate(final Collection<String> ticketIds) {
+            messages.incrementAndGet();
+            peers.forEach(peer -> peer.invalidate(ticketIds));
+        }
+
+        @Override
+        public void invalidateAll() {
+            messages.incrementAndGet();
+            peers.forEach(NearCacheTicketRegistry::invalidateAll);
+        }
+    }
+}
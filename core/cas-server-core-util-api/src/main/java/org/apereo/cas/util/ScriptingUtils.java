@@ -1,9 +1,9 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.util.scripting.CompiledGroovyScriptCache;
+
 import groovy.lang.Binding;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import groovy.lang.GroovyShell;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +11,7 @@ import lombok.val;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
@@ -48,6 +48,33 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    /**
+     * Cache of compiled groovy scripts shared by all executions.
+     */
+    private static volatile CompiledGroovyScriptCache COMPILED_SCRIPT_CACHE = new CompiledGroovyScriptCache();
+
+    /**
+     * Gets the cache of compiled groovy scripts.
+     *
+     * @return the compiled script cache
+     */
+    public static CompiledGroovyScriptCache getCompiledScriptCache() {
+        return COMPILED_SCRIPT_CACHE;
+    }
+
+    /**
+     * Replace the cache of compiled groovy scripts.
+     *
+     * @param cache the cache
+     */
+    public static void setCompiledScriptCache(final CompiledGroovyScriptCache cache) {
+        val previous = COMPILED_SCRIPT_CACHE;
+        COMPILED_SCRIPT_CACHE = cache;
+        if (previous != cache) {
+            previous.close();
+        }
+    }
+
     /**
      * Is inline groovy script ?.
      *
@@ -102,7 +129,6 @@ public class ScriptingUtils {
                                                  final Class<T> clazz) {
         try {
             val binding = new Binding();
-            val shell = new GroovyShell(binding);
             if (variables != null && !variables.isEmpty()) {
                 variables.forEach(binding::setVariable);
             }
@@ -111,7 +137,8 @@ public class ScriptingUtils {
             }
             LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
 
-            val result = shell.evaluate(script);
+            val scriptClass = COMPILED_SCRIPT_CACHE.getScriptClass(script);
+            val result = InvokerHelper.createScript(scriptClass, binding).run();
             if (result != null && !clazz.isAssignableFrom(result.getClass())) {
                 throw new ClassCastException("Result [" + result
                     + " is of type " + result.getClass()
@@ -195,9 +222,8 @@ public class ScriptingUtils {
             return null;
         }
 
-        val parent = ScriptingUtils.class.getClassLoader();
         try {
-            return AccessController.doPrivileged((PrivilegedAction<T>) () -> getGroovyResult(groovyScript, methodName, args, clazz, parent, failOnError));
+            return AccessController.doPrivileged((PrivilegedAction<T>) () -> getGroovyResult(groovyScript, methodName, args, clazz, failOnError));
         } catch (final Exception e) {
             var cause = (Throwable) null;
             if (e instanceof PrivilegedActionException) {
@@ -216,12 +242,12 @@ public class ScriptingUtils {
 
     @SneakyThrows
     private static <T> T getGroovyResult(final Resource groovyScript, final String methodName,
-                                         final Object[] args, final Class<T> clazz, final ClassLoader parent,
+                                         final Object[] args, final Class<T> clazz,
                                          final boolean failOnError) {
-        try (val loader = new GroovyClassLoader(parent)) {
+        try {
             val groovyFile = groovyScript.getFile();
             if (groovyFile.exists()) {
-                val groovyClass = loader.parseClass(groovyFile);
+                val groovyClass = COMPILED_SCRIPT_CACHE.getScriptClass(groovyFile);
                 LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
 
                 val groovyObject = (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
@@ -366,11 +392,7 @@ public class ScriptingUtils {
 
             val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
 
-            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
+            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> COMPILED_SCRIPT_CACHE.getScriptClass(script));
 
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             val ctor = clazz.getDeclaredConstructor(constructorArgs);
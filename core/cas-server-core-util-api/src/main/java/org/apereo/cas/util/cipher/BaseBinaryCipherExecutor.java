@@ -1,8 +1,10 @@
 package org.apereo.cas.util.cipher;
 
 import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.RandomUtils;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -14,15 +16,22 @@ import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.OctJwkGenerator;
 
 import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * This is {@link BaseBinaryCipherExecutor}.
  * <p>
  * A implementation that is based on algorithms
  * provided by the default platform's JCE. By default AES encryption is
- * used.
+ * used, and encrypted values are then signed. Alternatively, AES may be used in GCM mode
+ * where encryption and authentication happen in a single pass, and the separate signing step is skipped.
+ * {@link Cipher} instances are not thread-safe and are kept per thread.
+ * The cipher algorithm is validated as soon as it is set, so a bad value fails when the executor is built.
  *
  * @author Misagh Moayyed
  * @since 4.2
@@ -32,16 +41,37 @@ import java.nio.charset.StandardCharsets;
 @Setter
 public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
 
+    /**
+     * Cipher algorithm that encrypts values using AES and signs the result.
+     */
+    public static final String CIPHER_ALGORITHM_AES = "AES";
+
+    /**
+     * Cipher algorithm that encrypts and authenticates values using AES in GCM mode.
+     */
+    public static final String CIPHER_ALGORITHM_AES_GCM = "AES/GCM/NoPadding";
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH = 128;
+
+    private static final SecureRandom RANDOM = RandomUtils.getNativeInstance();
+
     /**
      * Name of the cipher/component whose keys are generated here.
      */
     protected final String cipherName;
     private final SecretKeySpec encryptionKey;
-    private final Cipher aesCipher;
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
     /**
      * Secret key IV algorithm. Default is {@code AES}.
      */
     private String secretKeyAlgorithm = "AES";
+    /**
+     * Cipher algorithm used to encrypt values. Default is {@code AES}.
+     */
+    private String cipherAlgorithm = CIPHER_ALGORITHM_AES;
     private byte[] encryptionSecretKey;
 
     /**
@@ -60,7 +90,30 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         ensureSigningKeyExists(signingSecretKey, signingKeySize);
         ensureEncryptionKeyExists(encryptionSecretKey, encryptionKeySize);
         this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-        this.aesCipher = Cipher.getInstance("AES");
+        this.ciphers.set(newCipher(this.cipherAlgorithm));
+    }
+
+    /**
+     * Sets the cipher algorithm used to encrypt values.
+     *
+     * @param cipherAlgorithm either {@link #CIPHER_ALGORITHM_AES} or {@link #CIPHER_ALGORITHM_AES_GCM}
+     * @throws IllegalArgumentException if the algorithm is not supported, or not available on this platform
+     */
+    public void setCipherAlgorithm(final String cipherAlgorithm) {
+        this.ciphers.set(newCipher(cipherAlgorithm));
+        this.cipherAlgorithm = cipherAlgorithm;
+    }
+
+    private static Cipher newCipher(final String cipherAlgorithm) {
+        if (!CIPHER_ALGORITHM_AES.equalsIgnoreCase(cipherAlgorithm) && !CIPHER_ALGORITHM_AES_GCM.equalsIgnoreCase(cipherAlgorithm)) {
+            throw new IllegalArgumentException("Cipher algorithm [" + cipherAlgorithm + "] is not supported. Use [" + CIPHER_ALGORITHM_AES
+                + "] to encrypt and sign values, or [" + CIPHER_ALGORITHM_AES_GCM + "] for authenticated encryption");
+        }
+        try {
+            return Cipher.getInstance(cipherAlgorithm);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("Cipher algorithm [" + cipherAlgorithm + "] is not available on this platform", e);
+        }
     }
 
     @SneakyThrows
@@ -73,20 +126,48 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @Override
     @SneakyThrows
     public byte[] encode(final byte[] value, final Object[] parameters) {
-        this.aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
-        val result = this.aesCipher.doFinal(value);
+        val cipher = getCipher();
+        if (isAuthenticatedEncryption()) {
+            val iv = new byte[GCM_IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+            val result = new byte[GCM_IV_LENGTH + cipher.getOutputSize(value.length)];
+            System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
+            val length = GCM_IV_LENGTH + cipher.doFinal(value, 0, value.length, result, GCM_IV_LENGTH);
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        }
+        cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
+        val result = cipher.doFinal(value);
         return sign(result);
     }
 
     @Override
     @SneakyThrows
     public byte[] decode(final byte[] value, final Object[] parameters) {
+        val cipher = getCipher();
+        if (isAuthenticatedEncryption()) {
+            if (value.length < GCM_IV_LENGTH) {
+                throw new IllegalArgumentException("Encrypted value is too short to carry an initialization vector");
+            }
+            cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH, value, 0, GCM_IV_LENGTH));
+            return cipher.doFinal(value, GCM_IV_LENGTH, value.length - GCM_IV_LENGTH);
+        }
         val verifiedValue = verifySignature(value);
-        this.aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
-        val bytePlainText = aesCipher.doFinal(verifiedValue);
+        cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
+        val bytePlainText = cipher.doFinal(verifiedValue);
         return bytePlainText;
     }
 
+    /**
+     * Whether values are encrypted and authenticated in a single pass,
+     * in which case no separate signing step takes place.
+     *
+     * @return true/false
+     */
+    protected boolean isAuthenticatedEncryption() {
+        return CIPHER_ALGORITHM_AES_GCM.equalsIgnoreCase(this.cipherAlgorithm);
+    }
+
     /**
      * Gets encryption key setting.
      *
@@ -101,6 +182,15 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
      */
     protected abstract String getSigningKeySetting();
 
+    private Cipher getCipher() {
+        var cipher = this.ciphers.get();
+        if (cipher == null || !cipher.getAlgorithm().equalsIgnoreCase(this.cipherAlgorithm)) {
+            cipher = newCipher(this.cipherAlgorithm);
+            this.ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
     private void ensureEncryptionKeyExists(final String encryptionSecretKey, final int encryptionKeySize) {
         final byte[] genEncryptionKey;
         if (StringUtils.isBlank(encryptionSecretKey)) {
@@ -0,0 +1,221 @@
+package org.apereo.cas.util.scripting;
+
+import org.apereo.cas.util.io.PathWatcherService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groovy.lang.GroovyClassLoader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.codehaus.groovy.control.CompilerConfiguration;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link CompiledGroovyScriptCache} that holds on to compiled groovy classes,
+ * so that scripts are only parsed and compiled once and then reused across executions.
+ * File-based scripts are keyed by their canonical path and are recompiled once their
+ * last-modified timestamp or size changes, or once a change is reported by the
+ * (optional) watcher service monitoring the script directory. Inline scripts
+ * and script bodies are keyed by their text. Keys are prefixed by the kind of script,
+ * so that a script body never collides with a file path. Each compilation uses its own
+ * class loader so that evicted scripts can be garbage-collected.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompiledGroovyScriptCache implements MeterBinder, Closeable {
+    /**
+     * Default maximum number of compiled scripts to keep around.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 500;
+
+    private static final String METER_PREFIX = "cas.scripting.groovy.";
+
+    private static final String FILE_KEY_PREFIX = "file:";
+
+    private static final String INLINE_KEY_PREFIX = "inline:";
+
+    private final Cache<String, CompiledScript> compiledScripts;
+
+    private final boolean watchResources;
+
+    private final Map<File, PathWatcherService> watchers = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder compilations = new LongAdder();
+
+    private final LongAdder compilationTime = new LongAdder();
+
+    public CompiledGroovyScriptCache() {
+        this(DEFAULT_MAXIMUM_SIZE, false);
+    }
+
+    public CompiledGroovyScriptCache(final long maximumSize, final boolean watchResources) {
+        this.compiledScripts = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+        this.watchResources = watchResources;
+    }
+
+    /**
+     * Gets the compiled class for the given script file.
+     *
+     * @param groovyFile the groovy file
+     * @return the script class
+     */
+    @SneakyThrows
+    public Class getScriptClass(final File groovyFile) {
+        val file = groovyFile.getCanonicalFile();
+        val key = FILE_KEY_PREFIX + file.getPath();
+        val cached = compiledScripts.getIfPresent(key);
+        if (cached != null && (this.watchResources || cached.isCurrent(file))) {
+            hits.increment();
+            return cached.getScriptClass();
+        }
+        misses.increment();
+        if (this.watchResources) {
+            watchScriptDirectory(file);
+        }
+        return compiledScripts.asMap().compute(key, (k, current) -> {
+            if (current != null && current.isCurrent(file)) {
+                return current;
+            }
+            LOGGER.trace("Compiling groovy script [{}]", file);
+            return new CompiledScript(compile(() -> parseClass(file)), file.lastModified(), file.length());
+        }).getScriptClass();
+    }
+
+    /**
+     * Gets the compiled class for the given script body.
+     *
+     * @param script the script
+     * @return the script class
+     */
+    public Class getScriptClass(final String script) {
+        val key = INLINE_KEY_PREFIX + script;
+        val cached = compiledScripts.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached.getScriptClass();
+        }
+        misses.increment();
+        return compiledScripts.get(key, k -> new CompiledScript(compile(() -> parseClass(script)), 0, script.length())).getScriptClass();
+    }
+
+    /**
+     * Invalidate all compiled scripts.
+     */
+    public void invalidateAll() {
+        compiledScripts.invalidateAll();
+    }
+
+    /**
+     * Number of compiled scripts currently cached.
+     *
+     * @return the size
+     */
+    public long size() {
+        compiledScripts.cleanUp();
+        return compiledScripts.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METER_PREFIX + "cache.size", compiledScripts, Cache::estimatedSize)
+            .description("Number of compiled groovy scripts held in memory")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "cache.hits", hits, LongAdder::doubleValue)
+            .description("Number of script executions that reused a compiled script")
+            .register(registry);
+        FunctionCounter.builder(METER_PREFIX + "cache.misses", misses, LongAdder::doubleValue)
+            .description("Number of script executions that could not find a current compiled script")
+            .register(registry);
+        FunctionTimer.builder(METER_PREFIX + "compilations", this,
+            c -> c.compilations.sum(), c -> c.compilationTime.sum(), TimeUnit.NANOSECONDS)
+            .description("Time spent compiling groovy scripts")
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        this.watchers.values().forEach(PathWatcherService::close);
+        this.watchers.clear();
+    }
+
+    private Class compile(final Supplier<Class> compiler) {
+        val start = System.nanoTime();
+        try {
+            return compiler.get();
+        } finally {
+            compilations.increment();
+            compilationTime.add(System.nanoTime() - start);
+        }
+    }
+
+    private void watchScriptDirectory(final File file) {
+        val directory = file.getParentFile();
+        if (directory == null || !directory.isDirectory()) {
+            return;
+        }
+        this.watchers.computeIfAbsent(directory, dir -> {
+            LOGGER.debug("Watching directory [{}] for changes to groovy scripts", dir);
+            final Consumer<File> invalidate = this::invalidate;
+            val watcher = new PathWatcherService(dir.toPath(), invalidate, invalidate, invalidate);
+            watcher.start(getClass().getSimpleName() + '-' + dir.getName());
+            return watcher;
+        });
+    }
+
+    @SneakyThrows
+    private void invalidate(final File file) {
+        val key = FILE_KEY_PREFIX + file.getCanonicalPath();
+        LOGGER.trace("Invalidating compiled groovy script [{}]", key);
+        compiledScripts.invalidate(key);
+    }
+
+    @SneakyThrows
+    private static Class parseClass(final File file) {
+        try (val loader = new GroovyClassLoader(CompiledGroovyScriptCache.class.getClassLoader())) {
+            return loader.parseClass(file);
+        }
+    }
+
+    @SneakyThrows
+    private static Class parseClass(final String script) {
+        try (val loader = new GroovyClassLoader(CompiledGroovyScriptCache.class.getClassLoader(), new CompilerConfiguration(), true)) {
+            return loader.parseClass(script);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class CompiledScript {
+        private final Class scriptClass;
+        private final long lastModified;
+        private final long length;
+
+        boolean isCurrent(final File file) {
+            return file.lastModified() == this.lastModified && file.length() == this.length;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package org.apereo.cas.config;
 import org.apereo.cas.CasEmbeddedValueResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.util.SchedulingUtils;
+import org.apereo.cas.util.ScriptingUtils;
 import org.apereo.cas.util.io.CommunicationsManager;
 import org.apereo.cas.util.io.GroovySmsSender;
 import org.apereo.cas.util.io.RestfulSmsSender;
 import org.apereo.cas.util.io.SmsSender;
+import org.apereo.cas.util.scripting.CompiledGroovyScriptCache;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 import org.apereo.cas.util.spring.Converters;
 import org.apereo.cas.util.spring.SpringAwareMessageMessageInterpolator;
@@ -115,6 +117,15 @@ public class CasCoreUtilConfiguration implements InitializingBean {
         };
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = "compiledGroovyScriptCache")
+    public CompiledGroovyScriptCache compiledGroovyScriptCache() {
+        val scripting = casProperties.getScripting();
+        val cache = new CompiledGroovyScriptCache(scripting.getCacheMaximumSize(), scripting.isWatchResources());
+        ScriptingUtils.setCompiledScriptCache(cache);
+        return cache;
+    }
+
     @Override
     @SuppressFBWarnings("NIR_NEEDLESS_INSTANCE_RETRIEVAL")
     public void afterPropertiesSet() {
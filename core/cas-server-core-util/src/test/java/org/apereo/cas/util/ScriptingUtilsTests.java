@@ -1,5 +1,7 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.util.scripting.CompiledGroovyScriptCache;
+
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
@@ -48,6 +50,56 @@ public class ScriptingUtilsTests {
         }
     }
 
+    @Test
+    public void verifyGroovyResourceIsCompiledOnce() {
+        try {
+            val file = File.createTempFile("cached", ".groovy");
+            FileUtils.write(file, "def process(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+            val resource = new FileSystemResource(file);
+
+            val cache = ScriptingUtils.getCompiledScriptCache();
+            val scriptClass = cache.getScriptClass(file);
+            assertEquals("CASUSER", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+            assertEquals("CASUSER", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+            assertSame(scriptClass, cache.getScriptClass(file));
+
+            FileUtils.write(file, "def process(String name) { return name.toLowerCase() }", StandardCharsets.UTF_8);
+            assertTrue(file.setLastModified(file.lastModified() + 5000));
+            assertEquals("casuser", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "CASUSER"));
+            assertNotSame(scriptClass, cache.getScriptClass(file));
+        } catch (final Exception e) {
+            throw new AssertionError(e.getMessage(), e);
+        }
+    }
+
+    @Test
+    public void verifyInlineGroovyScriptIsCompiledOnce() {
+        val cache = ScriptingUtils.getCompiledScriptCache();
+        val script = "return name + '-' + name";
+        assertEquals("cas-cas", ScriptingUtils.executeGroovyShellScript(script, CollectionUtils.wrap("name", "cas"), String.class));
+        val scriptClass = cache.getScriptClass(script);
+        assertEquals("user-user", ScriptingUtils.executeGroovyShellScript(script, CollectionUtils.wrap("name", "user"), String.class));
+        assertSame(scriptClass, cache.getScriptClass(script));
+    }
+
+    @Test
+    public void verifyInlineScriptDoesNotCollideWithScriptFile() {
+        try {
+            val file = File.createTempFile("collision", ".groovy");
+            FileUtils.write(file, "def process(String name) { return name }", StandardCharsets.UTF_8);
+            val cache = new CompiledGroovyScriptCache();
+            val fileClass = cache.getScriptClass(file);
+            val script = '"' + file.getCanonicalPath() + '"';
+            val inlineClass = cache.getScriptClass(script);
+            assertNotSame(inlineClass, fileClass);
+            assertSame(inlineClass, cache.getScriptClass(script));
+            assertSame(fileClass, cache.getScriptClass(file));
+            assertEquals(2, cache.size());
+        } catch (final Exception e) {
+            throw new AssertionError(e.getMessage(), e);
+        }
+    }
+
     @Test
     public void verifyGroovyResourceEngineExecution() {
         val result = ScriptingUtils.executeGroovyScriptEngine("return name", CollectionUtils.wrap("name", "casuser"), String.class);
@@ -8,8 +8,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import javax.crypto.AEADBadTagException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -57,6 +63,55 @@ public class BinaryCipherExecutorTests {
         assertEquals(TEST_VALUE, new String(decoded, StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void checkAuthenticatedEncodingDecoding() {
+        val cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        cc.setCipherAlgorithm(BaseBinaryCipherExecutor.CIPHER_ALGORITHM_AES_GCM);
+        val value = TEST_VALUE.getBytes(StandardCharsets.UTF_8);
+        val bytes = cc.encode(value, ArrayUtils.EMPTY_OBJECT_ARRAY);
+        assertFalse(Arrays.equals(bytes, cc.encode(value, ArrayUtils.EMPTY_OBJECT_ARRAY)));
+        assertEquals(TEST_VALUE, new String(cc.decode(bytes, ArrayUtils.EMPTY_OBJECT_ARRAY), StandardCharsets.UTF_8));
+
+        bytes[bytes.length - 1] ^= 1;
+        this.thrown.expect(AEADBadTagException.class);
+        cc.decode(bytes, ArrayUtils.EMPTY_OBJECT_ARRAY);
+    }
+
+    @Test
+    public void checkUnsupportedCipherAlgorithmFailsFast() {
+        val cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        this.thrown.expect(IllegalArgumentException.class);
+        cc.setCipherAlgorithm("AES/CBC/PKCS5Padding");
+    }
+
+    @Test
+    public void checkConcurrentEncodingDecoding() throws Exception {
+        val cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val tasks = new ArrayList<Callable<Boolean>>();
+            IntStream.range(0, 200).forEach(i -> tasks.add(() -> {
+                val value = (TEST_VALUE + i).getBytes(StandardCharsets.UTF_8);
+                val decoded = cc.decode(cc.encode(value, ArrayUtils.EMPTY_OBJECT_ARRAY), ArrayUtils.EMPTY_OBJECT_ARRAY);
+                return new String(decoded, StandardCharsets.UTF_8).equals(TEST_VALUE + i);
+            }));
+            for (val result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
@@ -120,12 +120,14 @@ public class CasCoreWebflowConfiguration {
             enabled = true;
         }
         if (enabled) {
-            return new WebflowConversationStateCipherExecutor(
+            val cipher = new WebflowConversationStateCipherExecutor(
                 crypto.getEncryption().getKey(),
                 crypto.getSigning().getKey(),
                 crypto.getAlg(),
                 crypto.getSigning().getKeySize(),
                 crypto.getEncryption().getKeySize());
+            cipher.setCipherAlgorithm(crypto.getCipherAlgorithm());
+            return cipher;
         }
         LOGGER.warn("Webflow encryption/signing is turned off. This "
             + "MAY NOT be safe in a production environment. Consider using other choices to handle encryption, "
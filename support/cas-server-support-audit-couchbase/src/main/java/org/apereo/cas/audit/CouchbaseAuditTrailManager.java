@@ -16,11 +16,13 @@ import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
+import rx.Observable;
 
 import java.io.StringWriter;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -61,14 +63,28 @@ public class CouchbaseAuditTrailManager extends AbstractAuditTrailManager {
         this(couchbase, serializer);
         this.asynchronous = asynchronous;
     }
-    @SneakyThrows
     @Override
     protected void saveAuditRecord(final AuditActionContext audit) {
+        this.couchbase.getBucket().upsert(toDocument(audit));
+    }
+
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        val bucket = this.couchbase.getBucket().async();
+        Observable.from(audits)
+            .map(this::toDocument)
+            .flatMap(bucket::upsert)
+            .toList()
+            .toBlocking()
+            .single();
+    }
+
+    @SneakyThrows
+    private StringDocument toDocument(final AuditActionContext audit) {
         try (val stringWriter = new StringWriter()) {
             this.serializer.to(stringWriter, audit);
             val id = UUID.randomUUID().toString();
-            val document = StringDocument.create(id, 0, stringWriter.toString());
-            this.couchbase.getBucket().upsert(document);
+            return StringDocument.create(id, 0, stringWriter.toString());
         }
     }
 
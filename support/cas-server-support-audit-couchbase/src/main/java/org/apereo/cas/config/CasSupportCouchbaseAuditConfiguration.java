@@ -8,7 +8,6 @@ import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.couchbase.core.CouchbaseClientFactory;
 
 import lombok.val;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -42,10 +41,12 @@ public class CasSupportCouchbaseAuditConfiguration {
     }
 
     @Bean
-    public AuditTrailManager couchbaseAuditTrailManager() {
+    public CouchbaseAuditTrailManager couchbaseAuditTrailManager() {
         val cb = casProperties.getAudit().getCouchbase();
-        return new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory(),
+        val manager = new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory(),
             new AuditActionContextJsonSerializer(), cb.isAsynchronous());
+        manager.setQueueProperties(casProperties.getAudit().getQueue());
+        return manager;
     }
 
     @Bean
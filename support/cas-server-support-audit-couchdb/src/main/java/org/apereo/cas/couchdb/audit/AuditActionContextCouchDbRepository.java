@@ -26,6 +26,14 @@ public class AuditActionContextCouchDbRepository extends CouchDbRepositorySuppor
         super(CouchDbAuditActionContext.class, db, createIfNotExists);
     }
 
+    /**
+     * Add audit records in a single bulk request.
+     * @param records Audit records to add.
+     */
+    public void addAll(final List<CouchDbAuditActionContext> records) {
+        db.executeBulk(records);
+    }
+
     /**
      * Find audit records since +localDate+.
      * @param localDate Date to search from.
@@ -0,0 +1,87 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JdbcBatchAuditTrailManager} that writes audit records asynchronously
+ * in batches, using a single batch insert per batch of records.
+ * Records saved synchronously, along with queries and cleanup, are handled by
+ * the Inspektr {@link JdbcAuditTrailManager} that owns the audit table.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class JdbcBatchAuditTrailManager extends AbstractAuditTrailManager {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcAuditTrailManager auditTrailManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String insertSql;
+
+    private final int columnLength;
+
+    public JdbcBatchAuditTrailManager(final JdbcAuditTrailManager auditTrailManager,
+                                      final JdbcTemplate jdbcTemplate,
+                                      final TransactionTemplate transactionTemplate,
+                                      final String tableName,
+                                      final int columnLength,
+                                      final boolean asynchronous) {
+        super(asynchronous);
+        this.auditTrailManager = auditTrailManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        this.auditTrailManager.record(audit);
+    }
+
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        val rows = audits
+            .stream()
+            .map(audit -> new Object[]{
+                StringUtils.left(audit.getPrincipal(), this.columnLength),
+                audit.getClientIpAddress(),
+                audit.getServerIpAddress(),
+                StringUtils.left(audit.getResourceOperatedUpon(), this.columnLength),
+                StringUtils.left(audit.getActionPerformed(), this.columnLength),
+                audit.getApplicationCode(),
+                new Timestamp(audit.getWhenActionWasPerformed().getTime())
+            })
+            .collect(Collectors.toList());
+        LOGGER.trace("Inserting [{}] audit records", rows.size());
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(this.insertSql, rows));
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.auditTrailManager.getAuditRecordsSince(localDate);
+    }
+}
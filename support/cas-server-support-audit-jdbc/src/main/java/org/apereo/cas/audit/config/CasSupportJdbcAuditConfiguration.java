@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.JdbcBatchAuditTrailManager;
 import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -10,7 +11,6 @@ import org.apereo.cas.util.CollectionUtils;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
 import org.apereo.inspektr.audit.support.MaxAgeWhereClauseMatchCriteria;
 import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
@@ -21,6 +21,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -45,15 +46,20 @@ public class CasSupportJdbcAuditConfiguration {
     private CasConfigurationProperties casProperties;
 
     @Bean
-    public AuditTrailManager jdbcAuditTrailManager() {
+    public JdbcBatchAuditTrailManager jdbcAuditTrailManager() {
         val jdbc = casProperties.getAudit().getJdbc();
+        val tableName = getAuditTableNameFrom(jdbc);
         val t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
         t.setCleanupCriteria(auditCleanupCriteria());
         t.setDataSource(inspektrAuditTrailDataSource());
-        t.setAsynchronous(jdbc.isAsynchronous());
+        t.setAsynchronous(false);
         t.setColumnLength(jdbc.getColumnLength());
-        t.setTableName(getAuditTableNameFrom(jdbc));
-        return t;
+        t.setTableName(tableName);
+
+        val manager = new JdbcBatchAuditTrailManager(t, new JdbcTemplate(inspektrAuditTrailDataSource()),
+            inspektrAuditTransactionTemplate(), tableName, jdbc.getColumnLength(), jdbc.isAsynchronous());
+        manager.setQueueProperties(casProperties.getAudit().getQueue());
+        return manager;
     }
 
     private static String getAuditTableNameFrom(final AuditJdbcProperties jdbc) {
@@ -12,6 +12,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     CasSupportJdbcAuditConfigurationTests.class,
+    JdbcBatchAuditTrailManagerTests.class,
     CasSupportMicrosoftSqlServerJdbcAuditConfigurationTests.class,
     CasSupportMySQLJdbcAuditConfigurationTests.class,
     CasSupportPostgresJdbcAuditConfigurationTests.class
@@ -0,0 +1,83 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.config.CasSupportJdbcAuditConfiguration;
+import org.apereo.cas.audit.spi.config.CasCoreAuditConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JdbcBatchAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    CasCoreAuditConfiguration.class,
+    CasSupportJdbcAuditConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    AopAutoConfiguration.class,
+    RefreshAutoConfiguration.class
+})
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@TestPropertySource(properties = {
+    "cas.audit.jdbc.asynchronous=true",
+    "cas.audit.queue.batchSize=2",
+    "cas.audit.queue.flushInterval=PT10S"
+})
+public class JdbcBatchAuditTrailManagerTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("jdbcAuditTrailManager")
+    private JdbcBatchAuditTrailManager jdbcAuditTrailManager;
+
+    private static AuditActionContext getAuditActionContext(final String principal) {
+        return new AuditActionContext(principal, "TEST", "TEST", "CAS", new Date(), "1.2.3.4", "1.2.3.4");
+    }
+
+    @Test
+    public void verifyQueuedRecordsAreWrittenInBatches() {
+        val time = LocalDate.now().minusDays(2);
+        jdbcAuditTrailManager.record(getAuditActionContext("casuser-queued1"));
+        jdbcAuditTrailManager.record(getAuditActionContext("casuser-queued2"));
+        jdbcAuditTrailManager.record(getAuditActionContext("casuser-queued3"));
+        jdbcAuditTrailManager.close();
+        assertEquals(0, jdbcAuditTrailManager.getQueue().getQueueSize());
+        assertEquals(0, jdbcAuditTrailManager.getQueue().getFailedCount());
+
+        jdbcAuditTrailManager.record(getAuditActionContext("casuser-closed"));
+        val principals = jdbcAuditTrailManager.getAuditRecordsSince(time)
+            .stream()
+            .map(AuditActionContext::getPrincipal)
+            .collect(Collectors.toSet());
+        assertTrue(principals.contains("casuser-queued1"));
+        assertTrue(principals.contains("casuser-queued2"));
+        assertTrue(principals.contains("casuser-queued3"));
+        assertTrue(principals.contains("casuser-closed"));
+    }
+}
@@ -18,7 +18,9 @@ import org.apereo.inspektr.audit.AuditActionContext;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RestAuditTrailManager}.
@@ -40,16 +42,49 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
 
     @Override
     public void saveAuditRecord(final AuditActionContext audit) {
+        val auditJson = serializer.toString(audit);
+        LOGGER.debug("Sending audit action context to REST endpoint [{}]", properties.getUrl());
+        post(auditJson);
+    }
+
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        if (!properties.isSendInBatches()) {
+            super.saveAuditRecords(audits);
+            return;
+        }
+        val auditJson = audits
+            .stream()
+            .map(serializer::toString)
+            .collect(Collectors.joining(",", "[", "]"));
+        val attempts = Math.max(properties.getBatchAttempts(), 1);
+        for (var attempt = 1; attempt <= attempts; attempt++) {
+            LOGGER.debug("Sending [{}] audit action contexts to REST endpoint [{}], attempt [{}] of [{}]",
+                audits.size(), properties.getUrl(), attempt, attempts);
+            if (post(auditJson)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Unable to send " + audits.size() + " audit action contexts to REST endpoint "
+            + properties.getUrl() + " after " + attempts + " attempt(s)");
+    }
+
+    private boolean post(final String entity) {
         HttpResponse response = null;
         try {
-            val auditJson = serializer.toString(audit);
-            LOGGER.debug("Sending audit action context to REST endpoint [{}]", properties.getUrl());
-            response = HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
+            response = HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), entity);
+            if (response != null && response.getStatusLine().getStatusCode() >= HttpStatus.SC_OK
+                && response.getStatusLine().getStatusCode() < HttpStatus.SC_MULTIPLE_CHOICES) {
+                return true;
+            }
+            LOGGER.warn("Audit REST endpoint [{}] did not accept the audit records: [{}]", properties.getUrl(),
+                response == null ? null : response.getStatusLine());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         } finally {
             HttpUtils.close(response);
         }
+        return false;
     }
 
     @Override
@@ -5,7 +5,6 @@ import org.apereo.cas.audit.RestAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 
 import lombok.val;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -25,9 +24,11 @@ public class CasSupportRestAuditConfiguration {
     private CasConfigurationProperties casProperties;
 
     @Bean
-    public AuditTrailManager restAuditTrailManager() {
+    public RestAuditTrailManager restAuditTrailManager() {
         val rest = casProperties.getAudit().getRest();
-        return new RestAuditTrailManager(rest);
+        val manager = new RestAuditTrailManager(rest);
+        manager.setQueueProperties(casProperties.getAudit().getQueue());
+        return manager;
     }
 
     @Bean
@@ -4,6 +4,7 @@ import org.apereo.cas.audit.spi.BaseAuditConfigurationTests;
 import org.apereo.cas.category.RestfulApiCategory;
 import org.apereo.cas.config.CasCoreUtilSerializationConfiguration;
 import org.apereo.cas.config.CasSupportRestAuditConfiguration;
+import org.apereo.cas.configuration.model.core.audit.AuditRestProperties;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.MockWebServer;
 
@@ -24,8 +25,13 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -77,4 +83,55 @@ public class RestAuditTrailManagerTests extends BaseAuditConfigurationTests {
             super.verifyAuditManager();
         }
     }
+
+    @Test
+    @Override
+    public void verifyAuditRecordsSavedInBatch() {
+        val requests = new AtomicInteger();
+        try (val webServer = new MockWebServer(9297, socket -> respond(socket, requests, "200 OK"))) {
+            webServer.start();
+            val manager = new RestAuditTrailManager(getBatchProperties());
+            manager.saveAuditRecords(List.of(getAuditActionContext("casuser1"), getAuditActionContext("casuser2")));
+            assertEquals(1, requests.get());
+        }
+    }
+
+    @Test
+    public void verifyFailedBatchIsRetried() {
+        val requests = new AtomicInteger();
+        try (val webServer = new MockWebServer(9297, socket -> respond(socket, requests, "500 Internal Server Error"))) {
+            webServer.start();
+            val manager = new RestAuditTrailManager(getBatchProperties());
+            try {
+                manager.saveAuditRecords(List.of(getAuditActionContext("casuser1"), getAuditActionContext("casuser2")));
+                fail("Batch should not have been sent");
+            } catch (final IllegalStateException e) {
+                assertEquals(2, requests.get());
+            }
+        }
+    }
+
+    private static AuditRestProperties getBatchProperties() {
+        val properties = new AuditRestProperties();
+        properties.setUrl("http://localhost:9297");
+        properties.setSendInBatches(true);
+        properties.setBatchAttempts(2);
+        return properties;
+    }
+
+    private static AuditActionContext getAuditActionContext(final String principal) {
+        return new AuditActionContext(principal, "resource", "action", "CAS", new Date(), "123.456.789.000", "123.456.789.000");
+    }
+
+    private static Object respond(final Object socket, final AtomicInteger requests, final String status) {
+        requests.incrementAndGet();
+        try {
+            val out = ((Socket) socket).getOutputStream();
+            out.write(("HTTP/1.1 " + status + "\r\nContent-Length: 0\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return status;
+    }
 }
@@ -1,14 +1,19 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -29,7 +34,7 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     @Override
     public void addTicket(final Ticket ticket) {
         try {
-            LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ticket.getExpirationPolicy().getTimeToLive());
+            LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), DynamoDbTicketRegistryFacilitator.getTimeToLive(ticket));
             val encTicket = encodeTicket(ticket);
             this.dbTableService.put(ticket, encTicket);
         } catch (final Exception e) {
@@ -59,7 +64,24 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return decodeTickets(this.dbTableService.getAll());
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.dbTableService.getTicketsStream().map(this::decodeTicket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.dbTableService.countTickets(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.dbTableService.countTickets(ServiceTicket.PREFIX);
     }
 
     @Override
@@ -73,4 +95,11 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val ticketId = encodeTicketId(ticketIdToDelete);
         return this.dbTableService.delete(ticketIdToDelete, ticketId);
     }
+
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val encodedTicketIds = new LinkedHashMap<String, String>();
+        ticketIds.forEach(ticketId -> encodedTicketIds.put(ticketId, encodeTicketId(ticketId)));
+        return this.dbTableService.delete(encodedTicketIds);
+    }
 }
@@ -3,15 +3,19 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.util.CollectionUtils;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
@@ -19,25 +23,58 @@ import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * Tickets are written without reading any table back. Each item carries an expiration time in epoch seconds
+ * that is registered as the table's time-to-live attribute, so DynamoDb purges tickets that are left behind.
+ * Tables are read through paginated scans that are split into segments, with a page of each segment fetched in parallel
+ * on threads of the facilitator's own.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -45,11 +82,42 @@ import java.util.stream.Collectors;
 @Slf4j
 @Getter
 @RequiredArgsConstructor
-public class DynamoDbTicketRegistryFacilitator {
+public class DynamoDbTicketRegistryFacilitator implements DisposableBean {
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+
+    private static final int MAX_BATCH_WRITE_ATTEMPTS = 5;
+
+    private static final long INITIAL_BATCH_WRITE_BACKOFF_MILLIS = 50;
+
+    private static final long MAX_BATCH_WRITE_BACKOFF_MILLIS = 2_000;
+
     private final TicketCatalog ticketCatalog;
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
     private final AmazonDynamoDB amazonDynamoDBClient;
 
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService scanExecutor = Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
+        .namingPattern("cas-dynamodb-scan-%d")
+        .daemon(true)
+        .build());
+
+    /**
+     * Gets the time to live of the ticket, in seconds, as determined by its expiration policy
+     * for the ticket itself, so that policies that vary by ticket (i.e. remember-me) are honored.
+     *
+     * @param ticket the ticket
+     * @return the time to live
+     */
+    public static Long getTimeToLive(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        return ticket instanceof TicketState ? policy.getTimeToLive((TicketState) ticket) : policy.getTimeToLive();
+    }
+
+    @Override
+    public void destroy() {
+        this.scanExecutor.shutdownNow();
+    }
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).getB();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -81,21 +149,77 @@ public class DynamoDbTicketRegistryFacilitator {
         return false;
     }
 
+    /**
+     * Delete the given tickets using batch write requests, grouped by table.
+     * Items that are left unprocessed, typically because the table is throttled, are submitted again
+     * after an exponentially growing, randomized delay, for a bounded number of attempts.
+     *
+     * @param ticketIds the ticket ids, mapped to their encoded ticket ids
+     * @return the number of tickets deleted
+     */
+    public int delete(final Map<String, String> ticketIds) {
+        val requests = new LinkedHashMap<String, List<WriteRequest>>();
+        ticketIds.forEach((ticketId, encodedTicketId) -> {
+            val metadata = this.ticketCatalog.find(ticketId);
+            if (metadata != null) {
+                val del = new DeleteRequest().withKey(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId)));
+                requests.computeIfAbsent(metadata.getProperties().getStorageName(), k -> new ArrayList<>()).add(new WriteRequest(del));
+            }
+        });
+        val count = new AtomicInteger();
+        requests.forEach((tableName, writes) -> {
+            for (var i = 0; i < writes.size(); i += MAX_BATCH_WRITE_ITEMS) {
+                val batch = writes.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, writes.size()));
+                var items = CollectionUtils.<String, List<WriteRequest>>wrap(tableName, new ArrayList<>(batch));
+                LOGGER.debug("Submitting batch delete request for [{}] ticket(s) to table [{}]", batch.size(), tableName);
+                var attempts = 0;
+                while (!items.isEmpty() && attempts < MAX_BATCH_WRITE_ATTEMPTS && (attempts == 0 || backOff(attempts))) {
+                    items = amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest().withRequestItems(items)).getUnprocessedItems();
+                    attempts++;
+                }
+                val unprocessed = items.getOrDefault(tableName, new ArrayList<>()).size();
+                if (unprocessed > 0) {
+                    LOGGER.warn("[{}] delete request(s) to table [{}] could not be processed", unprocessed, tableName);
+                }
+                count.addAndGet(batch.size() - unprocessed);
+            }
+        });
+        return count.get();
+    }
+
+    /**
+     * Wait before submitting unprocessed items again, for a random delay of up to an exponentially growing bound.
+     *
+     * @param attempts the number of attempts made so far
+     * @return true if items should be submitted again, or false if the thread is interrupted
+     */
+    private static boolean backOff(final int attempts) {
+        val bound = Math.min(MAX_BATCH_WRITE_BACKOFF_MILLIS, INITIAL_BATCH_WRITE_BACKOFF_MILLIS << (attempts - 1));
+        val delay = ThreadLocalRandom.current().nextLong(bound / 2, bound + 1);
+        LOGGER.debug("Submitting unprocessed delete requests again in [{}] ms", delay);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to submit unprocessed delete requests again");
+            return false;
+        }
+    }
+
     /**
      * Delete all.
      *
      * @return the int
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
-        });
+        val tableNames = getTableNames();
+        LOGGER.debug("Counting tickets in tables [{}]", tableNames);
+        val count = scan(tableNames, scan -> scan.withSelect(Select.COUNT))
+            .mapToInt(ScanResult::getCount)
+            .sum();
         createTicketTables(true);
-        return count.get();
+        return count;
     }
 
     /**
@@ -104,16 +228,45 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        val tickets = new ArrayList<Ticket>();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
-        });
-        return tickets;
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Stream the tickets of all tables. Pages are read as the stream is consumed.
+     *
+     * @return the tickets stream
+     */
+    public Stream<Ticket> getTicketsStream() {
+        return scan(getTableNames(), scan -> LOGGER.trace("Submitting scan request [{}]", scan))
+            .flatMap(result -> result.getItems().stream())
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Count the tickets that have not yet reached their expiration time
+     * in the table that holds tickets with the given prefix.
+     *
+     * @param prefix the ticket prefix
+     * @return the count
+     */
+    public long countTickets(final String prefix) {
+        val metadata = this.ticketCatalog.find(prefix);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", prefix);
+            return Long.MIN_VALUE;
+        }
+        val column = ColumnNames.EXPIRES_AT.getColumnName();
+        return scan(CollectionUtils.wrapList(metadata.getProperties().getStorageName()), scan -> scan
+            .withSelect(Select.COUNT)
+            .withFilterExpression("attribute_not_exists(#expiresAt) OR #expiresAt > :now")
+            .withExpressionAttributeNames(CollectionUtils.wrap("#expiresAt", column))
+            .withExpressionAttributeValues(CollectionUtils.wrap(":now",
+                new AttributeValue().withN(Long.toString(Instant.now().getEpochSecond())))))
+            .mapToLong(ScanResult::getCount)
+            .sum();
     }
 
     /**
@@ -160,7 +313,6 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
     }
 
     /**
@@ -189,6 +341,7 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             val tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            enableTimeToLive(request.getTableName());
         }));
     }
 
@@ -205,13 +358,144 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.PREFIX.getColumnName(), new AttributeValue(ticket.getPrefix()));
         values.put(ColumnNames.CREATION_TIME.getColumnName(), new AttributeValue(ticket.getCreationTime().toString()));
         values.put(ColumnNames.COUNT_OF_USES.getColumnName(), new AttributeValue().withN(Integer.toString(ticket.getCountOfUses())));
-        values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
+        values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(getTimeToLive(ticket))));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        values.put(ColumnNames.EXPIRES_AT.getColumnName(), new AttributeValue().withN(Long.toString(getExpirationTime(ticket))));
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
 
+    /**
+     * Gets the time, in epoch seconds, after which DynamoDb may remove the ticket.
+     * The time to live of the ticket is counted from the time it is written, since every update
+     * is written again; the ticket is still checked for expiration when read, so this only bounds
+     * how long an expired ticket is kept.
+     *
+     * @param ticket the ticket
+     * @return the expiration time
+     */
+    protected long getExpirationTime(final Ticket ticket) {
+        val timeToLive = getTimeToLive(ticket);
+        val now = Instant.now().getEpochSecond();
+        if (timeToLive == null || timeToLive <= 0 || timeToLive > Long.MAX_VALUE - now) {
+            return Long.MAX_VALUE;
+        }
+        return now + timeToLive;
+    }
+
+    private void enableTimeToLive(final String tableName) {
+        try {
+            val description = amazonDynamoDBClient.describeTimeToLive(new DescribeTimeToLiveRequest().withTableName(tableName))
+                .getTimeToLiveDescription();
+            if (description != null && (TimeToLiveStatus.ENABLED.toString().equals(description.getTimeToLiveStatus())
+                || TimeToLiveStatus.ENABLING.toString().equals(description.getTimeToLiveStatus()))) {
+                LOGGER.debug("Time to live is already enabled for table [{}]", tableName);
+                return;
+            }
+            val specification = new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRES_AT.getColumnName())
+                .withEnabled(Boolean.TRUE);
+            LOGGER.debug("Enabling time to live on attribute [{}] for table [{}]", specification.getAttributeName(), tableName);
+            amazonDynamoDBClient.updateTimeToLive(new UpdateTimeToLiveRequest().withTableName(tableName).withTimeToLiveSpecification(specification));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable time to live for table [{}]; expired tickets are only removed by the registry cleaner: [{}]",
+                tableName, e.getMessage());
+        }
+    }
+
+    private List<String> getTableNames() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(r -> r.getProperties().getStorageName())
+            .collect(Collectors.toList());
+    }
+
+    private Stream<ScanResult> scan(final Collection<String> tableNames, final Consumer<ScanRequest> customizer) {
+        val totalSegments = Math.max(dynamoDbProperties.getScanSegments(), 1);
+        val segments = new ArrayList<ScanSegment>();
+        tableNames.forEach(tableName -> {
+            for (var i = 0; i < totalSegments; i++) {
+                segments.add(new ScanSegment(tableName, i));
+            }
+        });
+        val iterator = new ScanResultIterator(segments, totalSegments, customizer);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * A segment of a table scan and the key to continue it from.
+     */
+    @RequiredArgsConstructor
+    private static class ScanSegment {
+        private final String tableName;
+
+        private final int segment;
+
+        private Map<String, AttributeValue> exclusiveStartKey;
+
+        private boolean done;
+    }
+
+    /**
+     * Fetches the next page of every unfinished segment in parallel whenever the pages fetched previously run out.
+     */
+    @RequiredArgsConstructor
+    private class ScanResultIterator implements Iterator<ScanResult> {
+        private final List<ScanSegment> segments;
+
+        private final int totalSegments;
+
+        private final Consumer<ScanRequest> customizer;
+
+        private final Deque<ScanResult> results = new ArrayDeque<>();
+
+        @Override
+        @SneakyThrows
+        public boolean hasNext() {
+            while (this.results.isEmpty() && this.segments.stream().anyMatch(segment -> !segment.done)) {
+                val tasks = this.segments.stream()
+                    .filter(segment -> !segment.done)
+                    .map(segment -> (Callable<ScanResult>) () -> scanNextPage(segment))
+                    .collect(Collectors.toList());
+                for (val future : scanExecutor.invokeAll(tasks)) {
+                    this.results.add(getScanResult(future));
+                }
+            }
+            return !this.results.isEmpty();
+        }
+
+        @Override
+        public ScanResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.results.poll();
+        }
+
+        @SneakyThrows
+        private ScanResult getScanResult(final Future<ScanResult> future) {
+            try {
+                return future.get();
+            } catch (final ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+
+        private ScanResult scanNextPage(final ScanSegment segment) {
+            val scan = new ScanRequest(segment.tableName)
+                .withSegment(segment.segment)
+                .withTotalSegments(this.totalSegments)
+                .withExclusiveStartKey(segment.exclusiveStartKey);
+            this.customizer.accept(scan);
+            LOGGER.debug("Scanning segment [{}] of table [{}]", segment.segment, segment.tableName);
+            val result = amazonDynamoDBClient.scan(scan);
+            segment.exclusiveStartKey = result.getLastEvaluatedKey();
+            segment.done = segment.exclusiveStartKey == null || segment.exclusiveStartKey.isEmpty();
+            return result;
+        }
+    }
+
     /**
      * Column names for tables holding tickets.
      */
@@ -245,7 +529,11 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * expiresAt column, holding the time to live of the item in epoch seconds.
+         */
+        EXPIRES_AT("expiresAt");
 
         private final String columnName;
 
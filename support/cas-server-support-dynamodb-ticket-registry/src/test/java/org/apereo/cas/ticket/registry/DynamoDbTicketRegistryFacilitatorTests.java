@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.RememberMeCredential;
 import org.apereo.cas.category.DynamoDbCategory;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
@@ -21,13 +22,22 @@ import org.apereo.cas.config.CasPersonDirectoryConfiguration;
 import org.apereo.cas.config.DynamoDbTicketRegistryConfiguration;
 import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
 import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
 import lombok.val;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -42,7 +52,13 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -78,6 +94,9 @@ import static org.junit.Assert.*;
     RefreshAutoConfiguration.class})
 @Category(DynamoDbCategory.class)
 public class DynamoDbTicketRegistryFacilitatorTests {
+    private static final long DEFAULT_TTL = 10;
+
+    private static final long REMEMBER_ME_TTL = 1000;
 
     @ClassRule
     public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
@@ -95,6 +114,17 @@ public class DynamoDbTicketRegistryFacilitatorTests {
     @Qualifier("dynamoDbTicketRegistryFacilitator")
     private DynamoDbTicketRegistryFacilitator dynamoDbTicketRegistryFacilitator;
 
+    @Autowired
+    @Qualifier("amazonDynamoDbClient")
+    private AmazonDynamoDB amazonDynamoDbClient;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Test
     public void verifyBuildAttributeMap() {
         val ticket = new MockTicketGrantingTicket("casuser",
@@ -106,6 +136,22 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             .forEach(c -> assertTrue(map.containsKey(c.getColumnName())));
     }
 
+    @Test
+    public void verifyTimeToLiveOfRememberMeTicket() {
+        val policy = new RememberMeDelegatingExpirationPolicy(new HardTimeoutExpirationPolicy(DEFAULT_TTL));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.REMEMBER_ME, new HardTimeoutExpirationPolicy(REMEMBER_ME_TTL));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.DEFAULT, new HardTimeoutExpirationPolicy(DEFAULT_TTL));
+
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser",
+            CollectionUtils.wrap(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        val ticket = new TicketGrantingTicketImpl("TGT-1", authentication, policy);
+        assertEquals(Long.valueOf(REMEMBER_ME_TTL), DynamoDbTicketRegistryFacilitator.getTimeToLive(ticket));
+
+        val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket);
+        assertEquals(String.valueOf(REMEMBER_ME_TTL),
+            map.get(DynamoDbTicketRegistryFacilitator.ColumnNames.TIME_TO_LIVE.getColumnName()).getN());
+    }
+
     @Test
     public void verifyTicketOperations() {
         dynamoDbTicketRegistryFacilitator.createTicketTables(true);
@@ -121,4 +167,80 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyRequestCountsPerOperation() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val requests = new ConcurrentHashMap<String, AtomicInteger>();
+        val client = (AmazonDynamoDB) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{AmazonDynamoDB.class},
+            (proxy, method, args) -> {
+                requests.computeIfAbsent(method.getName(), k -> new AtomicInteger()).incrementAndGet();
+                try {
+                    return method.invoke(amazonDynamoDbClient, args);
+                } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        val properties = casProperties.getTicket().getRegistry().getDynamoDb();
+        val facilitator = new DynamoDbTicketRegistryFacilitator(ticketCatalog, properties, client);
+
+        val tickets = new LinkedHashMap<String, String>();
+        for (var i = 0; i < 3; i++) {
+            val ticket = new MockTicketGrantingTicket("casuser",
+                CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                CollectionUtils.wrap("name", "CAS"));
+            facilitator.put(ticket, ticket);
+            tickets.put(ticket.getId(), ticket.getId());
+        }
+        assertEquals(Map.of("putItem", 3), counts(requests));
+
+        requests.clear();
+        assertEquals(3, facilitator.getAll().size());
+        val segments = ticketCatalog.findAll().size() * properties.getScanSegments();
+        assertEquals(Map.of("scan", segments), counts(requests));
+
+        requests.clear();
+        assertEquals(3, facilitator.countTickets(TicketGrantingTicket.PREFIX));
+        assertEquals(Map.of("scan", properties.getScanSegments()), counts(requests));
+
+        requests.clear();
+        assertEquals(3, facilitator.delete(tickets));
+        assertEquals(Map.of("batchWriteItem", 1), counts(requests));
+        assertTrue(facilitator.getAll().isEmpty());
+    }
+
+    @Test
+    public void verifyUnprocessedDeletesAreRetried() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val throttled = new AtomicInteger(2);
+        val batchWrites = new AtomicInteger();
+        val client = (AmazonDynamoDB) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{AmazonDynamoDB.class},
+            (proxy, method, args) -> {
+                if ("batchWriteItem".equals(method.getName())) {
+                    batchWrites.incrementAndGet();
+                    if (throttled.getAndDecrement() > 0) {
+                        return new BatchWriteItemResult().withUnprocessedItems(((BatchWriteItemRequest) args[0]).getRequestItems());
+                    }
+                }
+                try {
+                    return method.invoke(amazonDynamoDbClient, args);
+                } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        val facilitator = new DynamoDbTicketRegistryFacilitator(ticketCatalog, casProperties.getTicket().getRegistry().getDynamoDb(), client);
+        val ticket = new MockTicketGrantingTicket("casuser",
+            CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+            CollectionUtils.wrap("name", "CAS"));
+        facilitator.put(ticket, ticket);
+        assertEquals(1, facilitator.delete(Map.of(ticket.getId(), ticket.getId())));
+        assertEquals(3, batchWrites.get());
+        assertTrue(facilitator.getAll().isEmpty());
+    }
+
+    private static Map<String, Integer> counts(final Map<String, AtomicInteger> requests) {
+        val counts = new LinkedHashMap<String, Integer>();
+        requests.forEach((name, count) -> counts.put(name, count.get()));
+        return counts;
+    }
 }
@@ -20,7 +20,7 @@ import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifier;
 import org.apereo.cas.impl.plans.BaseAuthenticationRiskContingencyPlan;
 import org.apereo.cas.impl.plans.BlockAuthenticationContingencyPlan;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlan;
-import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.util.io.CommunicationsManager;
 
 import lombok.extern.slf4j.Slf4j;
@@ -65,8 +65,8 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
     private ObjectProvider<CommunicationsManager> communicationsManager;
 
     @Autowired
-    @Qualifier("casEventRepository")
-    private ObjectProvider<CasEventRepository> casEventRepository;
+    @Qualifier("casEventRiskProfileRepository")
+    private ObjectProvider<CasEventRiskProfileRepository> casEventRiskProfileRepository;
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -117,21 +117,21 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator ipAddressAuthenticationRequestRiskCalculator() {
-        return new IpAddressAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable());
+        return new IpAddressAuthenticationRequestRiskCalculator(casEventRiskProfileRepository.getIfAvailable());
     }
 
     @ConditionalOnMissingBean(name = "userAgentAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator userAgentAuthenticationRequestRiskCalculator() {
-        return new UserAgentAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable());
+        return new UserAgentAuthenticationRequestRiskCalculator(casEventRiskProfileRepository.getIfAvailable());
     }
 
     @ConditionalOnMissingBean(name = "dateTimeAuthenticationRequestRiskCalculator")
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator dateTimeAuthenticationRequestRiskCalculator() {
-        return new DateTimeAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable(),
+        return new DateTimeAuthenticationRequestRiskCalculator(casEventRiskProfileRepository.getIfAvailable(),
             casProperties.getAuthn().getAdaptive().getRisk().getDateTime().getWindowInHours());
     }
 
@@ -139,7 +139,7 @@ public class ElectronicFenceConfiguration implements AuditTrailRecordResolutionP
     @Bean
     @RefreshScope
     public AuthenticationRequestRiskCalculator geoLocationAuthenticationRequestRiskCalculator() {
-        return new GeoLocationAuthenticationRequestRiskCalculator(casEventRepository.getIfAvailable(), geoLocationService.getIfAvailable());
+        return new GeoLocationAuthenticationRequestRiskCalculator(casEventRiskProfileRepository.getIfAvailable(), geoLocationService.getIfAvailable());
     }
 
     @ConditionalOnMissingBean(name = "authenticationRiskEvaluator")
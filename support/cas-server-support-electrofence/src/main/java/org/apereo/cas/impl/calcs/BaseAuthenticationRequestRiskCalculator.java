@@ -5,9 +5,8 @@ import org.apereo.cas.api.AuthenticationRiskScore;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.CasEventRepository;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
+import org.apereo.cas.support.events.dao.CasEventRiskProfileCounts;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -17,10 +16,11 @@ import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.ZonedDateTime;
-import java.util.Collection;
 
 /**
  * This is {@link BaseAuthenticationRequestRiskCalculator}.
+ * Scores are calculated from the risk profile of the principal, which counts the ticket-granting tickets
+ * created for the principal in recent history, rather than from the events themselves.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -30,15 +30,15 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
 
 
     /**
-     * CAS event repository instance.
+     * CAS event risk profile repository instance.
      */
-    protected CasEventRepository casEventRepository;
+    protected CasEventRiskProfileRepository casEventRiskProfileRepository;
 
     @Autowired
     private CasConfigurationProperties casProperties;
 
-    public BaseAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository) {
-        this.casEventRepository = casEventRepository;
+    public BaseAuthenticationRequestRiskCalculator(final CasEventRiskProfileRepository casEventRiskProfileRepository) {
+        this.casEventRiskProfileRepository = casEventRiskProfileRepository;
     }
 
     @Override
@@ -47,7 +47,7 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
                                                    final HttpServletRequest request) {
         val principal = authentication.getPrincipal();
         val events = getCasTicketGrantingTicketCreatedEventsFor(principal.getId());
-        if (events.isEmpty()) {
+        if (events.getCount() == 0) {
             return new AuthenticationRiskScore(HIGHEST_RISK_SCORE);
         }
         val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, events));
@@ -61,29 +61,29 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
      * @param request        the request
      * @param authentication the authentication
      * @param service        the service
-     * @param events         the events
+     * @param events         the counts of events
      * @return the authentication risk score
      */
     protected BigDecimal calculateScore(final HttpServletRequest request,
                                         final Authentication authentication,
                                         final RegisteredService service,
-                                        final Collection<? extends CasEvent> events) {
+                                        final CasEventRiskProfileCounts events) {
         return HIGHEST_RISK_SCORE;
     }
 
     /**
-     * Gets cas ticket granting ticket created events.
+     * Gets the counts of cas ticket granting ticket created events in recent history.
+     * Recent history starts at the beginning of its first day (in UTC).
      *
      * @param principal the principal
-     * @return the cas ticket granting ticket created events for
+     * @return the counts of cas ticket granting ticket created events for the principal
      */
-    protected Collection<? extends CasEvent> getCasTicketGrantingTicketCreatedEventsFor(final String principal) {
-        val type = CasTicketGrantingTicketCreatedEvent.class.getName();
-        LOGGER.debug("Retrieving events of type [{}] for [{}]", type, principal);
+    protected CasEventRiskProfileCounts getCasTicketGrantingTicketCreatedEventsFor(final String principal) {
+        LOGGER.debug("Retrieving the risk profile of [{}]", principal);
 
         val date = ZonedDateTime.now()
             .minusDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
-        return casEventRepository.getEventsOfTypeForPrincipal(type, principal, date);
+        return casEventRiskProfileRepository.getProfile(principal).getCountsSince(date);
     }
 
     /**
@@ -26,6 +26,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.impl.mock.MockTicketGrantingTicketCreatedEventProducer;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.support.events.config.CasCoreEventsConfiguration;
 import org.apereo.cas.support.events.config.CasEventsInMemoryRepositoryConfiguration;
 import org.apereo.cas.support.geo.config.GoogleMapsGeoCodingConfiguration;
@@ -100,6 +101,10 @@ public abstract class BaseAuthenticationRequestRiskCalculatorTests {
     @Qualifier("casEventRepository")
     protected CasEventRepository casEventRepository;
 
+    @Autowired
+    @Qualifier("casEventRiskProfileRepository")
+    protected CasEventRiskProfileRepository casEventRiskProfileRepository;
+
     @Autowired
     @Qualifier("authenticationRiskEvaluator")
     protected AuthenticationRiskEvaluator authenticationRiskEvaluator;
@@ -117,7 +122,7 @@ public abstract class BaseAuthenticationRequestRiskCalculatorTests {
 
     @Before
     public void prepTest() {
-        MockTicketGrantingTicketCreatedEventProducer.createEvents(this.casEventRepository);
+        MockTicketGrantingTicketCreatedEventProducer.createEvents(this.casEventRepository, this.casEventRiskProfileRepository);
     }
 
     @TestConfiguration
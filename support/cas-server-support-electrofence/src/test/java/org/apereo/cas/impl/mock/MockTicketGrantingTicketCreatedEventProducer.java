@@ -2,6 +2,7 @@ package org.apereo.cas.impl.mock;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.CollectionUtils;
@@ -73,7 +74,8 @@ public class MockTicketGrantingTicketCreatedEventProducer {
         return ALL_IP_ADDRS.get(index);
     }
 
-    private static void createEvent(final int i, final CasEventRepository casEventRepository) {
+    private static void createEvent(final int i, final CasEventRepository casEventRepository,
+                                    final CasEventRiskProfileRepository casEventRiskProfileRepository) {
         val dto = new CasEvent();
         dto.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
         dto.putTimestamp(new Date().getTime());
@@ -84,10 +86,12 @@ public class MockTicketGrantingTicketCreatedEventProducer {
         dto.putServerIpAddress("127.0.0.1");
         dto.putAgent(getMockUserAgent());
         dto.putGeoLocation(getMockGeoLocation());
+        casEventRiskProfileRepository.update(dto);
         casEventRepository.save(dto);
     }
 
-    public static void createEvents(final CasEventRepository casEventRepository) {
-        IntStream.range(1, 1000).forEach(i -> createEvent(i, casEventRepository));
+    public static void createEvents(final CasEventRepository casEventRepository,
+                                    final CasEventRiskProfileRepository casEventRiskProfileRepository) {
+        IntStream.range(1, 1000).forEach(i -> createEvent(i, casEventRepository, casEventRiskProfileRepository));
     }
 }
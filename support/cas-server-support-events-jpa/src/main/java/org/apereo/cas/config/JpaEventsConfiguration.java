@@ -4,8 +4,10 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.support.events.jpa.JpaCasEventRepository;
+import org.apereo.cas.support.events.jpa.JpaCasEventRiskProfileRepository;
 import org.apereo.cas.util.CollectionUtils;
 
 import lombok.val;
@@ -21,6 +23,7 @@ import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
@@ -53,7 +56,7 @@ public class JpaEventsConfiguration {
     }
 
     public List<String> jpaEventPackagesToScan() {
-        return CollectionUtils.wrap(CasEvent.class.getPackage().getName());
+        return CollectionUtils.wrapList(CasEvent.class.getPackage().getName(), JpaCasEventRiskProfileRepository.class.getPackage().getName());
     }
 
     @Lazy
@@ -83,4 +86,11 @@ public class JpaEventsConfiguration {
     public CasEventRepository casEventRepository() {
         return new JpaCasEventRepository();
     }
+
+    @Bean
+    public CasEventRiskProfileRepository casEventRiskProfileRepository(@Qualifier("transactionManagerEvents") final PlatformTransactionManager mgr) {
+        return new JpaCasEventRiskProfileRepository(casEventRepository(),
+            casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory(),
+            new TransactionTemplate(mgr));
+    }
 }
@@ -0,0 +1,40 @@
+package org.apereo.cas.support.events.jpa;
+
+import org.apereo.cas.support.events.dao.CasEventRiskProfile;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+/**
+ * This is {@link JpaCasEventRiskProfile} that stores the risk profile of a principal.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Entity
+@Table(name = "CasEventRiskProfile")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JpaCasEventRiskProfile {
+
+    @Id
+    @Column(nullable = false)
+    private String principalId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Lob
+    @Column(length = Integer.MAX_VALUE, nullable = false)
+    private CasEventRiskProfile profile;
+}
@@ -0,0 +1,69 @@
+package org.apereo.cas.support.events.jpa;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.AbstractCasEventRiskProfileRepository;
+import org.apereo.cas.support.events.dao.CasEventRiskProfile;
+
+import lombok.ToString;
+import lombok.val;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+
+/**
+ * This is {@link JpaCasEventRiskProfileRepository} that stores risk profiles into a RDBMS database,
+ * locking the row of a profile while it is updated. Profiles are stored in a transaction of their own,
+ * since they are stored from the methods of the parent class that transactional proxies do not intercept.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@ToString(exclude = "transactionTemplate")
+public class JpaCasEventRiskProfileRepository extends AbstractCasEventRiskProfileRepository {
+
+    @PersistenceContext(unitName = "eventsEntityManagerFactory")
+    private transient EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaCasEventRiskProfileRepository(final CasEventRepository casEventRepository, final long daysInRecentHistory,
+                                            final TransactionTemplate transactionTemplate) {
+        super(casEventRepository, daysInRecentHistory);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    protected CasEventRiskProfile loadProfile(final String principalId) {
+        val entity = this.entityManager.find(JpaCasEventRiskProfile.class, principalId);
+        if (entity == null) {
+            return null;
+        }
+        val profile = entity.getProfile();
+        profile.setVersion(entity.getVersion());
+        return profile;
+    }
+
+    @Override
+    protected boolean storeProfile(final CasEventRiskProfile profile, final long expectedVersion) {
+        return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> storeProfileInTransaction(profile, expectedVersion)));
+    }
+
+    private boolean storeProfileInTransaction(final CasEventRiskProfile profile, final long expectedVersion) {
+        val entity = this.entityManager.find(JpaCasEventRiskProfile.class, profile.getPrincipalId(), LockModeType.PESSIMISTIC_WRITE);
+        if (entity == null) {
+            if (expectedVersion != 0) {
+                return false;
+            }
+            this.entityManager.persist(new JpaCasEventRiskProfile(profile.getPrincipalId(), profile.getVersion(), profile));
+            return true;
+        }
+        if (entity.getVersion() != expectedVersion) {
+            return false;
+        }
+        entity.setVersion(profile.getVersion());
+        entity.setProfile(profile);
+        return true;
+    }
+}
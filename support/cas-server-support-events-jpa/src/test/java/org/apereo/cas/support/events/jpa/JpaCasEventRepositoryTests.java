@@ -3,8 +3,10 @@ package org.apereo.cas.support.events.jpa;
 import org.apereo.cas.config.JpaEventsConfiguration;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 
 import lombok.Getter;
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
@@ -29,4 +31,13 @@ public class JpaCasEventRepositoryTests extends AbstractCasEventRepositoryTests
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    @Autowired
+    @Qualifier("casEventRiskProfileRepository")
+    private CasEventRiskProfileRepository riskProfileRepository;
+
+    @Test
+    public void verifyRiskProfileRepository() {
+        verifyRiskProfile(this.riskProfileRepository);
+    }
 }
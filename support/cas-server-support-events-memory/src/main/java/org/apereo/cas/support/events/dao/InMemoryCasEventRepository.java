@@ -1,25 +1,43 @@
 package org.apereo.cas.support.events.dao;
 
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link InMemoryCasEventRepository}.
+ * Events are also indexed by principal, regardless of case, so that the events of a principal
+ * are found without going through all stored events; entries leave the index as events are evicted.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
-@RequiredArgsConstructor
 public class InMemoryCasEventRepository extends AbstractCasEventRepository {
-    private final LoadingCache<String, CasEvent> cache;
+    private final Cache<String, CasEvent> cache;
+
+    private final Map<String, Set<String>> principals = new ConcurrentHashMap<>();
+
+    public InMemoryCasEventRepository(final Caffeine<Object, Object> builder) {
+        this.cache = builder.<String, CasEvent>removalListener(this::removeFromIndex).build();
+    }
 
     @Override
     public void save(final CasEvent event) {
-        cache.put(UUID.randomUUID().toString(), event);
+        val key = UUID.randomUUID().toString();
+        if (event.getPrincipalId() != null) {
+            this.principals.computeIfAbsent(StringUtils.lowerCase(event.getPrincipalId()), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        cache.put(key, event);
     }
 
     @Override
@@ -29,11 +47,24 @@ public class InMemoryCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public Collection<? extends CasEvent> getEventsForPrincipal(final String id) {
-        return cache
-            .asMap()
-            .values()
+        val keys = id == null ? null : this.principals.get(StringUtils.lowerCase(id));
+        if (keys == null) {
+            return Set.of();
+        }
+        return keys
             .stream()
-            .filter(e -> e.getPrincipalId().equalsIgnoreCase(id))
+            .map(cache::getIfPresent)
+            .filter(Objects::nonNull)
             .collect(Collectors.toSet());
     }
+
+    private void removeFromIndex(final String key, final CasEvent event, final RemovalCause cause) {
+        if (key == null || event == null || event.getPrincipalId() == null) {
+            return;
+        }
+        this.principals.computeIfPresent(StringUtils.lowerCase(event.getPrincipalId()), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
 }
@@ -2,9 +2,12 @@ package org.apereo.cas.support.events.dao;
 
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
+import org.apereo.cas.support.events.config.CasCoreEventsConfiguration;
 import org.apereo.cas.support.events.config.CasEventsInMemoryRepositoryConfiguration;
 
 import lombok.Getter;
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -18,11 +21,21 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
  */
 @SpringBootTest(classes = {
     RefreshAutoConfiguration.class,
-    CasEventsInMemoryRepositoryConfiguration.class
+    CasEventsInMemoryRepositoryConfiguration.class,
+    CasCoreEventsConfiguration.class
 })
 @Getter
 public class InMemoryCasEventRepositoryTests extends AbstractCasEventRepositoryTests {
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    @Autowired
+    @Qualifier("casEventRiskProfileRepository")
+    private CasEventRiskProfileRepository riskProfileRepository;
+
+    @Test
+    public void verifyRiskProfileRepository() {
+        verifyRiskProfile(this.riskProfileRepository);
+    }
 }
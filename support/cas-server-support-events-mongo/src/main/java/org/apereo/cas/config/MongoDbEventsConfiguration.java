@@ -3,7 +3,9 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.support.events.mongo.MongoDbCasEventRepository;
+import org.apereo.cas.support.events.mongo.MongoDbCasEventRiskProfileRepository;
 
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 @Configuration("mongoDbEventsConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class MongoDbEventsConfiguration {
+    private static final String RISK_PROFILE_COLLECTION_SUFFIX = "RiskProfiles";
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -41,6 +44,7 @@ public class MongoDbEventsConfiguration {
         val factory = new MongoDbConnectionFactory();
         val mongoTemplate = factory.buildMongoTemplate(mongo);
         factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
+        factory.createCollection(mongoTemplate, mongo.getCollection() + RISK_PROFILE_COLLECTION_SUFFIX, mongo.isDropCollection());
         return mongoTemplate;
     }
 
@@ -51,4 +55,13 @@ public class MongoDbEventsConfiguration {
             mongoEventsTemplate(),
             mongo.getCollection());
     }
+
+    @Bean
+    public CasEventRiskProfileRepository casEventRiskProfileRepository() {
+        val mongo = casProperties.getEvents().getMongo();
+        return new MongoDbCasEventRiskProfileRepository(casEventRepository(),
+            casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory(),
+            mongoEventsTemplate(),
+            mongo.getCollection() + RISK_PROFILE_COLLECTION_SUFFIX);
+    }
 }
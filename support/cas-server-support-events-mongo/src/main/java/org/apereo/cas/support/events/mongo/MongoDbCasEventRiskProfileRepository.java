@@ -0,0 +1,77 @@
+package org.apereo.cas.support.events.mongo;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.AbstractCasEventRiskProfileRepository;
+import org.apereo.cas.support.events.dao.CasEventRiskProfile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import lombok.ToString;
+import lombok.val;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * This is {@link MongoDbCasEventRiskProfileRepository} that stores risk profiles into a mongodb database.
+ * Profiles are stored as JSON, since the addresses and agents they count may contain dots,
+ * and are only replaced if their version has not changed since they were read.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@ToString(of = "collectionName")
+public class MongoDbCasEventRiskProfileRepository extends AbstractCasEventRiskProfileRepository {
+    private static final String ID_FIELD = "_id";
+
+    private static final String VERSION_FIELD = "version";
+
+    private static final String PROFILE_FIELD = "profile";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MongoOperations mongoTemplate;
+
+    private final String collectionName;
+
+    public MongoDbCasEventRiskProfileRepository(final CasEventRepository casEventRepository, final long daysInRecentHistory,
+                                                final MongoOperations mongoTemplate, final String collectionName) {
+        super(casEventRepository, daysInRecentHistory);
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+    }
+
+    @Override
+    @SneakyThrows
+    protected CasEventRiskProfile loadProfile(final String principalId) {
+        val document = this.mongoTemplate.findById(principalId, Document.class, this.collectionName);
+        if (document == null) {
+            return null;
+        }
+        val profile = MAPPER.readValue(document.getString(PROFILE_FIELD), CasEventRiskProfile.class);
+        profile.setVersion(document.getLong(VERSION_FIELD));
+        return profile;
+    }
+
+    @Override
+    @SneakyThrows
+    protected boolean storeProfile(final CasEventRiskProfile profile, final long expectedVersion) {
+        val json = MAPPER.writeValueAsString(profile);
+        if (expectedVersion == 0) {
+            try {
+                this.mongoTemplate.insert(new Document(ID_FIELD, profile.getPrincipalId())
+                    .append(VERSION_FIELD, profile.getVersion())
+                    .append(PROFILE_FIELD, json), this.collectionName);
+                return true;
+            } catch (final DuplicateKeyException e) {
+                return false;
+            }
+        }
+        val query = new Query(Criteria.where(ID_FIELD).is(profile.getPrincipalId()).and(VERSION_FIELD).is(expectedVersion));
+        val update = new Update().set(VERSION_FIELD, profile.getVersion()).set(PROFILE_FIELD, json);
+        return this.mongoTemplate.updateFirst(query, update, this.collectionName).getModifiedCount() == 1;
+    }
+}
@@ -4,10 +4,12 @@ import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.MongoDbEventsConfiguration;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRiskProfileRepository;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
 
 import lombok.Getter;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -39,4 +41,13 @@ public class MongoDbCasEventRepositoryTests extends AbstractCasEventRepositoryTe
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    @Autowired
+    @Qualifier("casEventRiskProfileRepository")
+    private CasEventRiskProfileRepository riskProfileRepository;
+
+    @Test
+    public void verifyRiskProfileRepository() {
+        verifyRiskProfile(this.riskProfileRepository);
+    }
 }
@@ -1,15 +1,25 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.hazelcast.HazelcastTicketRegistryProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketPrincipalValueExtractor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -54,9 +64,8 @@ public class HazelcastTicketRegistryConfiguration {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         val factory = new HazelcastConfigurationFactory();
         ticketCatalog.getIfAvailable().findAll().stream()
-                .map(TicketDefinition::getProperties)
-                .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-                .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
+                .peek(d -> LOGGER.debug("Created Hazelcast map configuration for [{}]", d.getProperties()))
+                .map(d -> buildTicketMapConfig(factory, hz, d))
                 .forEach(m -> hazelcastInstance.getIfAvailable().getConfig().addMapConfig(m));
         val r = new HazelcastTicketRegistry(hazelcastInstance.getIfAvailable(),
             ticketCatalog.getIfAvailable(),
@@ -70,4 +79,29 @@ public class HazelcastTicketRegistryConfiguration {
         return NoOpTicketRegistryCleaner.getInstance();
     }
 
+    private static MapConfig buildTicketMapConfig(final HazelcastConfigurationFactory factory,
+                                                  final HazelcastTicketRegistryProperties hz,
+                                                  final TicketDefinition definition) {
+        val properties = definition.getProperties();
+        val mapConfig = factory.buildMapConfig(hz, properties.getStorageName(), properties.getStorageTimeout());
+        if (TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass())) {
+            LOGGER.debug("Indexing tickets in [{}] by principal", properties.getStorageName());
+            mapConfig.addMapAttributeConfig(new MapAttributeConfig(HazelcastTicketRegistry.PRINCIPAL_ATTRIBUTE,
+                TicketGrantingTicketPrincipalValueExtractor.class.getName()));
+            mapConfig.addMapIndexConfig(new MapIndexConfig(HazelcastTicketRegistry.PRINCIPAL_ATTRIBUTE, false));
+        }
+        val nearCache = hz.getNearCache();
+        if (nearCache.isEnabled() && TicketGrantingTicket.PREFIX.equals(definition.getPrefix())) {
+            LOGGER.debug("Enabling near cache for tickets in [{}]", properties.getStorageName());
+            val evictionConfig = new EvictionConfig(nearCache.getMaxSize(), EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU);
+            mapConfig.setNearCacheConfig(new NearCacheConfig(properties.getStorageName())
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setInvalidateOnChange(true)
+                .setCacheLocalEntries(false)
+                .setMaxIdleSeconds(nearCache.getMaxIdleSeconds())
+                .setEvictionConfig(evictionConfig));
+        }
+        return mapConfig;
+    }
+
 }
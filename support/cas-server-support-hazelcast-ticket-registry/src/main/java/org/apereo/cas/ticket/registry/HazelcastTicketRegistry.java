@@ -1,19 +1,25 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 
+import com.google.common.collect.MapMaker;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -25,6 +31,9 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Unless tickets are encrypted, updates to ticket-granting tickets are sent to the member
+ * that owns the ticket as a {@link TicketGrantingTicketStateEntryProcessor}, which carries
+ * only what changed since the ticket was read by this registry.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -33,12 +42,35 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    /**
+     * Name of the map attribute that holds the principal id of ticket-granting tickets.
+     */
+    public static final String PRINCIPAL_ATTRIBUTE = "principal";
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
 
+    /**
+     * State of ticket-granting tickets as read by this registry, keyed by ticket instance.
+     */
+    private final Map<Ticket, TicketGrantingTicketStateEntryProcessor.Snapshot> ticketGrantingTicketSnapshots =
+        new MapMaker().weakKeys().makeMap();
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicketImpl && !isCipherExecutorEnabled()) {
+            val metadata = this.ticketCatalog.find(ticket);
+            val ticketMap = getTicketMapInstanceByMetadata(metadata);
+            val processor = new TicketGrantingTicketStateEntryProcessor((TicketGrantingTicketImpl) ticket,
+                this.ticketGrantingTicketSnapshots.get(ticket));
+            if (Boolean.TRUE.equals(ticketMap.executeOnKey(ticket.getId(), processor))) {
+                LOGGER.debug("Updated ticket [{}] in place", ticket.getId());
+                rememberTicketGrantingTicketState(ticket);
+                return ticket;
+            }
+            LOGGER.debug("Ticket [{}] has changed since it was read and cannot be updated in place", ticket.getId());
+        }
         addTicket(ticket);
         return ticket;
     }
@@ -57,6 +89,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         val ticketMap = getTicketMapInstanceByMetadata(metadata);
 
         ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+        rememberTicketGrantingTicketState(ticket);
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
@@ -78,6 +111,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             val ticket = map.get(encTicketId);
             val result = decodeTicket(ticket);
             if (predicate.test(result)) {
+                rememberTicketGrantingTicketState(result);
                 return result;
             }
             return null;
@@ -112,17 +146,49 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
     public Collection<? extends Ticket> getTickets() {
         return this.ticketCatalog.findAll()
             .stream()
-            .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
-            .flatMap(tickets -> {
+            .map(metadata -> {
+                val map = getTicketMapInstanceByMetadata(metadata);
                 if (pageSize > 0) {
-                    return tickets.stream().limit(pageSize).collect(Collectors.toList()).stream();
+                    return map.values(new PagingPredicate<String, Ticket>((int) pageSize));
                 }
-                return new ArrayList<>(tickets).stream();
+                return map.values();
             })
+            .flatMap(Collection::stream)
             .map(this::decodeTicket)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public long sessionCount() {
+        return countTicketsByPrefix(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsByPrefix(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * Count the ticket-granting tickets that are issued to the given principal.
+     * The query runs against the principal index on the members that own the tickets.
+     *
+     * @param principalId the principal id
+     * @return the number of sessions, or {@link Long#MIN_VALUE} if unknown.
+     */
+    public long countSessionsFor(final String principalId) {
+        if (isCipherExecutorEnabled()) {
+            LOGGER.debug("Tickets are encrypted and cannot be queried by principal");
+            return Long.MIN_VALUE;
+        }
+        val metadata = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        if (metadata == null) {
+            LOGGER.debug("No ticket definition could be found in the catalog to match [{}]", TicketGrantingTicket.PREFIX);
+            return Long.MIN_VALUE;
+        }
+        val map = getTicketMapInstanceByMetadata(metadata);
+        return map.keySet(Predicates.equal(PRINCIPAL_ATTRIBUTE, principalId)).size();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -145,6 +211,22 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    private long countTicketsByPrefix(final String prefix) {
+        val metadata = this.ticketCatalog.find(prefix);
+        if (metadata == null) {
+            LOGGER.debug("No ticket definition could be found in the catalog to match [{}]", prefix);
+            return Long.MIN_VALUE;
+        }
+        val map = getTicketMapInstanceByMetadata(metadata);
+        return map == null ? Long.MIN_VALUE : map.size();
+    }
+
+    private void rememberTicketGrantingTicketState(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket && !isCipherExecutorEnabled()) {
+            this.ticketGrantingTicketSnapshots.put(ticket, TicketGrantingTicketStateEntryProcessor.snapshot((TicketGrantingTicket) ticket));
+        }
+    }
+
     private IMap<String, Ticket> getTicketMapInstance(final String mapName) {
         try {
             val inst = hazelcastInstance.<String, Ticket>getMap(mapName);
@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import lombok.val;
+
+/**
+ * This is {@link TicketGrantingTicketPrincipalValueExtractor} that exposes the id of the authenticated principal
+ * of a ticket-granting ticket as a map attribute, so that tickets may be indexed and queried by principal.
+ * Other tickets, including encrypted tickets, have no principal attribute.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketGrantingTicketPrincipalValueExtractor extends ValueExtractor<Ticket, Object> {
+
+    @Override
+    public void extract(final Ticket target, final Object argument, final ValueCollector collector) {
+        if (target instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) target).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                collector.addObject(authentication.getPrincipal().getId());
+            }
+        }
+    }
+}
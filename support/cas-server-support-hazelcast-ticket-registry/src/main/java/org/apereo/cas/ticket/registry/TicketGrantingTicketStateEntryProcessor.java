@@ -0,0 +1,179 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link TicketGrantingTicketStateEntryProcessor} that carries the changes made to a ticket-granting ticket
+ * since it was read from the registry, and applies them to the entry on the member that owns it.
+ * Only the services, proxy-granting tickets and descendant tickets that were added or removed travel
+ * across the cluster, rather than the ticket-granting ticket along with its authentication and all its services.
+ * The processor answers {@code false} if the stored entry does not match the state the changes were computed from,
+ * in which case the caller is expected to store the complete ticket instead.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class TicketGrantingTicketStateEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+
+    private static final long serialVersionUID = -2563711924405290452L;
+
+    private final ZonedDateTime lastTimeUsed;
+
+    private final ZonedDateTime previousTimeUsed;
+
+    private final int countOfUses;
+
+    private final boolean expired;
+
+    private final Changes<Service> services;
+
+    private final Changes<Service> proxyGrantingTickets;
+
+    private final Changes<String> descendantTickets;
+
+    public TicketGrantingTicketStateEntryProcessor(final TicketGrantingTicketImpl ticket, final Snapshot snapshot) {
+        super(true);
+        val previous = snapshot == null ? Snapshot.EMPTY : snapshot;
+        this.lastTimeUsed = ticket.getLastTimeUsed();
+        this.previousTimeUsed = ticket.getPreviousTimeUsed();
+        this.countOfUses = ticket.getCountOfUses();
+        this.expired = ticket.isExpired();
+        this.services = Changes.of(ticket.getServices(), previous.getServices());
+        this.proxyGrantingTickets = Changes.of(ticket.getProxyGrantingTickets(), previous.getProxyGrantingTickets());
+        this.descendantTickets = Changes.of(asMap(ticket.getDescendantTickets()), previous.getDescendantTickets());
+    }
+
+    /**
+     * Capture the state of the ticket-granting ticket that subsequent changes are computed from.
+     *
+     * @param ticket the ticket
+     * @return the snapshot
+     */
+    public static Snapshot snapshot(final TicketGrantingTicket ticket) {
+        return new Snapshot(new HashSet<>(ticket.getServices().keySet()),
+            new HashSet<>(ticket.getProxyGrantingTickets().keySet()),
+            new HashSet<>(ticket.getDescendantTickets()));
+    }
+
+    @Override
+    public Object process(final Map.Entry<String, Ticket> entry) {
+        val value = entry.getValue();
+        if (!(value instanceof TicketGrantingTicketImpl)) {
+            return Boolean.FALSE;
+        }
+        val ticket = (TicketGrantingTicketImpl) value;
+        val updatedServices = this.services.applyTo(ticket.getServices());
+        val updatedProxyGrantingTickets = this.proxyGrantingTickets.applyTo(ticket.getProxyGrantingTickets());
+        val updatedDescendantTickets = this.descendantTickets.applyTo(asMap(ticket.getDescendantTickets()));
+        if (updatedServices == null || updatedProxyGrantingTickets == null || updatedDescendantTickets == null) {
+            return Boolean.FALSE;
+        }
+        replace(ticket.getServices(), updatedServices);
+        replace(ticket.getProxyGrantingTickets(), updatedProxyGrantingTickets);
+        ticket.getDescendantTickets().clear();
+        ticket.getDescendantTickets().addAll(updatedDescendantTickets.keySet());
+        ticket.setLastTimeUsed(this.lastTimeUsed);
+        ticket.setPreviousTimeUsed(this.previousTimeUsed);
+        ticket.setCountOfUses(this.countOfUses);
+        if (this.expired) {
+            ticket.markTicketExpired();
+        }
+        entry.setValue(ticket);
+        return Boolean.TRUE;
+    }
+
+    private static <V> void replace(final Map<String, V> target, final Map<String, V> source) {
+        target.clear();
+        target.putAll(source);
+    }
+
+    private static Map<String, String> asMap(final Collection<String> values) {
+        return values.stream().collect(Collectors.toMap(Function.identity(), Function.identity(), (v1, v2) -> v1, LinkedHashMap::new));
+    }
+
+    /**
+     * The keys held by a ticket-granting ticket at the time it was read from the registry.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new HashSet<>(0), new HashSet<>(0), new HashSet<>(0));
+
+        private final Set<String> services;
+
+        private final Set<String> proxyGrantingTickets;
+
+        private final Set<String> descendantTickets;
+    }
+
+    /**
+     * Entries added to and removed from a map, along with the size the map is expected to have afterwards.
+     *
+     * @param <V> the value type
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Changes<V> implements Serializable {
+        private static final long serialVersionUID = 6240960498104838120L;
+
+        private final HashMap<String, V> added;
+
+        private final HashSet<String> removed;
+
+        private final int expectedSize;
+
+        /**
+         * Compute the changes between the previous keys and the current map.
+         *
+         * @param <V>      the value type
+         * @param current  the current map
+         * @param previous the previous keys
+         * @return the changes
+         */
+        public static <V> Changes<V> of(final Map<String, V> current, final Set<String> previous) {
+            val added = new HashMap<String, V>();
+            current.forEach((key, value) -> {
+                if (!previous.contains(key)) {
+                    added.put(key, value);
+                }
+            });
+            val removed = previous.stream()
+                .filter(key -> !current.containsKey(key))
+                .collect(Collectors.toCollection(HashSet::new));
+            return new Changes<>(added, removed, current.size());
+        }
+
+        /**
+         * Apply the changes to a copy of the target.
+         *
+         * @param target the target
+         * @return the updated copy, or null if the result does not have the expected size.
+         */
+        public Map<String, V> applyTo(final Map<String, V> target) {
+            val result = new LinkedHashMap<String, V>(target);
+            result.keySet().removeAll(this.removed);
+            result.putAll(this.added);
+            return result.size() == this.expectedSize ? result : null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.ticket.registry.DefaultHazelcastInstanceConfigurationTests;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryReplicationTests;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistryTests;
 
 import org.junit.runner.RunWith;
@@ -13,6 +14,10 @@ import org.junit.runners.Suite;
  * @since 5.1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({DefaultHazelcastInstanceConfigurationTests.class, HazelcastTicketRegistryTests.class})
+@Suite.SuiteClasses({
+    DefaultHazelcastInstanceConfigurationTests.class,
+    HazelcastTicketRegistryTests.class,
+    HazelcastTicketRegistryReplicationTests.class
+})
 public class AllTestsSuite {
 }
@@ -0,0 +1,190 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasHazelcastConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastTicketRegistryReplicationTests} that runs the ticket registry
+ * against a cluster of two embedded members.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    CasHazelcastConfiguration.class,
+    HazelcastTicketRegistryConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    HazelcastTicketRegistryTicketCatalogConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+})
+@TestPropertySource(properties = "cas.ticket.registry.hazelcast.cluster.instanceName=replicationtestinstance")
+@DirtiesContext
+@Slf4j
+public class HazelcastTicketRegistryReplicationTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    private static final int SERVICE_COUNT = 100;
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("casHazelcastInstance")
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    private HazelcastInstance secondMember;
+
+    private HazelcastTicketRegistry secondTicketRegistry;
+
+    @Before
+    public void initialize() {
+        val config = this.hazelcastInstance.getConfig();
+        val memberConfig = new Config()
+            .setInstanceName(config.getInstanceName() + "-2")
+            .setGroupConfig(config.getGroupConfig())
+            .setNetworkConfig(config.getNetworkConfig())
+            .setProperties(config.getProperties());
+        this.secondMember = Hazelcast.newHazelcastInstance(memberConfig);
+        this.secondTicketRegistry = new HazelcastTicketRegistry(secondMember, ticketCatalog, 0);
+        assertEquals(2, hazelcastInstance.getCluster().getMembers().size());
+        this.ticketRegistry.deleteAll();
+    }
+
+    @After
+    public void shutdown() {
+        this.secondMember.shutdown();
+    }
+
+    @Test
+    public void verifyServiceTicketGrantSendsOnlyChanges() {
+        val ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        IntStream.range(0, SERVICE_COUNT).forEach(i -> ticketGrantingTicket.grantServiceTicket("ST-" + i,
+            RegisteredServiceTestUtils.getService("https://example.org/" + i), new NeverExpiresExpirationPolicy(), false, false));
+        ticketRegistry.addTicket(ticketGrantingTicket);
+
+        val ticket = (TicketGrantingTicketImpl) ticketRegistry.getTicket(ticketGrantingTicket.getId(), TicketGrantingTicket.class);
+        val snapshot = TicketGrantingTicketStateEntryProcessor.snapshot(ticket);
+        val serviceTicket = ticket.grantServiceTicket("ST-" + SERVICE_COUNT,
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, false);
+
+        val changeSize = SerializationUtils.serialize(new TicketGrantingTicketStateEntryProcessor(ticket, snapshot)).length;
+        val ticketSize = SerializationUtils.serialize(ticket).length;
+        LOGGER.info("Granting a service ticket sends [{}] bytes instead of [{}] bytes for the ticket-granting ticket", changeSize, ticketSize);
+        assertTrue(changeSize * 10 < ticketSize);
+
+        ticketRegistry.addTicket(serviceTicket);
+        ticketRegistry.updateTicket(ticket);
+
+        val replicated = secondTicketRegistry.getTicket(ticket.getId(), TicketGrantingTicket.class);
+        assertEquals(SERVICE_COUNT + 1, replicated.getServices().size());
+        assertTrue(replicated.getServices().containsKey(serviceTicket.getId()));
+        assertEquals(ticket.getCountOfUses(), replicated.getCountOfUses());
+    }
+
+    @Test
+    public void verifyConcurrentUpdateStoresTicket() {
+        val ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(ticketGrantingTicket);
+
+        val ticket = ticketRegistry.getTicket(ticketGrantingTicket.getId(), TicketGrantingTicket.class);
+        val otherTicket = secondTicketRegistry.getTicket(ticketGrantingTicket.getId(), TicketGrantingTicket.class);
+        ticket.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.updateTicket(ticket);
+        otherTicket.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        secondTicketRegistry.updateTicket(otherTicket);
+
+        val result = ticketRegistry.getTicket(ticketGrantingTicket.getId(), TicketGrantingTicket.class);
+        assertEquals(1, result.getServices().size());
+        assertTrue(result.getServices().containsKey("ST-2"));
+    }
+
+    @Test
+    public void verifySessionCountForPrincipal() {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-3", CoreAuthenticationTestUtils.getAuthentication("other"),
+            new NeverExpiresExpirationPolicy()));
+        assertEquals(2, secondTicketRegistry.countSessionsFor("casuser"));
+        assertEquals(1, secondTicketRegistry.countSessionsFor("other"));
+        assertEquals(0, secondTicketRegistry.countSessionsFor("unknown"));
+    }
+}
@@ -3,7 +3,9 @@ package org.apereo.cas.config;
 import org.apereo.cas.StringBean;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.JmsTicketRegistryPublisher;
 import org.apereo.cas.ticket.registry.JmsTicketRegistryReceiver;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
 
@@ -11,10 +13,12 @@ import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.config.JmsListenerContainerFactory;
 import org.springframework.jms.core.JmsTemplate;
@@ -46,12 +50,31 @@ public class JmsTicketRegistryConfiguration {
         return new JmsTicketRegistryReceiver(ticketRegistry(), messageQueueTicketRegistryIdentifier());
     }
 
+    @Bean
+    public JmsTicketRegistryPublisher messageQueueTicketRegistryPublisher() {
+        val jms = casProperties.getTicket().getRegistry().getJms();
+        return new JmsTicketRegistryPublisher(this.jmsTemplate.getIfAvailable(), messageQueueTicketRegistryIdentifier(), jms);
+    }
+
     @Lazy
     @Bean
     public TicketRegistry ticketRegistry() {
         val jms = casProperties.getTicket().getRegistry().getJms();
         val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jms.getCrypto(), "jms");
-        return new JmsTicketRegistry(this.jmsTemplate.getIfAvailable(), messageQueueTicketRegistryIdentifier(), cipher);
+        return new JmsTicketRegistry(messageQueueTicketRegistryPublisher(), cipher);
+    }
+
+    /**
+     * Request a snapshot of all tickets from other nodes once this node is ready.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleApplicationReadyEvent(final ApplicationReadyEvent event) {
+        val registry = NearCacheTicketRegistry.unwrap(ticketRegistry());
+        if (casProperties.getTicket().getRegistry().getJms().isBootstrapFromSnapshot() && registry instanceof JmsTicketRegistry) {
+            ((JmsTicketRegistry) registry).requestSnapshot();
+        }
     }
 
     @Autowired
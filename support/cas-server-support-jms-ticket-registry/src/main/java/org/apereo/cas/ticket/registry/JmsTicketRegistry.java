@@ -3,18 +3,25 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.StringBean;
 import org.apereo.cas.ticket.Ticket;
-import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
-import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
-import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
-import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.springframework.jms.core.JmsTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 
 /**
  * This is {@link JmsTicketRegistry}.
+ * Ticket operations are handed to the {@link JmsTicketRegistryPublisher}, which publishes them to other nodes.
+ * Commands received from other nodes are applied through {@link #receive(BaseMessageQueueCommand)},
+ * and are not published again.
+ * <p>
+ * A node that starts may ask other nodes for a snapshot of their tickets. One node is chosen to publish it,
+ * and tickets that are deleted while the snapshot is on its way are not added back when it arrives.
+ * The snapshot is abandoned if no offer, or no further page, arrives within the snapshot timeout.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -26,51 +33,236 @@ public class JmsTicketRegistry extends DefaultTicketRegistry {
      */
     public static final String QUEUE_DESTINATION = "CasJmsTicketRegistry";
 
-    private final JmsTemplate jmsTemplate;
-    private final StringBean id;
+    private final JmsTicketRegistryPublisher publisher;
+
+    private final ThreadLocal<Boolean> receiving = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Object snapshotLock = new Object();
+
+    private final Set<String> deletedSinceSnapshotRequested = new HashSet<>();
+
+    private boolean snapshotRequested;
+
+    private StringBean snapshotResponderId;
+
+    private long snapshotGeneration;
 
-    public JmsTicketRegistry(final JmsTemplate jmsTemplate, final StringBean id) {
-        this(jmsTemplate, id, CipherExecutor.noOp());
+    private ScheduledFuture<?> snapshotTimeout;
+
+    public JmsTicketRegistry(final JmsTicketRegistryPublisher publisher) {
+        this(publisher, CipherExecutor.noOp());
     }
 
-    public JmsTicketRegistry(final JmsTemplate jmsTemplate, final StringBean id, final CipherExecutor cipherExecutor) {
+    public JmsTicketRegistry(final JmsTicketRegistryPublisher publisher, final CipherExecutor cipherExecutor) {
         super(cipherExecutor);
-        this.jmsTemplate = jmsTemplate;
-        this.id = id;
+        this.publisher = publisher;
     }
 
     @Override
     public void addTicket(final Ticket ticket) {
         super.addTicket(ticket);
-        publishMessageToQueue(new AddTicketMessageQueueCommand(id, ticket));
+        if (isPublishing()) {
+            publisher.ticketAdded(ticket);
+        }
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        synchronized (this.snapshotLock) {
+            if (this.snapshotRequested) {
+                this.deletedSinceSnapshotRequested.addAll(ticketIds);
+            }
+        }
+        return super.deleteTickets(ticketIds);
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
+        synchronized (this.snapshotLock) {
+            if (this.snapshotRequested) {
+                this.deletedSinceSnapshotRequested.add(ticketId);
+            }
+        }
         val result = super.deleteSingleTicket(ticketId);
-        publishMessageToQueue(new DeleteTicketMessageQueueCommand(id, ticketId));
+        publisher.ticketForgotten(ticketId);
+        if (isPublishing()) {
+            publisher.ticketDeleted(ticketId);
+        }
         return result;
     }
 
     @Override
     public long deleteAll() {
+        synchronized (this.snapshotLock) {
+            if (this.snapshotRequested) {
+                LOGGER.debug("All tickets are deleted; the snapshot that was requested will be ignored");
+                endSnapshot();
+            }
+        }
         val result = super.deleteAll();
-        publishMessageToQueue(new DeleteTicketsMessageQueueCommand(id));
+        if (isPublishing()) {
+            publisher.allTicketsDeleted();
+        } else {
+            publisher.allTicketsForgotten();
+        }
         return result;
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
-        val result = super.updateTicket(ticket);
-        publishMessageToQueue(new UpdateTicketMessageQueueCommand(id, ticket));
-        return result;
+        super.addTicket(ticket);
+        if (isPublishing()) {
+            publisher.ticketUpdated(ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Apply the command received from another node, without publishing the operations it performs.
+     *
+     * @param command the command
+     */
+    public void receive(final BaseMessageQueueCommand command) {
+        this.receiving.set(Boolean.TRUE);
+        try {
+            command.execute(this);
+        } finally {
+            this.receiving.remove();
+        }
+    }
+
+    /**
+     * Gets the id of this ticket registry, as known to other nodes.
+     *
+     * @return the id
+     */
+    public StringBean getId() {
+        return publisher.getId();
+    }
+
+    /**
+     * Ask other nodes to offer a snapshot of all of their tickets.
+     */
+    public void requestSnapshot() {
+        synchronized (this.snapshotLock) {
+            endSnapshot();
+            this.snapshotRequested = true;
+            scheduleSnapshotTimeout();
+        }
+        publisher.requestSnapshot();
+    }
+
+    /**
+     * Offer a snapshot of all tickets held by this registry to the node that asked for one.
+     *
+     * @param requesterId the id of the node that asked for a snapshot
+     */
+    public void offerSnapshot(final StringBean requesterId) {
+        publisher.offerSnapshot(requesterId);
+    }
+
+    /**
+     * Accept the offer of a snapshot, unless another offer was accepted already.
+     *
+     * @param responderId the id of the node that offered the snapshot
+     */
+    public void acceptSnapshotOffer(final StringBean responderId) {
+        synchronized (this.snapshotLock) {
+            if (!this.snapshotRequested || this.snapshotResponderId != null) {
+                LOGGER.trace("Ignoring the offer of a snapshot from ticket registry id [{}]", responderId.getId());
+                return;
+            }
+            this.snapshotResponderId = responderId;
+            scheduleSnapshotTimeout();
+        }
+        publisher.requestSnapshot(responderId);
+    }
+
+    /**
+     * Publish all tickets held by this registry for the node that requested them.
+     *
+     * @param requesterId the id of the node that requested the snapshot
+     */
+    public void publishSnapshot(final StringBean requesterId) {
+        publisher.publishSnapshot(requesterId, getTickets());
+    }
+
+    /**
+     * Add the tickets of the snapshot published by the node whose offer was accepted.
+     * Tickets that are held already, or that were deleted since the snapshot was requested along with their children,
+     * are not added.
+     *
+     * @param responderId the id of the node that published the snapshot
+     * @param tickets     the tickets
+     * @param last        whether this is the last page of the snapshot
+     */
+    public void applySnapshot(final StringBean responderId, final Collection<? extends Ticket> tickets, final boolean last) {
+        synchronized (this.snapshotLock) {
+            if (!this.snapshotRequested || !responderId.equals(this.snapshotResponderId)) {
+                LOGGER.trace("Ignoring a snapshot from ticket registry id [{}] that was not requested", responderId.getId());
+                return;
+            }
+            tickets.stream()
+                .filter(ticket -> !isDeletedSinceSnapshotRequested(ticket))
+                .filter(ticket -> getTicket(ticket.getId(), t -> true) == null)
+                .forEach(this::addTicket);
+            if (last) {
+                LOGGER.debug("Received the last page of the snapshot from ticket registry id [{}]", responderId.getId());
+                endSnapshot();
+            } else {
+                scheduleSnapshotTimeout();
+            }
+        }
+    }
+
+    private boolean isDeletedSinceSnapshotRequested(final Ticket ticket) {
+        if (this.deletedSinceSnapshotRequested.contains(ticket.getId())) {
+            return true;
+        }
+        val parent = ticket.getTicketGrantingTicket();
+        return parent != null && (this.deletedSinceSnapshotRequested.contains(parent.getId())
+            || this.deletedSinceSnapshotRequested.contains(parent.getRoot().getId()));
+    }
+
+    /**
+     * Whether a snapshot was requested and is not yet applied in full.
+     *
+     * @return true if a snapshot is expected
+     */
+    public boolean isSnapshotRequested() {
+        synchronized (this.snapshotLock) {
+            return this.snapshotRequested;
+        }
+    }
+
+    private void scheduleSnapshotTimeout() {
+        if (this.snapshotTimeout != null) {
+            this.snapshotTimeout.cancel(false);
+        }
+        val generation = ++this.snapshotGeneration;
+        this.snapshotTimeout = publisher.scheduleSnapshotTimeout(() -> {
+            synchronized (this.snapshotLock) {
+                if (this.snapshotRequested && this.snapshotGeneration == generation) {
+                    LOGGER.warn("No snapshot of tickets arrived from [{}] in time; the snapshot is abandoned",
+                        this.snapshotResponderId == null ? "other nodes" : this.snapshotResponderId.getId());
+                    endSnapshot();
+                }
+            }
+        });
+    }
+
+    private void endSnapshot() {
+        this.snapshotRequested = false;
+        this.snapshotResponderId = null;
+        this.deletedSinceSnapshotRequested.clear();
+        this.snapshotGeneration++;
+        if (this.snapshotTimeout != null) {
+            this.snapshotTimeout.cancel(false);
+            this.snapshotTimeout = null;
+        }
     }
 
-    private void publishMessageToQueue(final BaseMessageQueueCommand cmd) {
-        jmsTemplate.convertAndSend(QUEUE_DESTINATION, cmd,
-            message -> {
-                LOGGER.trace("Sending message [{}] from ticket registry id [{}]", message, cmd.getId());
-                return message;
-            });
+    private boolean isPublishing() {
+        return !this.receiving.get();
     }
 }
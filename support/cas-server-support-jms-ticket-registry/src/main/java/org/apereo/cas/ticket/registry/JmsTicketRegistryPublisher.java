@@ -0,0 +1,398 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.BatchMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.RequestSnapshotMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotOfferMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketGrantingTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JmsTicketRegistryPublisher} that publishes ticket operations to other nodes.
+ * Operations are collected for the batch window and published together; operations on the same ticket
+ * within the window are coalesced, so that only the latest state of the ticket is published, and tickets that
+ * are added and deleted within the window are not published at all. Updates to ticket-granting tickets that were
+ * published before are sent as {@link UpdateTicketGrantingTicketMessageQueueCommand} deltas, unless
+ * services or proxy-granting tickets were removed from the ticket, or its authentication was replaced.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JmsTicketRegistryPublisher implements Closeable {
+    private final JmsTemplate jmsTemplate;
+
+    @Getter
+    private final StringBean id;
+
+    private final long batchWindowMillis;
+
+    private final int batchSize;
+
+    private final long snapshotTimeoutMillis;
+
+    private final Map<String, PendingOperation> pending = new LinkedHashMap<>();
+
+    private final Map<String, PublishedTicketGrantingTicket> published = new ConcurrentHashMap<>();
+
+    private final Object publishLock = new Object();
+
+    private final ScheduledExecutorService executor;
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    public JmsTicketRegistryPublisher(final JmsTemplate jmsTemplate, final StringBean id, final JmsTicketRegistryProperties properties) {
+        this.jmsTemplate = jmsTemplate;
+        this.id = id;
+        this.batchWindowMillis = Beans.newDuration(properties.getBatchWindow()).toMillis();
+        this.batchSize = Math.max(properties.getBatchSize(), 1);
+        this.snapshotTimeoutMillis = Beans.newDuration(properties.getSnapshotTimeout()).toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+            .namingPattern("cas-jms-ticket-registry-%d")
+            .daemon(true)
+            .build());
+    }
+
+    /**
+     * Publish the ticket that was added.
+     *
+     * @param ticket the ticket
+     */
+    public void ticketAdded(final Ticket ticket) {
+        enqueue(ticket.getId(), current -> new PendingOperation(Operation.ADD, ticket));
+    }
+
+    /**
+     * Publish the ticket that was updated.
+     *
+     * @param ticket the ticket
+     */
+    public void ticketUpdated(final Ticket ticket) {
+        enqueue(ticket.getId(), current -> current != null && current.getOperation() == Operation.ADD
+            ? new PendingOperation(Operation.ADD, ticket)
+            : new PendingOperation(Operation.UPDATE, ticket));
+    }
+
+    /**
+     * Publish the ticket that was deleted.
+     *
+     * @param ticketId the ticket id
+     */
+    public void ticketDeleted(final String ticketId) {
+        enqueue(ticketId, current -> {
+            if (current != null && current.getOperation() == Operation.ADD) {
+                LOGGER.trace("Ticket [{}] is deleted before it was published", ticketId);
+                return null;
+            }
+            return new PendingOperation(Operation.DELETE, null);
+        });
+    }
+
+    /**
+     * Forget what other nodes were told about the ticket, once it is deleted on this node,
+     * whether the deletion is published from here or was received from another node.
+     *
+     * @param ticketId the ticket id
+     */
+    public void ticketForgotten(final String ticketId) {
+        this.published.remove(ticketId);
+    }
+
+    /**
+     * Forget what other nodes were told about all tickets, once all tickets are deleted on this node.
+     */
+    public void allTicketsForgotten() {
+        this.published.clear();
+    }
+
+    /**
+     * Whether other nodes are known to hold the ticket-granting ticket, as published by this node.
+     *
+     * @param ticketId the ticket id
+     * @return true if the ticket is tracked
+     */
+    boolean isPublished(final String ticketId) {
+        return this.published.containsKey(ticketId);
+    }
+
+    /**
+     * Run the task once the snapshot timeout has passed, unless it is cancelled.
+     *
+     * @param task the task
+     * @return the scheduled task
+     */
+    public ScheduledFuture<?> scheduleSnapshotTimeout(final Runnable task) {
+        return this.executor.schedule(task, this.snapshotTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publish the deletion of all tickets. Operations that are not yet published are discarded.
+     */
+    public void allTicketsDeleted() {
+        synchronized (this.publishLock) {
+            synchronized (this) {
+                this.pending.clear();
+            }
+            this.published.clear();
+            send(new DeleteTicketsMessageQueueCommand(this.id));
+        }
+    }
+
+    /**
+     * Ask other nodes to offer a snapshot of all of their tickets.
+     */
+    public void requestSnapshot() {
+        synchronized (this.publishLock) {
+            LOGGER.debug("Asking other nodes to offer a snapshot of all tickets");
+            send(new RequestSnapshotMessageQueueCommand(this.id, null));
+        }
+    }
+
+    /**
+     * Ask the node whose offer was accepted to publish all of its tickets.
+     *
+     * @param responderId the id of the node that offered the snapshot
+     */
+    public void requestSnapshot(final StringBean responderId) {
+        synchronized (this.publishLock) {
+            LOGGER.debug("Requesting a snapshot of all tickets from ticket registry id [{}]", responderId.getId());
+            send(new RequestSnapshotMessageQueueCommand(this.id, responderId));
+        }
+    }
+
+    /**
+     * Offer a snapshot of all tickets to the node that asked for one.
+     *
+     * @param requesterId the id of the node that asked for a snapshot
+     */
+    public void offerSnapshot(final StringBean requesterId) {
+        synchronized (this.publishLock) {
+            send(new SnapshotOfferMessageQueueCommand(this.id, requesterId));
+        }
+    }
+
+    /**
+     * Publish the tickets as a snapshot for the node that requested it, one batch at a time.
+     * The last batch is marked as such, and is published even if there are no tickets.
+     *
+     * @param requesterId the id of the node that requested the snapshot
+     * @param tickets     the tickets
+     */
+    public void publishSnapshot(final StringBean requesterId, final Collection<? extends Ticket> tickets) {
+        flush();
+        synchronized (this.publishLock) {
+            val list = new ArrayList<Ticket>(tickets);
+            LOGGER.debug("Publishing a snapshot of [{}] ticket(s) for ticket registry id [{}]", list.size(), requesterId.getId());
+            var i = 0;
+            do {
+                val end = Math.min(i + this.batchSize, list.size());
+                send(new SnapshotMessageQueueCommand(this.id, requesterId, list.subList(i, end), end == list.size()));
+                i = end;
+            } while (i < list.size());
+        }
+    }
+
+    /**
+     * Publish the operations that are collected so far.
+     */
+    public void flush() {
+        synchronized (this.publishLock) {
+            final Map<String, PendingOperation> operations;
+            synchronized (this) {
+                operations = new LinkedHashMap<>(this.pending);
+                this.pending.clear();
+                this.scheduledFlush = null;
+            }
+            if (operations.isEmpty()) {
+                return;
+            }
+            val commands = new ArrayList<BaseMessageQueueCommand>(operations.size());
+            operations.forEach((ticketId, operation) -> commands.add(toCommand(ticketId, operation)));
+            for (var i = 0; i < commands.size(); i += this.batchSize) {
+                val batch = commands.subList(i, Math.min(i + this.batchSize, commands.size()));
+                send(batch.size() == 1 ? batch.get(0) : new BatchMessageQueueCommand(this.id, batch));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        flush();
+    }
+
+    private void enqueue(final String ticketId, final Function<PendingOperation, PendingOperation> merge) {
+        if (this.batchWindowMillis <= 0) {
+            synchronized (this) {
+                this.pending.compute(ticketId, (k, current) -> merge.apply(current));
+            }
+            flush();
+            return;
+        }
+        var flushNow = false;
+        synchronized (this) {
+            this.pending.compute(ticketId, (k, current) -> merge.apply(current));
+            if (this.pending.size() >= this.batchSize) {
+                flushNow = true;
+            } else if (this.scheduledFlush == null && !this.pending.isEmpty()) {
+                this.scheduledFlush = this.executor.schedule(this::flushQuietly, this.batchWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            this.executor.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final Exception e) {
+            LOGGER.error("Unable to publish ticket operations: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private BaseMessageQueueCommand toCommand(final String ticketId, final PendingOperation operation) {
+        val ticket = operation.getTicket();
+        switch (operation.getOperation()) {
+            case ADD:
+                track(ticket);
+                return new AddTicketMessageQueueCommand(this.id, ticket);
+            case UPDATE:
+                return toUpdateCommand(ticket);
+            case DELETE:
+            default:
+                this.published.remove(ticketId);
+                return new DeleteTicketMessageQueueCommand(this.id, ticketId);
+        }
+    }
+
+    private BaseMessageQueueCommand toUpdateCommand(final Ticket ticket) {
+        val previous = this.published.get(ticket.getId());
+        if (!(ticket instanceof TicketGrantingTicket) || !(ticket instanceof AbstractTicket) || previous == null) {
+            track(ticket);
+            return new UpdateTicketMessageQueueCommand(this.id, ticket);
+        }
+        val tgt = (TicketGrantingTicket) ticket;
+        val current = new PublishedTicketGrantingTicket(tgt);
+        if (!current.contains(previous)) {
+            LOGGER.trace("Ticket-granting ticket [{}] has changed in ways that cannot be published as a delta", ticket.getId());
+            this.published.put(ticket.getId(), current);
+            return new UpdateTicketMessageQueueCommand(this.id, ticket);
+        }
+        this.published.put(ticket.getId(), current);
+        val state = (AbstractTicket) ticket;
+        return new UpdateTicketGrantingTicketMessageQueueCommand(this.id, ticket.getId(),
+            added(tgt.getServices(), previous.getServices()),
+            added(tgt.getProxyGrantingTickets(), previous.getProxyGrantingTickets()),
+            tgt.getDescendantTickets().stream().filter(t -> !previous.getDescendantTickets().contains(t)).collect(Collectors.toSet()),
+            state.getCountOfUses(),
+            state.getLastTimeUsed(),
+            state.getPreviousTimeUsed(),
+            state.isExpired());
+    }
+
+    private void track(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            this.published.put(ticket.getId(), new PublishedTicketGrantingTicket((TicketGrantingTicket) ticket));
+        }
+    }
+
+    private static <V> Map<String, V> added(final Map<String, V> current, final Set<String> previous) {
+        val added = new HashMap<String, V>();
+        current.forEach((key, value) -> {
+            if (!previous.contains(key)) {
+                added.put(key, value);
+            }
+        });
+        return added;
+    }
+
+    private void send(final BaseMessageQueueCommand command) {
+        this.jmsTemplate.convertAndSend(JmsTicketRegistry.QUEUE_DESTINATION, command,
+            message -> {
+                LOGGER.trace("Sending message [{}] from ticket registry id [{}]", message, command.getId());
+                return message;
+            });
+    }
+
+    /**
+     * Ticket operations.
+     */
+    private enum Operation {
+        ADD, UPDATE, DELETE
+    }
+
+    /**
+     * The latest operation on a ticket that is not yet published.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingOperation {
+        private final Operation operation;
+
+        private final Ticket ticket;
+    }
+
+    /**
+     * What other nodes are known to hold for a ticket-granting ticket.
+     */
+    @Getter
+    private static class PublishedTicketGrantingTicket {
+        private final Set<String> services;
+
+        private final Set<String> proxyGrantingTickets;
+
+        private final Set<String> descendantTickets;
+
+        private final Authentication authentication;
+
+        PublishedTicketGrantingTicket(final TicketGrantingTicket ticket) {
+            this.services = new HashSet<>(ticket.getServices().keySet());
+            this.proxyGrantingTickets = new HashSet<>(ticket.getProxyGrantingTickets().keySet());
+            this.descendantTickets = new HashSet<>(ticket.getDescendantTickets());
+            this.authentication = ticket.getAuthentication();
+        }
+
+        boolean contains(final PublishedTicketGrantingTicket previous) {
+            return this.authentication == previous.getAuthentication()
+                && this.services.containsAll(previous.getServices())
+                && this.proxyGrantingTickets.containsAll(previous.getProxyGrantingTickets())
+                && this.descendantTickets.containsAll(previous.getDescendantTickets());
+        }
+    }
+}
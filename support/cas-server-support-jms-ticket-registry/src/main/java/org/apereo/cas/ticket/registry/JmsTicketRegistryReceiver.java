@@ -5,6 +5,7 @@ import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.springframework.jms.annotation.JmsListener;
 
 /**
@@ -29,7 +30,12 @@ public class JmsTicketRegistryReceiver {
         if (!command.getId().equals(this.ticketRegistryId)) {
             LOGGER.debug("Received message from ticket registry id [{}]. Executing command [{}]",
                 command.getId(), command.getClass().getSimpleName());
-            command.execute(this.ticketRegistry);
+            val registry = NearCacheTicketRegistry.unwrap(this.ticketRegistry);
+            if (registry instanceof JmsTicketRegistry) {
+                ((JmsTicketRegistry) registry).receive(command);
+            } else {
+                command.execute(registry);
+            }
         } else {
             LOGGER.trace("Ignoring inbound command on ticket registry with id [{}]", this.ticketRegistryId);
         }
@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link BatchMessageQueueCommand} that carries several commands in a single message,
+ * to be executed in the order they were published.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class BatchMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = 3395871434950624107L;
+
+    @JsonProperty
+    private ArrayList<BaseMessageQueueCommand> commands;
+
+    @JsonCreator
+    public BatchMessageQueueCommand(@JsonProperty("id") final StringBean id,
+                                    @JsonProperty("commands") final List<BaseMessageQueueCommand> commands) {
+        super(id);
+        this.commands = new ArrayList<>(commands);
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        LOGGER.debug("Executing [{}] queue command(s) on ticket registry id [{}]", commands.size(), getId().getId());
+        commands.forEach(command -> command.execute(registry));
+    }
+}
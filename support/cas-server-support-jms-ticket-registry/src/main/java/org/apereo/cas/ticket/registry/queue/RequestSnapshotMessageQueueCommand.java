@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link RequestSnapshotMessageQueueCommand} that is published by a node as it starts.
+ * Without a responder, it asks other nodes to offer a snapshot of their tickets; once the node has accepted
+ * the first {@link SnapshotOfferMessageQueueCommand}, it is published again, asking only the responder
+ * to publish all of its tickets, so that one node answers however many nodes there are.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class RequestSnapshotMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = -2281563528709632263L;
+
+    @JsonProperty
+    private StringBean responderId;
+
+    @JsonCreator
+    public RequestSnapshotMessageQueueCommand(@JsonProperty("id") final StringBean id, @JsonProperty("responderId") final StringBean responderId) {
+        super(id);
+        this.responderId = responderId;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        if (!(registry instanceof JmsTicketRegistry)) {
+            LOGGER.debug("Ticket registry [{}] is unable to publish a snapshot of its tickets", registry.getClass().getSimpleName());
+            return;
+        }
+        val jmsTicketRegistry = (JmsTicketRegistry) registry;
+        if (this.responderId == null) {
+            LOGGER.debug("Offering a snapshot of all tickets to ticket registry id [{}]", getId().getId());
+            jmsTicketRegistry.offerSnapshot(getId());
+        } else if (this.responderId.equals(jmsTicketRegistry.getId())) {
+            LOGGER.debug("Publishing a snapshot of all tickets, as requested by ticket registry id [{}]", getId().getId());
+            jmsTicketRegistry.publishSnapshot(getId());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link SnapshotMessageQueueCommand} that carries a page of the tickets of a node, in response
+ * to a {@link RequestSnapshotMessageQueueCommand}. Only the node that requested the snapshot applies it,
+ * and only adds tickets that it does not already hold and that were not deleted since it requested the snapshot,
+ * so a snapshot never overwrites state that was replicated since.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class SnapshotMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = 5962719498102340218L;
+
+    @JsonProperty
+    private StringBean requesterId;
+
+    @JsonProperty
+    private ArrayList<Ticket> tickets;
+
+    @JsonProperty
+    private boolean last;
+
+    @JsonCreator
+    public SnapshotMessageQueueCommand(@JsonProperty("id") final StringBean id,
+                                       @JsonProperty("requesterId") final StringBean requesterId,
+                                       @JsonProperty("tickets") final Collection<? extends Ticket> tickets,
+                                       @JsonProperty("last") final boolean last) {
+        super(id);
+        this.requesterId = requesterId;
+        this.tickets = new ArrayList<>(tickets);
+        this.last = last;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        if (registry instanceof JmsTicketRegistry && this.requesterId.equals(((JmsTicketRegistry) registry).getId())) {
+            LOGGER.debug("Executing queue command on ticket registry id [{}] to add [{}] ticket(s) from a snapshot", getId().getId(), tickets.size());
+            ((JmsTicketRegistry) registry).applySnapshot(getId(), this.tickets, this.last);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link SnapshotOfferMessageQueueCommand} that is published by a node in response to
+ * a {@link RequestSnapshotMessageQueueCommand}, offering to publish a snapshot of its tickets.
+ * The node that requested the snapshot accepts the first offer it receives, and ignores the others.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class SnapshotOfferMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = 3411940718726215096L;
+
+    @JsonProperty
+    private StringBean requesterId;
+
+    @JsonCreator
+    public SnapshotOfferMessageQueueCommand(@JsonProperty("id") final StringBean id, @JsonProperty("requesterId") final StringBean requesterId) {
+        super(id);
+        this.requesterId = requesterId;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        if (registry instanceof JmsTicketRegistry && this.requesterId.equals(((JmsTicketRegistry) registry).getId())) {
+            LOGGER.debug("Received an offer of a snapshot of all tickets from ticket registry id [{}]", getId().getId());
+            ((JmsTicketRegistry) registry).acceptSnapshotOffer(getId());
+        }
+    }
+}
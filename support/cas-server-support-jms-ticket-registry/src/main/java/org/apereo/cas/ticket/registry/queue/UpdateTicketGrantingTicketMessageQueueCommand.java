@@ -0,0 +1,106 @@
+package org.apereo.cas.ticket.registry.queue;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * This is {@link UpdateTicketGrantingTicketMessageQueueCommand} that carries the changes made to a ticket-granting ticket
+ * that other nodes already hold: the services, proxy-granting tickets and descendant tickets added to it,
+ * along with its usage counters. Changes that cannot be described this way are published
+ * as a complete ticket via {@link UpdateTicketMessageQueueCommand}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+public class UpdateTicketGrantingTicketMessageQueueCommand extends BaseMessageQueueCommand {
+    private static final long serialVersionUID = -1739564811562907396L;
+
+    @JsonProperty
+    private String ticketId;
+
+    @JsonProperty
+    private HashMap<String, Service> services;
+
+    @JsonProperty
+    private HashMap<String, Service> proxyGrantingTickets;
+
+    @JsonProperty
+    private HashSet<String> descendantTickets;
+
+    @JsonProperty
+    private int countOfUses;
+
+    @JsonProperty
+    private ZonedDateTime lastTimeUsed;
+
+    @JsonProperty
+    private ZonedDateTime previousTimeUsed;
+
+    @JsonProperty
+    private boolean expired;
+
+    @JsonCreator
+    public UpdateTicketGrantingTicketMessageQueueCommand(@JsonProperty("id") final StringBean id,
+                                                         @JsonProperty("ticketId") final String ticketId,
+                                                         @JsonProperty("services") final Map<String, Service> services,
+                                                         @JsonProperty("proxyGrantingTickets") final Map<String, Service> proxyGrantingTickets,
+                                                         @JsonProperty("descendantTickets") final Collection<String> descendantTickets,
+                                                         @JsonProperty("countOfUses") final int countOfUses,
+                                                         @JsonProperty("lastTimeUsed") final ZonedDateTime lastTimeUsed,
+                                                         @JsonProperty("previousTimeUsed") final ZonedDateTime previousTimeUsed,
+                                                         @JsonProperty("expired") final boolean expired) {
+        super(id);
+        this.ticketId = ticketId;
+        this.services = new HashMap<>(services);
+        this.proxyGrantingTickets = new HashMap<>(proxyGrantingTickets);
+        this.descendantTickets = new HashSet<>(descendantTickets);
+        this.countOfUses = countOfUses;
+        this.lastTimeUsed = lastTimeUsed;
+        this.previousTimeUsed = previousTimeUsed;
+        this.expired = expired;
+    }
+
+    @Override
+    public void execute(final TicketRegistry registry) {
+        val ticket = registry.getTicket(ticketId, t -> true);
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            LOGGER.debug("Ticket-granting ticket [{}] is not found in ticket registry; changes published by ticket registry id [{}] are ignored",
+                ticketId, getId().getId());
+            return;
+        }
+        LOGGER.debug("Executing queue command on ticket registry id [{}] to update ticket-granting ticket [{}]", getId().getId(), ticketId);
+        val tgt = (TicketGrantingTicket) ticket;
+        tgt.getServices().putAll(services);
+        tgt.getProxyGrantingTickets().putAll(proxyGrantingTickets);
+        tgt.getDescendantTickets().addAll(descendantTickets);
+        if (tgt instanceof AbstractTicket) {
+            val state = (AbstractTicket) tgt;
+            state.setCountOfUses(countOfUses);
+            state.setLastTimeUsed(lastTimeUsed);
+            state.setPreviousTimeUsed(previousTimeUsed);
+        }
+        if (expired) {
+            tgt.markTicketExpired();
+        }
+        registry.updateTicket(tgt);
+    }
+}
@@ -0,0 +1,262 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.StringBean;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.SnapshotMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketGrantingTicketMessageQueueCommand;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jms.connection.SingleConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+import javax.jms.ObjectMessage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JmsTicketRegistryPublisherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JmsTicketRegistryPublisherTests {
+    private static final long RECEIVE_TIMEOUT = 1000;
+
+    private SingleConnectionFactory connectionFactory;
+
+    private JmsTemplate jmsTemplate;
+
+    private JmsTicketRegistryPublisher publisher;
+
+    private JmsTicketRegistry registry;
+
+    private JmsTicketRegistry peer;
+
+    @Before
+    public void initialize() {
+        val activeMqConnectionFactory = new ActiveMQConnectionFactory("vm://localhost?broker.persistent=false");
+        activeMqConnectionFactory.setTrustAllPackages(true);
+        this.connectionFactory = new SingleConnectionFactory(activeMqConnectionFactory);
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+        this.jmsTemplate.setReceiveTimeout(RECEIVE_TIMEOUT);
+
+        val properties = new JmsTicketRegistryProperties();
+        properties.setBatchWindow("PT1H");
+        this.publisher = new JmsTicketRegistryPublisher(jmsTemplate, new StringBean(), properties);
+        this.registry = new JmsTicketRegistry(publisher);
+        this.peer = new JmsTicketRegistry(new JmsTicketRegistryPublisher(jmsTemplate, new StringBean(), properties));
+    }
+
+    @After
+    public void shutdown() {
+        this.publisher.close();
+        this.connectionFactory.destroy();
+    }
+
+    @Test
+    public void verifyLoginIsPublishedAsSingleMessage() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = login(tgt, "ST-1");
+        publisher.flush();
+
+        val messages = deliver();
+        report("first login", messages);
+        assertEquals(1, messages.size());
+        val replicated = peer.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(replicated);
+        assertTrue(replicated.getServices().containsKey(st.getId()));
+        assertNull(peer.getTicket(st.getId()));
+    }
+
+    @Test
+    public void verifyTicketGrantingTicketUpdatesArePublishedAsDeltas() {
+        val tgt = new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        publisher.flush();
+        val full = deliver();
+        report("ticket-granting ticket", full);
+
+        val st = login(tgt, "ST-2");
+        publisher.flush();
+        val messages = deliver();
+        report("subsequent login", messages);
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0) instanceof UpdateTicketGrantingTicketMessageQueueCommand);
+        assertTrue(size(messages) < size(full));
+
+        val replicated = peer.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertTrue(replicated.getServices().containsKey(st.getId()));
+        assertEquals(tgt.getCountOfUses(), ((TicketGrantingTicketImpl) replicated).getCountOfUses());
+    }
+
+    @Test
+    public void verifySnapshot() {
+        val properties = new JmsTicketRegistryProperties();
+        properties.setBatchWindow("PT0S");
+        val third = new JmsTicketRegistry(new JmsTicketRegistryPublisher(jmsTemplate, new StringBean(), properties));
+        val tgt = new TicketGrantingTicketImpl("TGT-3", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        publisher.flush();
+        deliverTo(new DefaultTicketRegistry());
+        third.addTicket(tgt);
+        deliverTo(new DefaultTicketRegistry());
+
+        peer.requestSnapshot();
+        val exchanged = exchange(registry, peer, third);
+        assertNotNull(peer.getTicket(tgt.getId()));
+        assertEquals(1, exchanged.stream().filter(SnapshotMessageQueueCommand.class::isInstance).count());
+    }
+
+    @Test
+    public void verifySnapshotDoesNotRestoreDeletedTickets() {
+        val tgt = new TicketGrantingTicketImpl("TGT-4", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        publisher.flush();
+        deliverTo(new DefaultTicketRegistry());
+
+        peer.requestSnapshot();
+        val snapshots = new ArrayList<BaseMessageQueueCommand>();
+        var commands = new ArrayList<BaseMessageQueueCommand>();
+        receive(commands);
+        while (!commands.isEmpty()) {
+            val next = new ArrayList<BaseMessageQueueCommand>();
+            for (val command : commands) {
+                if (command instanceof SnapshotMessageQueueCommand) {
+                    snapshots.add(command);
+                } else {
+                    (command.getId().equals(peer.getId()) ? registry : peer).receive(command);
+                }
+            }
+            receive(next);
+            commands = next;
+        }
+        assertEquals(1, snapshots.size());
+
+        peer.receive(new DeleteTicketMessageQueueCommand(registry.getId(), tgt.getId()));
+        snapshots.forEach(peer::receive);
+        assertNull(peer.getTicket(tgt.getId()));
+    }
+
+    @Test
+    public void verifyUnansweredSnapshotIsAbandoned() throws Exception {
+        val properties = new JmsTicketRegistryProperties();
+        properties.setSnapshotTimeout("PT0.1S");
+        val lonePublisher = new JmsTicketRegistryPublisher(jmsTemplate, new StringBean(), properties);
+        try {
+            val lone = new JmsTicketRegistry(lonePublisher);
+            lone.requestSnapshot();
+            assertTrue(lone.isSnapshotRequested());
+
+            val timedOut = new CountDownLatch(1);
+            lonePublisher.scheduleSnapshotTimeout(timedOut::countDown);
+            assertTrue(timedOut.await(5, TimeUnit.SECONDS));
+            assertFalse(lone.isSnapshotRequested());
+        } finally {
+            lonePublisher.close();
+        }
+    }
+
+    @Test
+    public void verifyReceivedDeleteForgetsPublishedTicket() {
+        val tgt = new TicketGrantingTicketImpl("TGT-5", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        publisher.flush();
+        deliver();
+        assertTrue(publisher.isPublished(tgt.getId()));
+
+        registry.receive(new DeleteTicketMessageQueueCommand(peer.getId(), tgt.getId()));
+        assertNull(registry.getTicket(tgt.getId()));
+        assertFalse(publisher.isPublished(tgt.getId()));
+
+        val other = new TicketGrantingTicketImpl("TGT-6", CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(other);
+        publisher.flush();
+        deliver();
+        assertTrue(publisher.isPublished(other.getId()));
+        registry.receive(new DeleteTicketsMessageQueueCommand(peer.getId()));
+        assertFalse(publisher.isPublished(other.getId()));
+    }
+
+    private ServiceTicket login(final TicketGrantingTicket tgt, final String serviceTicketId) {
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        registry.updateTicket(st);
+        registry.deleteTicket(st.getId());
+        return st;
+    }
+
+    private List<BaseMessageQueueCommand> deliver() {
+        val commands = new ArrayList<BaseMessageQueueCommand>();
+        receive(commands);
+        commands.forEach(peer::receive);
+        return commands;
+    }
+
+    /**
+     * Deliver every message to every node but the one that sent it, until no more messages are published.
+     */
+    private List<BaseMessageQueueCommand> exchange(final JmsTicketRegistry... nodes) {
+        val exchanged = new ArrayList<BaseMessageQueueCommand>();
+        var commands = new ArrayList<BaseMessageQueueCommand>();
+        receive(commands);
+        while (!commands.isEmpty()) {
+            exchanged.addAll(commands);
+            commands.forEach(command -> Arrays.stream(nodes)
+                .filter(node -> !node.getId().equals(command.getId()))
+                .forEach(node -> node.receive(command)));
+            commands = new ArrayList<>();
+            receive(commands);
+        }
+        return exchanged;
+    }
+
+    private void deliverTo(final TicketRegistry ticketRegistry) {
+        val commands = new ArrayList<BaseMessageQueueCommand>();
+        receive(commands);
+        commands.forEach(command -> command.execute(ticketRegistry));
+    }
+
+    private void receive(final List<BaseMessageQueueCommand> commands) {
+        var message = jmsTemplate.receive(JmsTicketRegistry.QUEUE_DESTINATION);
+        while (message != null) {
+            try {
+                commands.add((BaseMessageQueueCommand) ((ObjectMessage) message).getObject());
+            } catch (final Exception e) {
+                throw new AssertionError(e.getMessage(), e);
+            }
+            message = jmsTemplate.receive(JmsTicketRegistry.QUEUE_DESTINATION);
+        }
+    }
+
+    private static int size(final List<BaseMessageQueueCommand> commands) {
+        return commands.stream().mapToInt(command -> SerializationUtils.serialize(command).length).sum();
+    }
+
+    private static void report(final String operation, final List<BaseMessageQueueCommand> commands) {
+        LOGGER.info("Published [{}] message(s) and [{}] byte(s) for [{}]", commands.size(), size(commands), operation);
+    }
+}
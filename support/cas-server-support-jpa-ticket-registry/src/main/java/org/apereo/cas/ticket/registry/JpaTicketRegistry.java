@@ -5,7 +5,12 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketEntry.EntryType;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.hibernate.LockOptions;
@@ -18,11 +23,24 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
@@ -38,9 +56,29 @@ import java.util.stream.Stream;
 public class JpaTicketRegistry extends AbstractTicketRegistry {
     private static final int STREAM_BATCH_SIZE = 100;
 
+    private static final int MAX_QUERY_PARAMETERS = 500;
+
+    private static final String ENTRY_ENTITY_NAME = TicketGrantingTicketEntry.class.getSimpleName();
+
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
 
+    /**
+     * Keep services and descendant tickets of ticket-granting tickets
+     * as rows of their own table, rather than inside the ticket-granting ticket row.
+     */
+    @Setter
+    private boolean normalizeTicketGrantingTickets;
+
+    /**
+     * Ids of the entries that are known to be persisted for ticket-granting tickets handed out or added by this registry,
+     * keyed by the ticket-granting ticket instance, so that updates only write the entries that changed
+     * without reading the entries back.
+     */
+    private final Cache<TicketGrantingTicket, Map<EntryType, Set<String>>> persistedEntryIds = Caffeine.newBuilder()
+        .weakKeys()
+        .build();
+
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private transient EntityManager entityManager;
 
@@ -59,6 +97,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (this.normalizeTicketGrantingTickets && ticket instanceof TicketGrantingTicketImpl
+            && updateTicketGrantingTicket((TicketGrantingTicket) ticket)) {
+            LOGGER.debug("Updated ticket-granting ticket [{}] and its entries.", ticket);
+            return ticket;
+        }
         this.entityManager.merge(ticket);
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
@@ -67,11 +110,15 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
+        if (this.normalizeTicketGrantingTickets && ticket instanceof TicketGrantingTicket) {
+            this.persistedEntryIds.put((TicketGrantingTicket) ticket, newEntryIds());
+        }
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
 
     @Override
     public long deleteAll() {
+        entityManager.createQuery(String.format("delete from %s", ENTRY_ENTITY_NAME)).executeUpdate();
         return this.ticketCatalog.findAll().stream()
             .map(JpaTicketRegistry::getTicketEntityName)
             .map(entityName -> entityManager.createQuery(String.format("delete from %s", entityName)))
@@ -88,6 +135,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             query.setParameter("id", ticketId);
             query.setLockMode(this.lockType);
             val result = query.getSingleResult();
+            loadTicketGrantingTicketEntries(List.of(result));
             if (predicate.test(result)) {
                 return result;
             }
@@ -100,7 +148,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll()
+        final List<Ticket> tickets = this.ticketCatalog.findAll()
             .stream()
             .map(t -> {
                 val sql = String.format("select t from %s t", getTicketEntityName(t));
@@ -111,6 +159,8 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .map(TypedQuery::getResultList)
             .flatMap(List::stream)
             .collect(Collectors.toList());
+        loadTicketGrantingTicketEntries(tickets);
+        return tickets;
     }
 
     /**
@@ -118,6 +168,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
      * <p>
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
+     * Entries of ticket-granting tickets are loaded for a batch of tickets at a time.
      *
      * @return tickets
      */
@@ -133,7 +184,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
                 query.setLockOptions(LockOptions.NONE);
                 return query;
             })
-            .flatMap(org.hibernate.query.Query::stream);
+            .flatMap(query -> loadTicketGrantingTicketEntries(query.stream()));
     }
 
     @Override
@@ -175,6 +226,62 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are grouped by their definition and removed with bulk delete statements per entity,
+     * each of which binds at most {@value #MAX_QUERY_PARAMETERS} ticket ids. Definitions that do not cascade are processed first, so that child tickets are gone
+     * before their parent ticket-granting tickets are removed.
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val ticketsByDefinition = ticketIds.stream()
+            .filter(ticketId -> this.ticketCatalog.find(ticketId) != null)
+            .collect(Collectors.groupingBy(this.ticketCatalog::find, LinkedHashMap::new, Collectors.toList()));
+        return ticketsByDefinition.entrySet()
+            .stream()
+            .sorted(Comparator.comparing(entry -> entry.getKey().getProperties().isCascade()))
+            .mapToInt(entry -> {
+                val ids = entry.getValue();
+                if (entry.getKey().getProperties().isCascade()) {
+                    return deleteTicketGrantingTickets(ids);
+                }
+                val sql = String.format("delete from %s o where o.id in :ids", getTicketEntityName(entry.getKey()));
+                return partition(ids).stream()
+                    .mapToInt(partition -> {
+                        val query = entityManager.createQuery(sql);
+                        query.setParameter("ids", partition);
+                        return query.executeUpdate();
+                    })
+                    .sum();
+            })
+            .sum();
+    }
+
+    private int deleteTicketGrantingTickets(final Collection<String> ticketIds) {
+        return partition(ticketIds).stream().mapToInt(this::deleteTicketGrantingTicketsInternal).sum();
+    }
+
+    private int deleteTicketGrantingTicketsInternal(final Collection<String> ticketIds) {
+        val st = this.ticketCatalog.find(ServiceTicket.PREFIX);
+        val tgt = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val tgtEntityName = getTicketEntityName(tgt);
+
+        deleteTicketGrantingTicketEntries(tgtEntityName, ticketIds);
+        val statements = new String[]{
+            String.format("delete from %s s where s.ticketGrantingTicket.id in :ids", getTicketEntityName(st)),
+            String.format("delete from %s s where s.ticketGrantingTicket.id in :ids", tgtEntityName),
+            String.format("delete from %s t where t.id in :ids", tgtEntityName)
+        };
+        var totalCount = 0;
+        for (val sql : statements) {
+            val query = entityManager.createQuery(sql);
+            query.setParameter("ids", ticketIds);
+            totalCount += query.executeUpdate();
+        }
+        return totalCount;
+    }
+
     /**
      * Delete ticket granting tickets int.
      *
@@ -185,6 +292,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         var totalCount = 0;
 
         val st = this.ticketCatalog.find(ServiceTicket.PREFIX);
+        deleteTicketGrantingTicketEntries(getTicketEntityName(this.ticketCatalog.find(TicketGrantingTicket.PREFIX)), List.of(ticketId));
 
         val sql1 = String.format("delete from %s s where s.ticketGrantingTicket.id = :id", getTicketEntityName(st));
         var query = entityManager.createQuery(sql1);
@@ -204,4 +312,209 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
         return totalCount;
     }
+
+    /**
+     * Remove the entries of the ticket-granting tickets, and those of the proxy-granting tickets they have issued.
+     *
+     * @param tgtEntityName the ticket-granting ticket entity name
+     * @param ticketIds     the ticket-granting ticket ids, no more than {@value #MAX_QUERY_PARAMETERS}
+     */
+    private void deleteTicketGrantingTicketEntries(final String tgtEntityName, final Collection<String> ticketIds) {
+        if (!this.normalizeTicketGrantingTickets) {
+            return;
+        }
+        val sql = String.format("delete from %s e where e.ticketGrantingTicketId in "
+            + "(select t.id from %s t where t.id in :ids or t.ticketGrantingTicket.id in :ids)", ENTRY_ENTITY_NAME, tgtEntityName);
+        val query = entityManager.createQuery(sql);
+        query.setParameter("ids", ticketIds);
+        query.executeUpdate();
+    }
+
+    /**
+     * Populate the services and descendant tickets of the ticket-granting tickets tied to the tickets of the stream
+     * from the entries table, a batch of tickets at a time.
+     *
+     * @param tickets the tickets
+     * @return the tickets
+     */
+    private Stream<Ticket> loadTicketGrantingTicketEntries(final Stream<Ticket> tickets) {
+        if (!this.normalizeTicketGrantingTickets) {
+            return tickets;
+        }
+        val iterator = tickets.iterator();
+        final Spliterator<List<Ticket>> batches = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super List<Ticket>> action) {
+                val batch = new ArrayList<Ticket>(STREAM_BATCH_SIZE);
+                while (batch.size() < STREAM_BATCH_SIZE && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                if (batch.isEmpty()) {
+                    return false;
+                }
+                loadTicketGrantingTicketEntries(batch);
+                action.accept(batch);
+                return true;
+            }
+        };
+        return StreamSupport.stream(batches, false).flatMap(List::stream).onClose(tickets::close);
+    }
+
+    /**
+     * Populate the services and descendant tickets of the ticket-granting tickets
+     * the given tickets are tied to, from the entries table, with one query per batch of ticket-granting tickets.
+     * Tickets are detached first, so that the entries are not written back into the ticket-granting ticket row.
+     *
+     * @param tickets the tickets
+     */
+    private void loadTicketGrantingTicketEntries(final Collection<? extends Ticket> tickets) {
+        if (!this.normalizeTicketGrantingTickets || tickets.isEmpty()) {
+            return;
+        }
+        val ticketGrantingTickets = new LinkedHashMap<String, Set<TicketGrantingTicket>>();
+        tickets.forEach(ticket -> {
+            var ticketGrantingTicket = ticket instanceof TicketGrantingTicket
+                ? (TicketGrantingTicket) ticket
+                : ticket.getTicketGrantingTicket();
+            while (ticketGrantingTicket != null) {
+                if (ticketGrantingTickets.computeIfAbsent(ticketGrantingTicket.getId(),
+                    id -> Collections.newSetFromMap(new IdentityHashMap<>())).add(ticketGrantingTicket)) {
+                    entityManager.detach(ticketGrantingTicket);
+                }
+                ticketGrantingTicket = ticketGrantingTicket.getTicketGrantingTicket();
+            }
+        });
+        if (ticketGrantingTickets.isEmpty()) {
+            return;
+        }
+        val entryIds = new HashMap<String, Map<EntryType, Set<String>>>();
+        val sql = String.format("select e from %s e where e.ticketGrantingTicketId in :ids", ENTRY_ENTITY_NAME);
+        partition(ticketGrantingTickets.keySet()).forEach(ids -> {
+            val query = entityManager.createQuery(sql, TicketGrantingTicketEntry.class);
+            query.setParameter("ids", ids);
+            query.getResultList().forEach(entry -> {
+                entryIds.computeIfAbsent(entry.getTicketGrantingTicketId(), id -> newEntryIds()).get(entry.getType()).add(entry.getTicketId());
+                ticketGrantingTickets.get(entry.getTicketGrantingTicketId()).forEach(ticketGrantingTicket -> {
+                    if (entry.getType() == EntryType.SERVICE) {
+                        ticketGrantingTicket.getServices().put(entry.getTicketId(), entry.getService());
+                    } else {
+                        ticketGrantingTicket.getDescendantTickets().add(entry.getTicketId());
+                    }
+                });
+            });
+        });
+        ticketGrantingTickets.forEach((id, instances) -> instances.forEach(ticketGrantingTicket ->
+            this.persistedEntryIds.put(ticketGrantingTicket, copyEntryIds(entryIds.getOrDefault(id, newEntryIds())))));
+    }
+
+    /**
+     * Update the usage meta-data of the ticket-granting ticket row, and synchronize the entries table
+     * with the services and descendant tickets of the ticket-granting ticket by only inserting and deleting the entries that changed.
+     * Services and descendant tickets still serialized into the ticket-granting ticket row are moved to the entries table.
+     * The expiration flag is not exposed by tickets, so the row records whether the ticket is considered expired at this point.
+     *
+     * @param ticket the ticket-granting ticket
+     * @return true if the ticket-granting ticket exists and was updated
+     */
+    private boolean updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        val state = (TicketGrantingTicketImpl) ticket;
+        val sql = String.format("update %s t set t.lastTimeUsed = :lastTimeUsed, t.previousTimeUsed = :previousTimeUsed, "
+                + "t.countOfUses = :countOfUses, t.expired = :expired, t.expirationPolicy = :expirationPolicy, "
+                + "t.proxyGrantingTickets = :proxyGrantingTickets, t.services = :services, t.descendantTickets = :descendantTickets "
+                + "where t.id = :id",
+            getTicketEntityName(this.ticketCatalog.find(ticket)));
+        val query = entityManager.createQuery(sql);
+        query.setParameter("lastTimeUsed", state.getLastTimeUsed());
+        query.setParameter("previousTimeUsed", state.getPreviousTimeUsed());
+        query.setParameter("countOfUses", state.getCountOfUses());
+        query.setParameter("expired", ticket.isExpired());
+        query.setParameter("expirationPolicy", state.getExpirationPolicy());
+        query.setParameter("proxyGrantingTickets", new HashMap<>(ticket.getProxyGrantingTickets()));
+        query.setParameter("services", new HashMap<>(0));
+        query.setParameter("descendantTickets", new HashSet<>(0));
+        query.setParameter("id", ticket.getId());
+        if (query.executeUpdate() == 0) {
+            return false;
+        }
+
+        val knownEntries = this.persistedEntryIds.getIfPresent(ticket);
+        val persistedEntries = knownEntries == null ? getTicketGrantingTicketEntryIds(ticket.getId()) : knownEntries;
+        val services = ticket.getServices();
+        val descendantTickets = ticket.getDescendantTickets();
+
+        services.entrySet()
+            .stream()
+            .filter(entry -> !persistedEntries.get(EntryType.SERVICE).contains(entry.getKey()))
+            .forEach(entry -> entityManager.persist(new TicketGrantingTicketEntry(ticket.getId(), EntryType.SERVICE, entry.getKey(), entry.getValue())));
+        descendantTickets
+            .stream()
+            .filter(id -> !persistedEntries.get(EntryType.DESCENDANT_TICKET).contains(id))
+            .forEach(id -> entityManager.persist(new TicketGrantingTicketEntry(ticket.getId(), EntryType.DESCENDANT_TICKET, id, null)));
+
+        deleteTicketGrantingTicketEntries(ticket.getId(), EntryType.SERVICE, persistedEntries.get(EntryType.SERVICE), services.keySet());
+        deleteTicketGrantingTicketEntries(ticket.getId(), EntryType.DESCENDANT_TICKET,
+            persistedEntries.get(EntryType.DESCENDANT_TICKET), descendantTickets);
+
+        val entryIds = newEntryIds();
+        entryIds.get(EntryType.SERVICE).addAll(services.keySet());
+        entryIds.get(EntryType.DESCENDANT_TICKET).addAll(descendantTickets);
+        this.persistedEntryIds.put(ticket, entryIds);
+        return true;
+    }
+
+    private Map<EntryType, Set<String>> getTicketGrantingTicketEntryIds(final String ticketGrantingTicketId) {
+        val sql = String.format("select e.type, e.ticketId from %s e where e.ticketGrantingTicketId = :id", ENTRY_ENTITY_NAME);
+        val query = entityManager.createQuery(sql, Object[].class);
+        query.setParameter("id", ticketGrantingTicketId);
+        val entries = newEntryIds();
+        query.getResultList().forEach(row -> entries.get((EntryType) row[0]).add((String) row[1]));
+        return entries;
+    }
+
+    private static Map<EntryType, Set<String>> newEntryIds() {
+        val entries = new HashMap<EntryType, Set<String>>();
+        entries.put(EntryType.SERVICE, new HashSet<>());
+        entries.put(EntryType.DESCENDANT_TICKET, new HashSet<>());
+        return entries;
+    }
+
+    private static Map<EntryType, Set<String>> copyEntryIds(final Map<EntryType, Set<String>> entryIds) {
+        val entries = newEntryIds();
+        entryIds.forEach((type, ids) -> entries.get(type).addAll(ids));
+        return entries;
+    }
+
+    /**
+     * Split the values into lists that are small enough to be bound to a single {@code in} clause.
+     *
+     * @param values the values
+     * @return the lists of values
+     */
+    private static List<List<String>> partition(final Collection<String> values) {
+        val all = new ArrayList<String>(values);
+        val partitions = new ArrayList<List<String>>((all.size() + MAX_QUERY_PARAMETERS - 1) / MAX_QUERY_PARAMETERS);
+        for (var i = 0; i < all.size(); i += MAX_QUERY_PARAMETERS) {
+            partitions.add(all.subList(i, Math.min(all.size(), i + MAX_QUERY_PARAMETERS)));
+        }
+        return partitions;
+    }
+
+    private void deleteTicketGrantingTicketEntries(final String ticketGrantingTicketId, final EntryType type,
+                                                   final Set<String> persistedIds, final Collection<String> currentIds) {
+        val removedIds = persistedIds.stream()
+            .filter(id -> !currentIds.contains(id))
+            .collect(Collectors.toList());
+        if (removedIds.isEmpty()) {
+            return;
+        }
+        val sql = String.format("delete from %s e where e.ticketGrantingTicketId = :id and e.type = :type and e.ticketId in :ids",
+            ENTRY_ENTITY_NAME);
+        partition(removedIds).forEach(ids -> {
+            val query = entityManager.createQuery(sql);
+            query.setParameter("id", ticketGrantingTicketId);
+            query.setParameter("type", type);
+            query.setParameter("ids", ids);
+            query.executeUpdate();
+        });
+    }
 }
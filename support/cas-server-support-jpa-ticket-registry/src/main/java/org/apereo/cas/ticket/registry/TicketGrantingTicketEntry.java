@@ -0,0 +1,92 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketGrantingTicketEntry}, recording a service that is granted access to,
+ * or a descendant ticket that is tied to, a ticket-granting ticket. Entries are stored
+ * in their own table when the JPA ticket registry normalizes ticket-granting tickets, so that
+ * issuing a service ticket adds a row rather than rewriting the state of the ticket-granting ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Entity
+@Table(name = "TICKETGRANTINGTICKET_ENTRIES",
+    indexes = @Index(name = "IDX_TGT_ENTRIES_TGT_ID", columnList = "TICKET_GRANTING_TICKET_ID"),
+    uniqueConstraints = @UniqueConstraint(columnNames = {"TICKET_GRANTING_TICKET_ID", "ENTRY_TYPE", "TICKET_ID"}))
+@Getter
+@NoArgsConstructor
+public class TicketGrantingTicketEntry implements Serializable {
+
+    private static final long serialVersionUID = 3841930722961542012L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "ID")
+    private long id = -1;
+
+    /**
+     * The ticket-granting ticket this entry belongs to.
+     */
+    @Column(name = "TICKET_GRANTING_TICKET_ID", nullable = false)
+    private String ticketGrantingTicketId;
+
+    /**
+     * What the entry records.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ENTRY_TYPE", nullable = false, length = 32)
+    private EntryType type;
+
+    /**
+     * The service ticket id or the descendant ticket id.
+     */
+    @Column(name = "TICKET_ID", nullable = false)
+    private String ticketId;
+
+    /**
+     * The service granted access to, if any.
+     */
+    @Lob
+    @Column(name = "SERVICE", length = Integer.MAX_VALUE)
+    private Service service;
+
+    public TicketGrantingTicketEntry(final String ticketGrantingTicketId, final EntryType type,
+                                     final String ticketId, final Service service) {
+        this.ticketGrantingTicketId = ticketGrantingTicketId;
+        this.type = type;
+        this.ticketId = ticketId;
+        this.service = service;
+    }
+
+    /**
+     * Types of entries tracked for ticket-granting tickets.
+     */
+    public enum EntryType {
+        /**
+         * A service the ticket-granting ticket has granted access to, keyed by the service ticket id.
+         */
+        SERVICE,
+        /**
+         * A ticket tied to the ticket-granting ticket.
+         */
+        DESCENDANT_TICKET
+    }
+}
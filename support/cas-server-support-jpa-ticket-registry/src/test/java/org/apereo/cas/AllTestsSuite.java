@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import org.apereo.cas.monitor.SessionHealthIndicatorJpaTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryCleanerTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryNormalizedTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategyTests;
 
@@ -18,6 +19,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
     SessionHealthIndicatorJpaTests.class,
     JpaTicketRegistryTests.class,
+    JpaTicketRegistryNormalizedTests.class,
     JpaLockingStrategyTests.class,
     JpaTicketRegistryCleanerTests.class
 })
@@ -0,0 +1,123 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.ServiceTicketIdGenerator;
+import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link JpaTicketRegistry} that keeps services and descendant tickets
+ * of ticket-granting tickets in their own table.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@TestPropertySource(properties = {
+    "cas.ticket.registry.jpa.normalizeTicketGrantingTickets=true",
+    "cas.ticket.registry.jpa.url=jdbc:hsqldb:mem:cas-ticket-registry-normalized"
+})
+public class JpaTicketRegistryNormalizedTests extends JpaTicketRegistryTests {
+
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private EntityManager entityManager;
+
+    public JpaTicketRegistryNormalizedTests(final boolean useEncryption) {
+        super(useEncryption);
+    }
+
+    @Test
+    public void verifyEntriesAreStoredSeparately() {
+        val ticketRegistry = getNewTicketRegistry();
+        val ticketGrantingTicketId = new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY).getNewTicketId(TicketGrantingTicket.PREFIX);
+        val serviceTicketIdGenerator = new ServiceTicketIdGenerator(10, StringUtils.EMPTY);
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+
+        val tgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val service = RegisteredServiceTestUtils.getService("NORMALIZED_TEST");
+        ticketRegistry.addTicket(tgt.grantServiceTicket(serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+            service, new NeverExpiresExpirationPolicy(), false, false));
+        ticketRegistry.addTicket(tgt.grantServiceTicket(serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+            service, new NeverExpiresExpirationPolicy(), false, false));
+        tgt.getDescendantTickets().add("AT-1-normalized");
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(3, countEntries(ticketGrantingTicketId));
+
+        val storedTgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        assertEquals(tgt.getServices().keySet(), storedTgt.getServices().keySet());
+        assertTrue(storedTgt.getDescendantTickets().contains("AT-1-normalized"));
+        assertEquals(tgt.getCountOfUses(), storedTgt.getCountOfUses());
+
+        storedTgt.removeAllServices();
+        ticketRegistry.updateTicket(storedTgt);
+        assertEquals(1, countEntries(ticketGrantingTicketId));
+        assertTrue(ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().isEmpty());
+
+        ticketRegistry.deleteTicket(ticketGrantingTicketId);
+        assertEquals(0, countEntries(ticketGrantingTicketId));
+    }
+
+    @Test
+    public void verifyEntriesAreLoadedForAllTickets() {
+        val ticketRegistry = getNewTicketRegistry();
+        val ticketGrantingTicketIdGenerator = new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY);
+        val serviceTicketIdGenerator = new ServiceTicketIdGenerator(10, StringUtils.EMPTY);
+        val service = RegisteredServiceTestUtils.getService("NORMALIZED_TEST");
+        val ticketGrantingTicketIds = new HashSet<String>();
+        for (var i = 0; i < 3; i++) {
+            val ticketGrantingTicketId = ticketGrantingTicketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+            ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+            val tgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+            ticketRegistry.addTicket(tgt.grantServiceTicket(serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                service, new NeverExpiresExpirationPolicy(), false, false));
+            ticketRegistry.updateTicket(tgt);
+            ticketRegistry.addTicket(tgt.grantServiceTicket(serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+                service, new NeverExpiresExpirationPolicy(), false, false));
+            ticketRegistry.updateTicket(tgt);
+            assertEquals(2, countEntries(ticketGrantingTicketId));
+            ticketGrantingTicketIds.add(ticketGrantingTicketId);
+        }
+
+        val tickets = ticketRegistry.getTickets();
+        assertEquals(9, tickets.size());
+        tickets.stream()
+            .filter(ServiceTicket.class::isInstance)
+            .map(Ticket::getTicketGrantingTicket)
+            .forEach(tgt -> assertEquals(2, tgt.getServices().size()));
+        try (val stream = ticketRegistry.getTicketsStream()) {
+            val ticketGrantingTickets = stream
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .collect(Collectors.toList());
+            assertEquals(3, ticketGrantingTickets.size());
+            ticketGrantingTickets.forEach(tgt -> {
+                assertTrue(ticketGrantingTicketIds.contains(tgt.getId()));
+                assertEquals(2, tgt.getServices().size());
+            });
+        }
+    }
+
+    private long countEntries(final String ticketGrantingTicketId) {
+        val query = entityManager.createQuery("select count(e) from TicketGrantingTicketEntry e where e.ticketGrantingTicketId = :id");
+        query.setParameter("id", ticketGrantingTicketId);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+}
@@ -3,6 +3,9 @@ package org.apereo.cas.memcached;
 import org.apereo.cas.configuration.model.support.memcached.BaseMemcachedProperties;
 import org.apereo.cas.memcached.kryo.CasKryoPool;
 import org.apereo.cas.memcached.kryo.CasKryoTranscoder;
+import org.apereo.cas.memcached.kryo.KryoTicketSerializationCodec;
+import org.apereo.cas.ticket.registry.JdkTicketSerializationCodec;
+import org.apereo.cas.ticket.registry.TicketSerializationCodec;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -72,4 +75,27 @@ public class MemcachedUtils {
                 return kryo;
         }
     }
+
+    /**
+     * New ticket serialization codec.
+     *
+     * @param codec                   the codec type
+     * @param memcachedProperties     the memcached properties
+     * @param kryoSerializableClasses the kryo serializable classes
+     * @return the ticket serialization codec
+     */
+    public static TicketSerializationCodec newTicketSerializationCodec(final String codec,
+                                                                       final BaseMemcachedProperties memcachedProperties,
+                                                                       final Collection<Class> kryoSerializableClasses) {
+        if ("kryo".equalsIgnoreCase(StringUtils.trimToEmpty(codec))) {
+            val kryoPool = new CasKryoPool(kryoSerializableClasses, true,
+                memcachedProperties.isKryoRegistrationRequired(),
+                memcachedProperties.isKryoObjectsByReference(),
+                memcachedProperties.isKryoAutoReset());
+            LOGGER.debug("Creating ticket serialization codec [{}]", KryoTicketSerializationCodec.class.getName());
+            return new KryoTicketSerializationCodec(kryoPool);
+        }
+        LOGGER.debug("Creating ticket serialization codec [{}]", JdkTicketSerializationCodec.class.getName());
+        return new JdkTicketSerializationCodec();
+    }
 }
@@ -0,0 +1,46 @@
+package org.apereo.cas.memcached.kryo;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.TicketSerializationCodec;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * This is {@link KryoTicketSerializationCodec} that serializes tickets into
+ * a compact binary form using the class registrations of the {@link CasKryoPool}.
+ * Since registrations determine the wire format, all nodes that share the same ticket
+ * registry must be configured with the same set of classes, in the same order.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiredArgsConstructor
+public class KryoTicketSerializationCodec implements TicketSerializationCodec {
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final CasKryoPool kryoPool;
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        try (val kryo = this.kryoPool.borrow();
+             val output = new Output(INITIAL_BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, ticket);
+            return output.toBytes();
+        }
+    }
+
+    @Override
+    public Ticket decode(final byte[] bytes) {
+        try (val kryo = this.kryoPool.borrow();
+             val input = new Input(bytes)) {
+            val result = kryo.readClassAndObject(input);
+            if (result != null && !Ticket.class.isInstance(result)) {
+                throw new ClassCastException("Decoded object is of type " + result.getClass() + " when we were expecting " + Ticket.class);
+            }
+            return (Ticket) result;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.memcached;
 
 import org.apereo.cas.memcached.kryo.CasKryoTranscoderTests;
+import org.apereo.cas.memcached.kryo.KryoTicketSerializationCodecTests;
 import org.apereo.cas.memcached.kryo.ZonedDateTimeSerializerTests;
 
 import org.junit.runner.RunWith;
@@ -15,6 +16,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     CasKryoTranscoderTests.class,
+    KryoTicketSerializationCodecTests.class,
     ZonedDateTimeSerializerTests.class
 })
 public class MemcachedCoreTestsSuite {
@@ -0,0 +1,54 @@
+package org.apereo.cas.memcached.kryo;
+
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.registry.JdkTicketSerializationCodec;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketSerializationCodecTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class KryoTicketSerializationCodecTests {
+    private static final String ST_ID = "ST-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK";
+
+    private static final String USERNAME = "casuser";
+
+    private final KryoTicketSerializationCodec codec;
+
+    public KryoTicketSerializationCodecTests() {
+        val classesToRegister = new ArrayList<Class>();
+        classesToRegister.add(MockServiceTicket.class);
+        classesToRegister.add(MockTicketGrantingTicket.class);
+        this.codec = new KryoTicketSerializationCodec(new CasKryoPool(classesToRegister));
+    }
+
+    @Test
+    public void verifyEncodeDecodeTickets() {
+        val tgt = new MockTicketGrantingTicket(USERNAME);
+        tgt.grantServiceTicket(ST_ID, null, null, false, true);
+        assertEquals(tgt, codec.decode(codec.encode(tgt)));
+
+        val st = new MockServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(), tgt);
+        val result = codec.encode(st);
+        assertEquals(st, codec.decode(result));
+        assertEquals(st, codec.decode(result));
+    }
+
+    @Test
+    public void verifyEncodingIsSmallerThanJdkSerialization() {
+        val tgt = new MockTicketGrantingTicket(USERNAME);
+        tgt.grantServiceTicket(ST_ID, null, null, false, true);
+        val jdk = new JdkTicketSerializationCodec().encode(tgt);
+        assertTrue(codec.encode(tgt).length < jdk.length);
+    }
+}
@@ -61,6 +61,8 @@ public class MemcachedTicketRegistryConfiguration {
         val registry = new MemcachedTicketRegistry(factory.getObjectPool());
         val cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
         registry.setCipherExecutor(cipherExecutor);
+        registry.setTicketSerializationCodec(MemcachedUtils.newTicketSerializationCodec(memcached.getSerializationCodec(),
+            memcached, componentSerializationPlan.getIfAvailable().getRegisteredClasses()));
         return registry;
     }
 
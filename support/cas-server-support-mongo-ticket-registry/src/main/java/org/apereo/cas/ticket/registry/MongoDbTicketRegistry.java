@@ -2,14 +2,17 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.client.ListIndexesIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -17,18 +20,22 @@ import org.bson.Document;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.StreamUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -72,6 +79,16 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl));
     }
 
+    private static String getPrincipalId(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return authentication.getPrincipal().getId();
+            }
+        }
+        return null;
+    }
+
     private static String serializeTicketForMongoDocument(final Ticket ticket) {
         try {
             return BaseTicketSerializers.serializeTicket(ticket);
@@ -94,7 +111,13 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val collection = mongoTemplate.getCollection(collectionName);
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
-        mongoTemplate.indexOps(collectionName).ensureIndex(index);
+        val indexOps = mongoTemplate.indexOps(collectionName);
+        indexOps.ensureIndex(index);
+
+        LOGGER.trace("Creating indices on collection [{}] to look up documents by ticket id, principal and parent ticket...", collectionName);
+        indexOps.ensureIndex(new Index().on(TicketHolder.FIELD_NAME_ID, Sort.Direction.ASC));
+        indexOps.ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse());
+        indexOps.ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PARENT_TICKET_ID, Sort.Direction.ASC).sparse());
         return collection;
     }
 
@@ -147,7 +170,11 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                .set(TicketHolder.FIELD_NAME_TYPE, holder.getType())
+                .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt())
+                .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal())
+                .set(TicketHolder.FIELD_NAME_PARENT_TICKET_ID, holder.getParentTicketId());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -214,12 +241,24 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Documents are read from each collection via a cursor, one batch at a time,
+     * which is released once the stream is consumed or closed.
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .map(map -> mongoTemplate.findAll(TicketHolder.class, map))
-            .flatMap(List::stream)
-            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
-            .collect(Collectors.toSet());
+            .flatMap(collectionName -> StreamUtils.createStreamFromIterator(
+                mongoTemplate.stream(new Query(), TicketHolder.class, collectionName)))
+            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)));
     }
 
     @Override
@@ -239,6 +278,50 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are removed from each collection in a single bulk write, which also removes
+     * documents issued by any of the given ticket-granting tickets that are no longer tracked by their parent,
+     * such as service tickets that are dropped when only the most recent session is tracked.
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val ticketsByDefinition = ticketIds.stream()
+            .filter(ticketId -> this.ticketCatalog.find(ticketId) != null)
+            .collect(Collectors.groupingBy(this.ticketCatalog::find, LinkedHashMap::new, Collectors.toList()));
+        val parentTicketIds = ticketsByDefinition.entrySet()
+            .stream()
+            .filter(entry -> TicketGrantingTicket.class.isAssignableFrom(entry.getKey().getImplementationClass()))
+            .flatMap(entry -> entry.getValue().stream())
+            .map(this::encodeTicketId)
+            .collect(Collectors.toList());
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> ticketsByDefinition.containsKey(definition) || !parentTicketIds.isEmpty())
+            .mapToInt(definition -> {
+                val ids = ticketsByDefinition.getOrDefault(definition, new ArrayList<>(0));
+                try {
+                    val collectionName = getTicketCollectionInstanceByMetadata(definition);
+                    val operations = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+                    if (!ids.isEmpty()) {
+                        val encodedIds = ids.stream().map(this::encodeTicketId).collect(Collectors.toList());
+                        operations.remove(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).in(encodedIds)));
+                    }
+                    if (!parentTicketIds.isEmpty()) {
+                        operations.remove(new Query(Criteria.where(TicketHolder.FIELD_NAME_PARENT_TICKET_ID).in(parentTicketIds)));
+                    }
+                    val res = operations.execute();
+                    LOGGER.debug("Deleted tickets [{}] from [{}] with result [{}]", ids, collectionName, res);
+                    return res.getDeletedCount();
+                } catch (final Exception e) {
+                    LOGGER.error("Failed deleting [{}]: [{}]", ids, e);
+                }
+                return 0;
+            })
+            .sum();
+    }
+
     @Override
     public long deleteAll() {
         val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).exists(true));
@@ -253,13 +336,59 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    @Override
+    public long sessionCount() {
+        return countTicketsByPrefix(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsByPrefix(ServiceTicket.PREFIX);
+    }
+
+    /**
+     * Count the ticket-granting tickets that are issued to the given principal.
+     *
+     * @param principalId the principal id
+     * @return the number of sessions, or {@link Long#MIN_VALUE} if unknown.
+     */
+    public long countSessionsFor(final String principalId) {
+        val collectionName = getTicketCollectionNameByPrefix(TicketGrantingTicket.PREFIX);
+        if (collectionName == null) {
+            return Long.MIN_VALUE;
+        }
+        val filter = Filters.eq(TicketHolder.FIELD_NAME_PRINCIPAL, encodeTicketId(principalId));
+        return this.mongoTemplate.getCollection(collectionName).countDocuments(filter);
+    }
+
+    private long countTicketsByPrefix(final String prefix) {
+        val collectionName = getTicketCollectionNameByPrefix(prefix);
+        if (collectionName == null) {
+            return Long.MIN_VALUE;
+        }
+        return this.mongoTemplate.getCollection(collectionName).estimatedDocumentCount();
+    }
+
+    private String getTicketCollectionNameByPrefix(final String prefix) {
+        val metadata = this.ticketCatalog.find(prefix);
+        if (metadata == null) {
+            LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", prefix);
+            return null;
+        }
+        return getTicketCollectionInstanceByMetadata(metadata);
+    }
+
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val principal = getPrincipalId(ticket);
+            val parent = ticket.getTicketGrantingTicket();
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt,
+                principal == null ? null : encodeTicketId(principal),
+                parent == null ? null : encodeTicketId(parent.getId()));
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
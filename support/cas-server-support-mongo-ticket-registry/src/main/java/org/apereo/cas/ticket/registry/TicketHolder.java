@@ -38,6 +38,21 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold ticket type.
+     */
+    public static final String FIELD_NAME_TYPE = "type";
+
+    /**
+     * Field name to hold the id of the principal linked to the ticket.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold the id of the ticket-granting ticket the ticket is issued by.
+     */
+    public static final String FIELD_NAME_PARENT_TICKET_ID = "parentTicketId";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     @JsonProperty
@@ -50,4 +65,10 @@ public class TicketHolder implements Serializable {
     private final String type;
 
     private final Date expireAt;
+
+    @JsonProperty
+    private final String principal;
+
+    @JsonProperty
+    private final String parentTicketId;
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
@@ -21,10 +22,16 @@ import org.apereo.cas.config.MongoDbTicketRegistryConfiguration;
 import org.apereo.cas.config.MongoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
 
+import lombok.val;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -36,10 +43,13 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link MongoDbTicketRegistryTests}.
  *
@@ -108,4 +118,38 @@ public class MongoDbTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifySessionCountForPrincipal() {
+        val registry = (MongoDbTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-3", CoreAuthenticationTestUtils.getAuthentication("other"),
+            new NeverExpiresExpirationPolicy()));
+        assertEquals(2, registry.countSessionsFor("casuser"));
+        assertEquals(1, registry.countSessionsFor("other"));
+        assertEquals(0, registry.countSessionsFor("unknown"));
+    }
+
+    @Test
+    public void verifyDeleteTicketGrantingTicketRemovesUntrackedServiceTickets() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        val st1 = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st1);
+        val st2 = tgt.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st2);
+        ticketRegistry.updateTicket(tgt);
+        assertFalse(tgt.getServices().containsKey(st1.getId()));
+
+        ticketRegistry.deleteTicket(tgt.getId());
+        assertNull(ticketRegistry.getTicket(tgt.getId()));
+        assertNull(ticketRegistry.getTicket(st1.getId(), ServiceTicket.class));
+        assertNull(ticketRegistry.getTicket(st2.getId(), ServiceTicket.class));
+    }
 }
@@ -51,6 +51,11 @@ import static org.apereo.cas.support.oauth.OAuth20Constants.BASE_OAUTH20_URL;
 @Slf4j
 @UtilityClass
 public class OAuth20Utils {
+    /**
+     * Name of the services manager index that holds OAuth services by client id.
+     */
+    public static final String SERVICE_INDEX_CLIENT_ID = "oauthClientId";
+
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
     /**
@@ -86,6 +91,9 @@ public class OAuth20Utils {
      * @return null, or the located {@link OAuthRegisteredService} instance in the service registry.
      */
     public static OAuthRegisteredService getRegisteredOAuthServiceByClientId(final ServicesManager servicesManager, final String clientId) {
+        if (servicesManager.isIndexedBy(SERVICE_INDEX_CLIENT_ID)) {
+            return servicesManager.findServiceByKey(SERVICE_INDEX_CLIENT_ID, clientId, OAuthRegisteredService.class);
+        }
         return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equals(clientId));
     }
 
@@ -14,6 +14,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.DenyAllAttributeReleasePolicy;
 import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceKeyExtractor;
 import org.apereo.cas.services.ServiceRegistryExecutionPlan;
 import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
 import org.apereo.cas.services.ServicesManager;
@@ -28,6 +29,7 @@ import org.apereo.cas.support.oauth.profile.DefaultOAuth20UserProfileDataCreator
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.profile.OAuth20UserProfileDataCreator;
 import org.apereo.cas.support.oauth.services.OAuth20ServiceRegistry;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.support.oauth.validator.authorization.OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidator;
 import org.apereo.cas.support.oauth.validator.authorization.OAuth20AuthorizationRequestValidator;
@@ -181,6 +183,12 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
         return new OAuth20DefaultCasClientRedirectActionBuilder();
     }
 
+    @ConditionalOnMissingBean(name = "oauthClientIdRegisteredServiceKeyExtractor")
+    @Bean
+    public RegisteredServiceKeyExtractor oauthClientIdRegisteredServiceKeyExtractor() {
+        return RegisteredServiceKeyExtractor.of(OAuth20Utils.SERVICE_INDEX_CLIENT_ID, OAuthRegisteredService.class, OAuthRegisteredService::getClientId);
+    }
+
     @Bean
     public UrlResolver casCallbackUrlResolver() {
         return new OAuth20CasCallbackUrlResolver(OAuth20Utils.casOAuthCallbackUrl(casProperties.getServer().getPrefix()));
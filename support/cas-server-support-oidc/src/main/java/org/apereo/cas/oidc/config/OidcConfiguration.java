@@ -13,6 +13,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.oidc.OidcConstants;
 import org.apereo.cas.oidc.claims.BaseOidcScopeAttributeReleasePolicy;
@@ -24,6 +25,7 @@ import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactory;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeySetCache;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilter;
@@ -450,7 +452,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             webApplicationServiceFactory.getIfAvailable(),
             profileScopeToAttributesFilter(),
             casProperties,
-            ticketGrantingTicketCookieGenerator.getIfAvailable());
+            ticketGrantingTicketCookieGenerator.getIfAvailable(),
+            oidcJsonWebKeySetCache());
     }
 
     @Autowired
@@ -575,12 +578,19 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
 
     @Bean
     public OidcDefaultJsonWebKeystoreCacheLoader oidcDefaultJsonWebKeystoreCacheLoader() {
-        return new OidcDefaultJsonWebKeystoreCacheLoader(casProperties.getAuthn().getOidc().getJwksFile());
+        return new OidcDefaultJsonWebKeystoreCacheLoader(oidcJsonWebKeySetCache());
     }
 
     @Bean
     public CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCacheLoader() {
-        return new OidcServiceJsonWebKeystoreCacheLoader(resourceLoader);
+        return new OidcServiceJsonWebKeystoreCacheLoader(oidcJsonWebKeySetCache());
+    }
+
+    @Bean
+    public OidcJsonWebKeySetCache oidcJsonWebKeySetCache() {
+        val oidc = casProperties.getAuthn().getOidc();
+        return new OidcJsonWebKeySetCache(oidc.getJwksFile(), resourceLoader, servicesManager.getIfAvailable(),
+            TimeUnit.MINUTES.toMillis(oidc.getJwksCacheInMinutes()), Beans.newDuration(oidc.getJwksRefreshInterval()).toMillis());
     }
 
     @Bean
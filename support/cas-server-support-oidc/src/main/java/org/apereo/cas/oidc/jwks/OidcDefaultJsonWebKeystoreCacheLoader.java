@@ -4,18 +4,15 @@ import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
-import org.springframework.core.io.Resource;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
  * This is {@link OidcDefaultJsonWebKeystoreCacheLoader}.
- * Only attempts to cache the default CAS keystore.
+ * Only attempts to cache the default CAS keystore, as read by the {@link OidcJsonWebKeySetCache}.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -23,7 +20,7 @@ import java.util.Optional;
 @Slf4j
 @RequiredArgsConstructor
 public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String, Optional<RsaJsonWebKey>> {
-    private final Resource jwksFile;
+    private final OidcJsonWebKeySetCache jsonWebKeySetCache;
 
     private static RsaJsonWebKey getJsonSigningWebKeyFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
@@ -46,12 +43,6 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
         return key;
     }
 
-    private static JsonWebKeySet buildJsonWebKeySet(final Resource resource) throws Exception {
-        val json = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
-        LOGGER.debug("Retrieved JSON web key from [{}] as [{}]", resource, json);
-        return buildJsonWebKeySet(json);
-    }
-
     /**
      * Build json web key set.
      *
@@ -59,10 +50,10 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
      */
     private Optional<JsonWebKeySet> buildJsonWebKeySet() {
         try {
-            LOGGER.debug("Loading default JSON web key from [{}]", this.jwksFile);
-            if (this.jwksFile != null) {
-                LOGGER.debug("Retrieving default JSON web key from [{}]", this.jwksFile);
-                val jsonWebKeySet = buildJsonWebKeySet(this.jwksFile);
+            LOGGER.debug("Loading default JSON web key");
+            val cachedJsonWebKeySet = this.jsonWebKeySetCache.getJsonWebKeySet();
+            if (cachedJsonWebKeySet.isPresent()) {
+                val jsonWebKeySet = buildJsonWebKeySet(cachedJsonWebKeySet.get());
 
                 if (jsonWebKeySet == null || jsonWebKeySet.getJsonWebKeys().isEmpty()) {
                     LOGGER.warn("No JSON web keys could be found");
@@ -91,8 +82,7 @@ public class OidcDefaultJsonWebKeystoreCacheLoader implements CacheLoader<String
         return Optional.empty();
     }
 
-    private static JsonWebKeySet buildJsonWebKeySet(final String json) throws Exception {
-        val jsonWebKeySet = new JsonWebKeySet(json);
+    private static JsonWebKeySet buildJsonWebKeySet(final JsonWebKeySet jsonWebKeySet) {
         val webKey = getJsonSigningWebKeyFromJwks(jsonWebKeySet);
         if (webKey == null || webKey.getPrivateKey() == null) {
             LOGGER.warn("JSON web key retrieved [{}] is not found or has no associated private key", webKey);
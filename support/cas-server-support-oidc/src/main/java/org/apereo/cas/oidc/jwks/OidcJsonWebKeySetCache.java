@@ -0,0 +1,229 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link OidcJsonWebKeySetCache} that keeps the JSON web key sets read from the CAS keystore
+ * and from the keystores of OIDC services, along with the public JWKS document built from them.
+ * Keystores are read again once they are older than the maximum age, or sooner for keystores on the file system
+ * whose last-modified time changes; the public document is built again when a keystore it was built from is read again,
+ * or when registered services are saved, deleted or loaded. Keystores and the public document are checked for changes
+ * at most once per refresh interval, so requests in between are served from the cache without touching the file system.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OidcJsonWebKeySetCache {
+    private final Resource jwksFile;
+
+    private final ResourceLoader resourceLoader;
+
+    private final ServicesManager servicesManager;
+
+    private final long maxAgeMillis;
+
+    private final long refreshIntervalMillis;
+
+    private final Map<String, CachedJsonWebKeySet> keySets = new ConcurrentHashMap<>();
+
+    private volatile JwksDocument document;
+
+    private volatile long documentCheckedAt;
+
+    /**
+     * Gets the JSON web key set of the CAS keystore.
+     *
+     * @return the JSON web key set
+     */
+    public Optional<JsonWebKeySet> getJsonWebKeySet() {
+        return getJsonWebKeySet(this.jwksFile);
+    }
+
+    /**
+     * Gets the JSON web key set of the keystore of the OIDC service.
+     *
+     * @param service the service
+     * @return the JSON web key set
+     */
+    public Optional<JsonWebKeySet> getJsonWebKeySet(final OidcRegisteredService service) {
+        if (StringUtils.isBlank(service.getJwks())) {
+            return Optional.empty();
+        }
+        return getJsonWebKeySet(this.resourceLoader.getResource(service.getJwks()));
+    }
+
+    /**
+     * Gets the JSON web key set read from the resource.
+     * The key set must not be modified, since it is shared by all callers.
+     *
+     * @param resource the resource
+     * @return the JSON web key set
+     */
+    public Optional<JsonWebKeySet> getJsonWebKeySet(final Resource resource) {
+        if (resource == null) {
+            return Optional.empty();
+        }
+        val key = resource.getDescription();
+        val now = System.currentTimeMillis();
+        val checked = this.keySets.get(key);
+        if (checked != null && now - checked.getCheckedAt() < this.refreshIntervalMillis) {
+            return Optional.ofNullable(checked.getJsonWebKeySet());
+        }
+        val lastModified = getLastModified(resource);
+        val cached = this.keySets.compute(key, (k, current) -> {
+            if (current != null && current.getLastModified() == lastModified && now - current.getLoadedAt() < this.maxAgeMillis) {
+                return new CachedJsonWebKeySet(current.getJsonWebKeySet(), lastModified, current.getLoadedAt(), now);
+            }
+            LOGGER.debug("Reading JSON web key set from [{}]", resource);
+            return new CachedJsonWebKeySet(readJsonWebKeySet(resource), lastModified, now, now);
+        });
+        return Optional.ofNullable(cached.getJsonWebKeySet());
+    }
+
+    /**
+     * Gets the public JWKS document, which holds the public keys of the CAS keystore and of the keystores of OIDC services.
+     * The document is built again if any of its keystores is read again, or if it was invalidated.
+     * Its keystores are checked at most once per refresh interval.
+     *
+     * @return the document
+     */
+    public JwksDocument getPublicDocument() {
+        val current = this.document;
+        if (current != null && System.currentTimeMillis() - this.documentCheckedAt < this.refreshIntervalMillis) {
+            return current;
+        }
+        synchronized (this) {
+            val now = System.currentTimeMillis();
+            if (this.document != null && now - this.documentCheckedAt < this.refreshIntervalMillis) {
+                return this.document;
+            }
+            if (this.document == null || !isCurrent(this.document)) {
+                this.document = buildPublicDocument();
+            }
+            this.documentCheckedAt = now;
+            return this.document;
+        }
+    }
+
+    /**
+     * Discard the public JWKS document so it is built again from the registered services when next requested.
+     */
+    @EventListener({CasRegisteredServiceSavedEvent.class, CasRegisteredServiceDeletedEvent.class,
+        CasRegisteredServicesLoadedEvent.class, CasRegisteredServicesDeletedEvent.class})
+    public void invalidate() {
+        LOGGER.trace("Discarding the public JWKS document");
+        this.document = null;
+    }
+
+    private boolean isCurrent(final JwksDocument document) {
+        return document.getKeySets()
+            .stream()
+            .allMatch(pair -> getJsonWebKeySet(pair.getKey()).orElse(null) == pair.getValue());
+    }
+
+    private JwksDocument buildPublicDocument() {
+        val resources = new ArrayList<Resource>();
+        if (this.jwksFile != null) {
+            resources.add(this.jwksFile);
+        }
+        this.servicesManager.getAllServices()
+            .stream()
+            .filter(OidcRegisteredService.class::isInstance)
+            .map(OidcRegisteredService.class::cast)
+            .filter(s -> StringUtils.isNotBlank(s.getJwks()))
+            .map(s -> this.resourceLoader.getResource(s.getJwks()))
+            .forEach(resources::add);
+
+        val sources = new ArrayList<Pair<Resource, JsonWebKeySet>>(resources.size());
+        val jsonWebKeySet = new JsonWebKeySet();
+        resources.forEach(resource -> {
+            val set = getJsonWebKeySet(resource).orElse(null);
+            sources.add(Pair.of(resource, set));
+            if (set != null) {
+                set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+            }
+        });
+        val json = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        val etag = '"' + DigestUtils.sha256(json) + '"';
+        LOGGER.debug("Built the public JWKS document with [{}] key(s) from [{}] keystore(s)", jsonWebKeySet.getJsonWebKeys().size(), sources.size());
+        return new JwksDocument(json, etag, sources);
+    }
+
+    private static long getLastModified(final Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : -1;
+        } catch (final Exception e) {
+            LOGGER.trace("Unable to determine when [{}] was last modified: [{}]", resource, e.getMessage());
+            return -1;
+        }
+    }
+
+    private static JsonWebKeySet readJsonWebKeySet(final Resource resource) {
+        try (val input = resource.getInputStream()) {
+            val json = IOUtils.toString(input, StandardCharsets.UTF_8);
+            LOGGER.debug("Retrieved JSON web key from [{}] as [{}]", resource, json);
+            return new JsonWebKeySet(json);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to read JSON web key set from [{}]: [{}]", resource, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * A JSON web key set, along with the last-modified time of its resource, the time it was read,
+     * and the time its resource was last checked for changes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedJsonWebKeySet {
+        private final JsonWebKeySet jsonWebKeySet;
+
+        private final long lastModified;
+
+        private final long loadedAt;
+
+        private final long checkedAt;
+    }
+
+    /**
+     * The public JWKS document, its entity tag, and the key sets it was built from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class JwksDocument {
+        private final String json;
+
+        private final String etag;
+
+        private final List<Pair<Resource, JsonWebKeySet>> keySets;
+    }
+}
@@ -6,18 +6,15 @@ import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
  * This is {@link OidcServiceJsonWebKeystoreCacheLoader}.
+ * Keystores of services are read by the {@link OidcJsonWebKeySetCache}.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -26,7 +23,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> {
 
-    private final ResourceLoader resourceLoader;
+    private final OidcJsonWebKeySetCache jsonWebKeySetCache;
 
     private static RsaJsonWebKey getJsonWebKeyFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
@@ -49,15 +46,7 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
         return key;
     }
 
-    private static JsonWebKeySet buildJsonWebKeySet(final Resource resource) throws Exception {
-        LOGGER.debug("Loading JSON web key from [{}]", resource);
-        val json = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
-        LOGGER.debug("Retrieved JSON web key from [{}] as [{}]", resource, json);
-        return buildJsonWebKeySet(json);
-    }
-
-    private static JsonWebKeySet buildJsonWebKeySet(final String json) throws Exception {
-        val jsonWebKeySet = new JsonWebKeySet(json);
+    private static JsonWebKeySet buildJsonWebKeySet(final JsonWebKeySet jsonWebKeySet) {
         val webKey = getJsonWebKeyFromJwks(jsonWebKeySet);
         if (webKey == null || webKey.getPublicKey() == null) {
             LOGGER.warn("JSON web key retrieved [{}] is not found or has no associated public key", webKey);
@@ -69,8 +58,9 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
     private Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcRegisteredService service) {
         try {
             LOGGER.debug("Loading JSON web key from [{}]", service.getJwks());
-            val resource = this.resourceLoader.getResource(service.getJwks());
-            val jsonWebKeySet = buildJsonWebKeySet(resource);
+            val jsonWebKeySet = this.jsonWebKeySetCache.getJsonWebKeySet(service)
+                .map(OidcServiceJsonWebKeystoreCacheLoader::buildJsonWebKeySet)
+                .orElse(null);
 
             if (jsonWebKeySet == null || jsonWebKeySet.getJsonWebKeys().isEmpty()) {
                 LOGGER.warn("No JSON web keys could be found for [{}]", service);
@@ -2,12 +2,14 @@ package org.apereo.cas;
 
 import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactoryTests;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoaderTests;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeySetCacheTests;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorServiceTests;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilterTests;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorServiceTests;
 import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionServiceTests;
 import org.apereo.cas.oidc.util.OidcAuthorizationRequestSupportTests;
+import org.apereo.cas.oidc.web.controllers.OidcJwksEndpointControllerTests;
 import org.apereo.cas.oidc.web.controllers.OidcWellKnownEndpointControllerTests;
 import org.apereo.cas.oidc.web.flow.OidcAuthenticationContextWebflowEventResolverTests;
 import org.apereo.cas.oidc.web.flow.OidcRegisteredServiceUIActionTests;
@@ -24,6 +26,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     OidcWellKnownEndpointControllerTests.class,
+    OidcJwksEndpointControllerTests.class,
     OidcIdTokenGeneratorServiceTests.class,
     OidcIdTokenSigningAndEncryptionServiceTests.class,
     OidcJsonWebKeystoreGeneratorServiceTests.class,
@@ -33,6 +36,7 @@ import org.junit.runners.Suite;
     OidcServerDiscoverySettingsFactoryTests.class,
     OidcRegisteredServiceUIActionTests.class,
     OidcServiceJsonWebKeystoreCacheLoaderTests.class,
+    OidcJsonWebKeySetCacheTests.class,
     OidcAuthorizationRequestSupportTests.class
 })
 public class OidcTestsSuite {
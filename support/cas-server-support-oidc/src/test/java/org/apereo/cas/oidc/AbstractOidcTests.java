@@ -29,6 +29,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.oidc.config.OidcConfiguration;
 import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettings;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeySetCache;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.apereo.cas.services.ServicesManager;
@@ -145,6 +146,10 @@ public abstract class AbstractOidcTests {
     @Qualifier("oidcJsonWebKeystoreGeneratorService")
     protected OidcJsonWebKeystoreGeneratorService oidcJsonWebKeystoreGeneratorService;
 
+    @Autowired
+    @Qualifier("oidcJsonWebKeySetCache")
+    protected OidcJsonWebKeySetCache oidcJsonWebKeySetCache;
+
     @Autowired
     @Qualifier("oidcRegisteredServiceUIAction")
     protected Action oidcRegisteredServiceUIAction;
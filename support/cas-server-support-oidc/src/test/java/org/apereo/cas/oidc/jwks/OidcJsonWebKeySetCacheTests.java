@@ -0,0 +1,68 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.oidc.AbstractOidcTests;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJsonWebKeySetCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OidcJsonWebKeySetCacheTests extends AbstractOidcTests {
+    @Test
+    public void verifyKeySetIsShared() {
+        val keySet = oidcJsonWebKeySetCache.getJsonWebKeySet();
+        assertTrue(keySet.isPresent());
+        assertSame(keySet.get(), oidcJsonWebKeySetCache.getJsonWebKeySet().get());
+        assertTrue(oidcJsonWebKeySetCache.getJsonWebKeySet(getOidcRegisteredService()).isPresent());
+    }
+
+    @Test
+    public void verifyPublicDocumentIsCached() {
+        val document = oidcJsonWebKeySetCache.getPublicDocument();
+        assertNotNull(document.getEtag());
+        assertFalse(document.getJson().contains("\"d\""));
+        assertSame(document, oidcJsonWebKeySetCache.getPublicDocument());
+
+        oidcJsonWebKeySetCache.invalidate();
+        val rebuilt = oidcJsonWebKeySetCache.getPublicDocument();
+        assertNotSame(document, rebuilt);
+        assertEquals(document.getEtag(), rebuilt.getEtag());
+    }
+
+    @Test
+    public void verifyKeystoreIsCheckedOncePerRefreshInterval() throws Exception {
+        val file = File.createTempFile("keystore", ".jwks");
+        file.deleteOnExit();
+        try (val input = new ClassPathResource("keystore.jwks").getInputStream()) {
+            FileUtils.copyInputStreamToFile(input, file);
+        }
+        val resource = new FileSystemResource(file);
+        val maxAge = TimeUnit.HOURS.toMillis(1);
+
+        val cache = new OidcJsonWebKeySetCache(resource, new DefaultResourceLoader(), servicesManager, maxAge, maxAge);
+        val keySet = cache.getJsonWebKeySet().get();
+        val document = cache.getPublicDocument();
+        assertTrue(file.setLastModified(file.lastModified() - TimeUnit.MINUTES.toMillis(1)));
+        assertSame(keySet, cache.getJsonWebKeySet().get());
+        assertSame(document, cache.getPublicDocument());
+
+        val uncached = new OidcJsonWebKeySetCache(resource, new DefaultResourceLoader(), servicesManager, maxAge, 0);
+        val current = uncached.getJsonWebKeySet().get();
+        assertSame(current, uncached.getJsonWebKeySet().get());
+        assertTrue(file.setLastModified(file.lastModified() - TimeUnit.MINUTES.toMillis(1)));
+        assertNotSame(current, uncached.getJsonWebKeySet().get());
+    }
+}
@@ -0,0 +1,57 @@
+package org.apereo.cas.oidc.web.controllers;
+
+import org.apereo.cas.oidc.AbstractOidcTests;
+import org.apereo.cas.oidc.OidcConstants;
+import org.apereo.cas.oidc.web.controllers.jwks.OidcJwksEndpointController;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * This is {@link OidcJwksEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OidcJwksEndpointControllerTests extends AbstractOidcTests {
+    private static final String JWKS_URL = '/' + OidcConstants.BASE_OIDC_URL + '/' + OidcConstants.JWKS_URL;
+
+    @Autowired
+    @Qualifier("oidcJwksController")
+    protected OidcJwksEndpointController oidcJwksController;
+
+    @Test
+    public void verifyDocumentIsServedWithEntityTag() throws Exception {
+        val mockMvc = MockMvcBuilders.standaloneSetup(oidcJwksController).build();
+        val etag = oidcJsonWebKeySetCache.getPublicDocument().getEtag();
+
+        val response = mockMvc.perform(get(JWKS_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andReturn()
+            .getResponse();
+        val cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        assertTrue(cacheControl.contains("max-age=3600"));
+        assertTrue(cacheControl.contains("public"));
+        assertFalse(response.getContentAsString().contains("\"d\""));
+
+        val notModified = mockMvc.perform(get(JWKS_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andReturn()
+            .getResponse();
+        assertTrue(notModified.getContentAsString().isEmpty());
+
+        mockMvc.perform(get(JWKS_URL).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+}
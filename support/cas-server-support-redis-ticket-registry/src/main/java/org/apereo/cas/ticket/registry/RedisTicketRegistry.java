@@ -1,20 +1,44 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import com.google.common.collect.AbstractIterator;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Tickets are also counted per ticket type in sorted sets, keyed on the ticket prefix, whose members
+ * are the ticket ids scored by the time the ticket key expires. Counts are taken from the sorted sets,
+ * ignoring members that are past due; sets are only reconciled with the ticket keys by the registry cleaner.
  *
  * @author serv
  * @since 5.1.0
@@ -24,6 +48,10 @@ import java.util.stream.Collectors;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_TICKET_COUNT_PREFIX = "CAS_TICKET_COUNT:";
+
+    private static final int SCAN_COUNT = 1000;
+
     private final RedisTemplate<String, Ticket> client;
 
     /**
@@ -48,12 +76,48 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getTicketCountRedisKey(final String prefix) {
+        return CAS_TICKET_COUNT_PREFIX + prefix;
+    }
+
+    private static String getPatternTicketCountRedisKey() {
+        return CAS_TICKET_COUNT_PREFIX + '*';
+    }
+
+    @SneakyThrows
+    private static List<byte[]> scanKeys(final RedisConnection connection, final String pattern) {
+        val keys = new ArrayList<byte[]>();
+        try (val cursor = connection.scan(ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    @SneakyThrows
+    private static void closeCursor(final Cursor<String> cursor) {
+        if (!cursor.isClosed()) {
+            cursor.close();
+        }
+    }
+
     @Override
     public long deleteAll() {
-        val redisKeys = this.client.keys(getPatternTicketRedisKey());
-        val size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
+        try (val redisKeys = streamTicketRedisKeys()) {
+            val deleted = redisKeys
+                .mapToLong(keys -> {
+                    val count = this.client.delete(keys);
+                    return count == null ? 0 : count;
+                })
+                .sum();
+            this.client.execute((RedisCallback<Object>) connection -> {
+                val countKeys = scanKeys(connection, getPatternTicketCountRedisKey());
+                if (!countKeys.isEmpty()) {
+                    connection.del(countKeys.toArray(new byte[0][]));
+                }
+                return null;
+            });
+            return deleted;
+        }
     }
 
     @Override
@@ -61,6 +125,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         try {
             val redisKey = getTicketRedisKey(ticketId);
             this.client.delete(redisKey);
+            uncountTickets(Collections.singletonList(ticketId));
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -68,6 +133,21 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return false;
     }
 
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        try {
+            val redisKeys = ticketIds.stream()
+                .map(RedisTicketRegistry::getTicketRedisKey)
+                .collect(Collectors.toList());
+            val count = this.client.delete(redisKeys);
+            uncountTickets(ticketIds);
+            return count == null ? 0 : count.intValue();
+        } catch (final Exception e) {
+            LOGGER.error("Failed deleting tickets [{}]", ticketIds, e);
+        }
+        return 0;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         try {
@@ -76,6 +156,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             val encodeTicket = encodeTicket(ticket);
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            countTicket(ticket.getId(), timeout);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
@@ -103,18 +184,38 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.client.keys(getPatternTicketRedisKey()).stream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Stream tickets by walking the ticket keys with a {@code SCAN} cursor,
+     * fetching values for each batch of keys with a single {@code MGET}.
+     * Tickets are decoded as the stream is consumed, and the cursor is released
+     * once the stream is exhausted or closed.
+     *
+     * @return the tickets stream
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return streamTicketRedisKeys()
+            .flatMap(keys -> {
+                val tickets = this.client.opsForValue().multiGet(keys);
+                return tickets == null ? Stream.empty() : tickets.stream();
             })
             .filter(Objects::nonNull)
-            .map(this::decodeTicket)
-            .collect(Collectors.toSet());
+            .map(this::decodeTicket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsByPrefix(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsByPrefix(ServiceTicket.PREFIX);
     }
 
     @Override
@@ -127,10 +228,127 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            countTicket(ticket.getId(), timeout);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
         }
         return null;
     }
+
+    /**
+     * Stream batches of ticket keys, as found by a {@code SCAN} cursor,
+     * rather than loading all keys at once via a blocking {@code KEYS} command.
+     */
+    private Stream<List<String>> streamTicketRedisKeys() {
+        val options = ScanOptions.scanOptions().match(getPatternTicketRedisKey()).count(SCAN_COUNT).build();
+        val cursor = this.client.executeWithStickyConnection((RedisCallback<Cursor<String>>) connection ->
+            new ConvertingCursor<>(connection.scan(options), key -> this.client.getStringSerializer().deserialize(key)));
+        final Iterator<List<String>> batches = new AbstractIterator<List<String>>() {
+            @Override
+            protected List<String> computeNext() {
+                val keys = new ArrayList<String>(SCAN_COUNT);
+                while (keys.size() < SCAN_COUNT && cursor.hasNext()) {
+                    keys.add(cursor.next());
+                }
+                if (keys.isEmpty()) {
+                    closeCursor(cursor);
+                    return endOfData();
+                }
+                return keys;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> closeCursor(cursor));
+    }
+
+    /**
+     * Reconcile the ticket counts with the ticket keys that are actually present, walking the keys with a {@code SCAN} cursor.
+     * Members that are past due, or whose ticket key is gone, are removed, and tickets that are not counted are added
+     * with the remaining time to live of their key. Changes that happen concurrently with the reconciliation
+     * may be off until the next one.
+     */
+    @Override
+    public void reconcileTicketCounters() {
+        LOGGER.trace("Reconciling ticket counts with the ticket keys of the registry");
+        val actual = new HashMap<String, Set<String>>();
+        try (val redisKeys = streamTicketRedisKeys()) {
+            redisKeys.flatMap(List::stream)
+                .map(key -> StringUtils.removeStart(key, CAS_TICKET_PREFIX))
+                .forEach(ticketId -> actual.computeIfAbsent(TicketRegistryCounters.getTicketPrefix(ticketId), k -> new HashSet<>()).add(ticketId));
+        }
+        this.client.execute((RedisCallback<Object>) connection -> {
+            val prefixes = new HashSet<String>(actual.keySet());
+            scanKeys(connection, getPatternTicketCountRedisKey())
+                .forEach(key -> prefixes.add(StringUtils.removeStart(deserialize(key), CAS_TICKET_COUNT_PREFIX)));
+            prefixes.forEach(prefix -> {
+                val now = System.currentTimeMillis();
+                val countKey = serialize(getTicketCountRedisKey(prefix));
+                connection.zRemRangeByScore(countKey, Double.NEGATIVE_INFINITY, now);
+                val ticketIds = actual.getOrDefault(prefix, new HashSet<>(0));
+                val counted = new HashSet<String>();
+                val members = connection.zRange(countKey, 0, -1);
+                if (members != null) {
+                    members.stream().map(this::deserialize).forEach(counted::add);
+                }
+                val stale = counted.stream()
+                    .filter(ticketId -> !ticketIds.contains(ticketId))
+                    .map(this::serialize)
+                    .toArray(byte[][]::new);
+                if (stale.length > 0) {
+                    connection.zRem(countKey, stale);
+                }
+                ticketIds.stream()
+                    .filter(ticketId -> !counted.contains(ticketId))
+                    .forEach(ticketId -> {
+                        val ttl = connection.pTtl(serialize(getTicketRedisKey(ticketId)));
+                        if (ttl != null && ttl > 0) {
+                            connection.zAdd(countKey, now + (double) ttl, serialize(ticketId));
+                        }
+                    });
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Count the ticket in the sorted set of its ticket type, until its key expires.
+     */
+    private void countTicket(final String ticketId, final long timeoutInSeconds) {
+        val expiresAt = System.currentTimeMillis() + (double) TimeUnit.SECONDS.toMillis(timeoutInSeconds);
+        val countKey = serialize(getTicketCountRedisKey(TicketRegistryCounters.getTicketPrefix(ticketId)));
+        this.client.execute((RedisCallback<Boolean>) connection -> connection.zAdd(countKey, expiresAt, serialize(ticketId)));
+    }
+
+    /**
+     * Remove the tickets from the sorted sets of their ticket types.
+     */
+    private void uncountTickets(final Collection<String> ticketIds) {
+        val membersByKey = ticketIds.stream()
+            .collect(Collectors.groupingBy(ticketId -> getTicketCountRedisKey(TicketRegistryCounters.getTicketPrefix(ticketId))));
+        this.client.execute((RedisCallback<Object>) connection -> {
+            membersByKey.forEach((key, members) ->
+                connection.zRem(serialize(key), members.stream().map(this::serialize).toArray(byte[][]::new)));
+            return null;
+        });
+    }
+
+    /**
+     * Count tickets by prefix on the server side, as the members of the sorted set
+     * of the ticket type whose keys have not yet expired.
+     */
+    private long countTicketsByPrefix(final String prefix) {
+        val countKey = serialize(getTicketCountRedisKey(prefix));
+        val count = this.client.execute((RedisCallback<Long>) connection ->
+            connection.zCount(countKey, System.currentTimeMillis(), Double.POSITIVE_INFINITY));
+        return count == null ? Long.MIN_VALUE : count;
+    }
+
+    private byte[] serialize(final String value) {
+        return this.client.getStringSerializer().serialize(value);
+    }
+
+    private String deserialize(final byte[] value) {
+        return this.client.getStringSerializer().deserialize(value);
+    }
 }
@@ -1,14 +1,20 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.RedisCategory;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -18,13 +24,17 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
 
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -56,6 +66,10 @@ public class RedisEmbeddedTicketRegistryTests extends BaseSpringRunnableTicketRe
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
     public RedisEmbeddedTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -81,4 +95,20 @@ public class RedisEmbeddedTicketRegistryTests extends BaseSpringRunnableTicketRe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketCountsAreReconciledWithKeys() {
+        val ticketId = "TGT-count";
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketId,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+
+        ticketRedisTemplate.delete("CAS_TICKET:" + ticketId);
+        assertEquals(1, ticketRegistry.sessionCount());
+
+        val registry = (AbstractTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        registry.reconcileTicketCounters();
+        assertEquals(0, ticketRegistry.sessionCount());
+    }
 }
@@ -0,0 +1,139 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.category.RedisCategory;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.RedisTicketRegistryConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import redis.embedded.RedisServer;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RedisTicketRegistryRoundTripTests} that verifies bulk operations
+ * of the {@link RedisTicketRegistry} walk the keyspace incrementally and fetch tickets in batches.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(SpringRunner.class)
+@Category(RedisCategory.class)
+@SpringBootTest(classes = {
+    RedisTicketRegistryConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreWebConfiguration.class,
+    AopAutoConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.redis.host=localhost",
+    "cas.ticket.registry.redis.port=6377",
+    "cas.ticket.registry.redis.pool.max-active=20"
+})
+public class RedisTicketRegistryRoundTripTests {
+    private static final int TICKET_COUNT = 2500;
+
+    private static final int BATCH_COUNT = 3;
+
+    private static final long TIME_TO_LIVE = 3600;
+
+    private static RedisServer REDIS_SERVER;
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
+    @BeforeClass
+    public static void startRedis() throws Exception {
+        REDIS_SERVER = new RedisServer(6377);
+        REDIS_SERVER.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        REDIS_SERVER.stop();
+    }
+
+    @Before
+    public void initialize() {
+        ticketRegistry.deleteAll();
+        val idGenerator = new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY);
+        IntStream.range(0, TICKET_COUNT).forEach(i -> ticketRegistry.addTicket(
+            new TicketGrantingTicketImpl(idGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+                CoreAuthenticationTestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(TIME_TO_LIVE))));
+        resetCommandStatistics();
+    }
+
+    @Test
+    public void verifyTicketsAreFetchedInBatches() {
+        assertEquals(TICKET_COUNT, ticketRegistry.getTickets().size());
+        assertEquals(0, getCommandCalls("keys"));
+        assertEquals(0, getCommandCalls("get"));
+        assertEquals(BATCH_COUNT, getCommandCalls("mget"));
+        assertTrue(getCommandCalls("scan") >= BATCH_COUNT);
+    }
+
+    @Test
+    public void verifyTicketsStreamIsLazy() {
+        try (val tickets = ticketRegistry.getTicketsStream()) {
+            assertEquals(1, tickets.limit(1).count());
+        }
+        assertEquals(1, getCommandCalls("mget"));
+    }
+
+    @Test
+    public void verifyDeleteAllInBatches() {
+        assertEquals(TICKET_COUNT, ticketRegistry.deleteAll());
+        assertEquals(0, getCommandCalls("keys"));
+        assertEquals(BATCH_COUNT, getCommandCalls("del"));
+        assertEquals(0, ticketRegistry.sessionCount());
+    }
+
+    private void resetCommandStatistics() {
+        ticketRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.resetConfigStats();
+            return null;
+        });
+    }
+
+    private long getCommandCalls(final String command) {
+        val stats = ticketRedisTemplate.execute((RedisCallback<String>) connection ->
+            connection.info("commandstats").getProperty("cmdstat_" + command));
+        if (stats == null) {
+            return 0;
+        }
+        return Long.parseLong(StringUtils.substringBetween(stats, "calls=", ","));
+    }
+}
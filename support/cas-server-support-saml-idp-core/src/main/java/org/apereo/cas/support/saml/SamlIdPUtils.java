@@ -1,5 +1,6 @@
 package org.apereo.cas.support.saml;
 
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
@@ -34,6 +35,10 @@ import org.opensaml.saml.saml2.metadata.Endpoint;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.impl.AssertionConsumerServiceBuilder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -46,6 +51,61 @@ import java.util.stream.Collectors;
 @Slf4j
 @UtilityClass
 public class SamlIdPUtils {
+    /**
+     * Name of the services manager index that holds SAML services by entity id.
+     */
+    public static final String SERVICE_INDEX_ENTITY_ID = "samlEntityId";
+
+    /**
+     * Key under which services whose service id is a pattern are indexed by entity id.
+     * The key cannot collide with a literal entity id, since it is made of regular expression characters.
+     */
+    public static final String SERVICE_INDEX_ENTITY_ID_PATTERN_KEY = "*";
+
+    private static final String REGEX_META_CHARACTERS = "\\^$|?*+()[]{}";
+
+    /**
+     * Gets the key under which the SAML service is indexed by entity id.
+     * Services whose service id is a literal entity id are indexed by that entity id; the dot is allowed,
+     * since it is found in most entity ids and matches itself. Keys are lower-cased,
+     * as service ids are matched without regard to case. All other services are indexed together
+     * under {@link #SERVICE_INDEX_ENTITY_ID_PATTERN_KEY}, so they can be matched without scanning every service.
+     *
+     * @param service the service
+     * @return the key
+     */
+    public static String getEntityIdServiceIndexKey(final SamlRegisteredService service) {
+        val serviceId = service.getServiceId();
+        if (StringUtils.isBlank(serviceId) || StringUtils.containsAny(serviceId, REGEX_META_CHARACTERS)) {
+            return SERVICE_INDEX_ENTITY_ID_PATTERN_KEY;
+        }
+        return serviceId.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Locate the SAML service registered for the entity id. Services registered with the literal entity id
+     * are found via the services manager index, if any, and others are matched by their service id.
+     * The indexed service is only used if no service with a pattern that matches the entity id comes before it
+     * in evaluation order.
+     *
+     * @param servicesManager the services manager
+     * @param entityId        the entity id
+     * @return the registered service, or null
+     */
+    public static SamlRegisteredService getRegisteredServiceByEntityId(final ServicesManager servicesManager, final String entityId) {
+        if (StringUtils.isNotBlank(entityId) && servicesManager.isIndexedBy(SERVICE_INDEX_ENTITY_ID)) {
+            val service = servicesManager.findServiceByKey(SERVICE_INDEX_ENTITY_ID,
+                entityId.toLowerCase(Locale.ENGLISH), SamlRegisteredService.class);
+            if (service != null) {
+                return servicesManager.findServicesByKey(SERVICE_INDEX_ENTITY_ID, SERVICE_INDEX_ENTITY_ID_PATTERN_KEY, SamlRegisteredService.class)
+                    .stream()
+                    .filter(s -> s.compareTo(service) < 0 && s.matches(entityId))
+                    .findFirst()
+                    .orElse(service);
+            }
+        }
+        return servicesManager.findServiceBy(entityId, SamlRegisteredService.class);
+    }
 
     /**
      * Prepare peer entity saml endpoint.
@@ -143,17 +203,23 @@ public class SamlIdPUtils {
                                                                          final String entityID,
                                                                          final SamlRegisteredServiceCachingMetadataResolver resolver) {
 
-        val registeredServices = servicesManager.findServiceBy(SamlRegisteredService.class::isInstance);
         val chainingMetadataResolver = new ChainingMetadataResolver();
 
-        val resolvers = registeredServices.stream()
-            .filter(SamlRegisteredService.class::isInstance)
-            .map(SamlRegisteredService.class::cast)
-            .map(s -> SamlRegisteredServiceServiceProviderMetadataFacade.get(resolver, s, entityID))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .map(SamlRegisteredServiceServiceProviderMetadataFacade::getMetadataResolver)
-            .collect(Collectors.toList());
+        var resolvers = new ArrayList<MetadataResolver>(0);
+        if (StringUtils.isNotBlank(entityID) && servicesManager.isIndexedBy(SERVICE_INDEX_ENTITY_ID)) {
+            val candidates = new ArrayList<RegisteredService>(servicesManager.findServicesByKey(SERVICE_INDEX_ENTITY_ID,
+                entityID.toLowerCase(Locale.ENGLISH), SamlRegisteredService.class));
+            if (!candidates.isEmpty()) {
+                candidates.addAll(servicesManager.findServicesByKey(SERVICE_INDEX_ENTITY_ID,
+                    SERVICE_INDEX_ENTITY_ID_PATTERN_KEY, SamlRegisteredService.class));
+                Collections.sort(candidates);
+            }
+            resolvers = getMetadataResolvers(candidates, entityID, resolver);
+        }
+        if (resolvers.isEmpty()) {
+            val registeredServices = servicesManager.findServiceBy(SamlRegisteredService.class::isInstance);
+            resolvers = getMetadataResolvers(registeredServices, entityID, resolver);
+        }
 
         LOGGER.debug("Located [{}] metadata resolvers to match against [{}]", resolvers, entityID);
 
@@ -163,6 +229,19 @@ public class SamlIdPUtils {
         return chainingMetadataResolver;
     }
 
+    private static ArrayList<MetadataResolver> getMetadataResolvers(final Collection<? extends RegisteredService> registeredServices,
+                                                                    final String entityID,
+                                                                    final SamlRegisteredServiceCachingMetadataResolver resolver) {
+        return registeredServices.stream()
+            .filter(SamlRegisteredService.class::isInstance)
+            .map(SamlRegisteredService.class::cast)
+            .map(s -> SamlRegisteredServiceServiceProviderMetadataFacade.get(resolver, s, entityID))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .map(SamlRegisteredServiceServiceProviderMetadataFacade::getMetadataResolver)
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
     /**
      * Gets assertion consumer service for.
      *
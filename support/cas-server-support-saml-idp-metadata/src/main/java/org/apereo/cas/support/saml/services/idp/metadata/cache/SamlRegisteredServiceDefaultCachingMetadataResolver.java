@@ -8,10 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * Cached metadata may be refreshed in the background once it is older than the refresh interval,
+ * in which case the current resolver continues to be served until the refreshed one is ready.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -26,11 +30,21 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, 0, loader);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final long metadataCacheRefreshMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
         this.chainingMetadataResolverCacheLoader = loader;
-        this.cache = Caffeine.newBuilder()
+        val builder = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes));
+        if (metadataCacheRefreshMinutes > 0) {
+            LOGGER.debug("Cached SAML metadata will be refreshed in the background every [{}] minute(s)", metadataCacheRefreshMinutes);
+            builder.refreshAfterWrite(metadataCacheRefreshMinutes, TimeUnit.MINUTES);
+        }
+        this.cache = builder.build(this.chainingMetadataResolverCacheLoader);
     }
 
     @Override
@@ -53,8 +53,8 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        LOGGER.trace("Cache expiration duration after updates is set to [{}]", currentDuration);
-        return currentDuration;
+        LOGGER.trace("Cache expiration duration is recalculated for metadata refreshed for [{}]", cacheKey.getRegisteredService().getName());
+        return expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
     }
 
     @Override
@@ -9,15 +9,20 @@ import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.CanWriteFileFilter;
+import org.apache.commons.io.filefilter.NameFileFilter;
+import org.apache.commons.io.filefilter.NotFileFilter;
 import org.apache.commons.io.filefilter.PrefixFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
@@ -27,33 +32,48 @@ import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
+ * Metadata is streamed to a backup file rather than held in memory while it downloads.
+ * Subsequent downloads are conditional on the validators of the previous one, and the
+ * resolver built from the previous download is reused while the metadata is not modified.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
 public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
+    private static final int MAX_CACHE_SIZE = 10_000;
+
     private final File metadataBackupDirectory;
 
+    private final Cache<String, DownloadedMetadata> downloadedMetadata;
+
     @SneakyThrows
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
         super(samlIdPProperties, configBean);
 
         val md = samlIdPProperties.getMetadata();
+        this.downloadedMetadata = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .expireAfterAccess(Math.max(md.getCacheExpirationMinutes(), 1), TimeUnit.MINUTES)
+            .build();
         this.metadataBackupDirectory = new File(md.getLocation().getFile(), "metadata-backups");
         try {
             FileUtils.forceMkdir(this.metadataBackupDirectory);
@@ -72,18 +92,24 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
             val metadataResource = new UrlResource(metadataLocation);
 
-            val backupFile = getMetadataBackupFile(metadataResource, service);
-            val canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            response = fetchMetadata(metadataLocation);
-            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
+            val cacheKey = getDownloadedMetadataCacheKey(metadataLocation, service);
+            val downloaded = this.downloadedMetadata.getIfPresent(cacheKey);
+            response = fetchMetadata(metadataLocation, getConditionalRequestHeaders(downloaded));
             if (response != null) {
                 val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+                if (status == HttpStatus.NOT_MODIFIED && downloaded != null) {
+                    LOGGER.debug("Metadata at [{}] is not modified; reusing the metadata resolver built from the previous download", metadataLocation);
+                    return CollectionUtils.wrap(downloaded.getMetadataResolver());
+                }
                 if (shouldHttpResponseStatusBeProcessed(status)) {
+                    val backupFile = getMetadataBackupFile(metadataResource, service);
+                    LOGGER.debug("Metadata backup file will be at [{}]", backupFile.getCanonicalPath());
+                    FileUtils.forceMkdirParent(backupFile);
                     val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
                     configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                    cleanUpExpiredBackupMetadataFilesFor(metadataResource, service, backupFile);
+                    this.downloadedMetadata.put(cacheKey, new DownloadedMetadata(getResponseHeader(response, HttpHeaders.ETAG),
+                        getResponseHeader(response, HttpHeaders.LAST_MODIFIED), metadataProvider));
                     return CollectionUtils.wrap(metadataProvider);
                 }
             }
@@ -114,23 +140,54 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @throws Exception the exception
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
-        try (val output = Files.newBufferedWriter(backupFile.toPath(), StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        val downloadFile = new File(backupFile.getParentFile(), backupFile.getName() + ".download");
+        try (val input = response.getEntity().getContent()) {
+            Files.copy(input, downloadFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(downloadFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (val input = new BufferedInputStream(Files.newInputStream(backupFile.toPath()))) {
+            return new InMemoryResourceMetadataResolver(input, configBean);
         }
-        return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
 
     /**
      * Fetch metadata http response.
      *
      * @param metadataLocation the metadata location
+     * @param headers          the request headers
      * @return the http response
      */
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
         LOGGER.debug("Fetching metadata from [{}]", metadataLocation);
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>(), headers);
+    }
+
+    /**
+     * Gets the headers that make the request for metadata conditional on it having changed since the previous download.
+     *
+     * @param downloaded the previous download, if any
+     * @return the headers
+     */
+    protected Map<String, Object> getConditionalRequestHeaders(final DownloadedMetadata downloaded) {
+        val headers = new LinkedHashMap<String, Object>();
+        if (downloaded != null) {
+            if (StringUtils.isNotBlank(downloaded.getEtag())) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, downloaded.getEtag());
+            }
+            if (StringUtils.isNotBlank(downloaded.getLastModified())) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, downloaded.getLastModified());
+            }
+        }
+        return headers;
+    }
+
+    private static String getResponseHeader(final HttpResponse response, final String name) {
+        val header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    private static String getDownloadedMetadataCacheKey(final String metadataLocation, final SamlRegisteredService service) {
+        return service.getId() + "@" + metadataLocation;
     }
 
     /**
@@ -143,11 +200,13 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return service.getMetadataLocation();
     }
 
-    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service) {
+    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service,
+                                                      final File currentBackupFile) {
         val prefix = getBackupMetadataFilenamePrefix(metadataResource, service);
         val backups = FileUtils.listFiles(this.metadataBackupDirectory,
             new AndFileFilter(CollectionUtils.wrapList(new PrefixFileFilter(prefix, IOCase.INSENSITIVE),
                 new SuffixFileFilter(".xml", IOCase.INSENSITIVE),
+                new NotFileFilter(new NameFileFilter(currentBackupFile.getName())),
                 CanWriteFileFilter.CAN_WRITE, CanReadFileFilter.CAN_READ)), TrueFileFilter.INSTANCE);
         backups.forEach(file -> {
             try {
@@ -216,4 +275,17 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }
         return false;
     }
+
+    /**
+     * The validators returned with a metadata download, along with the resolver built from it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class DownloadedMetadata {
+        private final String etag;
+
+        private final String lastModified;
+
+        private final AbstractMetadataResolver metadataResolver;
+    }
 }
@@ -4,14 +4,27 @@ import org.apereo.cas.category.FileSystemCategory;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.MockWebServer;
 
+import lombok.SneakyThrows;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import static org.junit.Assert.*;
 
 /**
@@ -49,4 +62,55 @@ public class UrlResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
         val results = resolver.resolve(service);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    @SneakyThrows
+    public void verifyResolverReusesUnmodifiedMetadata() {
+        val metadata = IOUtils.toByteArray(new ClassPathResource("sample-sp.xml").getInputStream());
+        val requests = new AtomicInteger();
+        val conditionalRequests = new AtomicInteger();
+        final Function<Socket, Object> handler = socket -> {
+            try {
+                requests.incrementAndGet();
+                val reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                var conditional = false;
+                var line = reader.readLine();
+                while (StringUtils.isNotEmpty(line)) {
+                    conditional |= StringUtils.startsWithIgnoreCase(line, HttpHeaders.IF_NONE_MATCH + ": \"v1\"");
+                    line = reader.readLine();
+                }
+                val out = socket.getOutputStream();
+                if (conditional) {
+                    conditionalRequests.incrementAndGet();
+                    out.write("HTTP/1.1 304 Not Modified\r\nETag: \"v1\"\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(("HTTP/1.1 200 OK\r\nETag: \"v1\"\r\nContent-Type: application/xml\r\nContent-Length: "
+                        + metadata.length + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                    out.write(metadata);
+                }
+                out.flush();
+                return conditional;
+            } catch (final Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+        };
+        try (val webServer = new MockWebServer(8079, handler)) {
+            webServer.start();
+            val props = new SamlIdPProperties();
+            props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+            val resolver = new UrlResourceMetadataResolver(props, openSamlConfigBean);
+            val service = new SamlRegisteredService();
+            service.setName("Conditional");
+            service.setId(2000);
+            service.setMetadataLocation("http://localhost:8079/metadata.xml");
+
+            val first = resolver.resolve(service);
+            assertEquals(1, first.size());
+            val second = resolver.resolve(service);
+            assertEquals(1, second.size());
+            assertSame(first.iterator().next(), second.iterator().next());
+            assertEquals(2, requests.get());
+            assertEquals(1, conditionalRequests.get());
+        }
+    }
 }
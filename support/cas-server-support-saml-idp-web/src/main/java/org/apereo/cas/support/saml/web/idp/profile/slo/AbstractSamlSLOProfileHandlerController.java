@@ -9,7 +9,6 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
-import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.AbstractSamlProfileHandlerController;
@@ -84,7 +83,7 @@ public abstract class AbstractSamlSLOProfileHandlerController extends AbstractSa
         if (SAMLBindingSupport.isMessageSigned(ctx)) {
             val entityId = SamlIdPUtils.getIssuerFromSamlObject(logoutRequest);
             LOGGER.trace("SAML logout request from entity id [{}] is signed", entityId);
-            val registeredService = this.servicesManager.findServiceBy(entityId, SamlRegisteredService.class);
+            val registeredService = SamlIdPUtils.getRegisteredServiceByEntityId(this.servicesManager, entityId);
             LOGGER.trace("SAML registered service tied to [{}] is [{}]", entityId, registeredService);
             val facade = SamlRegisteredServiceServiceProviderMetadataFacade.get(this.samlRegisteredServiceCachingMetadataResolver, registeredService, entityId).get();
             LOGGER.trace("Verifying signature on the SAML logout request for [{}]", entityId);
@@ -10,12 +10,16 @@ import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutExecutionPlan;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
+import org.apereo.cas.logout.slo.AsynchronousSingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
+import org.apereo.cas.services.RegisteredServiceKeyExtractor;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.audit.SamlRequestAuditResourceResolver;
 import org.apereo.cas.support.saml.web.idp.audit.SamlResponseAuditPrincipalIdProvider;
@@ -115,6 +119,10 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @Qualifier("servicesManager")
     private ObjectProvider<ServicesManager> servicesManager;
 
+    @Autowired
+    @Qualifier("singleLogoutMessageDispatcher")
+    private ObjectProvider<AsynchronousSingleLogoutMessageDispatcher> singleLogoutMessageDispatcher;
+
     @Autowired
     @Qualifier("shibboleth.OpenSAMLConfig")
     private ObjectProvider<OpenSamlConfigBean> openSamlConfigBean;
@@ -143,6 +151,13 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @Qualifier("authenticationServiceSelectionPlan")
     private ObjectProvider<AuthenticationServiceSelectionPlan> authenticationServiceSelectionPlan;
 
+    @ConditionalOnMissingBean(name = "samlEntityIdRegisteredServiceKeyExtractor")
+    @Bean
+    public RegisteredServiceKeyExtractor samlEntityIdRegisteredServiceKeyExtractor() {
+        return RegisteredServiceKeyExtractor.of(SamlIdPUtils.SERVICE_INDEX_ENTITY_ID, SamlRegisteredService.class,
+            SamlIdPUtils::getEntityIdServiceIndexKey);
+    }
+
     @ConditionalOnMissingBean(name = "samlSingleLogoutServiceLogoutUrlBuilder")
     @Bean
     public SingleLogoutServiceLogoutUrlBuilder samlSingleLogoutServiceLogoutUrlBuilder() {
@@ -165,7 +180,7 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @ConditionalOnMissingBean(name = "samlSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler samlSingleLogoutServiceMessageHandler() {
-        return new SamlIdPSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val handler = new SamlIdPSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             samlLogoutBuilder(),
             servicesManager.getIfAvailable(),
             samlSingleLogoutServiceLogoutUrlBuilder(),
@@ -173,6 +188,8 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
             authenticationServiceSelectionPlan.getIfAvailable(),
             defaultSamlRegisteredServiceCachingMetadataResolver.getIfAvailable(),
             velocityEngineFactory.getIfAvailable());
+        handler.setSingleLogoutMessageDispatcher(singleLogoutMessageDispatcher.getIfAvailable());
+        return handler;
     }
 
     @ConditionalOnMissingBean(name = "samlProfileSamlResponseBuilder")
@@ -3,6 +3,7 @@ package org.apereo.cas.support.saml.util;
 import org.apereo.cas.category.FileSystemCategory;
 import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlIdPUtils;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.CollectionUtils;
 
@@ -53,6 +54,47 @@ public class SamlIdPUtilsTests extends BaseSamlIdPConfigurationTests {
         assertEquals(service.getServiceId(), it.next().getEntityID());
     }
 
+    @Test
+    public void verifyRegisteredServiceByEntityIdInEvaluationOrder() {
+        val pattern = getSamlRegisteredServiceForTestShib();
+        pattern.setId(200);
+        pattern.setName("TestShibPattern");
+        pattern.setServiceId("https://sp.testshib.org/.+");
+        pattern.setEvaluationOrder(0);
+        servicesManager.save(pattern);
+
+        val literal = getSamlRegisteredServiceForTestShib();
+        literal.setEvaluationOrder(10);
+        servicesManager.save(literal);
+
+        val service = SamlIdPUtils.getRegisteredServiceByEntityId(servicesManager, literal.getServiceId());
+        assertNotNull(service);
+        assertEquals(pattern.getId(), service.getId());
+
+        literal.setEvaluationOrder(-1);
+        servicesManager.save(literal);
+        assertEquals(literal.getId(), SamlIdPUtils.getRegisteredServiceByEntityId(servicesManager, literal.getServiceId()).getId());
+    }
+
+    @Test
+    public void verifyPatternServicesAreIndexedTogether() {
+        val pattern = getSamlRegisteredServiceForTestShib();
+        pattern.setId(200);
+        pattern.setName("TestShibPattern");
+        pattern.setServiceId("https://sp.testshib.org/.+");
+        servicesManager.save(pattern);
+
+        val literal = getSamlRegisteredServiceForTestShib();
+        servicesManager.save(literal);
+
+        val patterns = servicesManager.findServicesByKey(SamlIdPUtils.SERVICE_INDEX_ENTITY_ID,
+            SamlIdPUtils.SERVICE_INDEX_ENTITY_ID_PATTERN_KEY, SamlRegisteredService.class);
+        assertEquals(1, patterns.size());
+        assertEquals(pattern.getId(), patterns.iterator().next().getId());
+        assertEquals(literal.getId(), servicesManager.findServiceByKey(SamlIdPUtils.SERVICE_INDEX_ENTITY_ID,
+            SamlIdPUtils.getEntityIdServiceIndexKey(literal), SamlRegisteredService.class).getId());
+    }
+
     @Test
     public void verifyAssertionConsumerServiceNoIndex() {
         val service = getSamlRegisteredServiceForTestShib();
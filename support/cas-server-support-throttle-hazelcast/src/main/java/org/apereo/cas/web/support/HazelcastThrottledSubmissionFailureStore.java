@@ -0,0 +1,64 @@
+package org.apereo.cas.web.support;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link HazelcastThrottledSubmissionFailureStore} that keeps the most recent failures per key
+ * in a Hazelcast map. Failures are recorded by an entry processor on the member that owns the key,
+ * and entries expire according to the time-to-live of the map.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiredArgsConstructor
+public class HazelcastThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+    private final IMap<String, ArrayList<Date>> failures;
+
+    @Override
+    public void recordFailure(final String key, final Date failureTime) {
+        this.failures.executeOnKey(key, new RecordFailureEntryProcessor(failureTime));
+    }
+
+    @Override
+    public List<Date> getFailures(final String key, final Date cutoff) {
+        val result = this.failures.get(key);
+        if (result == null) {
+            return new ArrayList<>(0);
+        }
+        return result.stream()
+            .filter(failure -> !failure.before(cutoff))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds the failure to the entry, keeping only the most recent failures, most recent first.
+     */
+    @RequiredArgsConstructor
+    public static class RecordFailureEntryProcessor extends AbstractEntryProcessor<String, ArrayList<Date>> {
+        private static final long serialVersionUID = -7218409650253012848L;
+
+        private final Date failureTime;
+
+        @Override
+        public Object process(final Map.Entry<String, ArrayList<Date>> entry) {
+            val current = entry.getValue() == null ? new ArrayList<Date>() : entry.getValue();
+            current.add(this.failureTime);
+            val result = current.stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(FAILURES_PER_KEY)
+                .collect(Collectors.toCollection(ArrayList::new));
+            entry.setValue(result);
+            return null;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.apereo.cas.web.support.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.web.support.HazelcastThrottledSubmissionFailureStore;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
@@ -11,13 +13,14 @@ import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configures a Hazelcast IMap that is used by the InMemory throttling interceptors to store
- * failed login attempts.
+ * failed login attempts, or a dedicated failure store backed by Hazelcast if one is enabled.
  *
  * @author Travis Schmidt
  * @since 5.3.4
@@ -47,4 +50,19 @@ public class CasHazelcastThrottlingConfiguration {
         hazelcastInstance.getConfig().addMapConfig(ipMapConfig);
         return hazelcastInstance.getMap(MAP_KEY);
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.throttle.failureStore", name = "enabled", havingValue = "true")
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        val hz = casProperties.getTicket().getRegistry().getHazelcast();
+        val throttle = casProperties.getAuthn().getThrottle();
+        val mapName = throttle.getFailureStore().getName();
+        val timeout = throttle.getFailure().getRangeSeconds();
+        val factory = new HazelcastConfigurationFactory();
+        LOGGER.debug("Creating [{}] to record failed logins for throttling with time-to-live set to [{}]", mapName, timeout);
+        val mapConfig = factory.buildMapConfig(hz, mapName, timeout).setTimeToLiveSeconds(timeout);
+        val hazelcastInstance = this.casHazelcastInstance.getObject();
+        hazelcastInstance.getConfig().addMapConfig(mapConfig);
+        return new HazelcastThrottledSubmissionFailureStore(hazelcastInstance.getMap(mapName));
+    }
 }
@@ -4,7 +4,10 @@ import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.JdbcThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStoreHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.val;
@@ -12,6 +15,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -41,17 +45,41 @@ public class CasJdbcThrottlingConfiguration {
     @Qualifier("throttledRequestResponseHandler")
     private ObjectProvider<ThrottledRequestResponseHandler> throttledRequestResponseHandler;
 
+    @Autowired
+    @Qualifier("throttledSubmissionFailureStore")
+    private ObjectProvider<ThrottledSubmissionFailureStore> throttledSubmissionFailureStore;
+
     @Bean
     public DataSource inspektrThrottleDataSource() {
         return JpaBeans.newDataSource(casProperties.getAuthn().getThrottle().getJdbc());
     }
 
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.throttle.failureStore", name = "enabled", havingValue = "true")
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        val throttle = casProperties.getAuthn().getThrottle();
+        return new JdbcThrottledSubmissionFailureStore(inspektrThrottleDataSource(),
+            throttle.getFailureStore().getName(), throttle.getFailure().getRangeSeconds());
+    }
+
     @Bean
     @RefreshScope
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
+        val failureStore = throttledSubmissionFailureStore.getIfAvailable();
+        if (failureStore != null) {
+            return new ThrottledSubmissionFailureStoreHandlerInterceptorAdapter(
+                failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                failure.getCode(),
+                auditTrailManager.getIfAvailable(),
+                throttle.getAppcode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                failureStore);
+        }
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
             failure.getThreshold(),
             failure.getRangeSeconds(),
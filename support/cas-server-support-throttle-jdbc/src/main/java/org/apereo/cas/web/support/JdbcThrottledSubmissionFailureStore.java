@@ -0,0 +1,90 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link JdbcThrottledSubmissionFailureStore} that keeps a single row per key in a table of its own,
+ * holding the last two failures along with the time at which the row expires. The table is created if it does not exist.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JdbcThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final int failureRangeInSeconds;
+
+    public JdbcThrottledSubmissionFailureStore(final DataSource dataSource, final String tableName, final int failureRangeInSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableName = tableName;
+        this.failureRangeInSeconds = failureRangeInSeconds;
+        createTableIfNecessary();
+    }
+
+    @Override
+    public void recordFailure(final String key, final Date failureTime) {
+        val lastFailure = new Timestamp(failureTime.getTime());
+        val expiresAt = new Timestamp(failureTime.getTime() + TimeUnit.SECONDS.toMillis(this.failureRangeInSeconds));
+        if (updateFailure(key, lastFailure, expiresAt) > 0) {
+            return;
+        }
+        try {
+            this.jdbcTemplate.update("INSERT INTO " + this.tableName + " (FAILURE_KEY, LAST_FAILURE, PREVIOUS_FAILURE, EXPIRES_AT) VALUES (?, ?, NULL, ?)",
+                key, lastFailure, expiresAt);
+        } catch (final DuplicateKeyException e) {
+            LOGGER.trace("Failure for [{}] was recorded concurrently", key);
+            updateFailure(key, lastFailure, expiresAt);
+        }
+    }
+
+    @Override
+    public List<Date> getFailures(final String key, final Date cutoff) {
+        val rows = this.jdbcTemplate.query("SELECT LAST_FAILURE, PREVIOUS_FAILURE FROM " + this.tableName + " WHERE FAILURE_KEY = ?",
+            new Object[]{key},
+            (resultSet, i) -> Stream.of(resultSet.getTimestamp(1), resultSet.getTimestamp(2))
+                .filter(Objects::nonNull)
+                .map(t -> new Date(t.getTime()))
+                .collect(Collectors.toList()));
+        return rows.stream()
+            .flatMap(List::stream)
+            .filter(failure -> !failure.before(cutoff))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void removeExpiredFailures() {
+        val count = this.jdbcTemplate.update("DELETE FROM " + this.tableName + " WHERE EXPIRES_AT < ?", new Timestamp(System.currentTimeMillis()));
+        LOGGER.debug("Removed [{}] expired failure record(s) from [{}]", count, this.tableName);
+    }
+
+    private int updateFailure(final String key, final Timestamp lastFailure, final Timestamp expiresAt) {
+        return this.jdbcTemplate.update("UPDATE " + this.tableName + " SET PREVIOUS_FAILURE = LAST_FAILURE, LAST_FAILURE = ?, EXPIRES_AT = ? WHERE FAILURE_KEY = ?",
+            lastFailure, expiresAt, key);
+    }
+
+    private void createTableIfNecessary() {
+        try {
+            this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + this.tableName + " WHERE 1 = 0", Integer.class);
+        } catch (final DataAccessException e) {
+            LOGGER.info("Creating table [{}] to record failed attempts for throttling", this.tableName);
+            LOGGER.trace(e.getMessage(), e);
+            this.jdbcTemplate.execute("CREATE TABLE " + this.tableName + " (FAILURE_KEY VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + "LAST_FAILURE TIMESTAMP NOT NULL, PREVIOUS_FAILURE TIMESTAMP, EXPIRES_AT TIMESTAMP NOT NULL)");
+            this.jdbcTemplate.execute("CREATE INDEX IDX_" + this.tableName + "_EXPIRES_AT ON " + this.tableName + " (EXPIRES_AT)");
+        }
+    }
+}
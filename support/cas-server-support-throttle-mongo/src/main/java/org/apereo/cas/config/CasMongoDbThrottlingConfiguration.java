@@ -4,13 +4,17 @@ import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.MongoDbThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.MongoDbThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStoreHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +37,22 @@ public class CasMongoDbThrottlingConfiguration {
     @Qualifier("throttledRequestResponseHandler")
     private ObjectProvider<ThrottledRequestResponseHandler> throttledRequestResponseHandler;
 
+    @Autowired
+    @Qualifier("throttledSubmissionFailureStore")
+    private ObjectProvider<ThrottledSubmissionFailureStore> throttledSubmissionFailureStore;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.throttle.failureStore", name = "enabled", havingValue = "true")
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        val throttle = casProperties.getAuthn().getThrottle();
+        val mongo = casProperties.getAudit().getMongo();
+        val factory = new MongoDbConnectionFactory();
+        val mongoTemplate = factory.buildMongoTemplate(mongo);
+        factory.createCollection(mongoTemplate, throttle.getFailureStore().getName(), mongo.isDropCollection());
+        return new MongoDbThrottledSubmissionFailureStore(mongoTemplate, throttle.getFailureStore().getName(),
+            throttle.getFailure().getRangeSeconds());
+    }
+
     @Autowired
     @Bean
     @RefreshScope
@@ -40,6 +60,18 @@ public class CasMongoDbThrottlingConfiguration {
         val throttle = casProperties.getAuthn().getThrottle();
         val failure = throttle.getFailure();
 
+        val failureStore = throttledSubmissionFailureStore.getIfAvailable();
+        if (failureStore != null) {
+            return new ThrottledSubmissionFailureStoreHandlerInterceptorAdapter(failure.getThreshold(),
+                failure.getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                failure.getCode(),
+                auditTrailExecutionPlan,
+                throttle.getAppcode(),
+                throttledRequestResponseHandler.getIfAvailable(),
+                failureStore);
+        }
+
         val mongo = casProperties.getAudit().getMongo();
         val factory = new MongoDbConnectionFactory();
         val mongoTemplate = factory.buildMongoTemplate(mongo);
@@ -0,0 +1,75 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link MongoDbThrottledSubmissionFailureStore} that keeps a single document per key in a collection of its own,
+ * holding the most recent failures. Each failure is pushed onto the document in one atomic upsert that
+ * also trims the list, and documents are removed by MongoDb once they expire.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class MongoDbThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+    private static final String FIELD_NAME_KEY = "key";
+
+    private static final String FIELD_NAME_FAILURES = "failures";
+
+    private static final String FIELD_NAME_EXPIRE_AT = "expireAt";
+
+    private final MongoOperations mongoTemplate;
+    private final String collectionName;
+    private final int failureRangeInSeconds;
+
+    public MongoDbThrottledSubmissionFailureStore(final MongoOperations mongoTemplate, final String collectionName,
+                                                  final int failureRangeInSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.failureRangeInSeconds = failureRangeInSeconds;
+
+        val indexOps = mongoTemplate.indexOps(collectionName);
+        indexOps.ensureIndex(new Index().on(FIELD_NAME_KEY, Sort.Direction.ASC).unique());
+        indexOps.ensureIndex(new Index().on(FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(0));
+    }
+
+    @Override
+    public void recordFailure(final String key, final Date failureTime) {
+        val expireAt = new Date(failureTime.getTime() + TimeUnit.SECONDS.toMillis(this.failureRangeInSeconds));
+        val update = new Update()
+            .set(FIELD_NAME_EXPIRE_AT, expireAt)
+            .push(FIELD_NAME_FAILURES).sort(Sort.Direction.DESC).slice(FAILURES_PER_KEY).each(failureTime);
+        this.mongoTemplate.upsert(new Query(Criteria.where(FIELD_NAME_KEY).is(key)), update, this.collectionName);
+    }
+
+    @Override
+    public List<Date> getFailures(final String key, final Date cutoff) {
+        val query = new Query(Criteria.where(FIELD_NAME_KEY).is(key));
+        query.fields().include(FIELD_NAME_FAILURES);
+        val document = this.mongoTemplate.findOne(query, Document.class, this.collectionName);
+        if (document == null || !document.containsKey(FIELD_NAME_FAILURES)) {
+            return new ArrayList<>(0);
+        }
+        val failures = (List<?>) document.get(FIELD_NAME_FAILURES);
+        LOGGER.trace("Located failures [{}] for [{}]", failures, key);
+        return failures.stream()
+            .map(Date.class::cast)
+            .filter(failure -> !failure.before(cutoff))
+            .sorted((d1, d2) -> d2.compareTo(d1))
+            .collect(Collectors.toList());
+    }
+}
@@ -11,8 +11,12 @@ import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsern
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
 import org.apereo.cas.web.support.NoOpThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStoreHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureWindow;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -28,10 +32,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
 
-import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link CasThrottlingConfiguration}.
@@ -49,6 +52,10 @@ public class CasThrottlingConfiguration {
     @Qualifier("auditTrailExecutionPlan")
     private ObjectProvider<AuditTrailExecutionPlan> auditTrailExecutionPlan;
 
+    @Autowired
+    @Qualifier("throttledSubmissionFailureStore")
+    private ObjectProvider<ThrottledSubmissionFailureStore> throttledSubmissionFailureStore;
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
@@ -65,7 +72,12 @@ public class CasThrottlingConfiguration {
     @Bean
     @Lazy
     public ConcurrentMap throttleSubmissionMap() {
-        return new ConcurrentHashMap<String, ZonedDateTime>();
+        val throttle = casProperties.getAuthn().getThrottle();
+        return Caffeine.newBuilder()
+            .maximumSize(throttle.getMaxInMemoryEntries())
+            .expireAfterAccess(Math.max(1, throttle.getFailure().getRangeSeconds()), TimeUnit.SECONDS)
+            .<String, ThrottledSubmissionFailureWindow>build()
+            .asMap();
     }
 
     @RefreshScope
@@ -80,6 +92,20 @@ public class CasThrottlingConfiguration {
             return new NoOpThrottledSubmissionHandlerInterceptor();
         }
 
+        val failureStore = throttledSubmissionFailureStore.getIfAvailable();
+        if (failureStore != null) {
+            LOGGER.debug("Activating authentication throttling based on IP address and username, using failure store [{}]", failureStore);
+            return new ThrottledSubmissionFailureStoreHandlerInterceptorAdapter(
+                throttle.getFailure().getThreshold(),
+                throttle.getFailure().getRangeSeconds(),
+                throttle.getUsernameParameter(),
+                throttle.getFailure().getCode(),
+                auditTrailExecutionPlan.getIfAvailable(),
+                throttle.getAppcode(),
+                throttledRequestResponseHandler(),
+                failureStore);
+        }
+
         if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
             LOGGER.debug("Activating authentication throttling based on IP address and username...");
             return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
@@ -7,13 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
- * of IP Addresses to number of failures to authenticate.
+ * of IP Addresses to their most recent failures to authenticate.
+ * Submissions are throttled once the number of failures within the failure range reaches the threshold.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -22,9 +22,7 @@ import java.util.concurrent.ConcurrentMap;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
-
-    private final ConcurrentMap<String, ZonedDateTime> ipMap;
+    private final ConcurrentMap<String, ThrottledSubmissionFailureWindow> ipMap;
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
@@ -39,39 +37,39 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
         this.ipMap = map;
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
-    }
-
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        val last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        val window = this.ipMap.get(constructKey(request));
+        return window != null && window.isFullSince(getFailureRangeCutOff());
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.debug("Recording submission failure [{}]", key);
-        this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        val failureTime = System.currentTimeMillis();
+        /*
+         * The window is replaced rather than changed in place, so maps that hand out copies
+         * of their values, such as distributed maps, apply the failure atomically as well.
+         */
+        this.ipMap.compute(key, (k, window) -> window == null
+            ? new ThrottledSubmissionFailureWindow(getFailureThreshold()).withFailure(failureTime)
+            : window.withFailure(failureTime));
     }
 
     /**
-     * This class relies on an external configuration to clean it up.
-     * It ignores the threshold data in the parent class.
+     * Removes keys whose failures have all fallen outside of the failure range.
+     * Maps that expire idle entries on their own, such as the default map, hold few such keys.
      */
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
-        val now = ZonedDateTime.now(ZoneOffset.UTC);
-        this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
+        val cutoff = getFailureRangeCutOff();
+        this.ipMap.values().removeIf(window -> window.getLastFailure() < cutoff);
         LOGGER.debug("Done decrementing count for throttler.");
     }
+
+    private long getFailureRangeCutOff() {
+        return System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(getFailureRangeInSeconds());
+    }
 }
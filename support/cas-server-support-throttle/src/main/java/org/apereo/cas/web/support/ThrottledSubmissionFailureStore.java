@@ -0,0 +1,44 @@
+package org.apereo.cas.web.support;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This is {@link ThrottledSubmissionFailureStore} that keeps track of failed submissions for throttling,
+ * independently of the audit log. For each key, only the most recent failures that fall within
+ * the failure range are retained, which is all that is needed to calculate the failure rate.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface ThrottledSubmissionFailureStore {
+
+    /**
+     * Number of failures retained per key.
+     */
+    int FAILURES_PER_KEY = 2;
+
+    /**
+     * Record a failed submission.
+     *
+     * @param key         the key
+     * @param failureTime the time of failure
+     */
+    void recordFailure(String key, Date failureTime);
+
+    /**
+     * Gets the most recent failures for the key that occurred on or after the cut-off date, most recent first.
+     *
+     * @param key    the key
+     * @param cutoff the cut-off date
+     * @return the failures
+     */
+    List<Date> getFailures(String key, Date cutoff);
+
+    /**
+     * Remove records whose failures have all fallen out of the failure range.
+     * Stores that expire records on their own need not do anything.
+     */
+    default void removeExpiredFailures() {
+    }
+}
@@ -0,0 +1,74 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Throttles submissions by IP address and username based on failures recorded in a {@link ThrottledSubmissionFailureStore},
+ * rather than by querying the audit log on every submission. Throttled attempts are still recorded in the audit log.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class ThrottledSubmissionFailureStoreHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+    private final ThrottledSubmissionFailureStore failureStore;
+
+    public ThrottledSubmissionFailureStoreHandlerInterceptorAdapter(final int failureThreshold,
+                                                                   final int failureRangeInSeconds,
+                                                                   final String usernameParameter,
+                                                                   final String authenticationFailureCode,
+                                                                   final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                   final String applicationCode,
+                                                                   final ThrottledRequestResponseHandler throttledRequestResponseHandler,
+                                                                   final ThrottledSubmissionFailureStore failureStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledRequestResponseHandler);
+        this.failureStore = failureStore;
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        val failures = this.failureStore.getFailures(constructKey(request), getFailureInRangeCutOffDate());
+        return calculateFailureThresholdRateAndCompare(failures);
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        val key = constructKey(request);
+        LOGGER.debug("Recording submission failure [{}]", key);
+        this.failureStore.recordFailure(key, DateTimeUtils.dateOf(ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public void decrement() {
+        LOGGER.debug("Removing expired submission failures");
+        this.failureStore.removeExpiredFailures();
+    }
+
+    /**
+     * Construct the key of the failure record from the client IP address and the username.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        return clientInfo.getClientIpAddress() + ';' + StringUtils.defaultString(getUsernameParameterFromRequest(request));
+    }
+
+    @Override
+    public String getName() {
+        return "FailureStoreIpAddressUsernameThrottle";
+    }
+}
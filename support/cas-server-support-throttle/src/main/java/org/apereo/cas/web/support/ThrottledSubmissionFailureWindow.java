@@ -0,0 +1,90 @@
+package org.apereo.cas.web.support;
+
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is {@link ThrottledSubmissionFailureWindow} that remembers the times, in milliseconds,
+ * of the most recent failed submissions for a single key in a fixed-size ring buffer.
+ * The buffer holds as many failures as the threshold permits, so the threshold is exceeded
+ * once the oldest failure in a full buffer still falls within the failure range.
+ * Failures are recorded and evaluated without locking; concurrent failures for the same key
+ * may be recorded in either order, which at worst shifts the window by a single failure.
+ * Windows held by a map are never changed in place; {@link #withFailure(long)} hands out
+ * an updated copy, so maps can replace the stored window atomically.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@ToString
+public class ThrottledSubmissionFailureWindow implements Serializable {
+
+    private static final long serialVersionUID = -7352128497613325960L;
+
+    private final AtomicLongArray failures;
+
+    private final AtomicLong count = new AtomicLong();
+
+    public ThrottledSubmissionFailureWindow(final int capacity) {
+        this.failures = new AtomicLongArray(Math.max(1, capacity));
+    }
+
+    /**
+     * Record a failure.
+     *
+     * @param failureTime the failure time in milliseconds
+     */
+    public void record(final long failureTime) {
+        val index = this.count.getAndIncrement();
+        this.failures.set((int) (index % this.failures.length()), failureTime);
+    }
+
+    /**
+     * Copy this window and record a failure in the copy.
+     *
+     * @param failureTime the failure time in milliseconds
+     * @return the updated copy
+     */
+    public ThrottledSubmissionFailureWindow withFailure(final long failureTime) {
+        val capacity = this.failures.length();
+        val copy = new ThrottledSubmissionFailureWindow(capacity);
+        for (var i = 0; i < capacity; i++) {
+            copy.failures.set(i, this.failures.get(i));
+        }
+        copy.count.set(this.count.get());
+        copy.record(failureTime);
+        return copy;
+    }
+
+    /**
+     * Whether the buffer is full, and its oldest failure happened at or after the cutoff.
+     *
+     * @param cutoff the start of the failure range in milliseconds
+     * @return true if as many failures as the threshold permits happened since the cutoff
+     */
+    public boolean isFullSince(final long cutoff) {
+        val recorded = this.count.get();
+        val capacity = this.failures.length();
+        if (recorded < capacity) {
+            return false;
+        }
+        return this.failures.get((int) (recorded % capacity)) >= cutoff;
+    }
+
+    /**
+     * Gets the time of the most recent failure.
+     *
+     * @return the time in milliseconds, or zero if no failure is recorded
+     */
+    public long getLastFailure() {
+        val recorded = this.count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        return this.failures.get((int) ((recorded - 1) % this.failures.length()));
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureWindowTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -15,7 +16,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
-    InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests.class
+    InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests.class,
+    ThrottledSubmissionFailureWindowTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,91 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ThrottledSubmissionFailureWindowTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class ThrottledSubmissionFailureWindowTests {
+
+    @Test
+    public void verifyWindowFillsWithinRange() {
+        val window = new ThrottledSubmissionFailureWindow(3);
+        window.record(100);
+        window.record(200);
+        assertFalse(window.isFullSince(0));
+        window.record(300);
+        assertTrue(window.isFullSince(100));
+        assertFalse(window.isFullSince(101));
+        assertEquals(300, window.getLastFailure());
+    }
+
+    @Test
+    public void verifyOldestFailureIsReplaced() {
+        val window = new ThrottledSubmissionFailureWindow(2);
+        window.record(100);
+        window.record(200);
+        window.record(300);
+        assertTrue(window.isFullSince(200));
+        assertFalse(window.isFullSince(201));
+    }
+
+    @Test
+    public void verifyWindowIsSerializable() {
+        val window = new ThrottledSubmissionFailureWindow(2);
+        window.record(100);
+        window.record(200);
+        val result = SerializationUtils.clone(window);
+        assertTrue(result.isFullSince(100));
+        assertEquals(200, result.getLastFailure());
+    }
+
+    @Test
+    public void verifyFailureIsRecordedInCopy() {
+        val window = new ThrottledSubmissionFailureWindow(2);
+        window.record(100);
+        val result = window.withFailure(200);
+        assertNotSame(window, result);
+        assertEquals(100, window.getLastFailure());
+        assertFalse(window.isFullSince(0));
+        assertEquals(200, result.getLastFailure());
+        assertTrue(result.isFullSince(100));
+    }
+
+    @Test
+    public void verifyConcurrentFailuresAreAllRecorded() throws Exception {
+        val map = new ConcurrentHashMap<String, ThrottledSubmissionFailureWindow>();
+        val executor = Executors.newFixedThreadPool(8);
+        val start = new CountDownLatch(1);
+        val done = new CountDownLatch(100);
+        for (var i = 0; i < 100; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    map.compute("key", (k, window) -> window == null
+                        ? new ThrottledSubmissionFailureWindow(100).withFailure(1000)
+                        : window.withFailure(1000));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(map.get("key").isFullSince(1000));
+    }
+}
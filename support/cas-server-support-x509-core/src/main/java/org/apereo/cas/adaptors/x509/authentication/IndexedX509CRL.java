@@ -0,0 +1,377 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.Extension;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.Principal;
+import java.security.PublicKey;
+import java.security.cert.CRLException;
+import java.security.cert.CRLReason;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedX509CRL} that keeps the revoked serial numbers of a parsed {@link X509CRL} in a hashed index,
+ * along with its issuer and update times, and discards everything else. Revocation checks are answered from the index
+ * without parsing or scanning the CRL. A delta CRL may be applied to an indexed base CRL, which yields a view
+ * of the base CRL along with the changes listed in the delta CRL.
+ * <p>
+ * Indexed CRLs are not encoded, carry no signature and cannot be verified; CRLs should be verified, if at all, before they are indexed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class IndexedX509CRL extends X509CRL {
+    private final X500Principal issuerX500Principal;
+
+    private final int version;
+
+    private final Date thisUpdate;
+
+    private final Date nextUpdate;
+
+    /**
+     * The CRL number of the base CRL, if any.
+     */
+    private final BigInteger crlNumber;
+
+    /**
+     * The CRL number of the delta CRL, if this is a view of a base CRL along with a delta CRL.
+     */
+    private final BigInteger deltaCrlNumber;
+
+    /**
+     * Distribution points of delta CRLs, listed by the base CRL.
+     */
+    private final List<DistributionPoint> freshestCRLDistributionPoints;
+
+    /**
+     * The indexed base CRL, if this is a view of a base CRL along with a delta CRL.
+     */
+    @Getter(AccessLevel.NONE)
+    private final IndexedX509CRL base;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<X500Principal, Map<BigInteger, X509CRLEntry>> revocations;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<X500Principal, Set<BigInteger>> removals;
+
+    private IndexedX509CRL(final X509CRL crl, final BigInteger crlNumber, final BigInteger deltaCrlNumber,
+                           final List<DistributionPoint> freshestCRLDistributionPoints, final IndexedX509CRL base) {
+        this.issuerX500Principal = crl.getIssuerX500Principal();
+        this.version = crl.getVersion();
+        this.thisUpdate = crl.getThisUpdate();
+        this.nextUpdate = crl.getNextUpdate();
+        this.crlNumber = crlNumber;
+        this.deltaCrlNumber = deltaCrlNumber;
+        this.freshestCRLDistributionPoints = freshestCRLDistributionPoints;
+        this.base = base;
+        this.revocations = new HashMap<>();
+        this.removals = new HashMap<>();
+
+        val entries = crl.getRevokedCertificates();
+        if (entries != null) {
+            entries.forEach(entry -> {
+                val issuer = entry.getCertificateIssuer() == null ? this.issuerX500Principal : entry.getCertificateIssuer();
+                if (entry.getRevocationReason() == CRLReason.REMOVE_FROM_CRL) {
+                    if (base != null) {
+                        this.removals.computeIfAbsent(issuer, k -> new HashSet<>()).add(entry.getSerialNumber());
+                    }
+                } else {
+                    this.revocations.computeIfAbsent(issuer, k -> new HashMap<>())
+                        .put(entry.getSerialNumber(), new IndexedX509CRLEntry(entry, issuer.equals(this.issuerX500Principal) ? null : issuer));
+                }
+            });
+        }
+    }
+
+    /**
+     * Index the CRL.
+     *
+     * @param crl the crl
+     * @return the indexed crl
+     */
+    public static IndexedX509CRL of(final X509CRL crl) {
+        if (crl instanceof IndexedX509CRL) {
+            return (IndexedX509CRL) crl;
+        }
+        val number = getExtension(crl, Extension.cRLNumber);
+        val freshest = getExtension(crl, Extension.freshestCRL);
+        return new IndexedX509CRL(crl, getNumber(number), null,
+            freshest == null ? new ArrayList<>(0) : Arrays.asList(CRLDistPoint.getInstance(freshest).getDistributionPoints()),
+            null);
+    }
+
+    /**
+     * Apply the delta CRL to the base CRL. The delta CRL is ignored if it is not a delta CRL for the base CRL,
+     * that is, if it is issued by another issuer, or if the base CRL is older than the one the delta CRL is based on.
+     * The delta CRL is also ignored if it is not newer than the delta CRL already applied.
+     *
+     * @param delta the delta CRL
+     * @return a view of the base CRL along with the delta CRL, or this CRL itself if the delta CRL is ignored
+     */
+    public IndexedX509CRL withDelta(final X509CRL delta) {
+        val baseCrl = getBaseCRL();
+        val indicator = getExtension(delta, Extension.deltaCRLIndicator);
+        if (indicator == null || !baseCrl.getIssuerX500Principal().equals(delta.getIssuerX500Principal())) {
+            return this;
+        }
+        val baseCrlNumber = getNumber(indicator);
+        if (baseCrl.getCrlNumber() == null || baseCrl.getCrlNumber().compareTo(baseCrlNumber) < 0) {
+            return this;
+        }
+        val number = getNumber(getExtension(delta, Extension.cRLNumber));
+        if (this.deltaCrlNumber != null && (number == null || number.compareTo(this.deltaCrlNumber) <= 0)) {
+            return this;
+        }
+        return new IndexedX509CRL(delta, baseCrl.getCrlNumber(), number, baseCrl.getFreshestCRLDistributionPoints(), baseCrl);
+    }
+
+    /**
+     * Gets the indexed base CRL.
+     *
+     * @return the base CRL, which is this CRL unless a delta CRL is applied
+     */
+    public IndexedX509CRL getBaseCRL() {
+        return this.base == null ? this : this.base;
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        return getRevokedCertificate(certificate.getIssuerX500Principal(), certificate.getSerialNumber());
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        return getRevokedCertificate(this.issuerX500Principal, serialNumber);
+    }
+
+    /**
+     * Gets the revoked certificate entry of the certificate issued by the given issuer.
+     *
+     * @param issuer       the issuer
+     * @param serialNumber the serial number
+     * @return the entry, or null if the certificate is not revoked
+     */
+    public X509CRLEntry getRevokedCertificate(final X500Principal issuer, final BigInteger serialNumber) {
+        val entries = this.revocations.get(issuer);
+        val entry = entries == null ? null : entries.get(serialNumber);
+        if (entry != null) {
+            return entry;
+        }
+        val removed = this.removals.get(issuer);
+        if (this.base == null || removed != null && removed.contains(serialNumber)) {
+            return null;
+        }
+        return this.base.getRevokedCertificate(issuer, serialNumber);
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        val entries = new HashSet<X509CRLEntry>();
+        if (this.base != null) {
+            this.base.revocations.forEach((issuer, revoked) -> revoked.forEach((serialNumber, entry) -> {
+                val removed = this.removals.get(issuer);
+                val replaced = this.revocations.get(issuer);
+                if ((removed == null || !removed.contains(serialNumber)) && (replaced == null || !replaced.containsKey(serialNumber))) {
+                    entries.add(entry);
+                }
+            }));
+        }
+        this.revocations.values().forEach(revoked -> entries.addAll(revoked.values()));
+        return entries.isEmpty() ? null : entries;
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate certificate) {
+        return certificate instanceof X509Certificate && getRevokedCertificate((X509Certificate) certificate) != null;
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.issuerX500Principal;
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        throw new CRLException("Indexed CRLs are not encoded");
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException {
+        throw new CRLException("Indexed CRLs cannot be verified");
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException {
+        throw new CRLException("Indexed CRLs cannot be verified");
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        throw new CRLException("Indexed CRLs are not encoded");
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return ArrayUtils.EMPTY_BYTE_ARRAY;
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return null;
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return null;
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return null;
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return null;
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return null;
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        return null;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s CRL issued by %s on %s, next update on %s%s%s", this.base == null ? "Indexed" : "Indexed delta",
+            this.issuerX500Principal, this.thisUpdate, this.nextUpdate, this.crlNumber == null ? "" : ", number " + this.crlNumber,
+            this.deltaCrlNumber == null ? "" : ", delta number " + this.deltaCrlNumber);
+    }
+
+    private static BigInteger getNumber(final ASN1Primitive value) {
+        return value == null ? null : ASN1Integer.getInstance(value).getValue();
+    }
+
+    @SneakyThrows
+    private static ASN1Primitive getExtension(final X509CRL crl, final ASN1ObjectIdentifier oid) {
+        val value = crl.getExtensionValue(oid.getId());
+        return value == null ? null : ASN1Primitive.fromByteArray(ASN1OctetString.getInstance(value).getOctets());
+    }
+
+    /**
+     * A revoked certificate entry that keeps its serial number, revocation date and reason.
+     */
+    @Getter
+    private static class IndexedX509CRLEntry extends X509CRLEntry {
+        private final BigInteger serialNumber;
+
+        private final long revocationTime;
+
+        private final CRLReason revocationReason;
+
+        private final X500Principal certificateIssuer;
+
+        IndexedX509CRLEntry(final X509CRLEntry entry, final X500Principal certificateIssuer) {
+            this.serialNumber = entry.getSerialNumber();
+            this.revocationTime = entry.getRevocationDate().getTime();
+            this.revocationReason = entry.getRevocationReason();
+            this.certificateIssuer = certificateIssuer;
+        }
+
+        @Override
+        public Date getRevocationDate() {
+            return new Date(this.revocationTime);
+        }
+
+        @Override
+        public byte[] getEncoded() throws CRLException {
+            throw new CRLException("Indexed CRL entries are not encoded");
+        }
+
+        @Override
+        public boolean hasExtensions() {
+            return false;
+        }
+
+        @Override
+        public boolean hasUnsupportedCriticalExtension() {
+            return false;
+        }
+
+        @Override
+        public Set<String> getCriticalExtensionOIDs() {
+            return null;
+        }
+
+        @Override
+        public Set<String> getNonCriticalExtensionOIDs() {
+            return null;
+        }
+
+        @Override
+        public byte[] getExtensionValue(final String oid) {
+            return null;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Certificate %s revoked on %s%s", this.serialNumber, getRevocationDate(),
+                this.revocationReason == null ? "" : " for reason " + this.revocationReason);
+        }
+    }
+}
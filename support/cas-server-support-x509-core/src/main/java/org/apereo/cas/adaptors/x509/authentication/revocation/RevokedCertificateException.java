@@ -8,6 +8,7 @@ import lombok.val;
 
 import java.math.BigInteger;
 import java.security.GeneralSecurityException;
+import java.security.cert.CRLReason;
 import java.security.cert.X509CRLEntry;
 import java.time.ZonedDateTime;
 
@@ -70,6 +71,10 @@ public class RevokedCertificateException extends GeneralSecurityException {
      * @return reason or null
      */
     private static Reason getReasonFromX509Entry(final X509CRLEntry entry) {
+        val reason = entry.getRevocationReason();
+        if (reason != null) {
+            return Reason.fromCRLReason(reason);
+        }
         if (entry.hasExtensions()) {
             try {
                 val code = Integer.parseInt(
@@ -191,5 +196,20 @@ public class RevokedCertificateException extends GeneralSecurityException {
             }
             throw new IllegalArgumentException("Unknown CRL reason code.");
         }
+
+        /**
+         * Convert the CRL reason to reason.
+         * Reason codes skip the unused code {@code 7}, which has no reason.
+         *
+         * @param reason the CRL reason
+         * @return the reason, or null if the CRL reason is unused
+         */
+        public static Reason fromCRLReason(final CRLReason reason) {
+            if (reason == CRLReason.UNUSED) {
+                return null;
+            }
+            val code = reason.ordinal();
+            return fromCode(code < CRLReason.UNUSED.ordinal() ? code : code - 1);
+        }
     }
 }
@@ -1,22 +1,26 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.IndexedX509CRL;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.cryptacular.x509.ExtensionReader;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -27,7 +31,13 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -37,17 +47,33 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. CRLs are cached as {@link IndexedX509CRL} instances, so that revocation checks
+ * neither parse nor scan CRLs, and cached CRLs are fetched again in the background ahead of their next update,
+ * along with the delta CRLs they list, for as long as they are used within the idle timeout of the cache.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
  */
 @Slf4j
-public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
+public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker implements DisposableBean {
+
+    private static final long DEFAULT_REFRESH_AHEAD_SECONDS = TimeUnit.MINUTES.toSeconds(5);
+
+    private static final long MIN_REFRESH_DELAY_SECONDS = 60;
 
     private final Cache crlCache;
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
+    private final long refreshAheadSeconds;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+        .namingPattern("cas-crl-refresh-%d")
+        .daemon(true)
+        .build());
+
+    /**
+     * The scheduled refresh of each cached distribution point, so that there is at most one per distribution point.
+     */
+    private final Map<URI, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance that uses the given cache instance for CRL caching.
@@ -101,10 +127,18 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, crlCache, fetcher, throwOnFetchFailure, DEFAULT_REFRESH_AHEAD_SECONDS);
+    }
+
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
+                                                 final CRLFetcher fetcher, final boolean throwOnFetchFailure,
+                                                 final long refreshAheadSeconds) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
         this.crlCache = crlCache;
         this.fetcher = fetcher;
         this.throwOnFetchFailure = throwOnFetchFailure;
+        this.refreshAheadSeconds = refreshAheadSeconds;
     }
 
     /**
@@ -115,28 +149,31 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
      */
     private static URI[] getDistributionPoints(final X509Certificate cert) {
         try {
-            val points = new ExtensionReader(cert).readCRLDistributionPoints();
-            val urls = new ArrayList<URI>();
-            if (points != null) {
-                points.stream().map(DistributionPoint::getDistributionPoint).filter(Objects::nonNull).forEach(pointName -> {
-                    val nameSequence = ASN1Sequence.getInstance(pointName.getName());
-                    IntStream.range(0, nameSequence.size()).mapToObj(i -> GeneralName.getInstance(nameSequence.getObjectAt(i))).forEach(name -> {
-                        LOGGER.debug("Found CRL distribution point [{}].", name);
-                        try {
-                            addURL(urls, DERIA5String.getInstance(name.getName()).getString());
-                        } catch (final Exception e) {
-                            LOGGER.warn("[{}] not supported. String or GeneralNameList expected.", pointName);
-                        }
-                    });
-                });
-            }
-            return urls.toArray(new URI[0]);
+            return getDistributionPoints(new ExtensionReader(cert).readCRLDistributionPoints());
         } catch (final Exception e) {
             LOGGER.error("Error reading CRLDistributionPoints extension field on [{}]", CertUtils.toString(cert), e);
             return new URI[0];
         }
     }
 
+    private static URI[] getDistributionPoints(final List<DistributionPoint> points) {
+        val urls = new ArrayList<URI>();
+        if (points != null) {
+            points.stream().map(DistributionPoint::getDistributionPoint).filter(Objects::nonNull).forEach(pointName -> {
+                val nameSequence = ASN1Sequence.getInstance(pointName.getName());
+                IntStream.range(0, nameSequence.size()).mapToObj(i -> GeneralName.getInstance(nameSequence.getObjectAt(i))).forEach(name -> {
+                    LOGGER.debug("Found CRL distribution point [{}].", name);
+                    try {
+                        addURL(urls, DERIA5String.getInstance(name.getName()).getString());
+                    } catch (final Exception e) {
+                        LOGGER.warn("[{}] not supported. String or GeneralNameList expected.", pointName);
+                    }
+                });
+            });
+        }
+        return urls.toArray(new URI[0]);
+    }
+
     /**
      * Adds the url to the list.
      * Build URI by components to facilitate proper encoding of querystring.
@@ -175,22 +212,16 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
             if (item != null) {
                 LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                val encodedCrl = (byte[]) item.getObjectValue();
-                val crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
-                } else {
-                    LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
-                }
+                val cached = (CachedCRL) item.getObjectValue();
+                cached.setLastAccessTime(System.currentTimeMillis());
+                listOfLocations.add(cached.getCrl());
             } else {
                 LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
                 try {
-                    val crl = this.fetcher.fetch(url);
+                    val crl = fetchCRL(url);
                     if (crl != null) {
                         LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRL(url, crl);
-                        listOfLocations.add(crl);
+                        listOfLocations.add(cacheCRL(url, crl));
                     }
                 } catch (final Exception e) {
                     LOGGER.error("Error fetching CRL at [{}]", url, e);
@@ -212,15 +243,195 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected boolean addCRL(final Object id, final X509CRL crl) {
         if (crl == null) {
             LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
             return this.crlCache.remove(id);
         }
 
-        this.crlCache.put(new Element(id, crl.getEncoded()));
+        this.crlCache.put(new Element(id, new CachedCRL(IndexedX509CRL.of(crl))));
         return this.crlCache.get(id) != null;
 
     }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+        this.refreshes.clear();
+    }
+
+    /**
+     * Cache the CRL fetched from the distribution point, and schedule its refresh.
+     * If another thread has cached the CRL of the distribution point in the meantime, that CRL is returned instead.
+     *
+     * @param url the url of the distribution point
+     * @param crl the indexed crl
+     * @return the cached crl
+     */
+    private IndexedX509CRL cacheCRL(final URI url, final IndexedX509CRL crl) {
+        val existing = this.crlCache.putIfAbsent(new Element(url, new CachedCRL(crl)));
+        if (existing != null) {
+            return ((CachedCRL) existing.getObjectValue()).getCrl();
+        }
+        scheduleRefresh(url, crl);
+        return crl;
+    }
+
+    /**
+     * Fetch and index the CRL from the distribution point, and apply the delta CRL it lists, if any.
+     * If the delta CRL cannot be fetched, the base CRL alone is returned.
+     *
+     * @param url the url of the distribution point
+     * @return the indexed crl, or null if none is fetched
+     * @throws Exception if the CRL cannot be fetched
+     */
+    private IndexedX509CRL fetchCRL(final URI url) throws Exception {
+        val crl = this.fetcher.fetch(url);
+        if (crl == null) {
+            return null;
+        }
+        val base = IndexedX509CRL.of(crl);
+        val refreshed = applyDeltaCRL(base);
+        return refreshed == null ? base : refreshed;
+    }
+
+    /**
+     * Apply the delta CRL listed by the base CRL to the given CRL.
+     *
+     * @param crl the indexed crl, which may already be a view of its base CRL along with a delta CRL
+     * @return the crl along with the fetched delta CRL, the crl itself if it lists no delta CRL,
+     * or null if no delta CRL could be fetched
+     */
+    private IndexedX509CRL applyDeltaCRL(final IndexedX509CRL crl) {
+        val urls = getDistributionPoints(crl.getFreshestCRLDistributionPoints());
+        if (urls.length == 0) {
+            return crl;
+        }
+        for (val url : urls) {
+            try {
+                val delta = this.fetcher.fetch(url);
+                if (delta != null) {
+                    LOGGER.debug("Applying delta CRL fetched from [{}] to [{}]", url, crl);
+                    return crl.withDelta(delta);
+                }
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to fetch delta CRL at [{}]: [{}]", url, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetch the CRL of the distribution point again if it is still cached and used.
+     * The base CRL is fetched again when it is due for an update; otherwise, only its delta CRL is fetched.
+     * CRLs that cannot be fetched remain cached as they are, and fetching is attempted again shortly.
+     *
+     * @param url the url of the distribution point
+     */
+    void refresh(final URI url) {
+        val item = this.crlCache.getQuiet(url);
+        if (item == null) {
+            LOGGER.debug("CRL at [{}] is no longer cached and will not be refreshed", url);
+            cancelRefresh(url);
+            return;
+        }
+        val cached = (CachedCRL) item.getObjectValue();
+        val configuration = this.crlCache.getCacheConfiguration();
+        val idle = System.currentTimeMillis() - cached.getLastAccessTime();
+        if (!configuration.isEternal() && configuration.getTimeToIdleSeconds() > 0
+            && idle > TimeUnit.SECONDS.toMillis(configuration.getTimeToIdleSeconds())) {
+            LOGGER.debug("CRL at [{}] is not used for [{}] ms and will no longer be cached", url, idle);
+            this.crlCache.remove(url);
+            cancelRefresh(url);
+            return;
+        }
+        try {
+            val current = cached.getCrl();
+            val base = current.getBaseCRL();
+            val refreshed = base.getFreshestCRLDistributionPoints().isEmpty() || getRefreshDelay(base) <= 0
+                ? fetchCRL(url)
+                : applyDeltaCRL(current);
+            if (refreshed == null) {
+                LOGGER.warn("Unable to refresh the CRL at [{}]; no CRL was fetched and [{}] remains in use", url, current);
+                scheduleRefresh(url, MIN_REFRESH_DELAY_SECONDS);
+                return;
+            }
+            LOGGER.debug("Refreshed the CRL at [{}] as [{}]", url, refreshed);
+            cached.setCrl(refreshed);
+            this.crlCache.put(new Element(url, cached));
+            scheduleRefresh(url, refreshed);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh the CRL at [{}]: [{}]", url, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            scheduleRefresh(url, MIN_REFRESH_DELAY_SECONDS);
+        }
+    }
+
+    /**
+     * Checks whether a refresh of the CRL at the distribution point is scheduled.
+     *
+     * @param url the url of the distribution point
+     * @return true if a refresh is scheduled
+     */
+    boolean isRefreshScheduled(final URI url) {
+        val future = this.refreshes.get(url);
+        return future != null && !future.isDone();
+    }
+
+    private void scheduleRefresh(final URI url, final IndexedX509CRL crl) {
+        var delay = Math.min(getRefreshDelay(crl), getRefreshDelay(crl.getBaseCRL()));
+        val configuration = this.crlCache.getCacheConfiguration();
+        if (!configuration.isEternal() && configuration.getTimeToLiveSeconds() > 0) {
+            delay = Math.min(delay, configuration.getTimeToLiveSeconds() / 2);
+        }
+        scheduleRefresh(url, Math.max(delay, MIN_REFRESH_DELAY_SECONDS));
+    }
+
+    private void scheduleRefresh(final URI url, final long delaySeconds) {
+        if (this.scheduler.isShutdown()) {
+            return;
+        }
+        LOGGER.trace("Refreshing the CRL at [{}] in [{}] seconds", url, delaySeconds);
+        this.refreshes.compute(url, (key, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return this.scheduler.schedule(() -> refresh(url), delaySeconds, TimeUnit.SECONDS);
+        });
+    }
+
+    /**
+     * Forget the scheduled refresh of the distribution point, unless its CRL has been cached again in the meantime,
+     * in which case the refresh scheduled along with it is kept.
+     */
+    private void cancelRefresh(final URI url) {
+        this.refreshes.computeIfPresent(url, (key, future) -> this.crlCache.getQuiet(url) == null ? null : future);
+    }
+
+    /**
+     * Gets the number of seconds until the CRL should be fetched again, which is ahead of its next update.
+     */
+    private long getRefreshDelay(final X509CRL crl) {
+        if (crl.getNextUpdate() == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.MILLISECONDS.toSeconds(crl.getNextUpdate().getTime() - System.currentTimeMillis()) - this.refreshAheadSeconds;
+    }
+
+    /**
+     * The indexed CRL of a distribution point, along with the last time it was used.
+     */
+    @Getter
+    @Setter
+    private static class CachedCRL {
+        private volatile IndexedX509CRL crl;
+
+        private volatile long lastAccessTime;
+
+        CachedCRL(final IndexedX509CRL crl) {
+            this.crl = crl;
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+    }
 }
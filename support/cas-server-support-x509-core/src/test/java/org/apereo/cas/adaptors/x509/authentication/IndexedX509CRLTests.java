@@ -0,0 +1,134 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.util.crypto.CertUtils;
+
+import lombok.Value;
+import lombok.val;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRL;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link IndexedX509CRLTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class IndexedX509CRLTests {
+    private static final String ISSUER = "CN=CAS Test CRL Issuer";
+
+    private static final int KEY_SIZE = 2048;
+
+    private static KeyPair keyPair;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        val generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void verifyRevokedCertificates() throws Exception {
+        try (val input = new ClassPathResource("userCA-valid.crl").getInputStream()) {
+            val crl = (X509CRL) CertUtils.getCertificateFactory().generateCRL(input);
+            val indexed = IndexedX509CRL.of(crl);
+            assertEquals(crl.getIssuerX500Principal(), indexed.getIssuerX500Principal());
+            assertEquals(crl.getNextUpdate(), indexed.getNextUpdate());
+            crl.getRevokedCertificates().forEach(entry -> {
+                val revoked = indexed.getRevokedCertificate(entry.getSerialNumber());
+                assertNotNull(revoked);
+                assertEquals(entry.getRevocationDate(), revoked.getRevocationDate());
+            });
+            assertEquals(crl.getRevokedCertificates().size(), indexed.getRevokedCertificates().size());
+            assertEquals(0, indexed.getSignature().length);
+            assertNull(indexed.getRevokedCertificate(BigInteger.valueOf(Long.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    public void verifyDeltaCRL() throws Exception {
+        val base = IndexedX509CRL.of(buildCRL(BigInteger.TEN, null,
+            new Revocation(1, CRLReason.keyCompromise), new Revocation(2, CRLReason.superseded)));
+        assertEquals(BigInteger.TEN, base.getCrlNumber());
+        assertNotNull(base.getRevokedCertificate(BigInteger.ONE));
+        assertNotNull(base.getRevokedCertificate(BigInteger.valueOf(2)));
+        assertNull(base.getRevokedCertificate(BigInteger.valueOf(3)));
+
+        val delta = base.withDelta(buildCRL(BigInteger.valueOf(11), BigInteger.TEN,
+            new Revocation(2, CRLReason.removeFromCRL), new Revocation(3, CRLReason.cACompromise)));
+        assertNotSame(base, delta);
+        assertSame(base, delta.getBaseCRL());
+        assertNotNull(delta.getRevokedCertificate(BigInteger.ONE));
+        assertNull(delta.getRevokedCertificate(BigInteger.valueOf(2)));
+        assertNotNull(delta.getRevokedCertificate(BigInteger.valueOf(3)));
+        assertEquals(2, delta.getRevokedCertificates().size());
+        assertEquals(RevokedCertificateException.Reason.CACompromise,
+            new RevokedCertificateException(delta.getRevokedCertificate(BigInteger.valueOf(3))).getReason());
+    }
+
+    @Test
+    public void verifyDeltaCRLForNewerBaseIsIgnored() throws Exception {
+        val base = IndexedX509CRL.of(buildCRL(BigInteger.TEN, null, new Revocation(1, CRLReason.keyCompromise)));
+        val delta = buildCRL(BigInteger.valueOf(12), BigInteger.valueOf(11), new Revocation(3, CRLReason.keyCompromise));
+        assertSame(base, base.withDelta(delta));
+        assertSame(base, base.withDelta(buildCRL(BigInteger.valueOf(11), null)));
+    }
+
+    @Test
+    public void verifyOlderDeltaCRLIsIgnored() throws Exception {
+        val base = IndexedX509CRL.of(buildCRL(BigInteger.TEN, null, new Revocation(1, CRLReason.keyCompromise)));
+        val delta = base.withDelta(buildCRL(BigInteger.valueOf(12), BigInteger.TEN, new Revocation(2, CRLReason.keyCompromise)));
+        assertEquals(BigInteger.valueOf(12), delta.getDeltaCrlNumber());
+        assertNotNull(delta.getRevokedCertificate(BigInteger.valueOf(2)));
+
+        assertSame(delta, delta.withDelta(buildCRL(BigInteger.valueOf(11), BigInteger.TEN)));
+        assertSame(delta, delta.withDelta(buildCRL(BigInteger.valueOf(12), BigInteger.TEN)));
+
+        val newer = delta.withDelta(buildCRL(BigInteger.valueOf(13), BigInteger.TEN,
+            new Revocation(2, CRLReason.keyCompromise), new Revocation(3, CRLReason.keyCompromise)));
+        assertNotSame(delta, newer);
+        assertSame(base, newer.getBaseCRL());
+        assertEquals(BigInteger.valueOf(13), newer.getDeltaCrlNumber());
+        assertNotNull(newer.getRevokedCertificate(BigInteger.valueOf(3)));
+    }
+
+    private static X509CRL buildCRL(final BigInteger number, final BigInteger baseNumber, final Revocation... revocations) throws Exception {
+        val now = new Date();
+        val builder = new X509v2CRLBuilder(new X500Name(ISSUER), now);
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        builder.addExtension(Extension.cRLNumber, false, new ASN1Integer(number));
+        if (baseNumber != null) {
+            builder.addExtension(Extension.deltaCRLIndicator, true, new ASN1Integer(baseNumber));
+        }
+        for (val revocation : revocations) {
+            builder.addCRLEntry(BigInteger.valueOf(revocation.getSerialNumber()), now, revocation.getReason());
+        }
+        val signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+        return new JcaX509CRLConverter().getCRL(builder.build(signer));
+    }
+
+    @Value
+    private static class Revocation {
+        private long serialNumber;
+
+        private int reason;
+    }
+}
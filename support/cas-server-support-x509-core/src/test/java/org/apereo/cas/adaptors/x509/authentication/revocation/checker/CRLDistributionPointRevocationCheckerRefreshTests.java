@@ -0,0 +1,257 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
+
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+
+import lombok.val;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CRLDistributionPointRevocationCheckerRefreshTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CRLDistributionPointRevocationCheckerRefreshTests {
+    private static final String ISSUER = "CN=CAS Test CRL Issuer";
+
+    private static final URI BASE_CRL_URL = URI.create("http://crl.example.org/ca.crl");
+
+    private static final URI DELTA_CRL_URL = URI.create("http://crl.example.org/ca-delta.crl");
+
+    private static final int KEY_SIZE = 2048;
+
+    private static final int CACHE_SIZE = 100;
+
+    private static final long TIME_TO_LIVE = 3600;
+
+    private static KeyPair keyPair;
+
+    private final StubCRLFetcher fetcher = new StubCRLFetcher();
+
+    private Cache cache;
+
+    private CRLDistributionPointRevocationChecker checker;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        val generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @After
+    public void afterEachTest() {
+        if (this.checker != null) {
+            this.checker.destroy();
+        }
+        if (this.cache != null) {
+            CacheManager.getInstance().removeCache(this.cache.getName());
+        }
+    }
+
+    @Test
+    public void verifyDeltaCRLIsFetchedAndRefreshed() throws Exception {
+        initialize(TIME_TO_LIVE);
+        this.fetcher.getCrls().put(BASE_CRL_URL, buildBaseCRL(BigInteger.TEN, 1));
+        this.fetcher.getCrls().put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(11), 2));
+
+        assertRevoked(1);
+        assertRevoked(2);
+        assertNotRevoked(3);
+        assertEquals(1, this.fetcher.getCount(BASE_CRL_URL));
+        assertEquals(1, this.fetcher.getCount(DELTA_CRL_URL));
+        assertTrue(this.checker.isRefreshScheduled(BASE_CRL_URL));
+
+        this.fetcher.getCrls().put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(12), 2, 3));
+        this.checker.refresh(BASE_CRL_URL);
+        assertEquals(1, this.fetcher.getCount(BASE_CRL_URL));
+        assertEquals(2, this.fetcher.getCount(DELTA_CRL_URL));
+        assertRevoked(3);
+        assertTrue(this.checker.isRefreshScheduled(BASE_CRL_URL));
+    }
+
+    @Test
+    public void verifyDeltaCRLFailureKeepsCachedCRL() throws Exception {
+        initialize(TIME_TO_LIVE);
+        this.fetcher.getCrls().put(BASE_CRL_URL, buildBaseCRL(BigInteger.TEN, 1));
+        this.fetcher.getCrls().put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(12), 2));
+        assertRevoked(2);
+
+        this.fetcher.getCrls().remove(DELTA_CRL_URL);
+        this.checker.refresh(BASE_CRL_URL);
+        assertRevoked(1);
+        assertRevoked(2);
+        assertTrue(this.checker.isRefreshScheduled(BASE_CRL_URL));
+
+        this.fetcher.getCrls().put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(11)));
+        this.checker.refresh(BASE_CRL_URL);
+        assertRevoked(2);
+        assertEquals(1, this.fetcher.getCount(BASE_CRL_URL));
+    }
+
+    @Test
+    public void verifyIdleCRLIsNoLongerRefreshed() throws Exception {
+        initialize(1);
+        this.fetcher.getCrls().put(BASE_CRL_URL, buildBaseCRL(BigInteger.TEN, 1));
+        this.fetcher.getCrls().put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(11)));
+        assertRevoked(1);
+        assertTrue(this.checker.isRefreshScheduled(BASE_CRL_URL));
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        this.checker.refresh(BASE_CRL_URL);
+        assertFalse(this.checker.isRefreshScheduled(BASE_CRL_URL));
+        assertNull(this.cache.getQuiet(BASE_CRL_URL));
+        assertEquals(1, this.fetcher.getCount(BASE_CRL_URL));
+
+        assertRevoked(1);
+        assertEquals(2, this.fetcher.getCount(BASE_CRL_URL));
+        assertTrue(this.checker.isRefreshScheduled(BASE_CRL_URL));
+    }
+
+    private void initialize(final long timeToIdleSeconds) {
+        this.cache = new Cache("crlCache-" + UUID.randomUUID(), CACHE_SIZE, false, false, TIME_TO_LIVE, timeToIdleSeconds);
+        CacheManager.getInstance().addCache(this.cache);
+        this.checker = new CRLDistributionPointRevocationChecker(false, null, null, this.cache, this.fetcher, true);
+    }
+
+    private void assertRevoked(final long serialNumber) throws Exception {
+        try {
+            this.checker.check(buildCertificate(serialNumber));
+            fail("Certificate " + serialNumber + " should be revoked");
+        } catch (final RevokedCertificateException e) {
+            assertEquals(BigInteger.valueOf(serialNumber), e.getSerial());
+        }
+    }
+
+    private void assertNotRevoked(final long serialNumber) throws Exception {
+        this.checker.check(buildCertificate(serialNumber));
+    }
+
+    private static X509Certificate buildCertificate(final long serialNumber) throws Exception {
+        val now = new Date();
+        val builder = new JcaX509v3CertificateBuilder(new X500Name(ISSUER), BigInteger.valueOf(serialNumber), now,
+            new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)), new X500Name("CN=casuser"), keyPair.getPublic());
+        builder.addExtension(Extension.cRLDistributionPoints, false, getDistributionPoints(BASE_CRL_URL));
+        val signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+        return new JcaX509CertificateConverter().getCertificate(builder.build(signer));
+    }
+
+    private static X509CRL buildBaseCRL(final BigInteger number, final long... revoked) throws Exception {
+        val builder = getCRLBuilder(number, revoked);
+        builder.addExtension(Extension.freshestCRL, false, getDistributionPoints(DELTA_CRL_URL));
+        return buildCRL(builder);
+    }
+
+    private static X509CRL buildDeltaCRL(final BigInteger number, final long... revoked) throws Exception {
+        val builder = getCRLBuilder(number, revoked);
+        builder.addExtension(Extension.deltaCRLIndicator, true, new ASN1Integer(BigInteger.TEN));
+        return buildCRL(builder);
+    }
+
+    private static X509v2CRLBuilder getCRLBuilder(final BigInteger number, final long... revoked) throws Exception {
+        val now = new Date();
+        val builder = new X509v2CRLBuilder(new X500Name(ISSUER), now);
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        builder.addExtension(Extension.cRLNumber, false, new ASN1Integer(number));
+        for (val serialNumber : revoked) {
+            builder.addCRLEntry(BigInteger.valueOf(serialNumber), now, CRLReason.keyCompromise);
+        }
+        return builder;
+    }
+
+    private static X509CRL buildCRL(final X509v2CRLBuilder builder) throws Exception {
+        val signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+        return new JcaX509CRLConverter().getCRL(builder.build(signer));
+    }
+
+    private static CRLDistPoint getDistributionPoints(final URI url) {
+        val name = new DistributionPointName(new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, url.toString())));
+        return new CRLDistPoint(new DistributionPoint[]{new DistributionPoint(name, null, null)});
+    }
+
+    /**
+     * A fetcher that serves the CRLs it is given, and counts how many times each is fetched.
+     */
+    private static class StubCRLFetcher implements CRLFetcher {
+        private final Map<URI, X509CRL> crls = new ConcurrentHashMap<>();
+
+        private final Map<URI, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        Map<URI, X509CRL> getCrls() {
+            return this.crls;
+        }
+
+        int getCount(final URI url) {
+            val count = this.counts.get(url);
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public Collection<X509CRL> fetch(final Collection<Resource> crls) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public X509CRL fetch(final String crl) throws IOException {
+            return fetch(URI.create(crl));
+        }
+
+        @Override
+        public X509CRL fetch(final URI crl) throws IOException {
+            this.counts.computeIfAbsent(crl, k -> new AtomicInteger()).incrementAndGet();
+            val fetched = this.crls.get(crl);
+            if (fetched == null) {
+                throw new IOException("Unable to fetch " + crl);
+            }
+            return fetched;
+        }
+
+        @Override
+        public X509CRL fetch(final URL crl) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public X509CRL fetch(final Resource crl) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
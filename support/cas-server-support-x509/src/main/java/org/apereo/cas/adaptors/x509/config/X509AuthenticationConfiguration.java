@@ -29,6 +29,7 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.RegexUtils;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.sf.ehcache.Cache;
 import org.apache.commons.lang3.StringUtils;
@@ -55,6 +56,7 @@ import java.util.stream.Collectors;
  */
 @Configuration("x509AuthenticationConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
 public class X509AuthenticationConfiguration {
 
     private static final int HEX = 16;
@@ -99,9 +101,12 @@ public class X509AuthenticationConfiguration {
     @ConditionalOnMissingBean(name = "crlDistributionPointRevocationChecker")
     public RevocationChecker crlDistributionPointRevocationChecker() {
         val x509 = casProperties.getAuthn().getX509();
+        if (x509.isCacheDiskOverflow()) {
+            LOGGER.warn("Cached CRLs are kept indexed in memory and cannot overflow to disk; the disk overflow setting is ignored");
+        }
         val cache = new Cache("CRL".concat(UUID.randomUUID().toString()),
             x509.getCacheMaxElementsInMemory(),
-            x509.isCacheDiskOverflow(),
+            false,
             x509.isCacheEternal(),
             x509.getCacheTimeToLiveSeconds(),
             x509.getCacheTimeToIdleSeconds());
@@ -112,7 +117,8 @@ public class X509AuthenticationConfiguration {
             getRevocationPolicy(x509.getCrlExpiredPolicy()),
             cache,
             crlFetcher(),
-            x509.isThrowOnFetchFailure());
+            x509.isThrowOnFetchFailure(),
+            x509.getCrlRefreshAheadSeconds());
     }
 
     @Bean